@@ -48,4 +48,16 @@ public interface PagingBuilder<R extends PagingBuilder<R, RESP, ENTRY>, RESP, EN
 
   /** Retrieve entries/results as a Java {@link Stream}, uses automatic paging. */
   Stream<ENTRY> stream() throws NessieNotFoundException;
+
+  /**
+   * Like {@link #stream()}, but reads the entries of each page while the response is being
+   * received, if supported by the API version, instead of reading each page completely first.
+   *
+   * <p>The returned stream holds an open connection to the server while a page is being read, so it
+   * <em>must</em> be closed, preferably using try-with-resources, if it is not consumed until its
+   * end.
+   */
+  default Stream<ENTRY> streamIncrementally() throws NessieNotFoundException {
+    return stream();
+  }
 }
@@ -15,12 +15,14 @@
  */
 package org.projectnessie.client.builder;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Spliterator;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
+import org.projectnessie.client.builder.StreamingUtil.StreamedPage;
 import org.projectnessie.error.NessieNotFoundException;
 import org.projectnessie.model.PaginatedResponse;
 
@@ -44,88 +46,134 @@ final class ResultStreamPaginator<R extends PaginatedResponse, E> {
     R fetch(String pagingToken) throws NessieNotFoundException;
   }
 
-  private final Function<R, List<E>> entriesFromResponse;
-  private final Fetcher<R> fetcher;
+  @FunctionalInterface
+  interface PageFetcher<E> {
+    /**
+     * Fetch the first/next page, whose entries are read incrementally.
+     *
+     * @param pagingToken paging continuation token
+     * @return page, closed by the paginator
+     * @throws NessieNotFoundException if the ref does not exist
+     */
+    StreamedPage<E> fetch(String pagingToken) throws NessieNotFoundException;
+  }
+
+  private final PageFetcher<E> pageFetcher;
 
   ResultStreamPaginator(Function<R, List<E>> entriesFromResponse, Fetcher<R> fetcher) {
-    this.entriesFromResponse = entriesFromResponse;
-    this.fetcher = fetcher;
+    this(token -> new ResponsePage<>(fetcher.fetch(token), entriesFromResponse));
+  }
+
+  ResultStreamPaginator(PageFetcher<E> pageFetcher) {
+    this.pageFetcher = pageFetcher;
   }
 
   /**
    * Constructs the stream that uses paging under the covers.
    *
    * <p>This implementation fetches the first page eagerly to propagate {@link
-   * NessieNotFoundException}.
+   * NessieNotFoundException}. Closing the returned stream releases the current page.
    *
    * @return stream of entries
    * @throws NessieNotFoundException propagated from {@link Fetcher#fetch(String)}
    */
   Stream<E> generateStream() throws NessieNotFoundException {
-    R firstPage = fetcher.fetch(null);
-    Spliterator<E> spliterator =
-        new Spliterator<E>() {
-          private String pageToken;
-          private boolean eof;
-          private int offsetInPage;
-          private R currentPage = firstPage;
-
-          @Override
-          public boolean tryAdvance(Consumer<? super E> action) {
-            if (eof) {
-              return false;
-            }
-
-            if (currentPage != null
-                && entriesFromResponse.apply(currentPage).size() == offsetInPage) {
-              // Already returned the last entry in the current page
-              if (!currentPage.isHasMore()) {
-                eof = true;
-                return false;
-              }
-              pageToken = currentPage.getToken();
-              currentPage = null;
-              offsetInPage = 0;
-            }
-
-            if (currentPage == null) {
-              try {
-                currentPage = fetcher.fetch(pageToken);
-                offsetInPage = 0;
-                // an empty returned page is probably an error, let's assume something went wrong
-                if (entriesFromResponse.apply(currentPage).isEmpty()) {
-                  if (currentPage.isHasMore()) {
-                    throw new IllegalStateException(
-                        "Backend returned empty page, but indicates there are more results");
-                  }
-                  eof = true;
-                  return false;
-                }
-              } catch (NessieNotFoundException e) {
-                eof = true;
-                throw new RuntimeException(e);
-              }
-            }
-
-            action.accept(entriesFromResponse.apply(currentPage).get(offsetInPage++));
-            return true;
-          }
-
-          @Override
-          public Spliterator<E> trySplit() {
-            return null;
-          }
-
-          @Override
-          public long estimateSize() {
-            return 0;
-          }
-
-          @Override
-          public int characteristics() {
-            return 0;
-          }
-        };
-    return StreamSupport.stream(spliterator, false);
+    PageSpliterator spliterator = new PageSpliterator(pageFetcher.fetch(null));
+    return StreamSupport.stream(spliterator, false).onClose(spliterator::close);
+  }
+
+  private final class PageSpliterator implements Spliterator<E> {
+    private StreamedPage<E> currentPage;
+    private boolean fetchedPageEmpty;
+
+    PageSpliterator(StreamedPage<E> firstPage) {
+      this.currentPage = firstPage;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super E> action) {
+      while (currentPage != null) {
+        E entry = currentPage.nextEntry();
+        if (entry != null) {
+          fetchedPageEmpty = false;
+          action.accept(entry);
+          return true;
+        }
+
+        // Already returned the last entry in the current page
+        boolean hasMore = currentPage.isHasMore();
+        String pageToken = currentPage.getToken();
+        close();
+        if (!hasMore) {
+          return false;
+        }
+        // an empty returned page is probably an error, let's assume something went wrong
+        if (fetchedPageEmpty) {
+          throw new IllegalStateException(
+              "Backend returned empty page, but indicates there are more results");
+        }
+
+        try {
+          currentPage = pageFetcher.fetch(pageToken);
+          fetchedPageEmpty = true;
+        } catch (NessieNotFoundException e) {
+          throw new RuntimeException(e);
+        }
+      }
+      return false;
+    }
+
+    void close() {
+      if (currentPage != null) {
+        StreamedPage<E> page = currentPage;
+        currentPage = null;
+        page.close();
+      }
+    }
+
+    @Override
+    public Spliterator<E> trySplit() {
+      return null;
+    }
+
+    @Override
+    public long estimateSize() {
+      return 0;
+    }
+
+    @Override
+    public int characteristics() {
+      return 0;
+    }
+  }
+
+  /** Adapts a fully materialized response page. */
+  private static final class ResponsePage<R extends PaginatedResponse, E>
+      implements StreamedPage<E> {
+    private final R response;
+    private final Iterator<E> entries;
+
+    ResponsePage(R response, Function<R, List<E>> entriesFromResponse) {
+      this.response = response;
+      this.entries = entriesFromResponse.apply(response).iterator();
+    }
+
+    @Override
+    public E nextEntry() {
+      return entries.hasNext() ? entries.next() : null;
+    }
+
+    @Override
+    public boolean isHasMore() {
+      return response.isHasMore();
+    }
+
+    @Override
+    public String getToken() {
+      return response.getToken();
+    }
+
+    @Override
+    public void close() {}
   }
 }
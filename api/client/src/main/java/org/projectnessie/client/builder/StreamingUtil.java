@@ -194,4 +194,43 @@ public final class StreamingUtil {
       throws NessieNotFoundException {
     return new ResultStreamPaginator<>(entriesExtractor, pageFetcher::getPage).generateStream();
   }
+
+  /**
+   * A response page whose entries are consumed one by one, for example while the response is being
+   * received, so that the whole page does not need to be held in memory.
+   */
+  public interface StreamedPage<ENTRY> extends AutoCloseable {
+    /** Returns the next entry of this page or {@code null}, if all entries have been consumed. */
+    ENTRY nextEntry();
+
+    /**
+     * Whether there are more pages, see {@link PaginatedResponse#isHasMore()}. Only valid after
+     * {@link #nextEntry()} returned {@code null}.
+     */
+    boolean isHasMore();
+
+    /**
+     * Paging token for the next page, see {@link PaginatedResponse#getToken()}. Only valid after
+     * {@link #nextEntry()} returned {@code null}.
+     */
+    String getToken();
+
+    @Override
+    void close();
+  }
+
+  @FunctionalInterface
+  public interface NextStreamedPage<ENTRY> {
+    StreamedPage<ENTRY> getPage(String pageToken) throws NessieNotFoundException;
+  }
+
+  /**
+   * Like {@link #generateStream(Function, NextPage)}, but consumes the entries of each page
+   * incrementally. The returned stream should be closed, if it is not consumed until its end.
+   */
+  public static <ENTRY> Stream<ENTRY> generateStream(NextStreamedPage<ENTRY> pageFetcher)
+      throws NessieNotFoundException {
+    return new ResultStreamPaginator<PaginatedResponse, ENTRY>(pageFetcher::getPage)
+        .generateStream();
+  }
 }
@@ -15,6 +15,7 @@
  */
 package org.projectnessie.client.http;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectReader;
 import java.io.IOException;
@@ -77,4 +78,25 @@ public class HttpResponse {
   public <V> V readEntity(Class<V> clazz) {
     return readEntity(mapper.readerFor(clazz));
   }
+
+  /**
+   * Returns a parser over the JSON response body, for callers that consume large responses
+   * incrementally. The caller must close the returned parser, which also closes the response body.
+   */
+  public JsonParser readEntityParser() {
+    try {
+      InputStream is = responseContext.getInputStream();
+      try {
+        if (!responseContext.isJsonCompatibleResponse()) {
+          nonJsonResponse();
+        }
+        return mapper.createParser(is);
+      } catch (IOException | RuntimeException e) {
+        is.close();
+        throw e;
+      }
+    } catch (IOException e) {
+      throw new HttpClientException("Cannot parse response.", e);
+    }
+  }
 }
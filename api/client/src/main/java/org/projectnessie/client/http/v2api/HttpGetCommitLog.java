@@ -15,9 +15,13 @@
  */
 package org.projectnessie.client.http.v2api;
 
+import java.util.stream.Stream;
 import org.projectnessie.api.v2.params.CommitLogParams;
 import org.projectnessie.client.builder.BaseGetCommitLogBuilder;
+import org.projectnessie.client.builder.StreamingUtil;
 import org.projectnessie.client.http.HttpClient;
+import org.projectnessie.client.http.HttpRequest;
+import org.projectnessie.client.http.HttpResponse;
 import org.projectnessie.error.NessieNotFoundException;
 import org.projectnessie.model.FetchOption;
 import org.projectnessie.model.LogResponse;
@@ -44,8 +48,27 @@ final class HttpGetCommitLog extends BaseGetCommitLogBuilder<CommitLogParams> {
 
   @Override
   protected LogResponse get(CommitLogParams p) throws NessieNotFoundException {
-    return client
-        .newRequest()
+    return request(p, false).readEntity(LogResponse.class);
+  }
+
+  @Override
+  public Stream<LogResponse.LogEntry> streamIncrementally() throws NessieNotFoundException {
+    CommitLogParams p = params();
+    return StreamingUtil.generateStream(
+        pageToken ->
+            new StreamedJsonPage<>(
+                request(p.forNextPage(pageToken), true).readEntityParser(),
+                "logEntries",
+                LogResponse.LogEntry.class));
+  }
+
+  private HttpResponse request(CommitLogParams p, boolean completeMarker)
+      throws NessieNotFoundException {
+    HttpRequest req = client.newRequest();
+    if (completeMarker) {
+      req.header(StreamedJsonPage.COMPLETE_MARKER_HEADER, "true");
+    }
+    return req
         .path("trees/{ref}/history")
         .resolveTemplate(
             "ref",
@@ -56,7 +79,6 @@ final class HttpGetCommitLog extends BaseGetCommitLogBuilder<CommitLogParams> {
         .queryParam("limit-hash", p.startHash())
         .queryParam("fetch", FetchOption.getFetchOptionName(p.fetchOption()))
         .unwrap(NessieNotFoundException.class)
-        .get()
-        .readEntity(LogResponse.class);
+        .get();
   }
 }
@@ -15,10 +15,13 @@
  */
 package org.projectnessie.client.http.v2api;
 
+import java.util.stream.Stream;
 import org.projectnessie.api.v2.params.EntriesParams;
 import org.projectnessie.client.builder.BaseGetEntriesBuilder;
+import org.projectnessie.client.builder.StreamingUtil;
 import org.projectnessie.client.http.HttpClient;
 import org.projectnessie.client.http.HttpRequest;
+import org.projectnessie.client.http.HttpResponse;
 import org.projectnessie.error.NessieNotFoundException;
 import org.projectnessie.model.ContentKey;
 import org.projectnessie.model.EntriesResponse;
@@ -48,6 +51,22 @@ final class HttpGetEntries extends BaseGetEntriesBuilder<EntriesParams> {
 
   @Override
   protected EntriesResponse get(EntriesParams p) throws NessieNotFoundException {
+    return request(p, false).readEntity(EntriesResponse.class);
+  }
+
+  @Override
+  public Stream<EntriesResponse.Entry> streamIncrementally() throws NessieNotFoundException {
+    EntriesParams p = params();
+    return StreamingUtil.generateStream(
+        pageToken ->
+            new StreamedJsonPage<>(
+                request(p.forNextPage(pageToken), true).readEntityParser(),
+                "entries",
+                EntriesResponse.Entry.class));
+  }
+
+  private HttpResponse request(EntriesParams p, boolean completeMarker)
+      throws NessieNotFoundException {
     HttpRequest req =
         client
             .newRequest()
@@ -57,6 +76,9 @@ final class HttpGetEntries extends BaseGetEntriesBuilder<EntriesParams> {
             .queryParam("content", p.withContent() ? "true" : null)
             .queryParam("page-token", p.pageToken())
             .queryParam("max-records", p.maxRecords());
+    if (completeMarker) {
+      req.header(StreamedJsonPage.COMPLETE_MARKER_HEADER, "true");
+    }
     p.getRequestedKeys().forEach(k -> req.queryParam("key", k.toPathString()));
     ContentKey k = p.minKey();
     if (k != null) {
@@ -70,6 +92,6 @@ final class HttpGetEntries extends BaseGetEntriesBuilder<EntriesParams> {
     if (k != null) {
       req.queryParam("prefix-key", k.toPathString());
     }
-    return req.unwrap(NessieNotFoundException.class).get().readEntity(EntriesResponse.class);
+    return req.unwrap(NessieNotFoundException.class).get();
   }
 }
@@ -0,0 +1,145 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.client.http.v2api;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.JsonEOFException;
+import java.io.IOException;
+import org.projectnessie.client.builder.StreamingUtil.StreamedPage;
+import org.projectnessie.client.http.HttpClientException;
+
+/**
+ * Reads the entries of a paginated JSON response one by one, while the response is being received.
+ * The attributes of the response object may appear in any order, the paging attributes are
+ * available once all entries have been read.
+ *
+ * <p>Requests should send the {@link #COMPLETE_MARKER_HEADER} header. The server then terminates
+ * a page that failed after its first entry with {@code "complete": false}, which is reported as an
+ * "incomplete response". A response that ends prematurely is reported as a "truncated response".
+ */
+final class StreamedJsonPage<E> implements StreamedPage<E> {
+
+  /** Request header to request the {@code complete} attribute, must match the server's name. */
+  static final String COMPLETE_MARKER_HEADER = "Nessie-Page-Complete-Marker";
+
+  private final JsonParser parser;
+  private final String entriesAttribute;
+  private final Class<E> entryType;
+  private boolean inEntries;
+  private boolean hasMore;
+  private String token;
+  private boolean complete = true;
+  private String error;
+
+  StreamedJsonPage(JsonParser parser, String entriesAttribute, Class<E> entryType) {
+    this.parser = parser;
+    this.entriesAttribute = entriesAttribute;
+    this.entryType = entryType;
+    try {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        throw new JsonParseException(parser, "Expected a JSON object");
+      }
+      readAttributes();
+    } catch (IOException e) {
+      throw parseFailure(e);
+    }
+  }
+
+  @Override
+  public E nextEntry() {
+    if (!inEntries) {
+      return null;
+    }
+    try {
+      if (parser.nextToken() == JsonToken.END_ARRAY) {
+        inEntries = false;
+        readAttributes();
+        return null;
+      }
+      return parser.readValueAs(entryType);
+    } catch (IOException e) {
+      throw parseFailure(e);
+    }
+  }
+
+  @Override
+  public boolean isHasMore() {
+    return hasMore;
+  }
+
+  @Override
+  public String getToken() {
+    return token;
+  }
+
+  @Override
+  public void close() {
+    try {
+      parser.close();
+    } catch (IOException e) {
+      throw new HttpClientException(e);
+    }
+  }
+
+  /**
+   * Reads the attributes of the response object until either the start of the entries array or
+   * the end of the response object. A truncated response fails with an exception.
+   */
+  private void readAttributes() throws IOException {
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String name = parser.getCurrentName();
+      JsonToken value = parser.nextToken();
+      if (entriesAttribute.equals(name) && value == JsonToken.START_ARRAY) {
+        inEntries = true;
+        return;
+      }
+      if ("hasMore".equals(name)) {
+        hasMore = parser.getValueAsBoolean();
+      } else if ("token".equals(name)) {
+        token = parser.getValueAsString();
+      } else if ("complete".equals(name)) {
+        complete = parser.getValueAsBoolean();
+      } else if ("error".equals(name)) {
+        error = parser.getValueAsString();
+      }
+      parser.skipChildren();
+    }
+    if (parser.currentToken() != JsonToken.END_OBJECT) {
+      throw new JsonParseException(parser, "Expected the end of the JSON object");
+    }
+    if (!complete) {
+      HttpClientException failure =
+          new HttpClientException(
+              "Incomplete response, the server failed to produce all entries: " + error);
+      close();
+      throw failure;
+    }
+  }
+
+  private HttpClientException parseFailure(IOException e) {
+    HttpClientException failure =
+        new HttpClientException(
+            e instanceof JsonEOFException ? "Truncated response." : "Cannot parse response.", e);
+    try {
+      parser.close();
+    } catch (IOException suppressed) {
+      failure.addSuppressed(suppressed);
+    }
+    return failure;
+  }
+}
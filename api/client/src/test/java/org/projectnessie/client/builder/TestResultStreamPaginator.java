@@ -25,8 +25,10 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import javax.annotation.Nullable;
 import org.junit.jupiter.api.Test;
+import org.projectnessie.client.builder.StreamingUtil.StreamedPage;
 import org.projectnessie.error.NessieReferenceNotFoundException;
 import org.projectnessie.model.PaginatedResponse;
 
@@ -156,6 +158,68 @@ class TestResultStreamPaginator {
         .hasMessage("Backend returned empty page, but indicates there are more results");
   }
 
+  @Test
+  void testStreamedPages() throws Exception {
+    List<MockStreamedPage> pages =
+        Arrays.asList(
+            new MockStreamedPage("token", Arrays.asList("1", "2", "3")),
+            new MockStreamedPage(null, Arrays.asList("4", "5", "6")));
+    Iterator<String> expectedTokens = Arrays.asList(null, "token").iterator();
+    Iterator<MockStreamedPage> responses = pages.iterator();
+
+    ResultStreamPaginator<PaginatedResponse, String> paginator =
+        new ResultStreamPaginator<>(
+            token -> {
+              assertEquals(expectedTokens.next(), token);
+              return responses.next();
+            });
+    assertThat(paginator.generateStream()).containsExactly("1", "2", "3", "4", "5", "6");
+    assertThat(pages).allMatch(p -> p.closed);
+  }
+
+  @Test
+  void testStreamedPageClosedWithStream() throws Exception {
+    MockStreamedPage page = new MockStreamedPage("token", Arrays.asList("1", "2", "3"));
+    ResultStreamPaginator<PaginatedResponse, String> paginator =
+        new ResultStreamPaginator<>(token -> page);
+    try (Stream<String> stream = paginator.generateStream()) {
+      assertThat(stream.limit(2).collect(Collectors.toList())).containsExactly("1", "2");
+      assertThat(page.closed).isFalse();
+    }
+    assertThat(page.closed).isTrue();
+  }
+
+  private static class MockStreamedPage implements StreamedPage<String> {
+    private final String token;
+    private final Iterator<String> elements;
+    boolean closed;
+
+    MockStreamedPage(String token, List<String> elements) {
+      this.token = token;
+      this.elements = elements.iterator();
+    }
+
+    @Override
+    public String nextEntry() {
+      return elements.hasNext() ? elements.next() : null;
+    }
+
+    @Override
+    public boolean isHasMore() {
+      return token != null;
+    }
+
+    @Override
+    public String getToken() {
+      return token;
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+  }
+
   private static class MockPaginatedResponse implements PaginatedResponse {
     private final boolean more;
     private final String token;
@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.client.http.v2api;
+
+import static java.util.Collections.singletonList;
+import static org.projectnessie.model.Content.Type.ICEBERG_TABLE;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.List;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.projectnessie.client.http.HttpClientException;
+import org.projectnessie.model.ContentKey;
+import org.projectnessie.model.EntriesResponse;
+import org.projectnessie.model.EntriesResponse.Entry;
+
+@ExtendWith(SoftAssertionsExtension.class)
+class TestStreamedJsonPage {
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  @Test
+  void pagingAttributesAfterEntries() throws Exception {
+    EntriesResponse response =
+        EntriesResponse.builder()
+            .addEntries(Entry.entry(ContentKey.of("a"), ICEBERG_TABLE, "id-a"))
+            .addEntries(Entry.entry(ContentKey.of("b"), ICEBERG_TABLE, "id-b"))
+            .build();
+    String json =
+        "{\"effectiveReference\":null,\"entries\":"
+            + MAPPER.writeValueAsString(response.getEntries())
+            + ",\"hasMore\":true,\"token\":\"next\",\"unknown\":{\"x\":[1,2]}}";
+
+    try (StreamedJsonPage<Entry> page = page(json)) {
+      soft.assertThat(entries(page)).containsExactlyElementsOf(response.getEntries());
+      soft.assertThat(page.isHasMore()).isTrue();
+      soft.assertThat(page.getToken()).isEqualTo("next");
+    }
+  }
+
+  @Test
+  void pagingAttributesBeforeEntries() throws Exception {
+    List<Entry> entries = singletonList(Entry.entry(ContentKey.of("a"), ICEBERG_TABLE, "id-a"));
+    String json =
+        "{\"hasMore\":true,\"token\":\"next\",\"entries\":"
+            + MAPPER.writeValueAsString(entries)
+            + "}";
+
+    try (StreamedJsonPage<Entry> page = page(json)) {
+      soft.assertThat(entries(page)).containsExactlyElementsOf(entries);
+      soft.assertThat(page.isHasMore()).isTrue();
+      soft.assertThat(page.getToken()).isEqualTo("next");
+    }
+
+    try (StreamedJsonPage<Entry> page = page("{\"entries\":[],\"hasMore\":false}")) {
+      soft.assertThat(entries(page)).isEmpty();
+      soft.assertThat(page.isHasMore()).isFalse();
+      soft.assertThat(page.getToken()).isNull();
+    }
+  }
+
+  @Test
+  void truncatedResponse() throws Exception {
+    String json =
+        MAPPER.writeValueAsString(
+            EntriesResponse.builder()
+                .addEntries(Entry.entry(ContentKey.of("a"), ICEBERG_TABLE, "id-a"))
+                .addEntries(Entry.entry(ContentKey.of("b"), ICEBERG_TABLE, "id-b"))
+                .build());
+    String truncated = json.substring(0, json.indexOf("id-b"));
+
+    StreamedJsonPage<Entry> page = page(truncated);
+    soft.assertThat(page.nextEntry()).isNotNull();
+    soft.assertThatThrownBy(page::nextEntry)
+        .isInstanceOf(HttpClientException.class)
+        .hasMessage("Truncated response.");
+
+    soft.assertThatThrownBy(() -> page("[]"))
+        .isInstanceOf(HttpClientException.class)
+        .hasMessage("Cannot parse response.");
+  }
+
+  @Test
+  void completeMarker() throws Exception {
+    List<Entry> entries = singletonList(Entry.entry(ContentKey.of("a"), ICEBERG_TABLE, "id-a"));
+    String entriesJson = MAPPER.writeValueAsString(entries);
+
+    try (StreamedJsonPage<Entry> page =
+        page("{\"entries\":" + entriesJson + ",\"hasMore\":false,\"complete\":true}")) {
+      soft.assertThat(entries(page)).containsExactlyElementsOf(entries);
+      soft.assertThat(page.isHasMore()).isFalse();
+    }
+
+    StreamedJsonPage<Entry> incomplete =
+        page("{\"entries\":" + entriesJson + ",\"complete\":false,\"error\":\"failure\"}");
+    soft.assertThat(incomplete.nextEntry()).isEqualTo(entries.get(0));
+    soft.assertThatThrownBy(incomplete::nextEntry)
+        .isInstanceOf(HttpClientException.class)
+        .hasMessage("Incomplete response, the server failed to produce all entries: failure");
+  }
+
+  private static StreamedJsonPage<Entry> page(String json) throws Exception {
+    return new StreamedJsonPage<>(MAPPER.createParser(json), "entries", Entry.class);
+  }
+
+  private static List<Entry> entries(StreamedJsonPage<Entry> page) {
+    List<Entry> entries = new ArrayList<>();
+    for (Entry e = page.nextEntry(); e != null; e = page.nextEntry()) {
+      entries.add(e);
+    }
+    return entries;
+  }
+}
@@ -35,6 +35,7 @@ import org.projectnessie.model.ContentKey;
 import org.projectnessie.model.ContentResponse;
 import org.projectnessie.model.DiffResponse;
 import org.projectnessie.model.EntriesResponse;
+import org.projectnessie.model.FetchOption;
 import org.projectnessie.model.GetMultipleContentsRequest;
 import org.projectnessie.model.GetMultipleContentsResponse;
 import org.projectnessie.model.LogResponse;
@@ -176,6 +177,41 @@ public interface TreeApi {
           CommitLogParams params)
       throws NessieNotFoundException;
 
+  /**
+   * Retrieve the commits that changed the content object for the given {@link ContentKey} on the
+   * given reference, most recent changes first.
+   *
+   * <p>The content object is identified by its content ID, so the history follows the content
+   * object across renames. Commits of other content objects are not returned. Like {@link
+   * #getCommitLog(String, CommitLogParams)}, the result can be truncated by the backend and
+   * supports paging via {@link LogResponse#getToken() LogResponse.getToken()}.
+   *
+   * @param key the {@link ContentKey} of the content object
+   * @param ref named-reference to retrieve the content history for
+   * @param fetchOption whether to return the operations of the commits
+   * @param maxRecords maximum number of entries to return, just a hint for the server
+   * @param pageToken paging continuation token, as returned in a previous {@link LogResponse}
+   * @return the commits that changed the content object
+   * @throws NessieNotFoundException if {@code ref} does not exist
+   */
+  LogResponse getContentHistory(
+      @Valid @jakarta.validation.Valid ContentKey key,
+      @Valid
+          @jakarta.validation.Valid
+          @NotNull
+          @jakarta.validation.constraints.NotNull
+          @Pattern(
+              regexp = Validation.REF_NAME_PATH_REGEX,
+              message = Validation.REF_NAME_PATH_MESSAGE)
+          @jakarta.validation.constraints.Pattern(
+              regexp = Validation.REF_NAME_PATH_REGEX,
+              message = Validation.REF_NAME_PATH_MESSAGE)
+          String ref,
+      FetchOption fetchOption,
+      Integer maxRecords,
+      String pageToken)
+      throws NessieNotFoundException;
+
   /**
    * Returns a set of content differences between two given references.
    *
@@ -35,6 +35,13 @@ public interface ApiDoc {
           + "contain exactly 'maxRecords' even if the total amount of available data allows that. Pages may "
           + "contain more of less entries at server's discretion.\n";
 
+  String STREAMED_PAGE_INFO =
+      "The entries of a page are written as they are retrieved, so clients should not rely on the "
+          + "order of the attributes in the response object: 'hasMore' and 'token' may follow the "
+          + "list of entries. Errors that happen after the first entry has been written cannot "
+          + "change the response status anymore, clients then receive a truncated response with "
+          + "status 200, which is not valid JSON.\n";
+
   String FULL_REF_INFO =
       "The 'name@hash' form always refers to the exact commit on a specific named reference. This is the most complete "
           + "form of a reference. Other forms omit some of the details and require those gaps to be filled by the "
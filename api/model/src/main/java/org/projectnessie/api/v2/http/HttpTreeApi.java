@@ -23,6 +23,7 @@ import static org.projectnessie.api.v2.doc.ApiDoc.MERGE_TRANSPLANT_BRANCH_DESCRI
 import static org.projectnessie.api.v2.doc.ApiDoc.PAGING_INFO;
 import static org.projectnessie.api.v2.doc.ApiDoc.REF_NAME_DESCRIPTION;
 import static org.projectnessie.api.v2.doc.ApiDoc.REF_PARAMETER_DESCRIPTION;
+import static org.projectnessie.api.v2.doc.ApiDoc.STREAMED_PAGE_INFO;
 import static org.projectnessie.api.v2.doc.ApiDoc.WITH_DOC_PARAMETER_DESCRIPTION;
 import static org.projectnessie.model.Validation.REF_NAME_PATH_ELEMENT_REGEX;
 
@@ -63,6 +64,7 @@ import org.projectnessie.model.ContentKey;
 import org.projectnessie.model.ContentResponse;
 import org.projectnessie.model.DiffResponse;
 import org.projectnessie.model.EntriesResponse;
+import org.projectnessie.model.FetchOption;
 import org.projectnessie.model.GetMultipleContentsRequest;
 import org.projectnessie.model.GetMultipleContentsResponse;
 import org.projectnessie.model.LogResponse;
@@ -212,6 +214,8 @@ public interface HttpTreeApi extends TreeApi {
               + "\n"
               + PAGING_INFO
               + "\n"
+              + STREAMED_PAGE_INFO
+              + "\n"
               + "The 'filter' parameter allows for advanced filtering capabilities using the Common Expression Language (CEL).\n"
               + "An intro to CEL can be found at https://github.com/google/cel-spec/blob/master/doc/intro.md.\n",
       operationId = "getEntriesV2")
@@ -280,6 +284,8 @@ public interface HttpTreeApi extends TreeApi {
               + "\n"
               + PAGING_INFO
               + "\n"
+              + STREAMED_PAGE_INFO
+              + "\n"
               + "The 'filter' parameter allows for advanced filtering capabilities using the Common Expression Language (CEL).\n"
               + "An intro to CEL can be found at https://github.com/google/cel-spec/blob/master/doc/intro.md.\n"
               + "\n"
@@ -569,6 +575,86 @@ public interface HttpTreeApi extends TreeApi {
           boolean withDocumentation)
       throws NessieNotFoundException;
 
+  @Override
+  @GET
+  @jakarta.ws.rs.GET
+  @Produces(MediaType.APPLICATION_JSON)
+  @jakarta.ws.rs.Produces(jakarta.ws.rs.core.MediaType.APPLICATION_JSON)
+  @Path("{ref:" + REF_NAME_PATH_ELEMENT_REGEX + "}/contents/{key}/history")
+  @jakarta.ws.rs.Path("{ref:" + REF_NAME_PATH_ELEMENT_REGEX + "}/contents/{key}/history")
+  @Operation(
+      summary = "Get the commits that changed the content object associated with a key.",
+      description =
+          "Retrieve the commits that changed the content object for the given key, most recent changes first, "
+              + "starting at the HEAD of the given ref (or a more specific commit, if provided as part of the "
+              + "'ref' path element).\n"
+              + "\n"
+              + "The content object is identified by its content ID, the history follows the content object "
+              + "across renames and does not include commits of other content objects that previously used "
+              + "the same key.\n"
+              + "\n"
+              + PAGING_INFO,
+      operationId = "getContentHistoryV2")
+  @APIResponses({
+    @APIResponse(
+        responseCode = "200",
+        description = "Returned commits.",
+        content = {
+          @Content(
+              mediaType = MediaType.APPLICATION_JSON,
+              examples = {
+                @ExampleObject(ref = "logResponseAdditionalInfo"),
+                @ExampleObject(ref = "logResponseSimple")
+              },
+              schema = @Schema(implementation = LogResponse.class))
+        }),
+    @APIResponse(responseCode = "400", description = "Invalid input, ref name not valid"),
+    @APIResponse(responseCode = "401", description = "Invalid credentials provided"),
+    @APIResponse(
+        responseCode = "403",
+        description =
+            "Not allowed to view the given reference, get the commit log for it or read object "
+                + "content for the key"),
+    @APIResponse(responseCode = "404", description = "Ref doesn't exists")
+  })
+  @JsonView(Views.V2.class)
+  LogResponse getContentHistory(
+      @Parameter(description = KEY_PARAMETER_DESCRIPTION)
+          @PathParam("key")
+          @jakarta.ws.rs.PathParam("key")
+          ContentKey key,
+      @Parameter(
+              schema = @Schema(pattern = REF_NAME_PATH_ELEMENT_REGEX),
+              description = REF_PARAMETER_DESCRIPTION,
+              examples = {
+                @ExampleObject(ref = "ref"),
+                @ExampleObject(ref = "refWithHash"),
+                @ExampleObject(ref = "refDefault"),
+                @ExampleObject(ref = "refDetached"),
+              })
+          @PathParam("ref")
+          @jakarta.ws.rs.PathParam("ref")
+          String ref,
+      @Parameter(
+              description =
+                  "Specify how much information to be returned. Will fetch additional metadata such as "
+                      + "parent commit hash and operations in a commit, for each commit if set to 'ALL'.")
+          @QueryParam("fetch")
+          @jakarta.ws.rs.QueryParam("fetch")
+          FetchOption fetchOption,
+      @Parameter(description = "maximum number of entries to return, just a hint for the server")
+          @QueryParam("max-records")
+          @jakarta.ws.rs.QueryParam("max-records")
+          Integer maxRecords,
+      @Parameter(
+              description =
+                  "paging continuation token, as returned in the previous value of the field 'token' "
+                      + "in the corresponding 'LogResponse'.")
+          @QueryParam("page-token")
+          @jakarta.ws.rs.QueryParam("page-token")
+          String pageToken)
+      throws NessieNotFoundException;
+
   @GET
   @jakarta.ws.rs.GET
   @Produces(MediaType.APPLICATION_JSON)
@@ -119,6 +119,16 @@ public class JerseyServer implements AutoCloseable {
                 "org.projectnessie.services.restjavax.NessieJaxRsJsonMappingExceptionMapper",
                 c -> config.register(c, 10),
                 true);
+            withJavaxClass(
+                // Present since 0.65.2
+                "org.projectnessie.services.restjavax.ObjectMapperContextResolver",
+                config::register,
+                false);
+            withJavaxClass(
+                // Present since 0.65.2
+                "org.projectnessie.services.restjavax.StreamingPagedResponseWriter",
+                config::register,
+                false);
 
             config.register(EncodingFilter.class);
             config.register(GZipEncoder.class);
@@ -55,7 +55,7 @@ public final class NessieRepositoryConnector implements RepositoryConnector {
 
   @Override
   public Stream<LogResponse.LogEntry> commitLog(Reference ref) throws NessieNotFoundException {
-    return api.getCommitLog().reference(ref).fetch(FetchOption.ALL).stream();
+    return api.getCommitLog().reference(ref).fetch(FetchOption.ALL).streamIncrementally();
   }
 
   @Override
@@ -31,7 +31,10 @@ public interface RepositoryConnector extends AutoCloseable {
   /** Retrieve all references to walk. References are usually walked in parallel. */
   Stream<Reference> allReferences() throws NessieNotFoundException;
 
-  /** Retrieve the commit log of a single reference returned via {@link #allReferences()}. */
+  /**
+   * Retrieve the commit log of a single reference returned via {@link #allReferences()}. The
+   * returned stream must be closed.
+   */
   Stream<LogResponse.LogEntry> commitLog(Reference ref) throws NessieNotFoundException;
 
   /**
@@ -64,7 +64,9 @@ import org.projectnessie.services.restjavax.NamespaceParamConverterProvider;
 import org.projectnessie.services.restjavax.NessieExceptionMapper;
 import org.projectnessie.services.restjavax.NessieJaxRsJsonMappingExceptionMapper;
 import org.projectnessie.services.restjavax.NessieJaxRsJsonParseExceptionMapper;
+import org.projectnessie.services.restjavax.ObjectMapperContextResolver;
 import org.projectnessie.services.restjavax.ReferenceTypeParamConverterProvider;
+import org.projectnessie.services.restjavax.StreamingPagedResponseWriter;
 import org.projectnessie.services.restjavax.ValidationExceptionMapper;
 import org.projectnessie.versioned.PersistVersionStoreExtension;
 import org.projectnessie.versioned.VersionStoreImplExtension;
@@ -266,6 +268,8 @@ public class NessieJaxRsExtension extends NessieClientResolver
               config.register(NessieExceptionMapper.class);
               config.register(NessieJaxRsJsonParseExceptionMapper.class, 10);
               config.register(NessieJaxRsJsonMappingExceptionMapper.class, 10);
+              config.register(ObjectMapperContextResolver.class);
+              config.register(StreamingPagedResponseWriter.class);
               config.register(EncodingFilter.class);
               config.register(GZipEncoder.class);
               config.register(DeflateEncoder.class);
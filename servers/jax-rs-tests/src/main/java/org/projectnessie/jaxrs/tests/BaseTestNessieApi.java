@@ -916,6 +916,10 @@ public abstract class BaseTestNessieApi {
 
     soft.assertThat(api().getCommitLog().reference(main).maxRecords(1).stream())
         .containsExactlyInAnyOrderElementsOf(all);
+    try (Stream<LogEntry> log =
+        api().getCommitLog().reference(main).maxRecords(3).streamIncrementally()) {
+      soft.assertThat(log).containsExactlyInAnyOrderElementsOf(all);
+    }
   }
 
   @Test
@@ -1124,6 +1128,15 @@ public abstract class BaseTestNessieApi {
 
       soft.assertThat(api().getEntries().withContent(isV2()).reference(main).maxRecords(1).stream())
           .containsExactlyInAnyOrderElementsOf(all);
+      try (Stream<Entry> entries =
+          api()
+              .getEntries()
+              .withContent(isV2())
+              .reference(main)
+              .maxRecords(3)
+              .streamIncrementally()) {
+        soft.assertThat(entries).containsExactlyInAnyOrderElementsOf(all);
+      }
     }
   }
 
@@ -16,8 +16,10 @@
 package org.projectnessie.quarkus.cli;
 
 import static org.projectnessie.versioned.storage.common.logic.Logics.repositoryLogic;
+import static org.projectnessie.versioned.transfer.ExportImportConstants.HEADS_AND_FORKS;
 
 import jakarta.annotation.Nonnull;
+import java.io.InputStream;
 import java.io.PrintWriter;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -31,8 +33,12 @@ import org.projectnessie.versioned.transfer.ProgressEvent;
 import org.projectnessie.versioned.transfer.ProgressListener;
 import org.projectnessie.versioned.transfer.files.ExportFileSupplier;
 import org.projectnessie.versioned.transfer.files.FileExporter;
+import org.projectnessie.versioned.transfer.files.FileImporter;
+import org.projectnessie.versioned.transfer.files.ImportFileSupplier;
 import org.projectnessie.versioned.transfer.files.ZipArchiveExporter;
+import org.projectnessie.versioned.transfer.files.ZipArchiveImporter;
 import org.projectnessie.versioned.transfer.serialize.TransferTypes.ExportMeta;
+import org.projectnessie.versioned.transfer.serialize.TransferTypes.HeadsAndForks;
 import picocli.CommandLine;
 import picocli.CommandLine.PicocliException;
 
@@ -50,6 +56,8 @@ public class ExportRepository extends BaseCommand {
   static final String SINGLE_BRANCH = "--single-branch-current-content";
   static final String CONTENT_BATCH_SIZE = "--content-batch-size";
   static final String COMMIT_BATCH_SIZE = "--commit-batch-size";
+  static final String EXPORT_THREADS = "--export-threads";
+  static final String DELTA_BASE = "--delta-base";
 
   enum Format {
     ZIP,
@@ -127,6 +135,32 @@ public class ExportRepository extends BaseCommand {
               + ".")
   private Integer commitBatchSize;
 
+  @CommandLine.Option(
+      names = EXPORT_THREADS,
+      paramLabel = "<number>",
+      description = {
+        "Number of threads that fetch contents and write commits and named references, "
+            + "each thread writes its own set of files. Parallel export is only supported for the "
+            + "new storage model. ZIP output spools the concurrently written files to temporary "
+            + "files next to the output file, prefer the DIRECTORY output format for large "
+            + "exports. The default value is 1."
+      })
+  private Integer exportThreads;
+
+  @CommandLine.Option(
+      names = DELTA_BASE,
+      paramLabel = "<previous-export>",
+      description = {
+        "Create a delta export that only contains the commits that are not contained in the "
+            + "given previous export, which can be a ZIP file or a directory. "
+            + "Named references are always exported completely. "
+            + "Delta exports are only supported for the new storage model and cannot be combined "
+            + "with --full-scan or "
+            + SINGLE_BRANCH
+            + "."
+      })
+  private Path deltaBase;
+
   @Override
   protected Integer callWithDatabaseAdapter() throws Exception {
     return export(
@@ -179,6 +213,12 @@ public class ExportRepository extends BaseCommand {
       if (commitBatchSize != null) {
         builder.commitBatchSize(commitBatchSize);
       }
+      if (exportThreads != null) {
+        builder.exportThreads(exportThreads);
+      }
+      if (deltaBase != null) {
+        builder.deltaBase(loadDeltaBase());
+      }
 
       PrintWriter out = spec.commandLine().getOut();
 
@@ -188,6 +228,21 @@ public class ExportRepository extends BaseCommand {
     }
   }
 
+  private HeadsAndForks loadDeltaBase() throws Exception {
+    ImportFileSupplier previousExport;
+    if (Files.isRegularFile(deltaBase)) {
+      previousExport = ZipArchiveImporter.builder().sourceZipFile(deltaBase).build();
+    } else if (Files.isDirectory(deltaBase)) {
+      previousExport = FileImporter.builder().sourceDirectory(deltaBase).build();
+    } else {
+      throw new PicocliException(String.format("No such file or directory %s", deltaBase));
+    }
+    try (ImportFileSupplier files = previousExport;
+        InputStream input = files.newFileInput(HEADS_AND_FORKS)) {
+      return HeadsAndForks.parseFrom(input);
+    }
+  }
+
   private ExportFileSupplier createExportFileSupplier() {
     ExportFileSupplier exportFileSupplier;
     switch (exportFormat()) {
@@ -58,6 +58,7 @@ public class ImportRepository extends BaseCommand {
   static final String NO_OPTIMIZE = "--no-optimize";
   static final String INPUT_BUFFER_SIZE = "--input-buffer-size";
   static final String COMMIT_BATCH_SIZE = "--commit-batch-size";
+  static final String IMPORT_THREADS = "--import-threads";
 
   @CommandLine.Option(
       names = {"-p", PATH},
@@ -77,6 +78,16 @@ public class ImportRepository extends BaseCommand {
               + ".")
   private Integer commitBatchSize;
 
+  @CommandLine.Option(
+      names = IMPORT_THREADS,
+      paramLabel = "<number>",
+      description = {
+        "Number of threads that import commits files and complete commit indexes. "
+            + "Parallel import is only supported for the new storage model. "
+            + "The default value is 1."
+      })
+  private Integer importThreads;
+
   @CommandLine.Option(
       names = INPUT_BUFFER_SIZE,
       description =
@@ -183,8 +194,20 @@ public class ImportRepository extends BaseCommand {
       if (commitBatchSize != null) {
         builder.commitBatchSize(commitBatchSize);
       }
+      if (importThreads != null) {
+        builder.importThreads(importThreads);
+      }
 
-      if (erase) {
+      NessieImporter importer = builder.progressListener(new ImportProgressListener(out)).build();
+
+      if (importer.loadExportMeta().getDeltaBaseHeadsCount() > 0) {
+        // Delta exports are applied on top of the repository that contains the delta base.
+        if (erase) {
+          throw new PicocliException(
+              ERASE_BEFORE_IMPORT + " cannot be used when importing a delta export.");
+        }
+        out.println("Applying delta export to the existing repository...");
+      } else if (erase) {
         spec.commandLine().getOut().println("Erasing repository...");
         persist.erase();
       } else if (repositoryLogic(persist).repositoryExists()) {
@@ -198,8 +221,6 @@ public class ImportRepository extends BaseCommand {
         return EXIT_CODE_REPO_ALREADY_EXISTS;
       }
 
-      NessieImporter importer = builder.progressListener(new ImportProgressListener(out)).build();
-
       ImportResult importResult = importer.importNessieRepository();
 
       out.printf(
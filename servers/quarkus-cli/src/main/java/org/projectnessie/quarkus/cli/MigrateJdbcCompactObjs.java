@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.quarkus.cli;
+
+import static org.projectnessie.quarkus.config.VersionStoreConfig.VersionStoreType.JDBC;
+import static org.projectnessie.versioned.storage.jdbc.JdbcCompactObjsMigration.DEFAULT_BATCH_SIZE;
+
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import java.io.PrintWriter;
+import java.time.Duration;
+import org.projectnessie.versioned.storage.common.persist.Backend;
+import org.projectnessie.versioned.storage.jdbc.JdbcCompactObjsMigration;
+import picocli.CommandLine;
+
+@CommandLine.Command(
+    name = "migrate-jdbc-compact-objs",
+    mixinStandardHelpOptions = true,
+    description = {
+      "Migrates the objects of a JDBC repository to the compact objects layout.",
+      "Requires nessie.version.store.persist.jdbc.compact-objs=true. Can be run while Nessie "
+          + "servers use the repository."
+    })
+public class MigrateJdbcCompactObjs extends BaseCommand {
+
+  static final String BATCH_SIZE = "--batch-size";
+
+  @CommandLine.Option(
+      names = BATCH_SIZE,
+      description =
+          "Number of objects migrated per database transaction, defaults to "
+              + DEFAULT_BATCH_SIZE
+              + ".")
+  private int batchSize = DEFAULT_BATCH_SIZE;
+
+  @Inject Instance<Backend> backendInstance;
+
+  @Override
+  protected Integer callWithPersist() {
+    PrintWriter out = spec.commandLine().getOut();
+    PrintWriter err = spec.commandLine().getErr();
+
+    if (versionStoreConfig.getVersionStoreType() != JDBC) {
+      err.println(
+          spec.commandLine()
+              .getColorScheme()
+              .errorText(
+                  "Command '"
+                      + spec.name()
+                      + "' is only supported for the "
+                      + JDBC
+                      + " version store type."));
+      return EXIT_CODE_GENERIC_ERROR;
+    }
+
+    out.printf(
+        "Migrating objects of repository '%s' to the compact objects layout...%n",
+        persist.config().repositoryId());
+
+    long t0 = System.nanoTime();
+    long migrated;
+    try {
+      migrated =
+          JdbcCompactObjsMigration.migrateToCompactObjs(
+              backendInstance.get(), persist.config(), batchSize);
+    } catch (IllegalArgumentException | IllegalStateException e) {
+      err.println(spec.commandLine().getColorScheme().errorText(e.getMessage()));
+      return EXIT_CODE_GENERIC_ERROR;
+    }
+    Duration duration = Duration.ofNanos(System.nanoTime() - t0);
+
+    out.printf("Migrated %d objects in %s.%n", migrated, duration);
+    return 0;
+  }
+}
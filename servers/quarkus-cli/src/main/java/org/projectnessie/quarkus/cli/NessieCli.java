@@ -34,7 +34,8 @@ import picocli.CommandLine.HelpCommand;
       ContentInfo.class,
       EraseRepository.class,
       ExportRepository.class,
-      ImportRepository.class
+      ImportRepository.class,
+      MigrateJdbcCompactObjs.class
     })
 public class NessieCli extends BaseCommand {
 
@@ -43,4 +43,11 @@ class TestNessieCli {
         .contains(
             "Repository information & maintenance for an in-memory implementation is meaningless");
   }
+
+  @Test
+  @Launch(value = "migrate-jdbc-compact-objs", exitCode = 1)
+  public void testMigrateJdbcCompactObjsRequiresJdbc(LaunchResult result) {
+    assertThat(result.getErrorOutput())
+        .contains("Command 'migrate-jdbc-compact-objs' is only supported for the JDBC");
+  }
 }
@@ -20,6 +20,7 @@ import io.smallrye.config.ConfigMapping;
 import io.smallrye.config.WithConverter;
 import io.smallrye.config.WithDefault;
 import io.smallrye.config.WithName;
+import java.util.Optional;
 import org.projectnessie.versioned.storage.jdbc.JdbcBackendBaseConfig;
 
 @StaticInitSafe
@@ -37,4 +38,17 @@ public interface QuarkusJdbcConfig extends JdbcBackendBaseConfig {
   @WithConverter(RepoIdConverter.class)
   @Override
   String schema();
+
+  @WithName("compact-objs")
+  @WithDefault("false")
+  @Override
+  boolean compactObjs();
+
+  /**
+   * The name of a Quarkus named datasource pointing to a read replica of the default datasource.
+   * Objects are read from the replica, except when they are read in order to be updated.
+   * References are always read and updated via the default datasource.
+   */
+  @WithName("read-replica-datasource")
+  Optional<String> readReplicaDatasource();
 }
@@ -21,6 +21,8 @@ import io.smallrye.config.ConfigMapping;
 import io.smallrye.config.WithConverter;
 import io.smallrye.config.WithDefault;
 import io.smallrye.config.WithName;
+import java.time.Duration;
+import java.util.Optional;
 import org.projectnessie.versioned.storage.common.config.StoreConfig;
 
 @StaticInitSafe
@@ -91,10 +93,59 @@ public interface QuarkusStoreConfig extends StoreConfig {
   @Override
   boolean validateNamespaces();
 
+  @WithName(CONFIG_GROUP_COMMITS)
+  @WithDefault("" + DEFAULT_GROUP_COMMITS)
+  @Override
+  boolean groupCommits();
+
+  @WithName(CONFIG_CONTENT_HISTORY)
+  @WithDefault("" + DEFAULT_CONTENT_HISTORY)
+  @Override
+  boolean contentHistory();
+
+  @WithName(CONFIG_INDEX_CACHE_CAPACITY_MB)
+  @WithDefault("" + DEFAULT_INDEX_CACHE_CAPACITY_MB)
+  @Override
+  int indexCacheCapacityMb();
+
   String CONFIG_CACHE_CAPACITY_MB = "cache-capacity-mb";
   int DEFAULT_CACHE_CAPACITY_MB = 0;
 
   @WithName(CONFIG_CACHE_CAPACITY_MB)
   @WithDefault("" + DEFAULT_CACHE_CAPACITY_MB)
   int cacheCapacityMB();
+
+  String CONFIG_CACHE_OFF_HEAP = "cache-off-heap";
+  boolean DEFAULT_CACHE_OFF_HEAP = false;
+
+  /**
+   * Whether the cache of serialized objects uses direct, off-heap memory instead of the Java heap.
+   * {@link #cacheCapacityMB()} then defines the amount of off-heap memory, which must be allowed
+   * via the {@code -XX:MaxDirectMemorySize} JVM option.
+   */
+  @WithName(CONFIG_CACHE_OFF_HEAP)
+  @WithDefault("" + DEFAULT_CACHE_OFF_HEAP)
+  boolean cacheOffHeap();
+
+  String CONFIG_CACHE_OBJECTS_CAPACITY_MB = "cache-objects-capacity-mb";
+  int DEFAULT_CACHE_OBJECTS_CAPACITY_MB = 0;
+
+  /**
+   * Size of the optional tier of deserialized objects in front of the cache of serialized objects,
+   * in MB. Only effective when {@link #cacheCapacityMB()} is enabled. {@code 0} disables the tier.
+   */
+  @WithName(CONFIG_CACHE_OBJECTS_CAPACITY_MB)
+  @WithDefault("" + DEFAULT_CACHE_OBJECTS_CAPACITY_MB)
+  int cacheObjectsCapacityMB();
+
+  String CONFIG_REFERENCE_CACHE_TTL = "reference-cache-ttl";
+
+  /**
+   * Defines the duration how long references shall be kept in the cache. Defaults to not cache
+   * references. If enabled, it is recommended to keep the TTL short, for example {@code PT1S} or
+   * lower, because references changed on another Nessie instance are only visible after the cached
+   * entry expired. Commits and other conditional reference updates always read the current state.
+   */
+  @WithName(CONFIG_REFERENCE_CACHE_TTL)
+  Optional<Duration> referenceCacheTtl();
 }
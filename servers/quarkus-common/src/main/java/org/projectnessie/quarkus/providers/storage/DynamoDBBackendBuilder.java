@@ -23,6 +23,7 @@ import org.projectnessie.quarkus.providers.versionstore.StoreType;
 import org.projectnessie.versioned.storage.common.persist.Backend;
 import org.projectnessie.versioned.storage.dynamodb.DynamoDBBackendConfig;
 import org.projectnessie.versioned.storage.dynamodb.DynamoDBBackendFactory;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 
 @StoreType(DYNAMODB)
@@ -30,11 +31,13 @@ import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 public class DynamoDBBackendBuilder implements BackendBuilder {
 
   @Inject DynamoDbClient client;
+  @Inject DynamoDbAsyncClient asyncClient;
 
   @Override
   public Backend buildBackend() {
     DynamoDBBackendFactory factory = new DynamoDBBackendFactory();
-    DynamoDBBackendConfig c = DynamoDBBackendConfig.builder().client(client).build();
+    DynamoDBBackendConfig c =
+        DynamoDBBackendConfig.builder().client(client).asyncClient(asyncClient).build();
     return factory.buildBackend(c);
   }
 }
@@ -18,8 +18,11 @@ package org.projectnessie.quarkus.providers.storage;
 import static org.projectnessie.quarkus.config.VersionStoreConfig.VersionStoreType.JDBC;
 
 import io.agroal.api.AgroalDataSource;
+import io.quarkus.agroal.DataSource.DataSourceLiteral;
 import io.quarkus.datasource.common.runtime.DatabaseKind;
 import jakarta.enterprise.context.Dependent;
+import jakarta.enterprise.inject.Any;
+import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.projectnessie.quarkus.config.QuarkusJdbcConfig;
@@ -36,6 +39,8 @@ public class JdbcBackendBuilder implements BackendBuilder {
   @Inject
   AgroalDataSource dataSource;
 
+  @Inject @Any Instance<AgroalDataSource> dataSources;
+
   @Inject
   @ConfigProperty(name = "quarkus.datasource.db-kind")
   String databaseKind;
@@ -53,7 +58,15 @@ public class JdbcBackendBuilder implements BackendBuilder {
     }
 
     JdbcBackendFactory factory = new JdbcBackendFactory();
-    JdbcBackendConfig c = JdbcBackendConfig.builder().from(config).dataSource(dataSource).build();
+    JdbcBackendConfig c =
+        JdbcBackendConfig.builder()
+            .from(config)
+            .dataSource(dataSource)
+            .readReplicaDataSource(
+                config
+                    .readReplicaDatasource()
+                    .map(name -> dataSources.select(new DataSourceLiteral(name)).get()))
+            .build();
     return factory.buildBackend(c);
   }
 }
@@ -42,10 +42,19 @@ public class MongoDBBackendBuilder implements BackendBuilder {
     MongoClients mongoClients = Arc.container().instance(MongoClients.class).get();
     MongoClient client =
         mongoClients.createMongoClient(MongoClientBeanUtil.DEFAULT_MONGOCLIENT_NAME);
+    // The reactive streams client is used for the non-blocking object fetches and stores.
+    com.mongodb.reactivestreams.client.MongoClient asyncClient =
+        mongoClients
+            .createReactiveMongoClient(MongoClientBeanUtil.DEFAULT_MONGOCLIENT_NAME)
+            .unwrap();
 
     MongoDBBackendFactory factory = new MongoDBBackendFactory();
     MongoDBBackendConfig c =
-        MongoDBBackendConfig.builder().databaseName(databaseName).client(client).build();
+        MongoDBBackendConfig.builder()
+            .databaseName(databaseName)
+            .client(client)
+            .asyncClient(asyncClient)
+            .build();
     return factory.buildBackend(c);
   }
 }
@@ -17,6 +17,7 @@ package org.projectnessie.quarkus.providers.storage;
 
 import static org.projectnessie.versioned.storage.common.logic.Logics.repositoryLogic;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import io.opentelemetry.api.trace.Tracer;
 import io.quarkus.runtime.Startup;
 import io.quarkus.runtime.annotations.RegisterForReflection;
@@ -36,6 +37,9 @@ import org.projectnessie.quarkus.providers.WIthInitializedRepository;
 import org.projectnessie.quarkus.providers.versionstore.StoreType.Literal;
 import org.projectnessie.services.config.ServerConfig;
 import org.projectnessie.versioned.storage.cache.CacheBackend;
+import org.projectnessie.versioned.storage.cache.CacheConfig;
+import org.projectnessie.versioned.storage.cache.CacheInvalidationChannel;
+import org.projectnessie.versioned.storage.cache.ImmutableCacheConfig;
 import org.projectnessie.versioned.storage.cache.PersistCaches;
 import org.projectnessie.versioned.storage.common.persist.Backend;
 import org.projectnessie.versioned.storage.common.persist.Persist;
@@ -48,7 +52,9 @@ import org.slf4j.LoggerFactory;
 @RegisterForReflection(
     classNames = {
       "com.github.benmanes.caffeine.cache.SSSMW",
-      "com.github.benmanes.caffeine.cache.PSMW"
+      "com.github.benmanes.caffeine.cache.PSMW",
+      "com.github.benmanes.caffeine.cache.SSSMSW",
+      "com.github.benmanes.caffeine.cache.PSWMS"
     })
 public class PersistProvider {
   private static final Logger LOGGER = LoggerFactory.getLogger(PersistProvider.class);
@@ -59,10 +65,14 @@ public class PersistProvider {
   private final ServerConfig serverConfig;
   private final QuarkusStoreConfig storeConfig;
   private final Instance<Tracer> opentelemetryTracer;
+  private final Instance<MeterRegistry> meterRegistry;
+  private final Instance<CacheInvalidationChannel> cacheInvalidationChannel;
 
   @Inject
   public PersistProvider(
       @Any Instance<Tracer> opentelemetryTracer,
+      @Any Instance<MeterRegistry> meterRegistry,
+      @Any Instance<CacheInvalidationChannel> cacheInvalidationChannel,
       @Any Instance<BackendBuilder> backendBuilder,
       @Any Instance<Backend> backend,
       VersionStoreConfig versionStoreConfig,
@@ -74,6 +84,8 @@ public class PersistProvider {
     this.storeConfig = storeConfig;
     this.serverConfig = serverConfig;
     this.opentelemetryTracer = opentelemetryTracer;
+    this.meterRegistry = meterRegistry;
+    this.cacheInvalidationChannel = cacheInvalidationChannel;
   }
 
   @Produces
@@ -160,10 +172,37 @@ public class PersistProvider {
     String cacheInfo;
     int cacheCapacityMB = storeConfig.cacheCapacityMB();
     if (cacheCapacityMB > 0) {
-      CacheBackend cacheBackend = PersistCaches.newBackend(1024L * 1024L * cacheCapacityMB);
+      int cacheObjectsCapacityMB = storeConfig.cacheObjectsCapacityMB();
+      ImmutableCacheConfig.Builder cacheConfig =
+          CacheConfig.builder()
+              .capacity(1024L * 1024L * cacheCapacityMB)
+              .offHeap(storeConfig.cacheOffHeap())
+              .objectsCapacity(1024L * 1024L * Math.max(cacheObjectsCapacityMB, 0));
+      storeConfig.referenceCacheTtl().ifPresent(cacheConfig::referenceTtl);
+      if (versionStoreConfig.isMetricsEnabled() && meterRegistry.isResolvable()) {
+        cacheConfig.meterRegistry(meterRegistry.get());
+      }
+      if (cacheInvalidationChannel.isResolvable()) {
+        cacheConfig.invalidationChannel(cacheInvalidationChannel.get());
+      }
+      CacheBackend cacheBackend = PersistCaches.newBackend(cacheConfig.build());
       persist = cacheBackend.wrap(persist);
       persist = wrapPersistTracing.apply(persist, "Cache");
-      cacheInfo = "with " + cacheCapacityMB + " MB objects cache";
+      cacheInfo =
+          "with "
+              + cacheCapacityMB
+              + " MB "
+              + (storeConfig.cacheOffHeap() ? "off-heap " : "")
+              + "objects cache";
+      if (cacheObjectsCapacityMB > 0) {
+        cacheInfo += " and " + cacheObjectsCapacityMB + " MB deserialized objects cache";
+      }
+      if (storeConfig.referenceCacheTtl().isPresent()) {
+        cacheInfo += ", references cached for " + storeConfig.referenceCacheTtl().get();
+      }
+      if (cacheInvalidationChannel.isResolvable()) {
+        cacheInfo += ", with distributed cache invalidation";
+      }
     } else {
       cacheInfo = "without objects cache";
     }
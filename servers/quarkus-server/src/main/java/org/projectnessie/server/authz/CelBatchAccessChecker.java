@@ -19,11 +19,13 @@ import static java.util.Objects.requireNonNull;
 
 import com.google.common.collect.ImmutableMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Supplier;
 import org.projectnessie.cel.tools.ScriptException;
 import org.projectnessie.model.Content;
 import org.projectnessie.model.RepositoryConfig;
+import org.projectnessie.server.authz.CompiledAuthorizationRules.CompiledRule;
 import org.projectnessie.services.authz.AbstractBatchAccessChecker;
 import org.projectnessie.services.authz.AccessContext;
 import org.projectnessie.services.authz.BatchAccessChecker;
@@ -67,55 +69,28 @@ final class CelBatchAccessChecker extends AbstractBatchAccessChecker {
 
   private void canPerformOp(Check check, Map<Check, String> failed) {
     String roleName = getRoleName();
-    ImmutableMap<String, Object> arguments =
-        ImmutableMap.of(
-            "role", roleName, "op", check.type().name(), "path", "", "ref", "", "contentType", "");
 
     Supplier<String> errorMsgSupplier =
         () -> String.format("'%s' is not allowed for role '%s' ", check.type(), roleName);
-    canPerformOp(arguments, check, errorMsgSupplier, failed);
+    canPerformOp(roleName, check.type().name(), "", "", "", check, errorMsgSupplier, failed);
   }
 
   private void canPerformOpOnReference(Check check, Map<Check, String> failed) {
     String roleName = getRoleName();
     String refName = check.ref().getName();
-    ImmutableMap<String, Object> arguments =
-        ImmutableMap.of(
-            "ref",
-            refName,
-            "role",
-            roleName,
-            "op",
-            check.type().name(),
-            "path",
-            "",
-            "contentType",
-            "");
 
     Supplier<String> errorMsgSupplier =
         () ->
             String.format(
                 "'%s' is not allowed for role '%s' on reference '%s'",
                 check.type(), roleName, refName);
-    canPerformOp(arguments, check, errorMsgSupplier, failed);
+    canPerformOp(roleName, check.type().name(), refName, "", "", check, errorMsgSupplier, failed);
   }
 
   private void canPerformOpOnPath(Check check, Map<Check, String> failed) {
     String roleName = getRoleName();
     Content.Type contentType = check.contentType();
     String contentKeyPathString = check.key().toPathString();
-    ImmutableMap<String, Object> arguments =
-        ImmutableMap.of(
-            "ref",
-            check.ref().getName(),
-            "path",
-            contentKeyPathString,
-            "role",
-            roleName,
-            "op",
-            check.type().name(),
-            "contentType",
-            contentType != null ? contentType.name() : "");
 
     Supplier<String> errorMsgSupplier =
         () ->
@@ -123,7 +98,15 @@ final class CelBatchAccessChecker extends AbstractBatchAccessChecker {
                 "'%s' is not allowed for role '%s' on content '%s'",
                 check.type(), roleName, contentKeyPathString);
 
-    canPerformOp(arguments, check, errorMsgSupplier, failed);
+    canPerformOp(
+        roleName,
+        check.type().name(),
+        check.ref().getName(),
+        contentKeyPathString,
+        contentType != null ? contentType.name() : "",
+        check,
+        errorMsgSupplier,
+        failed);
   }
 
   private void canPerformRepositoryConfig(Check check, Map<Check, String> failed) {
@@ -137,30 +120,60 @@ final class CelBatchAccessChecker extends AbstractBatchAccessChecker {
                 "'%s' is not allowed for repository config type '%s'",
                 check.type(), repositoryConfigType.name());
 
-    canPerformOp(arguments, check, errorMsgSupplier, failed);
+    if (!anyRuleAllows(compiledRules.allRules(), arguments)) {
+      failed.put(check, errorMsgSupplier.get());
+    }
   }
 
   private void canPerformOp(
-      Map<String, Object> arguments,
+      String roleName,
+      String op,
+      String ref,
+      String path,
+      String contentType,
       Check check,
       Supplier<String> errorMessageSupplier,
       Map<Check, String> failed) {
     boolean allowed =
-        compiledRules.getRules().entrySet().stream()
-            .anyMatch(
-                entry -> {
-                  try {
-                    return entry.getValue().execute(Boolean.class, arguments);
-                  } catch (ScriptException e) {
-                    throw new RuntimeException(
-                        String.format(
-                            "Failed to execute authorization rule with id '%s' due to: %s",
-                            entry.getKey(), e.getMessage()),
-                        e);
-                  }
-                });
+        compiledRules.decision(
+            roleName,
+            op,
+            ref,
+            path,
+            contentType,
+            () ->
+                anyRuleAllows(
+                    compiledRules.candidateRules(op, roleName),
+                    ImmutableMap.of(
+                        "ref",
+                        ref,
+                        "path",
+                        path,
+                        "role",
+                        roleName,
+                        "op",
+                        op,
+                        "contentType",
+                        contentType)));
     if (!allowed) {
       failed.put(check, errorMessageSupplier.get());
     }
   }
+
+  private static boolean anyRuleAllows(List<CompiledRule> rules, Map<String, Object> arguments) {
+    for (CompiledRule rule : rules) {
+      try {
+        if (rule.script.execute(Boolean.class, arguments)) {
+          return true;
+        }
+      } catch (ScriptException e) {
+        throw new RuntimeException(
+            String.format(
+                "Failed to execute authorization rule with id '%s' due to: %s",
+                rule.expression, e.getMessage()),
+            e);
+      }
+    }
+    return false;
+  }
 }
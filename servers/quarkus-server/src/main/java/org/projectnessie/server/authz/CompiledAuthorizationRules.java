@@ -15,14 +15,30 @@
  */
 package org.projectnessie.server.authz;
 
+import static java.util.Collections.singleton;
 import static org.projectnessie.services.authz.Check.CheckType.VIEW_REFERENCE;
+import static org.projectnessie.services.cel.CELUtil.VAR_OP;
+import static org.projectnessie.services.cel.CELUtil.VAR_ROLE;
 
+import com.google.api.expr.v1alpha1.Constant;
+import com.google.api.expr.v1alpha1.Expr;
+import com.google.api.expr.v1alpha1.Expr.Call;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import io.quarkus.runtime.Startup;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+import org.projectnessie.cel.Env;
+import org.projectnessie.cel.Env.AstIssuesTuple;
 import org.projectnessie.cel.tools.Script;
 import org.projectnessie.cel.tools.ScriptException;
 import org.projectnessie.server.config.QuarkusNessieAuthorizationConfig;
@@ -31,12 +47,21 @@ import org.projectnessie.services.cel.CELUtil;
 /**
  * Compiles the authorization rules from {@link QuarkusNessieAuthorizationConfig} at startup and
  * provides access to them via {@link CompiledAuthorizationRules#getRules()}.
+ *
+ * <p>Rules are partitioned by the {@code op} and {@code role} literals they test, see {@link
+ * #candidateRules(String, String)}, and authorization decisions are cached, see {@link
+ * #decision(String, String, String, String, String, BooleanSupplier)}. The decision cache belongs
+ * to the compiled rules, recompiling the rules starts with an empty decision cache.
  */
 @Singleton
 @Startup
 public class CompiledAuthorizationRules {
   private final QuarkusNessieAuthorizationConfig config;
   private final Map<String, Script> compiledRules;
+  private final List<CompiledRule> allRules;
+  private final Map<String, List<CompiledRule>> rulesByOp;
+  private final List<CompiledRule> rulesForAnyOp;
+  private final Cache<List<String>, Boolean> decisions;
   private static final String ALLOW_VIEWING_ALL_REFS_ID = "__ALLOW_VIEWING_REF_ID";
   private static final String ALLOW_VIEWING_ALL_REFS =
       String.format("op=='%s' && ref.matches('.*')", VIEW_REFERENCE);
@@ -45,6 +70,29 @@ public class CompiledAuthorizationRules {
   public CompiledAuthorizationRules(QuarkusNessieAuthorizationConfig config) {
     this.config = config;
     this.compiledRules = compileAuthorizationRules();
+
+    // The compiled rules are keyed by their expressions
+    this.allRules =
+        compiledRules.entrySet().stream()
+            .map(e -> new CompiledRule(e.getKey(), e.getValue()))
+            .collect(ImmutableList.toImmutableList());
+    this.rulesForAnyOp =
+        allRules.stream().filter(r -> r.ops == null).collect(ImmutableList.toImmutableList());
+    Map<String, List<CompiledRule>> byOp = new HashMap<>();
+    for (CompiledRule rule : allRules) {
+      if (rule.ops != null) {
+        for (String op : rule.ops) {
+          byOp.computeIfAbsent(op, x -> new ArrayList<>(rulesForAnyOp)).add(rule);
+        }
+      }
+    }
+    this.rulesByOp = ImmutableMap.copyOf(byOp);
+
+    int decisionCacheSize = config.decisionCacheSize();
+    this.decisions =
+        decisionCacheSize > 0
+            ? CacheBuilder.newBuilder().maximumSize(decisionCacheSize).build()
+            : null;
   }
 
   /**
@@ -89,4 +137,162 @@ public class CompiledAuthorizationRules {
   public Map<String, Script> getRules() {
     return compiledRules;
   }
+
+  /** Returns all compiled rules. */
+  List<CompiledRule> allRules() {
+    return allRules;
+  }
+
+  /**
+   * Returns the rules that can possibly allow the operation {@code op} for the role {@code role},
+   * rules that test other {@code op} or {@code role} literals are omitted.
+   */
+  List<CompiledRule> candidateRules(String op, String role) {
+    List<CompiledRule> rules = rulesByOp.getOrDefault(op, rulesForAnyOp);
+    List<CompiledRule> candidates = new ArrayList<>(rules.size());
+    for (CompiledRule rule : rules) {
+      if (rule.roles == null || rule.roles.contains(role)) {
+        candidates.add(rule);
+      }
+    }
+    return candidates;
+  }
+
+  /**
+   * Returns the cached authorization decision for the given arguments, or evaluates it via {@code
+   * evaluator} and caches the result.
+   */
+  boolean decision(
+      String role,
+      String op,
+      String ref,
+      String path,
+      String contentType,
+      BooleanSupplier evaluator) {
+    if (decisions == null) {
+      return evaluator.getAsBoolean();
+    }
+    List<String> key = ImmutableList.of(role, op, ref, path, contentType);
+    Boolean allowed = decisions.getIfPresent(key);
+    if (allowed == null) {
+      allowed = evaluator.getAsBoolean();
+      decisions.put(key, allowed);
+    }
+    return allowed;
+  }
+
+  static final class CompiledRule {
+    final String expression;
+    final Script script;
+
+    /** The {@code op} values this rule can allow, {@code null} if not restricted. */
+    final Set<String> ops;
+
+    /** The {@code role} values this rule can allow, {@code null} if not restricted. */
+    final Set<String> roles;
+
+    CompiledRule(String expression, Script script) {
+      this.expression = expression;
+      this.script = script;
+
+      Expr expr = parseRule(expression);
+      this.ops = expr != null ? literalValues(expr, VAR_OP) : null;
+      this.roles = expr != null ? literalValues(expr, VAR_ROLE) : null;
+    }
+  }
+
+  private static final Env PARSER_ENV = Env.newEnv();
+
+  private static Expr parseRule(String expression) {
+    AstIssuesTuple parsed = PARSER_ENV.parse(expression);
+    return parsed.hasIssues() ? null : parsed.getAst().getExpr();
+  }
+
+  /**
+   * Determines the values of the string variable {@code name} for which the expression can
+   * evaluate to {@code true}, considering {@code name == 'literal'} and {@code name in ['literal',
+   * ...]} terms combined using {@code &&} and {@code ||}.
+   *
+   * @return the possible values, or {@code null} if the expression is not restricted to literal
+   *     values of the variable
+   */
+  static Set<String> literalValues(Expr expr, String name) {
+    if (expr.getExprKindCase() != Expr.ExprKindCase.CALL_EXPR) {
+      return null;
+    }
+    Call call = expr.getCallExpr();
+    List<Expr> args = call.getArgsList();
+    if (call.hasTarget() || args.size() != 2) {
+      return null;
+    }
+    switch (call.getFunction()) {
+      case "_&&_":
+        {
+          Set<String> left = literalValues(args.get(0), name);
+          Set<String> right = literalValues(args.get(1), name);
+          if (left == null) {
+            return right;
+          }
+          if (right == null) {
+            return left;
+          }
+          Set<String> both = new HashSet<>(left);
+          both.retainAll(right);
+          return both;
+        }
+      case "_||_":
+        {
+          Set<String> left = literalValues(args.get(0), name);
+          Set<String> right = literalValues(args.get(1), name);
+          if (left == null || right == null) {
+            return null;
+          }
+          Set<String> any = new HashSet<>(left);
+          any.addAll(right);
+          return any;
+        }
+      case "_==_":
+        {
+          String value = comparedLiteral(args.get(0), args.get(1), name);
+          if (value == null) {
+            value = comparedLiteral(args.get(1), args.get(0), name);
+          }
+          return value != null ? singleton(value) : null;
+        }
+      case "@in":
+        {
+          if (!isIdent(args.get(0), name)
+              || args.get(1).getExprKindCase() != Expr.ExprKindCase.LIST_EXPR) {
+            return null;
+          }
+          Set<String> values = new HashSet<>();
+          for (Expr element : args.get(1).getListExpr().getElementsList()) {
+            String value = stringLiteral(element);
+            if (value == null) {
+              return null;
+            }
+            values.add(value);
+          }
+          return values;
+        }
+      default:
+        return null;
+    }
+  }
+
+  private static String comparedLiteral(Expr ident, Expr literal, String name) {
+    return isIdent(ident, name) ? stringLiteral(literal) : null;
+  }
+
+  private static boolean isIdent(Expr expr, String name) {
+    return expr.getExprKindCase() == Expr.ExprKindCase.IDENT_EXPR
+        && expr.getIdentExpr().getName().equals(name);
+  }
+
+  private static String stringLiteral(Expr expr) {
+    return expr.getExprKindCase() == Expr.ExprKindCase.CONST_EXPR
+            && expr.getConstExpr().getConstantKindCase() == Constant.ConstantKindCase.STRING_VALUE
+        ? expr.getConstExpr().getStringValue()
+        : null;
+  }
 }
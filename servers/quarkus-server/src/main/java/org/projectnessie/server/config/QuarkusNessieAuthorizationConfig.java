@@ -42,4 +42,13 @@ public interface QuarkusNessieAuthorizationConfig {
    *     expression.
    */
   Map<String, String> rules();
+
+  /**
+   * The maximum number of authorization decisions to cache, {@code 0} disables the cache.
+   *
+   * @return the maximum number of cached authorization decisions
+   */
+  @WithName("decision-cache-size")
+  @WithDefault("10000")
+  int decisionCacheSize();
 }
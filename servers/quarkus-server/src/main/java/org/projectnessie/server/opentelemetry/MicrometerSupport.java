@@ -15,7 +15,10 @@
  */
 package org.projectnessie.server.opentelemetry;
 
+import static org.projectnessie.services.cel.CELUtil.SCRIPT_CACHE;
+
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
 import io.opentelemetry.api.OpenTelemetry;
 import io.opentelemetry.instrumentation.micrometer.v1_5.OpenTelemetryMeterRegistry;
 import io.quarkus.runtime.Startup;
@@ -33,6 +36,9 @@ public class MicrometerSupport {
   @Singleton
   @Startup
   public MeterRegistry micrometerRegistry() {
-    return OpenTelemetryMeterRegistry.builder(openTelemetry).setPrometheusMode(true).build();
+    MeterRegistry registry =
+        OpenTelemetryMeterRegistry.builder(openTelemetry).setPrometheusMode(true).build();
+    GuavaCacheMetrics.monitor(registry, SCRIPT_CACHE.cache(), "nessie-cel-scripts");
+    return registry;
   }
 }
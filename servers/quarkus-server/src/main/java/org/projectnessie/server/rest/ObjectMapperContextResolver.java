@@ -0,0 +1,39 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.server.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import jakarta.ws.rs.ext.ContextResolver;
+import jakarta.ws.rs.ext.Provider;
+import org.projectnessie.services.restjakarta.StreamingPagedResponseWriter;
+
+/**
+ * Exposes the {@link ObjectMapper} configured by Quarkus and {@link RegisterObjectMapper} to JAX-RS
+ * providers, especially {@link StreamingPagedResponseWriter}.
+ */
+@Provider
+@Singleton
+public class ObjectMapperContextResolver implements ContextResolver<ObjectMapper> {
+
+  @Inject ObjectMapper objectMapper;
+
+  @Override
+  public ObjectMapper getContext(Class<?> type) {
+    return objectMapper;
+  }
+}
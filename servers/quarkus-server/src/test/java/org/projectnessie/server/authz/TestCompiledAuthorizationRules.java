@@ -0,0 +1,181 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.server.authz;
+
+import static org.projectnessie.services.cel.CELUtil.VAR_OP;
+import static org.projectnessie.services.cel.CELUtil.VAR_ROLE;
+
+import com.google.api.expr.v1alpha1.Expr;
+import com.google.common.collect.ImmutableMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.projectnessie.cel.Env;
+import org.projectnessie.server.config.QuarkusNessieAuthorizationConfig;
+
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestCompiledAuthorizationRules {
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  @Test
+  public void literalValues() {
+    soft.assertThat(ops("op=='VIEW_REFERENCE' && role.startsWith('test_user')"))
+        .containsExactlyInAnyOrder("VIEW_REFERENCE");
+    soft.assertThat(roles("op=='VIEW_REFERENCE' && role.startsWith('test_user')")).isNull();
+
+    soft.assertThat(ops("op in ['CREATE_REFERENCE', 'DELETE_REFERENCE'] && role=='admin'"))
+        .containsExactlyInAnyOrder("CREATE_REFERENCE", "DELETE_REFERENCE");
+    soft.assertThat(roles("op in ['CREATE_REFERENCE', 'DELETE_REFERENCE'] && role=='admin'"))
+        .containsExactlyInAnyOrder("admin");
+
+    soft.assertThat(ops("(op=='READ_ENTRIES' || 'COMMIT_CHANGE_AGAINST_REFERENCE'==op) && true"))
+        .containsExactlyInAnyOrder("READ_ENTRIES", "COMMIT_CHANGE_AGAINST_REFERENCE");
+    soft.assertThat(ops("op in ['READ_ENTRIES', 'VIEW_REFERENCE'] && op=='VIEW_REFERENCE'"))
+        .containsExactlyInAnyOrder("VIEW_REFERENCE");
+
+    // not restricted to literal values
+    soft.assertThat(ops("op=='READ_ENTRIES' || path.startsWith('allowed.')")).isNull();
+    soft.assertThat(ops("!(op=='READ_ENTRIES')")).isNull();
+    soft.assertThat(ops("op!='READ_ENTRIES'")).isNull();
+    soft.assertThat(ops("op in [role]")).isNull();
+    soft.assertThat(ops("ref.matches('.*')")).isNull();
+  }
+
+  @Test
+  public void candidateRules() {
+    CompiledAuthorizationRules rules =
+        new CompiledAuthorizationRules(
+            config(
+                ImmutableMap.of(
+                    "view",
+                    "op=='VIEW_REFERENCE' && role=='user'",
+                    "admin",
+                    "role=='admin'",
+                    "read",
+                    "op in ['READ_ENTRIES', 'VIEW_REFERENCE'] && path.startsWith('allowed.')",
+                    "create",
+                    "op=='CREATE_REFERENCE' && role in ['admin', 'user']"),
+                10));
+
+    soft.assertThat(rules.allRules()).hasSize(4);
+    soft.assertThat(candidates(rules, "VIEW_REFERENCE", "user"))
+        .containsExactlyInAnyOrder(
+            "op=='VIEW_REFERENCE' && role=='user'",
+            "op in ['READ_ENTRIES', 'VIEW_REFERENCE'] && path.startsWith('allowed.')");
+    soft.assertThat(candidates(rules, "VIEW_REFERENCE", "admin"))
+        .containsExactlyInAnyOrder(
+            "role=='admin'",
+            "op in ['READ_ENTRIES', 'VIEW_REFERENCE'] && path.startsWith('allowed.')");
+    soft.assertThat(candidates(rules, "CREATE_REFERENCE", "user"))
+        .containsExactlyInAnyOrder("op=='CREATE_REFERENCE' && role in ['admin', 'user']");
+    soft.assertThat(candidates(rules, "DELETE_REFERENCE", "user")).isEmpty();
+    soft.assertThat(candidates(rules, "DELETE_REFERENCE", "admin"))
+        .containsExactlyInAnyOrder("role=='admin'");
+  }
+
+  @Test
+  public void decisionCache() {
+    CompiledAuthorizationRules cached =
+        new CompiledAuthorizationRules(config(ImmutableMap.of("r", "role=='admin'"), 10));
+    CompiledAuthorizationRules uncached =
+        new CompiledAuthorizationRules(config(ImmutableMap.of("r", "role=='admin'"), 0));
+
+    AtomicInteger evaluations = new AtomicInteger();
+    for (int i = 0; i < 2; i++) {
+      soft.assertThat(
+              cached.decision(
+                  "admin",
+                  "READ_ENTRIES",
+                  "main",
+                  "a.b",
+                  "ICEBERG_TABLE",
+                  () -> evaluations.incrementAndGet() > 0))
+          .isTrue();
+    }
+    soft.assertThat(evaluations).hasValue(1);
+
+    soft.assertThat(
+            cached.decision(
+                "admin",
+                "READ_ENTRIES",
+                "main",
+                "a.c",
+                "ICEBERG_TABLE",
+                () -> evaluations.incrementAndGet() < 0))
+        .isFalse();
+    soft.assertThat(evaluations).hasValue(2);
+
+    evaluations.set(0);
+    for (int i = 0; i < 2; i++) {
+      soft.assertThat(
+              uncached.decision(
+                  "admin",
+                  "READ_ENTRIES",
+                  "main",
+                  "a.b",
+                  "ICEBERG_TABLE",
+                  () -> evaluations.incrementAndGet() > 0))
+          .isTrue();
+    }
+    soft.assertThat(evaluations).hasValue(2);
+  }
+
+  private static List<String> candidates(
+      CompiledAuthorizationRules rules, String op, String role) {
+    return rules.candidateRules(op, role).stream()
+        .map(r -> r.expression)
+        .collect(Collectors.toList());
+  }
+
+  private static Set<String> ops(String expression) {
+    return CompiledAuthorizationRules.literalValues(parse(expression), VAR_OP);
+  }
+
+  private static Set<String> roles(String expression) {
+    return CompiledAuthorizationRules.literalValues(parse(expression), VAR_ROLE);
+  }
+
+  private static Expr parse(String expression) {
+    return Env.newEnv().parse(expression).getAst().getExpr();
+  }
+
+  private static QuarkusNessieAuthorizationConfig config(
+      Map<String, String> rules, int decisionCacheSize) {
+    return new QuarkusNessieAuthorizationConfig() {
+      @Override
+      public boolean enabled() {
+        return true;
+      }
+
+      @Override
+      public Map<String, String> rules() {
+        return rules;
+      }
+
+      @Override
+      public int decisionCacheSize() {
+        return decisionCacheSize;
+      }
+    };
+  }
+}
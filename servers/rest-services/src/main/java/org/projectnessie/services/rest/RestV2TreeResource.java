@@ -43,11 +43,11 @@ import org.projectnessie.model.ContentResponse;
 import org.projectnessie.model.DiffResponse;
 import org.projectnessie.model.DiffResponse.DiffEntry;
 import org.projectnessie.model.EntriesResponse;
+import org.projectnessie.model.FetchOption;
 import org.projectnessie.model.GetMultipleContentsRequest;
 import org.projectnessie.model.GetMultipleContentsResponse;
 import org.projectnessie.model.ImmutableCommitMeta;
 import org.projectnessie.model.ImmutableDiffResponse;
-import org.projectnessie.model.ImmutableEntriesResponse;
 import org.projectnessie.model.ImmutableGetMultipleContentsRequest;
 import org.projectnessie.model.ImmutableLogResponse;
 import org.projectnessie.model.ImmutableReferencesResponse;
@@ -180,37 +180,38 @@ public class RestV2TreeResource implements HttpTreeApi {
       throws NessieNotFoundException {
     ParsedReference reference = parseRefPathString(ref);
     Integer maxRecords = params.maxRecords();
-    ImmutableEntriesResponse.Builder builder = EntriesResponse.builder();
-    return tree()
-        .getEntries(
-            reference.name(),
-            reference.hashWithRelativeSpec(),
-            null,
-            params.filter(),
-            params.pageToken(),
-            params.withContent(),
-            new PagedCountingResponseHandler<EntriesResponse, EntriesResponse.Entry>(maxRecords) {
-              @Override
-              public EntriesResponse build() {
-                return builder.build();
-              }
-
-              @Override
-              protected boolean doAddEntry(EntriesResponse.Entry entry) {
-                builder.addEntries(entry);
-                return true;
-              }
-
-              @Override
-              public void hasMore(String pagingToken) {
-                builder.isHasMore(true).token(pagingToken);
-              }
-            },
-            h -> builder.effectiveReference(toReference(h)),
-            params.minKey(),
-            params.maxKey(),
-            params.prefixKey(),
-            params.getRequestedKeys());
+    return StreamingPagedResponse.entries(
+        page ->
+            tree()
+                .getEntries(
+                    reference.name(),
+                    reference.hashWithRelativeSpec(),
+                    null,
+                    params.filter(),
+                    params.pageToken(),
+                    params.withContent(),
+                    new PagedCountingResponseHandler<Void, EntriesResponse.Entry>(maxRecords) {
+                      @Override
+                      public Void build() {
+                        return null;
+                      }
+
+                      @Override
+                      protected boolean doAddEntry(EntriesResponse.Entry entry) {
+                        page.addEntry(entry);
+                        return true;
+                      }
+
+                      @Override
+                      public void hasMore(String pagingToken) {
+                        page.hasMore(pagingToken);
+                      }
+                    },
+                    h -> page.effectiveReference(toReference(h)),
+                    params.minKey(),
+                    params.maxKey(),
+                    params.prefixKey(),
+                    params.getRequestedKeys()));
   }
 
   @JsonView(Views.V2.class)
@@ -219,34 +220,34 @@ public class RestV2TreeResource implements HttpTreeApi {
       throws NessieNotFoundException {
     ParsedReference reference = parseRefPathString(ref);
     Integer maxRecords = params.maxRecords();
-    return tree()
-        .getCommitLog(
-            reference.name(),
-            params.fetchOption(),
-            params.startHash(),
-            reference.hashWithRelativeSpec(),
-            params.filter(),
-            params.pageToken(),
-            new PagedCountingResponseHandler<LogResponse, LogEntry>(
-                maxRecords, MAX_COMMIT_LOG_ENTRIES) {
-              final ImmutableLogResponse.Builder builder = ImmutableLogResponse.builder();
-
-              @Override
-              public LogResponse build() {
-                return builder.build();
-              }
-
-              @Override
-              protected boolean doAddEntry(LogEntry entry) {
-                builder.addLogEntries(entry);
-                return true;
-              }
-
-              @Override
-              public void hasMore(String pagingToken) {
-                builder.isHasMore(true).token(pagingToken);
-              }
-            });
+    return StreamingPagedResponse.logEntries(
+        page ->
+            tree()
+                .getCommitLog(
+                    reference.name(),
+                    params.fetchOption(),
+                    params.startHash(),
+                    reference.hashWithRelativeSpec(),
+                    params.filter(),
+                    params.pageToken(),
+                    new PagedCountingResponseHandler<Void, LogEntry>(
+                        maxRecords, MAX_COMMIT_LOG_ENTRIES) {
+                      @Override
+                      public Void build() {
+                        return null;
+                      }
+
+                      @Override
+                      protected boolean doAddEntry(LogEntry entry) {
+                        page.addEntry(entry);
+                        return true;
+                      }
+
+                      @Override
+                      public void hasMore(String pagingToken) {
+                        page.hasMore(pagingToken);
+                      }
+                    }));
   }
 
   @JsonView(Views.V2.class)
@@ -328,6 +329,41 @@ public class RestV2TreeResource implements HttpTreeApi {
         .getContent(key, reference.name(), reference.hashWithRelativeSpec(), withDocumentation);
   }
 
+  @JsonView(Views.V2.class)
+  @Override
+  public LogResponse getContentHistory(
+      ContentKey key, String ref, FetchOption fetchOption, Integer maxRecords, String pageToken)
+      throws NessieNotFoundException {
+    ParsedReference reference = parseRefPathString(ref);
+    return tree()
+        .getContentHistory(
+            reference.name(),
+            reference.hashWithRelativeSpec(),
+            key,
+            fetchOption,
+            pageToken,
+            new PagedCountingResponseHandler<LogResponse, LogEntry>(
+                maxRecords, MAX_COMMIT_LOG_ENTRIES) {
+              final ImmutableLogResponse.Builder builder = ImmutableLogResponse.builder();
+
+              @Override
+              public LogResponse build() {
+                return builder.build();
+              }
+
+              @Override
+              protected boolean doAddEntry(LogEntry entry) {
+                builder.addLogEntries(entry);
+                return true;
+              }
+
+              @Override
+              public void hasMore(String pagingToken) {
+                builder.isHasMore(true).token(pagingToken);
+              }
+            });
+  }
+
   @JsonView(Views.V2.class)
   @Override
   public GetMultipleContentsResponse getSeveralContents(
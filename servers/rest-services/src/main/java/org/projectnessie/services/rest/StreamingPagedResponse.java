@@ -0,0 +1,328 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.services.rest;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import org.projectnessie.error.NessieNotFoundException;
+import org.projectnessie.model.EntriesResponse;
+import org.projectnessie.model.ImmutableEntriesResponse;
+import org.projectnessie.model.ImmutableLogResponse;
+import org.projectnessie.model.LogResponse;
+import org.projectnessie.model.Reference;
+import org.projectnessie.model.ser.Views;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A page of a paginated V2 response, whose entries are produced by the Nessie service while the
+ * response is being written, instead of being collected in memory first.
+ *
+ * <p>This is not a model type. REST resource methods return it wrapped in an {@link
+ * EntriesResponse} or {@link LogResponse} implementation that also implements {@link Streamable},
+ * because the {@code TreeApi} method signatures mandate those types. The {@code
+ * StreamingPagedResponseWriter} JAX-RS providers write {@link Streamable} responses via {@link
+ * #writeTo(ObjectMapper, OutputStream, boolean)}. The JSON representation is the same as the one
+ * of the materialized response type, except that the {@code hasMore} and {@code token} attributes
+ * follow the entries. The getters of the wrapping response types invoke the Nessie service and
+ * collect the whole page on first access.
+ *
+ * <p>Since the service call only happens when the response is written, errors like a non-existing
+ * reference or failed access checks are raised from {@link #writeTo(ObjectMapper, OutputStream,
+ * boolean)}. Nothing is written before the first entry has been produced, so errors raised before
+ * that point are mapped to an error response, as long as the JAX-RS implementation has not
+ * committed the response yet. Errors raised after the first entry has been written cannot change
+ * the status code anymore. Clients that send the {@value #COMPLETE_MARKER_HEADER} request header
+ * receive a trailing {@code "complete": true} attribute for successfully written pages. For those
+ * clients, an error after the first entry terminates the JSON object with {@code "complete":
+ * false} and an {@code "error"} message attribute, so they can tell a failed page from a truncated
+ * or unparseable response. Other clients receive a truncated JSON response, which fails to parse.
+ */
+public final class StreamingPagedResponse<E> {
+  private static final Logger LOGGER = LoggerFactory.getLogger(StreamingPagedResponse.class);
+
+  /**
+   * Request header, with the value {@code true}, to request the trailing {@code complete}
+   * attribute.
+   */
+  public static final String COMPLETE_MARKER_HEADER = "Nessie-Page-Complete-Marker";
+
+  /** Receives the entries and paging information of a page. */
+  public interface PageSink<E> {
+    void addEntry(E entry);
+
+    void hasMore(String pagingToken);
+
+    void effectiveReference(Reference reference);
+  }
+
+  /** Calls the Nessie service, which pushes the page's contents to the given sink. */
+  @FunctionalInterface
+  public interface PageProducer<E> {
+    void produce(PageSink<E> sink) throws NessieNotFoundException;
+  }
+
+  /** Implemented by response objects that can be written via a {@link StreamingPagedResponse}. */
+  public interface Streamable {
+    StreamingPagedResponse<?> streamingResponse();
+  }
+
+  private final String entriesField;
+  private final PageProducer<E> producer;
+
+  private StreamingPagedResponse(String entriesField, PageProducer<E> producer) {
+    this.entriesField = entriesField;
+    this.producer = producer;
+  }
+
+  public static EntriesResponse entries(PageProducer<EntriesResponse.Entry> producer) {
+    return new StreamingEntriesResponse(new StreamingPagedResponse<>("entries", producer));
+  }
+
+  public static LogResponse logEntries(PageProducer<LogResponse.LogEntry> producer) {
+    return new StreamingLogResponse(new StreamingPagedResponse<>("logEntries", producer));
+  }
+
+  /**
+   * Invokes the Nessie service and writes the JSON representation of the page to {@code out}, one
+   * entry at a time. {@code out} is not closed.
+   *
+   * @param completeMarker whether to write the trailing {@code complete} attribute, see {@link
+   *     #COMPLETE_MARKER_HEADER}
+   */
+  public void writeTo(ObjectMapper mapper, OutputStream out, boolean completeMarker)
+      throws IOException {
+    ObjectWriter writer =
+        mapper.writerWithView(Views.V2.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    // Intentionally not closed on failure, so nothing that might have been buffered so far is
+    // flushed and an exception mapper can still produce an error response.
+    JsonGenerator generator = writer.createGenerator(out);
+    generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    JsonPageSink sink = new JsonPageSink(writer, generator);
+    try {
+      producer.produce(sink);
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    } catch (NessieNotFoundException | RuntimeException e) {
+      if (!completeMarker || !sink.started) {
+        throw e;
+      }
+      LOGGER.warn("Failed to produce the remaining entries of a streamed response page", e);
+      sink.finishFailed(e);
+      generator.close();
+      return;
+    }
+    sink.finish(completeMarker);
+    generator.close();
+  }
+
+  /** Invokes the Nessie service, collecting the page's contents in the given sink. */
+  private void collect(PageSink<E> sink) {
+    try {
+      producer.produce(sink);
+    } catch (NessieNotFoundException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private final class JsonPageSink implements PageSink<E> {
+    private final ObjectWriter writer;
+    private final JsonGenerator generator;
+    private boolean started;
+    private Reference effectiveReference;
+    private String pagingToken;
+
+    JsonPageSink(ObjectWriter writer, JsonGenerator generator) {
+      this.writer = writer;
+      this.generator = generator;
+    }
+
+    @Override
+    public void addEntry(E entry) {
+      try {
+        start();
+        writer.writeValue(generator, entry);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    @Override
+    public void hasMore(String pagingToken) {
+      this.pagingToken = pagingToken;
+    }
+
+    @Override
+    public void effectiveReference(Reference reference) {
+      this.effectiveReference = reference;
+    }
+
+    private void start() throws IOException {
+      if (!started) {
+        started = true;
+        generator.writeStartObject();
+        writeEffectiveReference();
+        generator.writeArrayFieldStart(entriesField);
+      }
+    }
+
+    private void writeEffectiveReference() throws IOException {
+      if (effectiveReference != null) {
+        generator.writeFieldName("effectiveReference");
+        writer.writeValue(generator, effectiveReference);
+        effectiveReference = null;
+      }
+    }
+
+    void finish(boolean completeMarker) throws IOException {
+      start();
+      generator.writeEndArray();
+      generator.writeBooleanField("hasMore", pagingToken != null);
+      if (pagingToken != null) {
+        generator.writeStringField("token", pagingToken);
+      }
+      writeEffectiveReference();
+      if (completeMarker) {
+        generator.writeBooleanField("complete", true);
+      }
+      generator.writeEndObject();
+    }
+
+    void finishFailed(Exception failure) throws IOException {
+      generator.writeEndArray();
+      generator.writeBooleanField("complete", false);
+      generator.writeStringField("error", String.valueOf(failure.getMessage()));
+      generator.writeEndObject();
+    }
+  }
+
+  private static final class StreamingEntriesResponse implements EntriesResponse, Streamable {
+    private final StreamingPagedResponse<EntriesResponse.Entry> streamingResponse;
+    private EntriesResponse materialized;
+
+    StreamingEntriesResponse(StreamingPagedResponse<EntriesResponse.Entry> streamingResponse) {
+      this.streamingResponse = streamingResponse;
+    }
+
+    @Override
+    public StreamingPagedResponse<?> streamingResponse() {
+      return streamingResponse;
+    }
+
+    private synchronized EntriesResponse materialized() {
+      if (materialized == null) {
+        ImmutableEntriesResponse.Builder builder = EntriesResponse.builder();
+        streamingResponse.collect(
+            new PageSink<EntriesResponse.Entry>() {
+              @Override
+              public void addEntry(EntriesResponse.Entry entry) {
+                builder.addEntries(entry);
+              }
+
+              @Override
+              public void hasMore(String pagingToken) {
+                builder.isHasMore(true).token(pagingToken);
+              }
+
+              @Override
+              public void effectiveReference(Reference reference) {
+                builder.effectiveReference(reference);
+              }
+            });
+        materialized = builder.build();
+      }
+      return materialized;
+    }
+
+    @Override
+    public List<EntriesResponse.Entry> getEntries() {
+      return materialized().getEntries();
+    }
+
+    @Override
+    public Reference getEffectiveReference() {
+      return materialized().getEffectiveReference();
+    }
+
+    @Override
+    public boolean isHasMore() {
+      return materialized().isHasMore();
+    }
+
+    @Override
+    public String getToken() {
+      return materialized().getToken();
+    }
+  }
+
+  private static final class StreamingLogResponse implements LogResponse, Streamable {
+    private final StreamingPagedResponse<LogResponse.LogEntry> streamingResponse;
+    private LogResponse materialized;
+
+    StreamingLogResponse(StreamingPagedResponse<LogResponse.LogEntry> streamingResponse) {
+      this.streamingResponse = streamingResponse;
+    }
+
+    @Override
+    public StreamingPagedResponse<?> streamingResponse() {
+      return streamingResponse;
+    }
+
+    private synchronized LogResponse materialized() {
+      if (materialized == null) {
+        ImmutableLogResponse.Builder builder = LogResponse.builder();
+        streamingResponse.collect(
+            new PageSink<LogResponse.LogEntry>() {
+              @Override
+              public void addEntry(LogResponse.LogEntry entry) {
+                builder.addLogEntries(entry);
+              }
+
+              @Override
+              public void hasMore(String pagingToken) {
+                builder.isHasMore(true).token(pagingToken);
+              }
+
+              @Override
+              public void effectiveReference(Reference reference) {}
+            });
+        materialized = builder.build();
+      }
+      return materialized;
+    }
+
+    @Override
+    public List<LogResponse.LogEntry> getLogEntries() {
+      return materialized().getLogEntries();
+    }
+
+    @Override
+    public boolean isHasMore() {
+      return materialized().isHasMore();
+    }
+
+    @Override
+    public String getToken() {
+      return materialized().getToken();
+    }
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.services.restjakarta;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.ContextResolver;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+import jakarta.ws.rs.ext.Provider;
+import jakarta.ws.rs.ext.Providers;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import org.projectnessie.services.rest.StreamingPagedResponse;
+import org.projectnessie.services.rest.StreamingPagedResponse.Streamable;
+
+/**
+ * Writes {@link Streamable} responses incrementally via their {@link StreamingPagedResponse}, using
+ * the application's {@link ObjectMapper}, which must be available via a {@link ContextResolver}.
+ * Writes the trailing {@code complete} attribute, if the client sent the {@link
+ * StreamingPagedResponse#COMPLETE_MARKER_HEADER} request header.
+ */
+@Provider
+@Produces(MediaType.APPLICATION_JSON)
+public class StreamingPagedResponseWriter implements MessageBodyWriter<Streamable> {
+
+  @Context private Providers providers;
+  @Context private HttpHeaders headers;
+
+  @Override
+  public boolean isWriteable(
+      Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+    return Streamable.class.isAssignableFrom(type);
+  }
+
+  @Override
+  public void writeTo(
+      Streamable response,
+      Class<?> type,
+      Type genericType,
+      Annotation[] annotations,
+      MediaType mediaType,
+      MultivaluedMap<String, Object> httpHeaders,
+      OutputStream entityStream)
+      throws IOException {
+    response
+        .streamingResponse()
+        .writeTo(objectMapper(type, mediaType), entityStream, completeMarkerRequested());
+  }
+
+  private boolean completeMarkerRequested() {
+    return headers != null
+        && Boolean.parseBoolean(
+            headers.getHeaderString(StreamingPagedResponse.COMPLETE_MARKER_HEADER));
+  }
+
+  private ObjectMapper objectMapper(Class<?> type, MediaType mediaType) {
+    if (providers != null) {
+      ContextResolver<ObjectMapper> resolver =
+          providers.getContextResolver(ObjectMapper.class, mediaType);
+      if (resolver != null) {
+        ObjectMapper mapper = resolver.getContext(type);
+        if (mapper != null) {
+          return mapper;
+        }
+      }
+    }
+    // Do not silently fall back to a differently configured ObjectMapper.
+    throw new IllegalStateException(
+        "No ContextResolver<ObjectMapper> registered for " + mediaType + ", cannot write " + type);
+  }
+}
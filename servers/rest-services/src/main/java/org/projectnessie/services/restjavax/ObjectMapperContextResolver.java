@@ -0,0 +1,37 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.services.restjavax;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import javax.ws.rs.ext.ContextResolver;
+import javax.ws.rs.ext.Provider;
+import org.projectnessie.services.rest.StreamingPagedResponse.Streamable;
+
+/**
+ * Provides a default-configured {@link ObjectMapper} to {@link StreamingPagedResponseWriter} for
+ * JAX-RS deployments that do not provide their own. Does not provide a mapper for other types, so
+ * other JSON providers keep using their own configuration.
+ */
+@Provider
+public class ObjectMapperContextResolver implements ContextResolver<ObjectMapper> {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  @Override
+  public ObjectMapper getContext(Class<?> type) {
+    return Streamable.class.isAssignableFrom(type) ? MAPPER : null;
+  }
+}
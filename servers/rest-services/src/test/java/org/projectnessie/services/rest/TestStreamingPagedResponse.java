@@ -0,0 +1,186 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.services.rest;
+
+import static java.util.stream.Collectors.toList;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.BooleanNode;
+import java.io.ByteArrayOutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.projectnessie.error.NessieReferenceNotFoundException;
+import org.projectnessie.model.Branch;
+import org.projectnessie.model.CommitMeta;
+import org.projectnessie.model.Content;
+import org.projectnessie.model.ContentKey;
+import org.projectnessie.model.EntriesResponse;
+import org.projectnessie.model.EntriesResponse.Entry;
+import org.projectnessie.model.LogResponse;
+import org.projectnessie.model.LogResponse.LogEntry;
+
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestStreamingPagedResponse {
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  @Test
+  public void entries() throws Exception {
+    Branch main = Branch.of("main", "12345678");
+    List<Entry> entries =
+        IntStream.range(0, 5)
+            .mapToObj(
+                i -> Entry.entry(ContentKey.of("key" + i), Content.Type.ICEBERG_TABLE, "cid" + i))
+            .collect(toList());
+
+    EntriesResponse response =
+        StreamingPagedResponse.entries(
+            page -> {
+              page.effectiveReference(main);
+              entries.forEach(page::addEntry);
+              page.hasMore("token");
+            });
+    soft.assertThat(MAPPER.readValue(write(response), EntriesResponse.class))
+        .isEqualTo(
+            EntriesResponse.builder()
+                .entries(entries)
+                .effectiveReference(main)
+                .isHasMore(true)
+                .token("token")
+                .build());
+
+    EntriesResponse empty = StreamingPagedResponse.entries(page -> page.effectiveReference(main));
+    soft.assertThat(MAPPER.readValue(write(empty), EntriesResponse.class))
+        .isEqualTo(EntriesResponse.builder().effectiveReference(main).build());
+  }
+
+  @Test
+  public void logEntries() throws Exception {
+    List<LogEntry> entries =
+        IntStream.range(0, 5)
+            .mapToObj(
+                i -> LogEntry.builder().commitMeta(CommitMeta.fromMessage("commit " + i)).build())
+            .collect(toList());
+
+    LogResponse response =
+        StreamingPagedResponse.logEntries(page -> entries.forEach(page::addEntry));
+    soft.assertThat(MAPPER.readValue(write(response), LogResponse.class))
+        .isEqualTo(LogResponse.builder().logEntries(entries).build());
+  }
+
+  @Test
+  public void gettersMaterializePage() {
+    Branch main = Branch.of("main", "12345678");
+    Entry entry = Entry.entry(ContentKey.of("key"), Content.Type.ICEBERG_TABLE, "cid");
+    EntriesResponse entries =
+        StreamingPagedResponse.entries(
+            page -> {
+              page.effectiveReference(main);
+              page.addEntry(entry);
+              page.hasMore("token");
+            });
+    soft.assertThat(entries.getEntries()).containsExactly(entry);
+    soft.assertThat(entries.getEffectiveReference()).isEqualTo(main);
+    soft.assertThat(entries.isHasMore()).isTrue();
+    soft.assertThat(entries.getToken()).isEqualTo("token");
+
+    LogEntry logEntry = LogEntry.builder().commitMeta(CommitMeta.fromMessage("commit")).build();
+    LogResponse log = StreamingPagedResponse.logEntries(page -> page.addEntry(logEntry));
+    soft.assertThat(log.getLogEntries()).containsExactly(logEntry);
+    soft.assertThat(log.isHasMore()).isFalse();
+    soft.assertThat(log.getToken()).isNull();
+
+    EntriesResponse failing =
+        StreamingPagedResponse.entries(
+            page -> {
+              throw new NessieReferenceNotFoundException("not found");
+            });
+    soft.assertThatThrownBy(failing::getEntries)
+        .isInstanceOf(UncheckedIOException.class)
+        .hasCauseInstanceOf(NessieReferenceNotFoundException.class);
+  }
+
+  @Test
+  public void failureBeforeFirstEntry() {
+    EntriesResponse response =
+        StreamingPagedResponse.entries(
+            page -> {
+              page.effectiveReference(Branch.of("main", "12345678"));
+              throw new NessieReferenceNotFoundException("not found");
+            });
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    soft.assertThatThrownBy(() -> streamingResponse(response).writeTo(MAPPER, out, true))
+        .isInstanceOf(NessieReferenceNotFoundException.class);
+    soft.assertThat(out.size()).isEqualTo(0);
+  }
+
+  @Test
+  public void completeMarker() throws Exception {
+    Entry entry = Entry.entry(ContentKey.of("key"), Content.Type.ICEBERG_TABLE, "cid");
+    EntriesResponse response = StreamingPagedResponse.entries(page -> page.addEntry(entry));
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    streamingResponse(response).writeTo(MAPPER, out, true);
+    JsonNode json = MAPPER.readTree(out.toByteArray());
+    soft.assertThat(json.get("complete")).isEqualTo(BooleanNode.TRUE);
+    soft.assertThat(json.get("entries")).hasSize(1);
+
+    soft.assertThat(MAPPER.readTree(write(response)).has("complete")).isFalse();
+  }
+
+  @Test
+  public void failureAfterFirstEntry() throws Exception {
+    Entry entry = Entry.entry(ContentKey.of("key"), Content.Type.ICEBERG_TABLE, "cid");
+    EntriesResponse response =
+        StreamingPagedResponse.entries(
+            page -> {
+              page.addEntry(entry);
+              throw new IllegalStateException("backend failure");
+            });
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    streamingResponse(response).writeTo(MAPPER, out, true);
+    JsonNode json = MAPPER.readTree(out.toByteArray());
+    soft.assertThat(json.get("complete")).isEqualTo(BooleanNode.FALSE);
+    soft.assertThat(json.get("error").asText()).isEqualTo("backend failure");
+    soft.assertThat(json.get("entries")).hasSize(1);
+
+    // Without the marker, the failure propagates and leaves a truncated response.
+    ByteArrayOutputStream truncated = new ByteArrayOutputStream();
+    soft.assertThatThrownBy(() -> streamingResponse(response).writeTo(MAPPER, truncated, false))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("backend failure");
+  }
+
+  private static byte[] write(Object response) throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    streamingResponse(response).writeTo(MAPPER, out, false);
+    return out.toByteArray();
+  }
+
+  private static StreamingPagedResponse<?> streamingResponse(Object response) {
+    return ((StreamingPagedResponse.Streamable) response).streamingResponse();
+  }
+}
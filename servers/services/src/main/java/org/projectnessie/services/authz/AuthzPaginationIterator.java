@@ -29,6 +29,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Supplier;
+import org.projectnessie.model.ContentKey;
 import org.projectnessie.versioned.paging.PaginationIterator;
 
 public abstract class AuthzPaginationIterator<E> extends AbstractIterator<E>
@@ -159,6 +160,18 @@ public abstract class AuthzPaginationIterator<E> extends AbstractIterator<E>
     return source.tokenForEntry(entry);
   }
 
+  /**
+   * Forwards the hint to the source iterator. Entries that have already been read ahead from the
+   * source for the current access-check batch are still returned. Since the source is positioned
+   * at the last entry read ahead, the hint only skips the remaining keys of a prefix that extends
+   * beyond the current access-check batch, which is the case for the prefixes that have many
+   * keys.
+   */
+  @Override
+  public final void skipKeysWithPrefix(ContentKey prefix) {
+    source.skipKeysWithPrefix(prefix);
+  }
+
   @Override
   public final void close() {}
 }
@@ -41,6 +41,10 @@ public final class CELUtil {
   public static final ScriptHost SCRIPT_HOST =
       ScriptHost.newBuilder().registry(JacksonRegistry.newRegistry()).build();
 
+  /** Shared cache of compiled filter expressions, see {@link ScriptCache}. */
+  public static final ScriptCache SCRIPT_CACHE =
+      new ScriptCache(SCRIPT_HOST, ScriptCache.DEFAULT_MAX_SIZE);
+
   public static final String VAR_REF = "ref";
   public static final String VAR_REF_TYPE = "refType";
   public static final String VAR_REF_META = "refMeta";
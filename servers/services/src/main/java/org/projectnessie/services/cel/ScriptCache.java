@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.services.cel;
+
+import static org.projectnessie.services.cel.CELUtil.CONTAINER;
+
+import com.google.api.expr.v1alpha1.Decl;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import org.projectnessie.cel.tools.Script;
+import org.projectnessie.cel.tools.ScriptException;
+import org.projectnessie.cel.tools.ScriptHost;
+
+/**
+ * Bounded cache of compiled CEL {@link Script}s, keyed by the expression text and the declarations
+ * and types the expression is compiled against.
+ *
+ * <p>Parsing and type-checking a CEL expression is much more expensive than evaluating it, and
+ * clients tend to send the same filter expressions over and over, for example when polling or
+ * paging through entries. Compiled {@link Script}s are immutable and safe to be shared across
+ * threads. Expressions that fail to compile are not cached.
+ */
+public final class ScriptCache {
+
+  public static final int DEFAULT_MAX_SIZE = 1000;
+
+  private final ScriptHost scriptHost;
+  private final Cache<ScriptKey, Script> cache;
+
+  public ScriptCache(ScriptHost scriptHost, int maxSize) {
+    this.scriptHost = scriptHost;
+    this.cache = CacheBuilder.newBuilder().maximumSize(maxSize).recordStats().build();
+  }
+
+  /**
+   * Returns the compiled script for the given expression, compiling it, if it is not already
+   * cached.
+   *
+   * @throws ScriptException if the expression cannot be compiled
+   */
+  public Script getScript(String expression, List<Decl> declarations, List<Object> types)
+      throws ScriptException {
+    try {
+      return cache.get(
+          new ScriptKey(expression, declarations, types),
+          () ->
+              scriptHost
+                  .buildScript(expression)
+                  .withContainer(CONTAINER)
+                  .withDeclarations(declarations)
+                  .withTypes(types)
+                  .build());
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof ScriptException) {
+        throw (ScriptException) cause;
+      }
+      Throwables.throwIfUnchecked(cause);
+      throw new RuntimeException(cause);
+    }
+  }
+
+  /** The underlying cache, exposed to bind metrics. */
+  public Cache<?, Script> cache() {
+    return cache;
+  }
+
+  public CacheStats stats() {
+    return cache.stats();
+  }
+
+  private static final class ScriptKey {
+    private final String expression;
+    private final List<Decl> declarations;
+    private final List<Object> types;
+    private final int hash;
+
+    ScriptKey(String expression, List<Decl> declarations, List<Object> types) {
+      this.expression = expression;
+      this.declarations = declarations;
+      this.types = types;
+      this.hash = Objects.hash(expression, declarations, types);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof ScriptKey)) {
+        return false;
+      }
+      ScriptKey that = (ScriptKey) o;
+      return hash == that.hash
+          && expression.equals(that.expression)
+          && declarations.equals(that.declarations)
+          && types.equals(that.types);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+}
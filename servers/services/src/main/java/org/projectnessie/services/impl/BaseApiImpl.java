@@ -18,10 +18,9 @@ package org.projectnessie.services.impl;
 import static com.google.common.base.Preconditions.checkArgument;
 import static org.projectnessie.model.Validation.HASH_OR_RELATIVE_COMMIT_SPEC_MESSAGE;
 import static org.projectnessie.model.Validation.HASH_OR_RELATIVE_COMMIT_SPEC_PATTERN;
-import static org.projectnessie.services.cel.CELUtil.CONTAINER;
 import static org.projectnessie.services.cel.CELUtil.CONTENT_KEY_DECLARATIONS;
 import static org.projectnessie.services.cel.CELUtil.CONTENT_KEY_TYPES;
-import static org.projectnessie.services.cel.CELUtil.SCRIPT_HOST;
+import static org.projectnessie.services.cel.CELUtil.SCRIPT_CACHE;
 import static org.projectnessie.services.cel.CELUtil.VAR_KEY;
 import static org.projectnessie.services.cel.CELUtil.forCel;
 import static org.projectnessie.versioned.RelativeCommitSpec.parseRelativeSpecs;
@@ -89,13 +88,7 @@ public abstract class BaseApiImpl {
 
     final Script script;
     try {
-      script =
-          SCRIPT_HOST
-              .buildScript(filter)
-              .withContainer(CONTAINER)
-              .withDeclarations(CONTENT_KEY_DECLARATIONS)
-              .withTypes(CONTENT_KEY_TYPES)
-              .build();
+      script = SCRIPT_CACHE.getScript(filter, CONTENT_KEY_DECLARATIONS, CONTENT_KEY_TYPES);
     } catch (ScriptException e) {
       throw new IllegalArgumentException(e);
     }
@@ -30,12 +30,11 @@ import static org.projectnessie.services.authz.Check.canReadEntries;
 import static org.projectnessie.services.authz.Check.canViewReference;
 import static org.projectnessie.services.cel.CELUtil.COMMIT_LOG_DECLARATIONS;
 import static org.projectnessie.services.cel.CELUtil.COMMIT_LOG_TYPES;
-import static org.projectnessie.services.cel.CELUtil.CONTAINER;
 import static org.projectnessie.services.cel.CELUtil.ENTRIES_DECLARATIONS;
 import static org.projectnessie.services.cel.CELUtil.ENTRIES_TYPES;
 import static org.projectnessie.services.cel.CELUtil.REFERENCES_DECLARATIONS;
 import static org.projectnessie.services.cel.CELUtil.REFERENCES_TYPES;
-import static org.projectnessie.services.cel.CELUtil.SCRIPT_HOST;
+import static org.projectnessie.services.cel.CELUtil.SCRIPT_CACHE;
 import static org.projectnessie.services.cel.CELUtil.VAR_COMMIT;
 import static org.projectnessie.services.cel.CELUtil.VAR_ENTRY;
 import static org.projectnessie.services.cel.CELUtil.VAR_OPERATIONS;
@@ -202,13 +201,7 @@ public class TreeApiImpl extends BaseApiImpl implements TreeService {
 
     final Script script;
     try {
-      script =
-          SCRIPT_HOST
-              .buildScript(filter)
-              .withContainer(CONTAINER)
-              .withDeclarations(REFERENCES_DECLARATIONS)
-              .withTypes(REFERENCES_TYPES)
-              .build();
+      script = SCRIPT_CACHE.getScript(filter, REFERENCES_DECLARATIONS, REFERENCES_TYPES);
     } catch (ScriptException e) {
       throw new IllegalArgumentException(e);
     }
@@ -414,6 +407,60 @@ public class TreeApiImpl extends BaseApiImpl implements TreeService {
     }
   }
 
+  @Override
+  public <R> R getContentHistory(
+      String namedRef,
+      String hashOnRef,
+      ContentKey key,
+      FetchOption fetchOption,
+      String pageToken,
+      PagedResponseHandler<R, LogEntry> pagedResponseHandler)
+      throws NessieNotFoundException {
+    // The paging token identifies the content object and the commit to continue at, because the
+    // content object may have had a different key in that commit. The version store validates that
+    // both belong to the history of the content object for the key on the requested commit.
+    WithHash<NamedRef> endRef = namedRefWithHashOrThrow(namedRef, hashOnRef);
+
+    boolean fetchAll = FetchOption.isFetchAll(fetchOption);
+    Set<Check> successfulChecks = new HashSet<>();
+    Set<Check> failedChecks = new HashSet<>();
+    try {
+      BatchAccessChecker accessCheck = startAccessCheck().canListCommitLog(endRef.getValue());
+      for (IdentifiedContentKey identifiedKey :
+          getStore().getIdentifiedKeys(endRef.getHash(), singleton(key))) {
+        if (identifiedKey != null) {
+          accessCheck.canReadEntityValue(endRef.getValue(), identifiedKey);
+        }
+      }
+      accessCheck.checkAndThrow();
+
+      PaginationIterator<Commit> history;
+      try {
+        history = getStore().getContentHistory(endRef.getHash(), key, pageToken, fetchAll);
+      } catch (UnsupportedOperationException e) {
+        throw new IllegalArgumentException(e.getMessage(), e);
+      }
+      try (PaginationIterator<Commit> commits = history) {
+        while (commits.hasNext()) {
+          Commit commit = commits.next();
+
+          LogEntry logEntry = commitToLogEntry(fetchAll, commit);
+          logEntry =
+              logEntryOperationsAccessCheck(successfulChecks, failedChecks, endRef, logEntry);
+
+          if (!pagedResponseHandler.addEntry(logEntry)) {
+            pagedResponseHandler.hasMore(commits.tokenForCurrent());
+            break;
+          }
+        }
+      }
+
+      return pagedResponseHandler.build();
+    } catch (ReferenceNotFoundException e) {
+      throw new NessieReferenceNotFoundException(e.getMessage(), e);
+    }
+  }
+
   private LogEntry logEntryOperationsAccessCheck(
       Set<Check> successfulChecks,
       Set<Check> failedChecks,
@@ -532,13 +579,7 @@ public class TreeApiImpl extends BaseApiImpl implements TreeService {
 
     final Script script;
     try {
-      script =
-          SCRIPT_HOST
-              .buildScript(filter)
-              .withContainer(CONTAINER)
-              .withDeclarations(COMMIT_LOG_DECLARATIONS)
-              .withTypes(COMMIT_LOG_TYPES)
-              .build();
+      script = SCRIPT_CACHE.getScript(filter, COMMIT_LOG_DECLARATIONS, COMMIT_LOG_TYPES);
     } catch (ScriptException e) {
       throw new IllegalArgumentException(e);
     }
@@ -888,6 +929,8 @@ public class TreeApiImpl extends BaseApiImpl implements TreeService {
                 pagedResponseHandler.hasMore(authz.tokenForCurrent());
                 break;
               }
+              // all other keys below the emitted name would be truncated to the same name
+              authz.skipKeysWithPrefix(entry.getName());
             }
           }
         } else {
@@ -943,13 +986,7 @@ public class TreeApiImpl extends BaseApiImpl implements TreeService {
 
     final Script script;
     try {
-      script =
-          SCRIPT_HOST
-              .buildScript(filter)
-              .withContainer(CONTAINER)
-              .withDeclarations(ENTRIES_DECLARATIONS)
-              .withTypes(ENTRIES_TYPES)
-              .build();
+      script = SCRIPT_CACHE.getScript(filter, ENTRIES_DECLARATIONS, ENTRIES_TYPES);
     } catch (ScriptException e) {
       throw new IllegalArgumentException(e);
     }
@@ -180,6 +180,33 @@ public interface TreeService {
           PagedResponseHandler<R, LogEntry> pagedResponseHandler)
       throws NessieNotFoundException;
 
+  <R> R getContentHistory(
+      @Valid
+          @jakarta.validation.Valid
+          @NotNull
+          @jakarta.validation.constraints.NotNull
+          @Pattern(regexp = REF_NAME_REGEX, message = REF_NAME_MESSAGE)
+          @jakarta.validation.constraints.Pattern(
+              regexp = REF_NAME_REGEX,
+              message = REF_NAME_MESSAGE)
+          String namedRef,
+      @Valid
+          @jakarta.validation.Valid
+          @Pattern(
+              regexp = HASH_OR_RELATIVE_COMMIT_SPEC_REGEX,
+              message = HASH_OR_RELATIVE_COMMIT_SPEC_MESSAGE)
+          @jakarta.validation.constraints.Pattern(
+              regexp = HASH_OR_RELATIVE_COMMIT_SPEC_REGEX,
+              message = HASH_OR_RELATIVE_COMMIT_SPEC_MESSAGE)
+          String hashOnRef,
+      @Valid @jakarta.validation.Valid @NotNull @jakarta.validation.constraints.NotNull
+          ContentKey key,
+      FetchOption fetchOption,
+      @Nullable @jakarta.annotation.Nullable String pageToken,
+      @NotNull @jakarta.validation.constraints.NotNull
+          PagedResponseHandler<R, LogEntry> pagedResponseHandler)
+      throws NessieNotFoundException;
+
   MergeResponse transplantCommitsIntoBranch(
       @Valid
           @jakarta.validation.Valid
@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.services.cel;
+
+import static org.projectnessie.services.cel.CELUtil.CONTENT_KEY_DECLARATIONS;
+import static org.projectnessie.services.cel.CELUtil.CONTENT_KEY_TYPES;
+import static org.projectnessie.services.cel.CELUtil.ENTRIES_DECLARATIONS;
+import static org.projectnessie.services.cel.CELUtil.ENTRIES_TYPES;
+import static org.projectnessie.services.cel.CELUtil.SCRIPT_HOST;
+import static org.projectnessie.services.cel.CELUtil.VAR_KEY;
+import static org.projectnessie.services.cel.CELUtil.forCel;
+
+import com.google.common.collect.ImmutableMap;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.projectnessie.cel.tools.Script;
+import org.projectnessie.cel.tools.ScriptException;
+import org.projectnessie.model.ContentKey;
+
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestScriptCache {
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  @Test
+  public void reuseCompiledScripts() throws Exception {
+    ScriptCache scriptCache = new ScriptCache(SCRIPT_HOST, 10);
+
+    Script script =
+        scriptCache.getScript("key.name=='table'", CONTENT_KEY_DECLARATIONS, CONTENT_KEY_TYPES);
+    soft.assertThat(
+            script.execute(
+                Boolean.class, ImmutableMap.of(VAR_KEY, forCel(ContentKey.of("foo", "table")))))
+        .isTrue();
+
+    soft.assertThat(
+            scriptCache.getScript("key.name=='table'", CONTENT_KEY_DECLARATIONS, CONTENT_KEY_TYPES))
+        .isSameAs(script);
+    soft.assertThat(
+            scriptCache.getScript("key.name=='view'", CONTENT_KEY_DECLARATIONS, CONTENT_KEY_TYPES))
+        .isNotSameAs(script);
+    soft.assertThat(scriptCache.stats().hitCount()).isEqualTo(1L);
+    soft.assertThat(scriptCache.stats().missCount()).isEqualTo(2L);
+  }
+
+  @Test
+  public void keyedByDeclarations() throws Exception {
+    ScriptCache scriptCache = new ScriptCache(SCRIPT_HOST, 10);
+
+    soft.assertThat(scriptCache.getScript("true", CONTENT_KEY_DECLARATIONS, CONTENT_KEY_TYPES))
+        .isNotSameAs(scriptCache.getScript("true", ENTRIES_DECLARATIONS, ENTRIES_TYPES));
+    // 'key' is not declared for entries
+    soft.assertThatThrownBy(
+            () -> scriptCache.getScript("key.name=='table'", ENTRIES_DECLARATIONS, ENTRIES_TYPES))
+        .isInstanceOf(ScriptException.class);
+  }
+
+  @Test
+  public void failuresNotCached() {
+    ScriptCache scriptCache = new ScriptCache(SCRIPT_HOST, 10);
+
+    for (int i = 0; i < 2; i++) {
+      soft.assertThatThrownBy(
+              () ->
+                  scriptCache.getScript("key.name==", CONTENT_KEY_DECLARATIONS, CONTENT_KEY_TYPES))
+          .isInstanceOf(ScriptException.class);
+    }
+    soft.assertThat(scriptCache.cache().size()).isEqualTo(0L);
+  }
+}
@@ -16,14 +16,18 @@
 package org.projectnessie.services.impl;
 
 import static com.google.common.collect.Maps.immutableEntry;
+import static java.util.Collections.emptyMap;
 import static java.util.stream.Collectors.toSet;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.tuple;
+import static org.assertj.core.api.Assumptions.assumeThat;
 import static org.junit.jupiter.api.Assumptions.abort;
 import static org.projectnessie.model.CommitMeta.fromMessage;
+import static org.projectnessie.services.config.ServerConfig.DEFAULT_ACCESS_CHECK_BATCH_SIZE;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -31,6 +35,7 @@ import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.IntFunction;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
@@ -51,6 +56,8 @@ import org.projectnessie.model.Namespace;
 import org.projectnessie.model.Operation;
 import org.projectnessie.model.Operation.Put;
 import org.projectnessie.model.Reference;
+import org.projectnessie.services.authz.AbstractBatchAccessChecker;
+import org.projectnessie.services.authz.Check;
 
 public abstract class AbstractTestEntries extends BaseTestServiceImpl {
 
@@ -398,6 +405,58 @@ public abstract class AbstractTestEntries extends BaseTestServiceImpl {
     }
   }
 
+  @Test
+  public void namespaceDepthSkipsKeysBelowEmittedNames() throws BaseNessieClientServerException {
+    assumeThat(databaseAdapter).isNull();
+
+    int keysPerNamespace = 2 * DEFAULT_ACCESS_CHECK_BATCH_SIZE;
+    Branch branch =
+        ensureNamespacesForKeysExist(
+            createBranch("namespaceDepthSkipsKeys"),
+            ContentKey.of("a", "t"),
+            ContentKey.of("b", "t"));
+    branch =
+        commit(
+                branch,
+                fromMessage("commit"),
+                Stream.of("a", "b")
+                    .flatMap(
+                        ns ->
+                            IntStream.range(0, keysPerNamespace)
+                                .mapToObj(
+                                    i ->
+                                        Put.of(
+                                            ContentKey.of(ns, "t" + i),
+                                            IcebergTable.of("path" + i, 42, 42, 42, 42))))
+                    .toArray(Operation[]::new))
+            .getTargetBranch();
+
+    // Every key read from the version store is access-checked
+    List<Check> readChecks = new ArrayList<>();
+    setBatchAccessChecker(
+        x ->
+            new AbstractBatchAccessChecker() {
+              @Override
+              public Map<Check, String> check() {
+                getChecks().stream()
+                    .filter(c -> c.type() == Check.CheckType.READ_CONTENT_KEY)
+                    .forEach(readChecks::add);
+                return emptyMap();
+              }
+            });
+
+    soft.assertThat(entries(branch, 1, null))
+        .map(e -> immutableEntry(e.getName(), e.getType()))
+        .containsExactly(
+            immutableEntry(ContentKey.of("a"), Content.Type.NAMESPACE),
+            immutableEntry(ContentKey.of("b"), Content.Type.NAMESPACE));
+    // The keys of each namespace that were not read ahead for the first access-check batch of
+    // the namespace are skipped.
+    soft.assertThat(readChecks)
+        .hasSizeLessThanOrEqualTo(2 * DEFAULT_ACCESS_CHECK_BATCH_SIZE)
+        .hasSizeLessThan(2 * keysPerNamespace);
+  }
+
   @Test
   public void fetchEntriesByNamelessReference() throws BaseNessieClientServerException {
     Branch branch = createBranch("fetchEntriesByNamelessReference");
@@ -111,6 +111,8 @@ public abstract class AbstractTestNamespace extends BaseTestServiceImpl {
     Namespace three = createNamespace.apply("x.y.z");
     Namespace o = createNamespace.apply("one");
     Namespace four = createNamespace.apply("one.two");
+    // Must not be returned for the namespace "a", although the key starts with the string "a"
+    Namespace aa = createNamespace.apply("aa");
     for (Namespace namespace : Arrays.asList(one, two, three, four)) {
       soft.assertThat(namespace).isNotNull();
       soft.assertThat(namespace.getId()).isNotNull();
@@ -118,11 +120,11 @@ public abstract class AbstractTestNamespace extends BaseTestServiceImpl {
 
     soft.assertThat(
             namespaceApi().getNamespaces(branch.getName(), null, Namespace.EMPTY).getNamespaces())
-        .containsExactlyInAnyOrder(one, two, three, four, a, ab, x, xy, o);
+        .containsExactlyInAnyOrder(one, two, three, four, a, ab, x, xy, o, aa);
 
     soft.assertThat(
             namespaceApi().getNamespaces(branch.getName(), null, Namespace.EMPTY).getNamespaces())
-        .containsExactlyInAnyOrder(one, two, three, four, a, ab, x, xy, o);
+        .containsExactlyInAnyOrder(one, two, three, four, a, ab, x, xy, o, aa);
 
     Namespace nsA = Namespace.of("a");
     soft.assertThat(namespaceApi().getNamespaces(branch.getName(), null, nsA).getNamespaces())
@@ -17,10 +17,12 @@ package org.projectnessie.tools.contentgenerator.cli;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.stream.Stream;
 import org.projectnessie.client.api.NessieApiV2;
 import org.projectnessie.error.NessieNotFoundException;
 import org.projectnessie.model.CommitMeta;
 import org.projectnessie.model.FetchOption;
+import org.projectnessie.model.LogResponse.LogEntry;
 import org.projectnessie.model.Operation;
 import picocli.CommandLine.Command;
 import picocli.CommandLine.Option;
@@ -39,32 +41,34 @@ public class ReadCommits extends AbstractCommand {
     try (NessieApiV2 api = createNessieApiInstance()) {
       spec.commandLine().getOut().printf("Reading commits for ref '%s'\n\n", ref);
       FetchOption fetchOption = isVerbose() ? FetchOption.ALL : FetchOption.MINIMAL;
-      api.getCommitLog().refName(ref).fetch(fetchOption).stream()
-          .forEach(
-              logEntry -> {
-                CommitMeta commitMeta = logEntry.getCommitMeta();
-                spec.commandLine()
-                    .getOut()
-                    .printf(
-                        "%s\t%s\t%s [%s]\n",
-                        Objects.requireNonNull(commitMeta.getHash()).substring(0, 8),
-                        commitMeta.getAuthorTime(),
-                        commitMeta.getMessage(),
-                        commitMeta.getAuthor());
+      try (Stream<LogEntry> commits =
+          api.getCommitLog().refName(ref).fetch(fetchOption).streamIncrementally()) {
+        commits.forEach(
+            logEntry -> {
+              CommitMeta commitMeta = logEntry.getCommitMeta();
+              spec.commandLine()
+                  .getOut()
+                  .printf(
+                      "%s\t%s\t%s [%s]\n",
+                      Objects.requireNonNull(commitMeta.getHash()).substring(0, 8),
+                      commitMeta.getAuthorTime(),
+                      commitMeta.getMessage(),
+                      commitMeta.getAuthor());
 
-                List<Operation> operations = logEntry.getOperations();
-                if (operations != null) {
-                  for (Operation op : operations) {
-                    spec.commandLine().getOut().printf("  %s\n", op);
-                    if (isVerbose()) {
-                      List<String> key = op.getKey().getElements();
-                      for (int i = 0; i < key.size(); i++) {
-                        spec.commandLine().getOut().printf("    key[%d]: %s\n", i, key.get(i));
-                      }
+              List<Operation> operations = logEntry.getOperations();
+              if (operations != null) {
+                for (Operation op : operations) {
+                  spec.commandLine().getOut().printf("  %s\n", op);
+                  if (isVerbose()) {
+                    List<String> key = op.getKey().getElements();
+                    for (int i = 0; i < key.size(); i++) {
+                      spec.commandLine().getOut().printf("    key[%d]: %s\n", i, key.get(i));
                     }
                   }
                 }
-              });
+              }
+            });
+      }
       spec.commandLine().getOut().printf("\nDone reading commits for ref '%s'\n\n", ref);
     }
   }
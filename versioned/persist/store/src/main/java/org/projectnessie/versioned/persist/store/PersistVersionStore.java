@@ -468,6 +468,13 @@ public class PersistVersionStore implements VersionStore {
         : null;
   }
 
+  @Override
+  public PaginationIterator<Commit> getContentHistory(
+      Ref ref, ContentKey key, String pagingToken, boolean fetchAdditionalInfo) {
+    throw new UnsupportedOperationException(
+        "Content history is not supported by the database-adapter based version store");
+  }
+
   @Override
   public PaginationIterator<Commit> getCommits(Ref ref, boolean fetchAdditionalInfo)
       throws ReferenceNotFoundException {
@@ -550,14 +557,19 @@ public class PersistVersionStore implements VersionStore {
       throws ReferenceNotFoundException {
     checkArgument(pagingToken == null, "Paging not supported by the storage model in use");
     checkArgument(
-        keyRestrictions.minKey() == null
-            && keyRestrictions.maxKey() == null
-            && keyRestrictions.prefixKey() == null,
+        keyRestrictions.minKey() == null && keyRestrictions.maxKey() == null,
         "Key ranges not supported by the storage model in use");
     Hash hash = refToHash(ref);
 
+    // Prefix restrictions are only applied as a filter, this storage model has no sorted key index.
+    ContentKey prefixKey = keyRestrictions.prefixKey();
+    KeyFilterPredicate keyFilter =
+        prefixKey != null
+            ? (key, contentId, type) -> key.startsWith(prefixKey)
+            : KeyFilterPredicate.ALLOW_ALL;
+
     @SuppressWarnings("MustBeClosedChecker")
-    Stream<KeyListEntry> source = databaseAdapter.keys(hash, KeyFilterPredicate.ALLOW_ALL);
+    Stream<KeyListEntry> source = databaseAdapter.keys(hash, keyFilter);
 
     return new FilteringPaginationIterator<KeyListEntry, KeyEntry>(
         source.iterator(),
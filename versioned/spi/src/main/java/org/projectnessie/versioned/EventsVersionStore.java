@@ -151,6 +151,13 @@ public class EventsVersionStore implements VersionStore {
     return delegate.getCommits(ref, fetchAdditionalInfo);
   }
 
+  @Override
+  public PaginationIterator<Commit> getContentHistory(
+      Ref ref, ContentKey key, String pagingToken, boolean fetchAdditionalInfo)
+      throws ReferenceNotFoundException {
+    return delegate.getContentHistory(ref, key, pagingToken, fetchAdditionalInfo);
+  }
+
   @Override
   public PaginationIterator<KeyEntry> getKeys(
       Ref ref, String pagingToken, boolean withContent, KeyRestrictions keyRestrictions)
@@ -156,6 +156,15 @@ public final class MetricsVersionStore implements VersionStore {
         "getcommits", () -> delegate.getCommits(ref, fetchAdditionalInfo));
   }
 
+  @Override
+  public PaginationIterator<Commit> getContentHistory(
+      Ref ref, ContentKey key, String pagingToken, boolean fetchAdditionalInfo)
+      throws ReferenceNotFoundException {
+    return delegatePaginationIterator(
+        "getcontenthistory",
+        () -> delegate.getContentHistory(ref, key, pagingToken, fetchAdditionalInfo));
+  }
+
   @Override
   public PaginationIterator<KeyEntry> getKeys(
       Ref ref, String pagingToken, boolean withContent, KeyRestrictions keyRestrictions)
@@ -236,6 +245,11 @@ public final class MetricsVersionStore implements VersionStore {
           return r.tokenForEntry(entry);
         }
 
+        @Override
+        public void skipKeysWithPrefix(ContentKey prefix) {
+          r.skipKeysWithPrefix(prefix);
+        }
+
         @Override
         public void close() {
           try {
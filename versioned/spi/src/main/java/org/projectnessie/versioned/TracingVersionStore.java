@@ -237,6 +237,17 @@ public class TracingVersionStore implements VersionStore {
         () -> delegate.getCommits(ref, fetchAdditionalInfo));
   }
 
+  @Override
+  public PaginationIterator<Commit> getContentHistory(
+      Ref ref, ContentKey key, String pagingToken, boolean fetchAdditionalInfo)
+      throws ReferenceNotFoundException {
+    return callPaginationIterator(
+        tracer,
+        "GetContentHistory",
+        b -> b.setAttribute(TAG_REF, safeToString(ref)).setAttribute(TAG_KEY, safeToString(key)),
+        () -> delegate.getContentHistory(ref, key, pagingToken, fetchAdditionalInfo));
+  }
+
   @Override
   public PaginationIterator<KeyEntry> getKeys(
       Ref ref, String pagingToken, boolean withContent, KeyRestrictions keyRestrictions)
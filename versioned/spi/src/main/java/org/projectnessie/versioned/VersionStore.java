@@ -329,6 +329,28 @@ public interface VersionStore {
   PaginationIterator<Commit> getCommits(Ref ref, boolean fetchAdditionalInfo)
       throws ReferenceNotFoundException;
 
+  /**
+   * Get a stream of the ancestor commits of a provided ref that changed the content object with
+   * the given key, most recent changes first. The content object is identified by its content ID,
+   * so changes before renames of the content object are included.
+   *
+   * @param ref the ref to start at
+   * @param key the key of the content object in {@code ref}
+   * @param pagingToken paging token to start at, as returned by {@link
+   *     PaginationIterator#tokenForCurrent()} of a previous invocation for the same content object.
+   *     The paging token identifies the content object by its content ID, which must be the one of
+   *     the content object for {@code key} in {@code ref}, since the content object may have had a
+   *     different key at the paging token's commit.
+   * @param fetchAdditionalInfo include additional information like operations and parent hash
+   * @return A stream of commits, empty if no content object exists for {@code key}.
+   * @throws ReferenceNotFoundException if {@code ref} is not present in the store
+   * @throws IllegalArgumentException if the paging token does not belong to the history of the
+   *     content object for {@code key} in {@code ref}
+   */
+  PaginationIterator<Commit> getContentHistory(
+      Ref ref, ContentKey key, String pagingToken, boolean fetchAdditionalInfo)
+      throws ReferenceNotFoundException;
+
   @Value.Immutable
   interface KeyRestrictions {
     KeyRestrictions NO_KEY_RESTRICTIONS = KeyRestrictions.builder().build();
@@ -17,6 +17,7 @@ package org.projectnessie.versioned.paging;
 
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import org.projectnessie.model.ContentKey;
 
 public interface PaginationIterator<T> extends Iterator<T>, AutoCloseable {
 
@@ -24,6 +25,14 @@ public interface PaginationIterator<T> extends Iterator<T>, AutoCloseable {
 
   String tokenForEntry(T entry);
 
+  /**
+   * Hint for iterators over content keys that the caller is not interested in any further entry
+   * whose key equals or starts with the elements of {@code prefix}. Implementations may use this
+   * hint to seek past those entries, but callers must still be able to handle such entries. The
+   * default implementation ignores the hint.
+   */
+  default void skipKeysWithPrefix(ContentKey prefix) {}
+
   @Override
   void close();
 
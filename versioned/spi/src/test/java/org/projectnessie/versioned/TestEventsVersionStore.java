@@ -543,6 +543,20 @@ class TestEventsVersionStore {
     verifyNoInteractions(sink);
   }
 
+  @Test
+  void testGetContentHistory() throws Exception {
+    boolean fetchAdditionalInfo = true;
+    ContentKey key = ContentKey.of("some", "key");
+    when(delegate.getContentHistory(branch1, key, "token1", fetchAdditionalInfo))
+        .thenReturn(iteratorCommits);
+    EventsVersionStore versionStore = new EventsVersionStore(delegate, sink);
+    PaginationIterator<Commit> result =
+        versionStore.getContentHistory(branch1, key, "token1", fetchAdditionalInfo);
+    assertThat(result).isSameAs(iteratorCommits);
+    verifyNoMoreInteractions(delegate);
+    verifyNoInteractions(sink);
+  }
+
   @Test
   void testGetKeys() throws Exception {
     when(delegate.getKeys(branch1, "token1", false, NO_KEY_RESTRICTIONS))
@@ -219,6 +219,18 @@ class TestMetricsVersionStore {
                             .commitMeta(CommitMeta.fromMessage("log#2"))
                             .build()),
                 refNotFoundThrows),
+            new VersionStoreInvocation<>(
+                "getcontenthistory",
+                vs ->
+                    vs.getContentHistory(
+                        BranchName.of("mock-branch"), ContentKey.of("some", "key"), null, false),
+                () ->
+                    PaginationIterator.of(
+                        Commit.builder()
+                            .hash(Hash.of("cafebabe"))
+                            .commitMeta(CommitMeta.fromMessage("log#1"))
+                            .build()),
+                refNotFoundThrows),
             new VersionStoreInvocation<>(
                 "getkeys",
                 vs -> vs.getKeys(Hash.of("cafe4242"), null, false, NO_KEY_RESTRICTIONS),
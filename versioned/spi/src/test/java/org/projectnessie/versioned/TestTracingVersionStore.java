@@ -230,6 +230,23 @@ class TestTracingVersionStore {
                                 .hash(Hash.of("deadbeef"))
                                 .commitMeta(CommitMeta.fromMessage("log#2"))
                                 .build())),
+            new TestedTracingStoreInvocation<VersionStore>(
+                    "GetContentHistory.stream", refNotFoundThrows)
+                .tag("nessie.version-store.ref", "BranchName{name=mock-branch}")
+                .tag("nessie.version-store.key", "some.key")
+                .function(
+                    vs ->
+                        vs.getContentHistory(
+                            BranchName.of("mock-branch"),
+                            ContentKey.of("some", "key"),
+                            null,
+                            false),
+                    () ->
+                        PaginationIterator.of(
+                            Commit.builder()
+                                .hash(Hash.of("cafebabe"))
+                                .commitMeta(CommitMeta.fromMessage("log#1"))
+                                .build())),
             new TestedTracingStoreInvocation<VersionStore>("GetKeys.stream", refNotFoundThrows)
                 .tag("nessie.version-store.ref", "Hash cafe4242")
                 .function(
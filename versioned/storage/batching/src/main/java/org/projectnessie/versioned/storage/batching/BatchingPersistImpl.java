@@ -24,6 +24,8 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import org.projectnessie.versioned.storage.common.config.StoreConfig;
 import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
@@ -247,10 +249,30 @@ final class BatchingPersistImpl implements BatchingPersist, ValidatingPersist {
   @javax.annotation.Nonnull
   public Obj[] fetchObjs(@Nonnull @javax.annotation.Nonnull ObjId[] ids)
       throws ObjNotFoundException {
+    Obj[] r = new Obj[ids.length];
+    ObjId[] backendIds = fetchPendingObjs(ids, r);
+    if (backendIds == null) {
+      return r;
+    }
 
-    ObjId[] backendIds = null;
+    return mergeBackendResult(delegate().fetchObjs(backendIds), r);
+  }
+
+  @Override
+  @Nonnull
+  @javax.annotation.Nonnull
+  public CompletionStage<Obj[]> fetchObjsAsync(@Nonnull @javax.annotation.Nonnull ObjId[] ids) {
     Obj[] r = new Obj[ids.length];
+    ObjId[] backendIds = fetchPendingObjs(ids, r);
+    if (backendIds == null) {
+      return CompletableFuture.completedFuture(r);
+    }
 
+    return delegate().fetchObjsAsync(backendIds).thenApply(objs -> mergeBackendResult(objs, r));
+  }
+
+  private ObjId[] fetchPendingObjs(ObjId[] ids, Obj[] r) {
+    ObjId[] backendIds = null;
     readLock();
     try {
       for (int i = 0; i < ids.length; i++) {
@@ -271,12 +293,10 @@ final class BatchingPersistImpl implements BatchingPersist, ValidatingPersist {
     } finally {
       readUnlock();
     }
+    return backendIds;
+  }
 
-    if (backendIds == null) {
-      return r;
-    }
-
-    Obj[] backendResult = delegate().fetchObjs(backendIds);
+  private static Obj[] mergeBackendResult(Obj[] backendResult, Obj[] r) {
     for (int i = 0; i < backendResult.length; i++) {
       Obj o = backendResult[i];
       if (o != null) {
@@ -324,6 +344,11 @@ final class BatchingPersistImpl implements BatchingPersist, ValidatingPersist {
     }
   }
 
+  @Override
+  public boolean nativeAsyncFetches() {
+    return delegate().nativeAsyncFetches();
+  }
+
   @Override
   public int hardObjectSizeLimit() {
     return delegate().hardObjectSizeLimit();
@@ -385,6 +410,15 @@ final class BatchingPersistImpl implements BatchingPersist, ValidatingPersist {
     return delegate().updateReferencePointer(reference, newPointer);
   }
 
+  @Override
+  @Nonnull
+  @javax.annotation.Nonnull
+  public CompletionStage<Reference> updateReferencePointerAsync(
+      @Nonnull @javax.annotation.Nonnull Reference reference,
+      @Nonnull @javax.annotation.Nonnull ObjId newPointer) {
+    return delegate().updateReferencePointerAsync(reference, newPointer);
+  }
+
   @Override
   @Nullable
   @javax.annotation.Nullable
@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.github.jengelman.gradle.plugins.shadow.tasks.ShadowJar
+
+plugins {
+  id("nessie-conventions-unpublished-tool")
+  id("com.github.johnrengelman.shadow")
+  alias(libs.plugins.jmh)
+}
+
+extra["maven.name"] = "Nessie - Storage - Microbenchmarks"
+
+dependencies {
+  implementation(project(":nessie-versioned-storage-common"))
+  implementation(project(":nessie-versioned-storage-cache"))
+  implementation(project(":nessie-versioned-storage-batching"))
+  implementation(project(":nessie-versioned-storage-testextension"))
+  implementation(project(path = ":nessie-protobuf-relocated", configuration = "shadow"))
+  implementation(libs.slf4j.api)
+
+  jmhImplementation(libs.jmh.core)
+  jmhAnnotationProcessor(libs.jmh.generator.annprocess)
+  jmhRuntimeOnly(project(":nessie-versioned-storage-inmemory"))
+  jmhRuntimeOnly(project(":nessie-versioned-storage-bigtable"))
+  jmhRuntimeOnly(project(":nessie-versioned-storage-cassandra"))
+  jmhRuntimeOnly(project(":nessie-versioned-storage-rocksdb"))
+  jmhRuntimeOnly(project(":nessie-versioned-storage-mongodb"))
+  jmhRuntimeOnly(project(":nessie-versioned-storage-dynamodb"))
+  jmhRuntimeOnly(project(":nessie-versioned-storage-jdbc"))
+  jmhRuntimeOnly(platform(libs.testcontainers.bom))
+  jmhRuntimeOnly("org.testcontainers:testcontainers")
+  jmhRuntimeOnly("org.testcontainers:cassandra")
+  jmhRuntimeOnly("org.testcontainers:mongodb")
+  jmhRuntimeOnly("org.testcontainers:postgresql")
+  jmhRuntimeOnly("org.testcontainers:cockroachdb")
+  jmhRuntimeOnly(libs.docker.java.api)
+  jmhRuntimeOnly(libs.agroal.pool)
+  jmhRuntimeOnly(libs.h2)
+  jmhRuntimeOnly(libs.postgresql)
+  jmhRuntimeOnly(libs.logback.classic)
+}
+
+jmh { jmhVersion.set(libs.versions.jmh.get()) }
+
+tasks.named<ShadowJar>("jmhJar").configure { mergeServiceFiles() }
@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.bench;
+
+import static java.util.Collections.emptyList;
+import static org.projectnessie.nessie.relocated.protobuf.UnsafeByteOperations.unsafeWrap;
+import static org.projectnessie.versioned.storage.common.objtypes.ContentValueObj.contentValue;
+import static org.projectnessie.versioned.storage.common.objtypes.IndexObj.index;
+import static org.projectnessie.versioned.storage.common.objtypes.StringObj.stringData;
+
+import java.util.HashSet;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import org.projectnessie.versioned.storage.batching.BatchingPersist;
+import org.projectnessie.versioned.storage.batching.WriteBatching;
+import org.projectnessie.versioned.storage.cache.PersistCaches;
+import org.projectnessie.versioned.storage.common.config.StoreConfig;
+import org.projectnessie.versioned.storage.common.objtypes.Compression;
+import org.projectnessie.versioned.storage.common.persist.Backend;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.testextension.BackendTestFactory;
+
+/**
+ * Common benchmark state: starts the {@link BackendTestFactory backend} with the given name,
+ * optionally wraps the {@link Persist} instance and generates objects of the requested type.
+ */
+abstract class BasePersistParams {
+
+  /** No {@link Persist} wrapper. */
+  static final String WRAPPER_NONE = "none";
+
+  /** Wraps {@link Persist} with the objects cache. */
+  static final String WRAPPER_CACHE = "cache";
+
+  /** Wraps {@link Persist} with write batching. */
+  static final String WRAPPER_BATCHING = "batching";
+
+  static final long CACHE_CAPACITY = 256L * 1024L * 1024L;
+
+  static final int POPULATE_BATCH_SIZE = 100;
+
+  Backend backend;
+  Persist persist;
+  BackendTestFactory backendTestFactory;
+
+  protected void init(String backendName, String wrapper) throws Exception {
+    Set<String> known = new HashSet<>();
+    for (BackendTestFactory candidate : ServiceLoader.load(BackendTestFactory.class)) {
+      String name = candidate.getName();
+      known.add(name);
+      if (backendName.equals(name)) {
+        backendTestFactory = candidate;
+        break;
+      }
+    }
+    if (backendTestFactory == null) {
+      throw new IllegalArgumentException(
+          "Could not find backend named " + backendName + ", known backends: " + known);
+    }
+
+    backendTestFactory.start();
+
+    backend = backendTestFactory.createNewBackend();
+    backend.setupSchema();
+    Persist base = backend.createFactory().newPersist(StoreConfig.Adjustable.empty());
+
+    switch (wrapper) {
+      case WRAPPER_NONE:
+        persist = base;
+        break;
+      case WRAPPER_CACHE:
+        persist = PersistCaches.newBackend(CACHE_CAPACITY).wrap(base);
+        break;
+      case WRAPPER_BATCHING:
+        persist = WriteBatching.builder().persist(base).build().create();
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown persist wrapper " + wrapper);
+    }
+  }
+
+  protected void tearDown() throws Exception {
+    if (backend != null) {
+      try {
+        backend.close();
+      } finally {
+        backend = null;
+        persist = null;
+      }
+    }
+    if (backendTestFactory != null) {
+      try {
+        backendTestFactory.stop();
+      } finally {
+        backendTestFactory = null;
+      }
+    }
+  }
+
+  /** Stores {@code count} new objects of the given type, returns the IDs of the stored objects. */
+  ObjId[] populate(String objType, int dataSize, int count) throws Exception {
+    ObjId[] ids = new ObjId[count];
+    for (int offset = 0; offset < count; offset += POPULATE_BATCH_SIZE) {
+      Obj[] batch = new Obj[Math.min(POPULATE_BATCH_SIZE, count - offset)];
+      for (int i = 0; i < batch.length; i++) {
+        batch[i] = newObj(objType, dataSize);
+        ids[offset + i] = batch[i].id();
+      }
+      persist.storeObjs(batch);
+    }
+    if (persist instanceof BatchingPersist) {
+      ((BatchingPersist) persist).flush();
+    }
+    return ids;
+  }
+
+  /**
+   * Generates a new, unique object of the given type. Object IDs are derived from the object's
+   * content, so random data guarantees unique IDs.
+   */
+  static Obj newObj(String objType, int dataSize) {
+    byte[] data = new byte[dataSize];
+    ThreadLocalRandom.current().nextBytes(data);
+    switch (objType) {
+      case "VALUE":
+        return contentValue(UUID.randomUUID().toString(), 1, unsafeWrap(data));
+      case "STRING":
+        return stringData("text/plain", Compression.NONE, null, emptyList(), unsafeWrap(data));
+      case "INDEX":
+        return index(unsafeWrap(data));
+      default:
+        throw new IllegalArgumentException("Unsupported object type " + objType);
+    }
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.bench;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.concurrent.ThreadLocalRandom;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+
+/** Benchmarks for fetching and storing single objects and batches of objects. */
+@Warmup(iterations = 2, time = 2000, timeUnit = MILLISECONDS)
+@Measurement(iterations = 3, time = 1000, timeUnit = MILLISECONDS)
+@Fork(
+    value = 1,
+    jvmArgs = {"-Xms4g", "-Xmx4g"})
+@Threads(4)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+public class ObjOpsBench {
+
+  @State(Scope.Benchmark)
+  public static class BenchmarkParam extends BasePersistParams {
+
+    @Param({"In-Memory", "RocksDB", "JDBC-H2"})
+    public String backendName;
+
+    @Param({WRAPPER_NONE, WRAPPER_CACHE, WRAPPER_BATCHING})
+    public String wrapper;
+
+    @Param({"VALUE", "STRING", "INDEX"})
+    public String objType;
+
+    @Param({"1", "10", "100"})
+    public int batchSize;
+
+    @Param({"1024"})
+    public int dataSize;
+
+    @Param({"10000"})
+    public int existingObjs;
+
+    ObjId[] existingIds;
+
+    @Setup
+    public void setup() throws Exception {
+      super.init(backendName, wrapper);
+
+      existingIds = populate(objType, dataSize, existingObjs);
+    }
+
+    @Override
+    @TearDown
+    public void tearDown() throws Exception {
+      super.tearDown();
+    }
+
+    ObjId randomExistingId() {
+      return existingIds[ThreadLocalRandom.current().nextInt(existingIds.length)];
+    }
+
+    /** Returns {@code num} distinct IDs of existing objects. */
+    ObjId[] existingIds(int num) {
+      ObjId[] ids = new ObjId[num];
+      int start = ThreadLocalRandom.current().nextInt(existingIds.length);
+      for (int i = 0; i < num; i++) {
+        ids[i] = existingIds[(start + i) % existingIds.length];
+      }
+      return ids;
+    }
+  }
+
+  @Benchmark
+  public void fetchObj(BenchmarkParam param, Blackhole bh) throws Exception {
+    bh.consume(param.persist.fetchObj(param.randomExistingId()));
+  }
+
+  @Benchmark
+  public void fetchObjs(BenchmarkParam param, Blackhole bh) throws Exception {
+    ObjId[] ids = param.existingIds(param.batchSize);
+    bh.consume(param.persist.fetchObjs(ids));
+  }
+
+  /** Stores new objects, includes the costs to generate the objects. */
+  @Benchmark
+  public void storeObjs(BenchmarkParam param, Blackhole bh) throws Exception {
+    Obj[] objs = new Obj[param.batchSize];
+    for (int i = 0; i < objs.length; i++) {
+      objs[i] = BasePersistParams.newObj(param.objType, param.dataSize);
+    }
+    bh.consume(param.persist.storeObjs(objs));
+  }
+}
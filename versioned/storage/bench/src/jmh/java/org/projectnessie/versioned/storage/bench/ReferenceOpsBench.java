@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.bench;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.EMPTY_OBJ_ID;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.randomObjId;
+import static org.projectnessie.versioned.storage.common.persist.Reference.reference;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.projectnessie.versioned.storage.common.persist.Reference;
+
+/** Benchmarks for reading and updating a single reference, which is what commits do. */
+@Warmup(iterations = 2, time = 2000, timeUnit = MILLISECONDS)
+@Measurement(iterations = 3, time = 1000, timeUnit = MILLISECONDS)
+@Fork(
+    value = 1,
+    jvmArgs = {"-Xms4g", "-Xmx4g"})
+@Threads(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+public class ReferenceOpsBench {
+
+  @State(Scope.Benchmark)
+  public static class BenchmarkParam extends BasePersistParams {
+
+    @Param({"In-Memory", "RocksDB", "JDBC-H2"})
+    public String backendName;
+
+    @Param({WRAPPER_NONE, WRAPPER_CACHE})
+    public String wrapper;
+
+    Reference reference;
+
+    @Setup
+    public void setup() throws Exception {
+      super.init(backendName, wrapper);
+
+      long created = persist.config().currentTimeMicros();
+      reference =
+          persist.addReference(reference("refs/heads/bench", EMPTY_OBJ_ID, false, created, null));
+    }
+
+    @Override
+    @TearDown
+    public void tearDown() throws Exception {
+      super.tearDown();
+    }
+  }
+
+  @Benchmark
+  public void updateReferencePointer(BenchmarkParam param) throws Exception {
+    param.reference = param.persist.updateReferencePointer(param.reference, randomObjId());
+  }
+
+  @Benchmark
+  public void fetchReference(BenchmarkParam param, Blackhole bh) {
+    bh.consume(param.persist.fetchReference(param.reference.name()));
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.bench;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.EnumSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.projectnessie.versioned.storage.common.persist.CloseableIterator;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.ObjType;
+
+/** Benchmarks scanning all objects of a repository. */
+@Warmup(iterations = 2, time = 2000, timeUnit = MILLISECONDS)
+@Measurement(iterations = 3, time = 2000, timeUnit = MILLISECONDS)
+@Fork(
+    value = 1,
+    jvmArgs = {"-Xms4g", "-Xmx4g"})
+@Threads(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MILLISECONDS)
+public class ScanAllObjectsBench {
+
+  @State(Scope.Benchmark)
+  public static class BenchmarkParam extends BasePersistParams {
+
+    @Param({"In-Memory", "RocksDB", "JDBC-H2"})
+    public String backendName;
+
+    @Param({WRAPPER_NONE, WRAPPER_CACHE})
+    public String wrapper;
+
+    @Param({"VALUE"})
+    public String objType;
+
+    @Param({"1024"})
+    public int dataSize;
+
+    @Param({"1000", "10000"})
+    public int existingObjs;
+
+    @Setup
+    public void setup() throws Exception {
+      super.init(backendName, wrapper);
+
+      populate(objType, dataSize, existingObjs);
+    }
+
+    @Override
+    @TearDown
+    public void tearDown() throws Exception {
+      super.tearDown();
+    }
+  }
+
+  @Benchmark
+  public void scanAllObjects(BenchmarkParam param, Blackhole bh) {
+    try (CloseableIterator<Obj> iter =
+        param.persist.scanAllObjects(EnumSet.allOf(ObjType.class))) {
+      while (iter.hasNext()) {
+        bh.consume(iter.next());
+      }
+    }
+  }
+}
@@ -38,6 +38,8 @@ import static org.projectnessie.versioned.storage.serialize.ProtoSerialization.s
 import static org.projectnessie.versioned.storage.serialize.ProtoSerialization.serializeReference;
 
 import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutureCallback;
+import com.google.api.core.ApiFutures;
 import com.google.api.gax.batching.Batcher;
 import com.google.api.gax.rpc.ApiException;
 import com.google.cloud.bigtable.data.v2.models.BulkMutation;
@@ -50,13 +52,19 @@ import com.google.cloud.bigtable.data.v2.models.Row;
 import com.google.cloud.bigtable.data.v2.models.RowCell;
 import com.google.cloud.bigtable.data.v2.models.RowMutation;
 import com.google.common.collect.AbstractIterator;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.protobuf.ByteString;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
@@ -219,6 +227,40 @@ public class BigTablePersist implements Persist {
     }
   }
 
+  @Override
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  public CompletionStage<Reference> updateReferencePointerAsync(
+      @Nonnull @jakarta.annotation.Nonnull Reference reference,
+      @Nonnull @jakarta.annotation.Nonnull ObjId newPointer) {
+    ByteString key = dbKey(reference.name());
+
+    Reference expected = reference.withDeleted(false);
+    Reference updated = reference.forNewPointer(newPointer);
+
+    return toCompletionStage(
+            backend
+                .client()
+                .checkAndMutateRowAsync(
+                    ConditionalRowMutation.create(backend.tableRefs, key)
+                        .condition(refsValueFilter(expected))
+                        .then(refsMutation(updated))))
+        .thenCompose(
+            success -> {
+              if (success) {
+                return CompletableFuture.completedFuture(updated);
+              }
+              return toCompletionStage(backend.client().readRowAsync(backend.tableRefs, key))
+                  .<Reference>thenApply(
+                      row -> {
+                        throw new CompletionException(
+                            row == null
+                                ? new RefNotFoundException(reference)
+                                : new RefConditionFailedException(referenceFromRow(row)));
+                      });
+            });
+  }
+
   @Override
   public void purgeReference(@Nonnull @jakarta.annotation.Nonnull Reference reference)
       throws RefNotFoundException, RefConditionFailedException {
@@ -344,13 +386,7 @@ public class BigTablePersist implements Persist {
           ids,
           r,
           this::dbKey,
-          row -> {
-            ByteString key = row.getKey().substring(keyPrefix.size());
-            ObjId id = deserializeObjId(key);
-            ByteBuffer data =
-                row.getCells(FAMILY_OBJS, QUALIFIER_OBJS).get(0).getValue().asReadOnlyByteBuffer();
-            return deserializeObj(id, data);
-          },
+          this::objFromRow,
           notFound::add);
 
       if (!notFound.isEmpty()) {
@@ -365,6 +401,126 @@ public class BigTablePersist implements Persist {
     }
   }
 
+  @Override
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  public <T extends Obj> CompletionStage<T> fetchTypedObjAsync(
+      @Nonnull @jakarta.annotation.Nonnull ObjId id, ObjType type, Class<T> typeClass) {
+    return fetchObjsAsync(new ObjId[] {id})
+        .thenApply(
+            objs -> {
+              Obj obj = objs[0];
+              if (obj.type() != type) {
+                throw new CompletionException(new ObjNotFoundException(id));
+              }
+              @SuppressWarnings("unchecked")
+              T r = (T) obj;
+              return r;
+            });
+  }
+
+  @Override
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  public CompletionStage<Obj[]> fetchObjsAsync(@Nonnull @jakarta.annotation.Nonnull ObjId[] ids) {
+    // Must be fully populated before the first read is issued, it is read by the callbacks.
+    Map<ByteString, Integer> keyToIndex = new HashMap<>(ids.length * 2);
+    for (int i = 0; i < ids.length; i++) {
+      ObjId id = ids[i];
+      if (id != null) {
+        keyToIndex.put(dbKey(id), i);
+      }
+    }
+
+    Obj[] r = new Obj[ids.length];
+    List<CompletableFuture<?>> reads = new ArrayList<>();
+    Query query = null;
+    int queryKeys = 0;
+    for (ByteString key : keyToIndex.keySet()) {
+      if (query == null) {
+        query = Query.create(backend.tableObjs);
+      }
+      query.rowKey(key);
+      if (++queryKeys == MAX_BULK_READS) {
+        reads.add(readObjRows(query, keyToIndex, r));
+        query = null;
+        queryKeys = 0;
+      }
+    }
+    if (query != null) {
+      reads.add(readObjRows(query, keyToIndex, r));
+    }
+
+    return CompletableFuture.allOf(reads.toArray(new CompletableFuture[0]))
+        .thenApply(
+            x -> {
+              List<ObjId> notFound = new ArrayList<>();
+              for (int i = 0; i < ids.length; i++) {
+                if (ids[i] != null && r[i] == null) {
+                  notFound.add(ids[i]);
+                }
+              }
+              if (!notFound.isEmpty()) {
+                throw new CompletionException(new ObjNotFoundException(notFound));
+              }
+              return r;
+            });
+  }
+
+  @Override
+  public boolean nativeAsyncFetches() {
+    return true;
+  }
+
+  private CompletableFuture<?> readObjRows(
+      Query query, Map<ByteString, Integer> keyToIndex, Obj[] r) {
+    return toCompletionStage(backend.client().readRowsCallable().all().futureCall(query))
+        .thenAccept(
+            rows -> {
+              for (Row row : rows) {
+                Integer i = keyToIndex.get(row.getKey());
+                if (i != null) {
+                  r[i] = objFromRow(row);
+                }
+              }
+            })
+        .toCompletableFuture();
+  }
+
+  private Obj objFromRow(Row row) {
+    ByteString key = row.getKey().substring(keyPrefix.size());
+    ObjId id = deserializeObjId(key);
+    ByteBuffer data =
+        row.getCells(FAMILY_OBJS, QUALIFIER_OBJS).get(0).getValue().asReadOnlyByteBuffer();
+    return deserializeObj(id, data);
+  }
+
+  /**
+   * Adapts the BigTable client's {@link ApiFuture} to a {@link CompletionStage}, {@link
+   * ApiException}s are wrapped the same way as for synchronous operations.
+   */
+  private static <T> CompletionStage<T> toCompletionStage(ApiFuture<T> apiFuture) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    ApiFutures.addCallback(
+        apiFuture,
+        new ApiFutureCallback<>() {
+          @Override
+          public void onFailure(Throwable t) {
+            future.completeExceptionally(
+                t instanceof ApiException
+                    ? new RuntimeException("Unhandled BigTable exception", t)
+                    : t);
+          }
+
+          @Override
+          public void onSuccess(T result) {
+            future.complete(result);
+          }
+        },
+        MoreExecutors.directExecutor());
+    return future;
+  }
+
   @Override
   public boolean storeObj(
       @Nonnull @jakarta.annotation.Nonnull Obj obj, boolean ignoreSoftSizeRestrictions)
@@ -461,6 +617,33 @@ public class BigTablePersist implements Persist {
     return r;
   }
 
+  @Override
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  public CompletionStage<boolean[]> storeObjsAsync(
+      @Nonnull @jakarta.annotation.Nonnull Obj[] objs) {
+    // Written by the callbacks, each write sets only its own element.
+    boolean[] r = new boolean[objs.length];
+    List<CompletableFuture<?>> writes = new ArrayList<>(objs.length);
+    try {
+      for (int i = 0; i < objs.length; i++) {
+        Obj obj = objs[i];
+        if (obj != null) {
+          int idx = i;
+          ConditionalRowMutation conditionalRowMutation = mutationForStoreObj(obj, false);
+          writes.add(
+              toCompletionStage(backend.client().checkAndMutateRowAsync(conditionalRowMutation))
+                  .thenAccept(conditionMatched -> r[idx] = !conditionMatched)
+                  .toCompletableFuture());
+        }
+      }
+    } catch (ObjTooLargeException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+
+    return CompletableFuture.allOf(writes.toArray(new CompletableFuture[0])).thenApply(x -> r);
+  }
+
   @Override
   public void deleteObj(@Nonnull @jakarta.annotation.Nonnull ObjId id) {
     try {
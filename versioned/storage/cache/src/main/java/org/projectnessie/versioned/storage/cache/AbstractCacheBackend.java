@@ -0,0 +1,363 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.cache;
+
+import static java.util.Objects.requireNonNull;
+import static org.projectnessie.versioned.storage.serialize.ProtoSerialization.serializeObj;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.immutables.value.Value;
+import org.projectnessie.versioned.storage.common.exceptions.ObjTooLargeException;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.common.persist.Reference;
+import org.projectnessie.versioned.storage.serialize.ProtoSerialization;
+
+/**
+ * Base for {@link CacheBackend} implementations, manages the optional tier of deserialized objects
+ * and the optional references cache, both on heap. Implementations provide the storage for
+ * serialized objects.
+ */
+abstract class AbstractCacheBackend implements CacheBackend {
+
+  public static final int JAVA_OBJ_HEADER = 32;
+
+  public static final String METER_CACHE_NAME = "nessie-objects";
+  public static final String METER_TAG_TIER = "tier";
+  public static final String TIER_SERIALIZED = "serialized";
+  public static final String TIER_OBJECTS = "objects";
+  public static final String TIER_REFERENCES = "references";
+
+  abstract CacheConfig config();
+
+  /**
+   * Incremented before every change of the references cache, except by {@link
+   * #putReferenceIfNotModified(String, Reference, long)}.
+   */
+  private final AtomicLong referencesGeneration = new AtomicLong();
+
+  /**
+   * Optional tier of already deserialized objects in front of the serialized objects, {@code null}
+   * if disabled. {@link Obj} instances are immutable, so sharing the same instances across requests
+   * is safe.
+   */
+  @Value.Derived
+  @Nullable
+  @jakarta.annotation.Nullable
+  Cache<CacheKey, Obj> objCache() {
+    long objectsCapacity = config().objectsCapacity();
+    if (objectsCapacity <= 0L) {
+      return null;
+    }
+    // IMPORTANT!
+    // When changing the configuration of the Caffeine cache, make sure to run the
+    // _native_ Quarkus tests and adopt the `@ReflectionConfig` in
+    // org.projectnessie.quarkus.providers.PersistProvider.
+    Cache<CacheKey, Obj> cache =
+        Caffeine.newBuilder()
+            .maximumWeight(objectsCapacity)
+            .recordStats()
+            .weigher(this::objWeigher)
+            .build();
+    return monitor(cache, TIER_OBJECTS);
+  }
+
+  /**
+   * Optional cache of named references, {@code null} if disabled. Entries expire after {@link
+   * CacheConfig#referenceTtl()}.
+   */
+  @Value.Derived
+  @Nullable
+  @jakarta.annotation.Nullable
+  Cache<ReferenceCacheKey, Reference> referenceCache() {
+    Duration ttl = config().referenceTtl();
+    if (ttl.isZero() || ttl.isNegative()) {
+      return null;
+    }
+    // IMPORTANT!
+    // See the note in objCache() above.
+    Cache<ReferenceCacheKey, Reference> cache =
+        Caffeine.newBuilder()
+            .maximumSize(config().referenceCacheMaxSize())
+            .expireAfterWrite(ttl)
+            .ticker(config().clockNanos()::getAsLong)
+            .recordStats()
+            .build();
+    return monitor(cache, TIER_REFERENCES);
+  }
+
+  <K, V> Cache<K, V> monitor(Cache<K, V> cache, String tier) {
+    return config()
+        .meterRegistry()
+        .map(
+            registry ->
+                CaffeineCacheMetrics.monitor(
+                    registry, cache, METER_CACHE_NAME, Tags.of(METER_TAG_TIER, tier)))
+        .orElse(cache);
+  }
+
+  /** Subscribes to the optional {@link CacheConfig#invalidationChannel()}. */
+  @Value.Check
+  void subscribeInvalidations() {
+    config().invalidationChannel().ifPresent(channel -> channel.subscribe(this::applyInvalidation));
+  }
+
+  @Override
+  public void invalidate(@Nonnull @jakarta.annotation.Nonnull CacheInvalidation invalidation) {
+    applyInvalidation(invalidation);
+    config().invalidationChannel().ifPresent(channel -> channel.publish(invalidation));
+  }
+
+  private void applyInvalidation(CacheInvalidation invalidation) {
+    String repositoryId = invalidation.repositoryId();
+    switch (invalidation.kind()) {
+      case OBJ:
+        remove(repositoryId, requireNonNull(invalidation.objId()));
+        break;
+      case REFERENCE:
+        removeReference(repositoryId, requireNonNull(invalidation.referenceName()));
+        break;
+      case REPOSITORY:
+        clear(repositoryId);
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown invalidation kind " + invalidation.kind());
+    }
+  }
+
+  @Override
+  public Persist wrap(@Nonnull @jakarta.annotation.Nonnull Persist persist) {
+    ObjCacheImpl cache = new ObjCacheImpl(this, persist.config().repositoryId());
+    return new CachingPersistImpl(persist, cache);
+  }
+
+  /** Retrieves the serialized object from the serialized objects storage. */
+  abstract byte[] getSerialized(CacheKey key);
+
+  /** Puts the serialized object into the serialized objects storage. */
+  abstract void putSerialized(CacheKey key, byte[] serialized);
+
+  abstract void removeSerialized(CacheKey key);
+
+  abstract void clearSerialized(String repositoryId);
+
+  private int objWeigher(CacheKey key, Obj obj) {
+    return key.heapSize() + ObjSizes.estimatedHeapSize(obj);
+  }
+
+  @Override
+  public Obj get(
+      @Nonnull @jakarta.annotation.Nonnull String repositoryId,
+      @Nonnull @jakarta.annotation.Nonnull ObjId id) {
+    CacheKey key = cacheKey(repositoryId, id);
+    Cache<CacheKey, Obj> objCache = objCache();
+    if (objCache != null) {
+      Obj obj = objCache.getIfPresent(key);
+      if (obj != null) {
+        return obj;
+      }
+    }
+    byte[] bytes = getSerialized(key);
+    if (bytes == null) {
+      return null;
+    }
+    Obj obj = ProtoSerialization.deserializeObj(id, bytes);
+    if (objCache != null) {
+      objCache.put(key, obj);
+    }
+    return obj;
+  }
+
+  @Override
+  public void put(
+      @Nonnull @jakarta.annotation.Nonnull String repositoryId,
+      @Nonnull @jakarta.annotation.Nonnull Obj obj) {
+    CacheKey key = cacheKey(repositoryId, obj.id());
+    try {
+      putSerialized(key, serializeObj(obj, Integer.MAX_VALUE, Integer.MAX_VALUE));
+    } catch (ObjTooLargeException e) {
+      // this should never happen
+      throw new RuntimeException(e);
+    }
+    Cache<CacheKey, Obj> objCache = objCache();
+    if (objCache != null) {
+      objCache.put(key, obj);
+    }
+  }
+
+  @Override
+  public void remove(
+      @Nonnull @jakarta.annotation.Nonnull String repositoryId,
+      @Nonnull @jakarta.annotation.Nonnull ObjId id) {
+    CacheKey key = cacheKey(repositoryId, id);
+    Cache<CacheKey, Obj> objCache = objCache();
+    if (objCache != null) {
+      objCache.invalidate(key);
+    }
+    removeSerialized(key);
+  }
+
+  @Override
+  public Reference getReference(
+      @Nonnull @jakarta.annotation.Nonnull String repositoryId,
+      @Nonnull @jakarta.annotation.Nonnull String name) {
+    Cache<ReferenceCacheKey, Reference> referenceCache = referenceCache();
+    return referenceCache != null
+        ? referenceCache.getIfPresent(new ReferenceCacheKey(repositoryId, name))
+        : null;
+  }
+
+  @Override
+  public void putReference(
+      @Nonnull @jakarta.annotation.Nonnull String repositoryId,
+      @Nonnull @jakarta.annotation.Nonnull Reference reference) {
+    Cache<ReferenceCacheKey, Reference> referenceCache = referenceCache();
+    if (referenceCache != null) {
+      referencesGeneration.incrementAndGet();
+      referenceCache.put(new ReferenceCacheKey(repositoryId, reference.name()), reference);
+    }
+  }
+
+  @Override
+  public long referencesGeneration() {
+    return referencesGeneration.get();
+  }
+
+  @Override
+  public void putReferenceIfNotModified(
+      @Nonnull @jakarta.annotation.Nonnull String repositoryId,
+      @Nonnull @jakarta.annotation.Nonnull Reference reference,
+      long generation) {
+    Cache<ReferenceCacheKey, Reference> referenceCache = referenceCache();
+    if (referenceCache != null && referencesGeneration.get() == generation) {
+      // The generation is checked again while holding the entry, a concurrent change increments
+      // the generation before it changes the entry, so it either fails the check or replaces the
+      // value put here.
+      referenceCache
+          .asMap()
+          .compute(
+              new ReferenceCacheKey(repositoryId, reference.name()),
+              (k, current) -> referencesGeneration.get() == generation ? reference : current);
+    }
+  }
+
+  @Override
+  public void removeReference(
+      @Nonnull @jakarta.annotation.Nonnull String repositoryId,
+      @Nonnull @jakarta.annotation.Nonnull String name) {
+    Cache<ReferenceCacheKey, Reference> referenceCache = referenceCache();
+    if (referenceCache != null) {
+      referencesGeneration.incrementAndGet();
+      referenceCache.invalidate(new ReferenceCacheKey(repositoryId, name));
+    }
+  }
+
+  @Override
+  public void clear(@Nonnull @jakarta.annotation.Nonnull String repositoryId) {
+    Cache<ReferenceCacheKey, Reference> referenceCache = referenceCache();
+    if (referenceCache != null) {
+      referencesGeneration.incrementAndGet();
+      referenceCache.asMap().keySet().removeIf(k -> k.repositoryId.equals(repositoryId));
+    }
+    Cache<CacheKey, Obj> objCache = objCache();
+    if (objCache != null) {
+      objCache.asMap().keySet().removeIf(k -> k.repositoryId.equals(repositoryId));
+    }
+    clearSerialized(repositoryId);
+  }
+
+  private CacheKey cacheKey(String repositoryId, ObjId id) {
+    return new CacheKey(repositoryId, id);
+  }
+
+  static final class CacheKey {
+
+    static final int HEAP_OVERHEAD = 3 * JAVA_OBJ_HEADER;
+    final String repositoryId;
+    final ObjId id;
+
+    CacheKey(String repositoryId, ObjId id) {
+      this.repositoryId = repositoryId;
+      this.id = id;
+    }
+
+    int heapSize() {
+      return HEAP_OVERHEAD + id.size() + repositoryId.length();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof CacheKey)) {
+        return false;
+      }
+      CacheKey cacheKey = (CacheKey) o;
+      return repositoryId.equals(cacheKey.repositoryId) && id.equals(cacheKey.id);
+    }
+
+    @Override
+    public int hashCode() {
+      return repositoryId.hashCode() * 31 + id.hashCode();
+    }
+
+    @Override
+    public String toString() {
+      return "CacheKey{" + repositoryId + ", " + id + '}';
+    }
+  }
+
+  static final class ReferenceCacheKey {
+    final String repositoryId;
+    final String name;
+
+    ReferenceCacheKey(String repositoryId, String name) {
+      this.repositoryId = repositoryId;
+      this.name = name;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof ReferenceCacheKey)) {
+        return false;
+      }
+      ReferenceCacheKey cacheKey = (ReferenceCacheKey) o;
+      return repositoryId.equals(cacheKey.repositoryId) && name.equals(cacheKey.name);
+    }
+
+    @Override
+    public int hashCode() {
+      return repositoryId.hashCode() * 31 + name.hashCode();
+    }
+
+    @Override
+    public String toString() {
+      return "ReferenceCacheKey{" + repositoryId + ", " + name + '}';
+    }
+  }
+}
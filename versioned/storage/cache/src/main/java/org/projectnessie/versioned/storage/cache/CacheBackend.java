@@ -20,6 +20,7 @@ import org.projectnessie.versioned.storage.common.persist.Backend;
 import org.projectnessie.versioned.storage.common.persist.Obj;
 import org.projectnessie.versioned.storage.common.persist.ObjId;
 import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.common.persist.Reference;
 
 /**
  * Provides the cache primitives for a caching {@link Persist} facade, suitable for multiple
@@ -38,7 +39,45 @@ public interface CacheBackend {
       @Nonnull @jakarta.annotation.Nonnull String repositoryId,
       @Nonnull @jakarta.annotation.Nonnull ObjId id);
 
+  /** Returns the cached reference or {@code null}, if not cached or reference caching is off. */
+  Reference getReference(
+      @Nonnull @jakarta.annotation.Nonnull String repositoryId,
+      @Nonnull @jakarta.annotation.Nonnull String name);
+
+  void putReference(
+      @Nonnull @jakarta.annotation.Nonnull String repositoryId,
+      @Nonnull @jakarta.annotation.Nonnull Reference reference);
+
+  /**
+   * Returns the current generation of the references cache, which changes whenever references are
+   * put into or removed from the cache, except via {@link #putReferenceIfNotModified(String,
+   * Reference, long)}.
+   */
+  long referencesGeneration();
+
+  /**
+   * Puts a reference that has been read from the backend, unless the references cache has been
+   * modified since {@code generation} has been retrieved via {@link #referencesGeneration()} before
+   * reading the reference. This prevents that a concurrent change or invalidation of the reference
+   * is overwritten with the previously read, now stale, value.
+   */
+  void putReferenceIfNotModified(
+      @Nonnull @jakarta.annotation.Nonnull String repositoryId,
+      @Nonnull @jakarta.annotation.Nonnull Reference reference,
+      long generation);
+
+  void removeReference(
+      @Nonnull @jakarta.annotation.Nonnull String repositoryId,
+      @Nonnull @jakarta.annotation.Nonnull String name);
+
   void clear(@Nonnull @jakarta.annotation.Nonnull String repositoryId);
 
+  /**
+   * Removes the entries described by the given invalidation from this cache and publishes the
+   * invalidation to the caches of other Nessie instances, if a {@link CacheInvalidationChannel} is
+   * configured.
+   */
+  void invalidate(@Nonnull @jakarta.annotation.Nonnull CacheInvalidation invalidation);
+
   Persist wrap(@Nonnull @jakarta.annotation.Nonnull Persist perist);
 }
@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+import org.immutables.value.Value;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+
+/** Configuration of a {@link CacheBackend}, see {@link PersistCaches#newBackend(CacheConfig)}. */
+@Value.Immutable
+public interface CacheConfig {
+  long DEFAULT_OBJECTS_CAPACITY = 0L;
+  boolean DEFAULT_OFF_HEAP = false;
+  Duration DEFAULT_REFERENCE_TTL = Duration.ZERO;
+  long DEFAULT_REFERENCE_CACHE_MAX_SIZE = 10_000L;
+
+  static ImmutableCacheConfig.Builder builder() {
+    return ImmutableCacheConfig.builder();
+  }
+
+  /** Maximum memory used by the cache of serialized objects, in bytes. */
+  long capacity();
+
+  /**
+   * Whether serialized objects are stored in direct, off-heap memory instead of the Java heap. The
+   * {@link #capacity()} then refers to the amount of off-heap memory. Recommended for large
+   * caches, which would otherwise bloat the old generation and lengthen GC pauses.
+   */
+  @Value.Default
+  default boolean offHeap() {
+    return DEFAULT_OFF_HEAP;
+  }
+
+  /**
+   * Maximum estimated heap retained by the tier of already deserialized objects, in bytes. This
+   * tier sits in front of the serialized objects and saves the deserialization and allocation
+   * costs for frequently accessed objects. A value of {@code 0} disables this tier.
+   */
+  @Value.Default
+  default long objectsCapacity() {
+    return DEFAULT_OBJECTS_CAPACITY;
+  }
+
+  /**
+   * Time-to-live of cached named references. References are mutable, so a reference cache can
+   * return stale values, at most for this duration, for references that were changed by another
+   * Nessie instance. Commits and other conditional reference updates always bypass the reference
+   * cache, see {@link Persist#forReferenceUpdates()}. A value of zero (the default) disables the
+   * reference cache.
+   */
+  @Value.Default
+  default Duration referenceTtl() {
+    return DEFAULT_REFERENCE_TTL;
+  }
+
+  /** Maximum number of cached references, only effective if {@link #referenceTtl()} is positive. */
+  @Value.Default
+  default long referenceCacheMaxSize() {
+    return DEFAULT_REFERENCE_CACHE_MAX_SIZE;
+  }
+
+  /** Source of nanosecond timestamps for time based expiry, for tests. */
+  @Value.Default
+  default LongSupplier clockNanos() {
+    return System::nanoTime;
+  }
+
+  /** Optional meter registry, hit/miss/eviction metrics are published for each cache tier. */
+  Optional<MeterRegistry> meterRegistry();
+
+  /**
+   * Optional channel to exchange invalidations of mutable cache entries, upserted objects and
+   * references, with the caches of other Nessie instances.
+   */
+  Optional<CacheInvalidationChannel> invalidationChannel();
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.cache;
+
+import javax.annotation.Nullable;
+import org.immutables.value.Value;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+
+/**
+ * Describes a change to a mutable cached entry, published via a {@link CacheInvalidationChannel} to
+ * the caches of other Nessie instances that share the same backend database.
+ */
+@Value.Immutable
+public interface CacheInvalidation {
+
+  enum Kind {
+    /** An object has been upserted or deleted, see {@link #objId()}. */
+    OBJ,
+    /** A named reference has been changed or deleted, see {@link #referenceName()}. */
+    REFERENCE,
+    /** The whole repository has been erased. */
+    REPOSITORY
+  }
+
+  @Value.Parameter(order = 1)
+  Kind kind();
+
+  @Value.Parameter(order = 2)
+  String repositoryId();
+
+  @Value.Parameter(order = 3)
+  @Nullable
+  @jakarta.annotation.Nullable
+  ObjId objId();
+
+  @Value.Parameter(order = 4)
+  @Nullable
+  @jakarta.annotation.Nullable
+  String referenceName();
+
+  @Value.Check
+  default void check() {
+    switch (kind()) {
+      case OBJ:
+        if (objId() == null) {
+          throw new IllegalStateException("objId must be present for kind OBJ");
+        }
+        break;
+      case REFERENCE:
+        if (referenceName() == null) {
+          throw new IllegalStateException("referenceName must be present for kind REFERENCE");
+        }
+        break;
+      default:
+        break;
+    }
+  }
+
+  static CacheInvalidation invalidateObj(String repositoryId, ObjId id) {
+    return ImmutableCacheInvalidation.of(Kind.OBJ, repositoryId, id, null);
+  }
+
+  static CacheInvalidation invalidateReference(String repositoryId, String name) {
+    return ImmutableCacheInvalidation.of(Kind.REFERENCE, repositoryId, null, name);
+  }
+
+  static CacheInvalidation invalidateRepository(String repositoryId) {
+    return ImmutableCacheInvalidation.of(Kind.REPOSITORY, repositoryId, null, null);
+  }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.cache;
+
+import java.util.function.Consumer;
+import javax.annotation.Nonnull;
+
+/**
+ * Transport for {@link CacheInvalidation}s between the {@link CacheBackend}s of multiple Nessie
+ * instances sharing the same backend database.
+ *
+ * <p>Cached objects are immutable, with the exception of upserted objects (for example the
+ * repository description) and named references. Changes to those are published to all other
+ * Nessie instances, which then remove the affected entries from their caches. Delivery is best
+ * effort, stale entries in the references cache are still bounded by the reference cache TTL.
+ *
+ * <p>Implementations must not deliver invalidations to the receivers of the same channel instance
+ * that published them.
+ */
+public interface CacheInvalidationChannel {
+
+  /** Publishes the given invalidation to the other Nessie instances, must not block. */
+  void publish(@Nonnull @jakarta.annotation.Nonnull CacheInvalidation invalidation);
+
+  /** Registers a receiver for invalidations published by other Nessie instances. */
+  void subscribe(@Nonnull @jakarta.annotation.Nonnull Consumer<CacheInvalidation> receiver);
+}
@@ -15,7 +15,11 @@
  */
 package org.projectnessie.versioned.storage.cache;
 
+import static org.projectnessie.versioned.storage.common.persist.Reference.isInternalReferenceName;
+
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import javax.annotation.Nonnull;
 import org.projectnessie.versioned.storage.common.config.StoreConfig;
 import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
@@ -35,16 +39,39 @@ class CachingPersistImpl implements Persist {
   final Persist persist;
   final ObjCache cache;
 
+  /**
+   * If {@code true}, references are always fetched from the backend and never served from the
+   * references cache, see {@link #forReferenceUpdates()}.
+   */
+  final boolean referencesForUpdate;
+
+  /**
+   * If {@code true}, objects are always fetched from the backend, because the backend reads objects
+   * from a read replica, and never served from the objects cache, see {@link #forObjectUpdates()}.
+   */
+  final boolean objectsForUpdate;
+
   CachingPersistImpl(Persist persist, ObjCache cache) {
+    this(persist, cache, false, false);
+  }
+
+  private CachingPersistImpl(
+      Persist persist, ObjCache cache, boolean referencesForUpdate, boolean objectsForUpdate) {
     this.persist = persist;
     this.cache = cache;
+    this.referencesForUpdate = referencesForUpdate;
+    this.objectsForUpdate = objectsForUpdate;
+  }
+
+  private Obj cachedObj(ObjId id) {
+    return objectsForUpdate ? null : cache.get(id);
   }
 
   @Override
   @Nonnull
   @jakarta.annotation.Nonnull
   public Obj fetchObj(@Nonnull @jakarta.annotation.Nonnull ObjId id) throws ObjNotFoundException {
-    Obj o = cache.get(id);
+    Obj o = cachedObj(id);
     if (o != null) {
       return o;
     }
@@ -64,7 +91,7 @@ class CachingPersistImpl implements Persist {
   public <T extends Obj> T fetchTypedObj(
       @Nonnull @jakarta.annotation.Nonnull ObjId id, ObjType type, Class<T> typeClass)
       throws ObjNotFoundException {
-    Obj o = cache.get(id);
+    Obj o = cachedObj(id);
     if (o != null) {
       if (o.type() != type) {
         throw new ObjNotFoundException(id);
@@ -78,12 +105,35 @@ class CachingPersistImpl implements Persist {
     return r;
   }
 
+  @Override
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  public <T extends Obj> CompletionStage<T> fetchTypedObjAsync(
+      @Nonnull @jakarta.annotation.Nonnull ObjId id, ObjType type, Class<T> typeClass) {
+    Obj o = cachedObj(id);
+    if (o != null) {
+      if (o.type() != type) {
+        return CompletableFuture.failedFuture(new ObjNotFoundException(id));
+      }
+      @SuppressWarnings("unchecked")
+      T r = (T) o;
+      return CompletableFuture.completedFuture(r);
+    }
+    return persist
+        .fetchTypedObjAsync(id, type, typeClass)
+        .thenApply(
+            r -> {
+              cache.put(r);
+              return r;
+            });
+  }
+
   @Override
   @Nonnull
   @jakarta.annotation.Nonnull
   public ObjType fetchObjType(@Nonnull @jakarta.annotation.Nonnull ObjId id)
       throws ObjNotFoundException {
-    Obj o = cache.get(id);
+    Obj o = cachedObj(id);
     if (o != null) {
       return o.type();
     }
@@ -97,15 +147,41 @@ class CachingPersistImpl implements Persist {
   @jakarta.annotation.Nonnull
   public Obj[] fetchObjs(@Nonnull @jakarta.annotation.Nonnull ObjId[] ids)
       throws ObjNotFoundException {
-    ObjId[] backendIds = null;
     Obj[] r = new Obj[ids.length];
+    ObjId[] backendIds = fetchCachedObjs(ids, r);
+    if (backendIds == null) {
+      return r;
+    }
 
+    return cacheFetchedObjs(persist.fetchObjs(backendIds), r);
+  }
+
+  @Override
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  public CompletionStage<Obj[]> fetchObjsAsync(@Nonnull @jakarta.annotation.Nonnull ObjId[] ids) {
+    Obj[] r = new Obj[ids.length];
+    ObjId[] backendIds = fetchCachedObjs(ids, r);
+    if (backendIds == null) {
+      return CompletableFuture.completedFuture(r);
+    }
+
+    return persist.fetchObjsAsync(backendIds).thenApply(objs -> cacheFetchedObjs(objs, r));
+  }
+
+  /**
+   * Populates {@code r} with the cached objects.
+   *
+   * @return the IDs to fetch from the backend, {@code null} if all objects are cached
+   */
+  private ObjId[] fetchCachedObjs(ObjId[] ids, Obj[] r) {
+    ObjId[] backendIds = null;
     for (int i = 0; i < ids.length; i++) {
       ObjId id = ids[i];
       if (id == null) {
         continue;
       }
-      Obj o = cache.get(id);
+      Obj o = cachedObj(id);
       if (o != null) {
         r[i] = o;
       } else {
@@ -116,11 +192,10 @@ class CachingPersistImpl implements Persist {
       }
     }
 
-    if (backendIds == null) {
-      return r;
-    }
+    return backendIds;
+  }
 
-    Obj[] backendResult = persist.fetchObjs(backendIds);
+  private Obj[] cacheFetchedObjs(Obj[] backendResult, Obj[] r) {
     for (int i = 0; i < backendResult.length; i++) {
       Obj o = backendResult[i];
       if (o != null) {
@@ -156,13 +231,35 @@ class CachingPersistImpl implements Persist {
     return stored;
   }
 
+  @Override
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  public CompletionStage<boolean[]> storeObjsAsync(
+      @jakarta.annotation.Nonnull @Nonnull Obj[] objs) {
+    return persist
+        .storeObjsAsync(objs)
+        .thenApply(
+            stored -> {
+              for (int i = 0; i < stored.length; i++) {
+                if (stored[i]) {
+                  cache.put(objs[i]);
+                }
+              }
+              return stored;
+            });
+  }
+
+  // Upserted objects are mutable, so changes are published to the caches of other Nessie instances,
+  // see CacheInvalidationChannel, before the new state is added to this cache.
+
   @Override
   public void upsertObj(@jakarta.annotation.Nonnull @Nonnull Obj obj) throws ObjTooLargeException {
     try {
       persist.upsertObj(obj);
     } finally {
-      cache.remove(obj.id());
+      cache.invalidate(obj.id());
     }
+    cache.put(obj);
   }
 
   @Override
@@ -173,10 +270,15 @@ class CachingPersistImpl implements Persist {
     } finally {
       for (Obj obj : objs) {
         if (obj != null) {
-          cache.remove(obj.id());
+          cache.invalidate(obj.id());
         }
       }
     }
+    for (Obj obj : objs) {
+      if (obj != null) {
+        cache.put(obj);
+      }
+    }
   }
 
   @Override
@@ -184,7 +286,7 @@ class CachingPersistImpl implements Persist {
     try {
       persist.deleteObj(id);
     } finally {
-      cache.remove(id);
+      cache.invalidate(id);
     }
   }
 
@@ -195,7 +297,7 @@ class CachingPersistImpl implements Persist {
     } finally {
       for (ObjId id : ids) {
         if (id != null) {
-          cache.remove(id);
+          cache.invalidate(id);
         }
       }
     }
@@ -206,7 +308,7 @@ class CachingPersistImpl implements Persist {
     try {
       persist.erase();
     } finally {
-      cache.clear();
+      cache.invalidateAll();
     }
   }
 
@@ -220,6 +322,11 @@ class CachingPersistImpl implements Persist {
 
   // plain delegates...
 
+  @Override
+  public boolean nativeAsyncFetches() {
+    return persist.nativeAsyncFetches();
+  }
+
   @Override
   public int hardObjectSizeLimit() {
     return persist.hardObjectSizeLimit();
@@ -249,12 +356,45 @@ class CachingPersistImpl implements Persist {
     return persist.name();
   }
 
+  @Override
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  public Persist forReferenceUpdates() {
+    return referencesForUpdate
+        ? this
+        : new CachingPersistImpl(persist.forReferenceUpdates(), cache, true, objectsForUpdate);
+  }
+
+  @Override
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  public Persist forObjectUpdates() {
+    // Upserts keep the objects cache up to date, but objects read from a read replica may have been
+    // cached in an outdated state.
+    Persist forUpdates = persist.forObjectUpdates();
+    return forUpdates == persist
+        ? this
+        : new CachingPersistImpl(forUpdates, cache, referencesForUpdate, true);
+  }
+
+  // References are mutable, so the references cache is updated on every successful change and
+  // invalidated whenever a conditional update fails, because the cached value is then known to be
+  // out of date. Successful changes are also published to the caches of other Nessie instances.
+  // References read from the backend are only cached, if the references cache has not been changed
+  // while reading, so a concurrent change or invalidation is never overwritten with a stale value.
+  // Internal references are never cached.
+
   @Override
   @Nonnull
   @jakarta.annotation.Nonnull
   public Reference addReference(@Nonnull @jakarta.annotation.Nonnull Reference reference)
       throws RefAlreadyExistsException {
-    return persist.addReference(reference);
+    try {
+      return cacheReference(persist.addReference(reference));
+    } catch (RefAlreadyExistsException e) {
+      cache.removeReference(reference.name());
+      throw e;
+    }
   }
 
   @Override
@@ -262,13 +402,22 @@ class CachingPersistImpl implements Persist {
   @jakarta.annotation.Nonnull
   public Reference markReferenceAsDeleted(@Nonnull @jakarta.annotation.Nonnull Reference reference)
       throws RefNotFoundException, RefConditionFailedException {
-    return persist.markReferenceAsDeleted(reference);
+    try {
+      return referenceChanged(persist.markReferenceAsDeleted(reference));
+    } catch (RefNotFoundException | RefConditionFailedException | RuntimeException e) {
+      cache.removeReference(reference.name());
+      throw e;
+    }
   }
 
   @Override
   public void purgeReference(@Nonnull @jakarta.annotation.Nonnull Reference reference)
       throws RefNotFoundException, RefConditionFailedException {
-    persist.purgeReference(reference);
+    try {
+      persist.purgeReference(reference);
+    } finally {
+      cache.invalidateReference(reference.name());
+    }
   }
 
   @Override
@@ -278,18 +427,112 @@ class CachingPersistImpl implements Persist {
       @Nonnull @jakarta.annotation.Nonnull Reference reference,
       @Nonnull @jakarta.annotation.Nonnull ObjId newPointer)
       throws RefNotFoundException, RefConditionFailedException {
-    return persist.updateReferencePointer(reference, newPointer);
+    try {
+      return referenceChanged(persist.updateReferencePointer(reference, newPointer));
+    } catch (RefNotFoundException | RefConditionFailedException | RuntimeException e) {
+      cache.removeReference(reference.name());
+      throw e;
+    }
+  }
+
+  @Override
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  public CompletionStage<Reference> updateReferencePointerAsync(
+      @Nonnull @jakarta.annotation.Nonnull Reference reference,
+      @Nonnull @jakarta.annotation.Nonnull ObjId newPointer) {
+    return persist
+        .updateReferencePointerAsync(reference, newPointer)
+        .whenComplete(
+            (updated, e) -> {
+              if (e != null) {
+                cache.removeReference(reference.name());
+              }
+            })
+        .thenApply(this::referenceChanged);
   }
 
   @Override
   public Reference fetchReference(@Nonnull @jakarta.annotation.Nonnull String name) {
-    return persist.fetchReference(name);
+    if (!referencesForUpdate && !isInternalReferenceName(name)) {
+      Reference r = cache.getReference(name);
+      if (r != null) {
+        return r;
+      }
+    }
+    long generation = cache.referencesGeneration();
+    Reference r = persist.fetchReference(name);
+    if (r != null) {
+      cacheFetchedReference(r, generation);
+    } else {
+      cache.removeReference(name);
+    }
+    return r;
   }
 
   @Override
   @Nonnull
   @jakarta.annotation.Nonnull
   public Reference[] fetchReferences(@Nonnull @jakarta.annotation.Nonnull String[] names) {
-    return persist.fetchReferences(names);
+    String[] backendNames = null;
+    Reference[] r = new Reference[names.length];
+
+    for (int i = 0; i < names.length; i++) {
+      String name = names[i];
+      if (name == null) {
+        continue;
+      }
+      Reference ref =
+          !referencesForUpdate && !isInternalReferenceName(name)
+              ? cache.getReference(name)
+              : null;
+      if (ref != null) {
+        r[i] = ref;
+      } else {
+        if (backendNames == null) {
+          backendNames = new String[names.length];
+        }
+        backendNames[i] = name;
+      }
+    }
+
+    if (backendNames == null) {
+      return r;
+    }
+
+    long generation = cache.referencesGeneration();
+    Reference[] backendResult = persist.fetchReferences(backendNames);
+    for (int i = 0; i < backendResult.length; i++) {
+      Reference ref = backendResult[i];
+      if (ref != null) {
+        r[i] = cacheFetchedReference(ref, generation);
+      } else if (backendNames[i] != null) {
+        cache.removeReference(backendNames[i]);
+      }
+    }
+    return r;
+  }
+
+  private Reference referenceChanged(Reference reference) {
+    cache.invalidateReference(reference.name());
+    return cacheReference(reference);
+  }
+
+  private Reference cacheReference(Reference reference) {
+    if (!reference.isInternal()) {
+      cache.putReference(reference);
+    }
+    return reference;
+  }
+
+  /**
+   * Caches a reference read from the backend, unless the reference has been changed or
+   * invalidated concurrently, because the read value might then be stale.
+   */
+  private Reference cacheFetchedReference(Reference reference, long generation) {
+    if (!reference.isInternal()) {
+      cache.putReferenceIfNotModified(reference, generation);
+    }
+    return reference;
   }
 }
@@ -15,46 +15,30 @@
  */
 package org.projectnessie.versioned.storage.cache;
 
-import static org.projectnessie.versioned.storage.serialize.ProtoSerialization.serializeObj;
-
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
-import javax.annotation.Nonnull;
 import org.immutables.value.Value;
-import org.projectnessie.versioned.storage.common.exceptions.ObjTooLargeException;
-import org.projectnessie.versioned.storage.common.persist.Obj;
-import org.projectnessie.versioned.storage.common.persist.ObjId;
-import org.projectnessie.versioned.storage.common.persist.Persist;
-import org.projectnessie.versioned.storage.serialize.ProtoSerialization;
 
 @Value.Immutable
-abstract class CaffeineCacheBackend implements CacheBackend {
-
-  public static final int JAVA_OBJ_HEADER = 32;
+abstract class CaffeineCacheBackend extends AbstractCacheBackend {
 
   static ImmutableCaffeineCacheBackend.Builder builder() {
     return ImmutableCaffeineCacheBackend.builder();
   }
 
-  abstract long capacity();
-
   @Value.Derived
   Cache<CacheKey, byte[]> cache() {
     // IMPORTANT!
     // When changing the configuration of the Caffeine cache, make sure to run the
     // _native_ Quarkus tests and adopt the `@ReflectionConfig` in
     // org.projectnessie.quarkus.providers.PersistProvider.
-    return Caffeine.newBuilder()
-        .maximumWeight(capacity())
-        .recordStats()
-        .weigher(this::weigher)
-        .build();
-  }
-
-  @Override
-  public Persist wrap(@Nonnull @jakarta.annotation.Nonnull Persist persist) {
-    ObjCacheImpl cache = new ObjCacheImpl(this, persist.config().repositoryId());
-    return new CachingPersistImpl(persist, cache);
+    Cache<CacheKey, byte[]> cache =
+        Caffeine.newBuilder()
+            .maximumWeight(config().capacity())
+            .recordStats()
+            .weigher(this::weigher)
+            .build();
+    return monitor(cache, TIER_SERIALIZED);
   }
 
   private int weigher(CacheKey key, byte[] data) {
@@ -62,79 +46,22 @@ abstract class CaffeineCacheBackend implements CacheBackend {
   }
 
   @Override
-  public Obj get(
-      @Nonnull @jakarta.annotation.Nonnull String repositoryId,
-      @Nonnull @jakarta.annotation.Nonnull ObjId id) {
-    CacheKey key = cacheKey(repositoryId, id);
-    byte[] bytes = cache().getIfPresent(key);
-    return bytes != null ? ProtoSerialization.deserializeObj(id, bytes) : null;
+  byte[] getSerialized(CacheKey key) {
+    return cache().getIfPresent(key);
   }
 
   @Override
-  public void put(
-      @Nonnull @jakarta.annotation.Nonnull String repositoryId,
-      @Nonnull @jakarta.annotation.Nonnull Obj obj) {
-    CacheKey key = cacheKey(repositoryId, obj.id());
-    try {
-      cache().put(key, serializeObj(obj, Integer.MAX_VALUE, Integer.MAX_VALUE));
-    } catch (ObjTooLargeException e) {
-      // this should never happen
-      throw new RuntimeException(e);
-    }
+  void putSerialized(CacheKey key, byte[] serialized) {
+    cache().put(key, serialized);
   }
 
   @Override
-  public void remove(
-      @Nonnull @jakarta.annotation.Nonnull String repositoryId,
-      @Nonnull @jakarta.annotation.Nonnull ObjId id) {
-    CacheKey key = cacheKey(repositoryId, id);
+  void removeSerialized(CacheKey key) {
     cache().invalidate(key);
   }
 
   @Override
-  public void clear(@Nonnull @jakarta.annotation.Nonnull String repositoryId) {
+  void clearSerialized(String repositoryId) {
     cache().asMap().keySet().removeIf(k -> k.repositoryId.equals(repositoryId));
   }
-
-  private CacheKey cacheKey(String repositoryId, ObjId id) {
-    return new CacheKey(repositoryId, id);
-  }
-
-  static final class CacheKey {
-
-    static final int HEAP_OVERHEAD = 3 * JAVA_OBJ_HEADER;
-    final String repositoryId;
-    final ObjId id;
-
-    CacheKey(String repositoryId, ObjId id) {
-      this.repositoryId = repositoryId;
-      this.id = id;
-    }
-
-    int heapSize() {
-      return HEAP_OVERHEAD + id.size() + repositoryId.length();
-    }
-
-    @Override
-    public boolean equals(Object o) {
-      if (this == o) {
-        return true;
-      }
-      if (!(o instanceof CacheKey)) {
-        return false;
-      }
-      CacheKey cacheKey = (CacheKey) o;
-      return repositoryId.equals(cacheKey.repositoryId) && id.equals(cacheKey.id);
-    }
-
-    @Override
-    public int hashCode() {
-      return repositoryId.hashCode() * 31 + id.hashCode();
-    }
-
-    @Override
-    public String toString() {
-      return "CacheKey{" + repositoryId + ", " + id + '}';
-    }
-  }
 }
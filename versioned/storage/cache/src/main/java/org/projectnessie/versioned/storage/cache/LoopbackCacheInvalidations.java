@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import javax.annotation.Nonnull;
+
+/**
+ * In-JVM {@link CacheInvalidationChannel} implementation, connects multiple {@link CacheBackend}s
+ * within the same JVM, each simulating a separate Nessie instance. Invalidations are delivered
+ * synchronously. Intended for tests.
+ */
+public final class LoopbackCacheInvalidations {
+
+  private final List<Channel> channels = new CopyOnWriteArrayList<>();
+
+  /** Creates a new channel, connected to all other channels created by this instance. */
+  public CacheInvalidationChannel newChannel() {
+    Channel channel = new Channel();
+    channels.add(channel);
+    return channel;
+  }
+
+  private final class Channel implements CacheInvalidationChannel {
+    private final List<Consumer<CacheInvalidation>> receivers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(@Nonnull @jakarta.annotation.Nonnull CacheInvalidation invalidation) {
+      for (Channel channel : channels) {
+        if (channel != this) {
+          for (Consumer<CacheInvalidation> receiver : channel.receivers) {
+            receiver.accept(invalidation);
+          }
+        }
+      }
+    }
+
+    @Override
+    public void subscribe(
+        @Nonnull @jakarta.annotation.Nonnull Consumer<CacheInvalidation> receiver) {
+      receivers.add(receiver);
+    }
+  }
+}
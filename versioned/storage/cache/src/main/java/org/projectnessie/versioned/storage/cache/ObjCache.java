@@ -19,6 +19,7 @@ import javax.annotation.Nonnull;
 import org.projectnessie.versioned.storage.common.persist.Obj;
 import org.projectnessie.versioned.storage.common.persist.ObjId;
 import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.common.persist.Reference;
 
 /** Cache primitives for a specific repository ID, used for one {@link Persist} instance. */
 public interface ObjCache {
@@ -29,5 +30,27 @@ public interface ObjCache {
 
   void remove(@Nonnull @jakarta.annotation.Nonnull ObjId id);
 
+  Reference getReference(@Nonnull @jakarta.annotation.Nonnull String name);
+
+  void putReference(@Nonnull @jakarta.annotation.Nonnull Reference reference);
+
+  /** See {@link CacheBackend#referencesGeneration()}. */
+  long referencesGeneration();
+
+  /** See {@link CacheBackend#putReferenceIfNotModified(String, Reference, long)}. */
+  void putReferenceIfNotModified(
+      @Nonnull @jakarta.annotation.Nonnull Reference reference, long generation);
+
+  void removeReference(@Nonnull @jakarta.annotation.Nonnull String name);
+
   void clear();
+
+  /** Removes the object from this cache and from the caches of other Nessie instances. */
+  void invalidate(@Nonnull @jakarta.annotation.Nonnull ObjId id);
+
+  /** Removes the reference from this cache and from the caches of other Nessie instances. */
+  void invalidateReference(@Nonnull @jakarta.annotation.Nonnull String name);
+
+  /** Clears this cache and the caches of other Nessie instances for the repository. */
+  void invalidateAll();
 }
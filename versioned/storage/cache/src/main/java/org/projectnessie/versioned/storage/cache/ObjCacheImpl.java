@@ -15,9 +15,13 @@
  */
 package org.projectnessie.versioned.storage.cache;
 
+import static org.projectnessie.versioned.storage.cache.CacheInvalidation.invalidateObj;
+import static org.projectnessie.versioned.storage.cache.CacheInvalidation.invalidateRepository;
+
 import javax.annotation.Nonnull;
 import org.projectnessie.versioned.storage.common.persist.Obj;
 import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Reference;
 
 final class ObjCacheImpl implements ObjCache {
   private final CacheBackend backend;
@@ -43,8 +47,49 @@ final class ObjCacheImpl implements ObjCache {
     backend.remove(repositoryId, id);
   }
 
+  @Override
+  public Reference getReference(@Nonnull @jakarta.annotation.Nonnull String name) {
+    return backend.getReference(repositoryId, name);
+  }
+
+  @Override
+  public void putReference(@Nonnull @jakarta.annotation.Nonnull Reference reference) {
+    backend.putReference(repositoryId, reference);
+  }
+
+  @Override
+  public long referencesGeneration() {
+    return backend.referencesGeneration();
+  }
+
+  @Override
+  public void putReferenceIfNotModified(
+      @Nonnull @jakarta.annotation.Nonnull Reference reference, long generation) {
+    backend.putReferenceIfNotModified(repositoryId, reference, generation);
+  }
+
+  @Override
+  public void removeReference(@Nonnull @jakarta.annotation.Nonnull String name) {
+    backend.removeReference(repositoryId, name);
+  }
+
   @Override
   public void clear() {
     backend.clear(repositoryId);
   }
+
+  @Override
+  public void invalidate(@Nonnull @jakarta.annotation.Nonnull ObjId id) {
+    backend.invalidate(invalidateObj(repositoryId, id));
+  }
+
+  @Override
+  public void invalidateReference(@Nonnull @jakarta.annotation.Nonnull String name) {
+    backend.invalidate(CacheInvalidation.invalidateReference(repositoryId, name));
+  }
+
+  @Override
+  public void invalidateAll() {
+    backend.invalidate(invalidateRepository(repositoryId));
+  }
 }
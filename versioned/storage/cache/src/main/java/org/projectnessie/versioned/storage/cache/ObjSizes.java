@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.cache;
+
+import java.util.List;
+import org.projectnessie.nessie.relocated.protobuf.ByteString;
+import org.projectnessie.versioned.storage.common.indexes.StoreKey;
+import org.projectnessie.versioned.storage.common.objtypes.CommitHeaders;
+import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
+import org.projectnessie.versioned.storage.common.objtypes.ContentValueObj;
+import org.projectnessie.versioned.storage.common.objtypes.IndexObj;
+import org.projectnessie.versioned.storage.common.objtypes.IndexSegmentsObj;
+import org.projectnessie.versioned.storage.common.objtypes.IndexStripe;
+import org.projectnessie.versioned.storage.common.objtypes.RefObj;
+import org.projectnessie.versioned.storage.common.objtypes.StringObj;
+import org.projectnessie.versioned.storage.common.objtypes.TagObj;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+
+/**
+ * Rough estimates of the Java heap retained by deserialized {@link Obj} instances, used to weigh
+ * entries in the deserialized-objects cache tier. The estimates do not need to be exact, but must
+ * grow with the amount of data held by an object.
+ */
+final class ObjSizes {
+  private ObjSizes() {}
+
+  static final int JAVA_OBJ_HEADER = AbstractCacheBackend.JAVA_OBJ_HEADER;
+  static final int JAVA_REFERENCE = 8;
+  static final int JAVA_ARRAY_HEADER = 16;
+  static final int JAVA_LIST = JAVA_OBJ_HEADER + JAVA_ARRAY_HEADER;
+  static final int JAVA_STRING = JAVA_OBJ_HEADER + JAVA_ARRAY_HEADER;
+  static final int BYTE_STRING = JAVA_OBJ_HEADER + JAVA_ARRAY_HEADER;
+  static final int IMMUTABLE_OBJ = JAVA_OBJ_HEADER + 8 * JAVA_REFERENCE;
+
+  /** Fallback for unknown object types, used instead of failing. */
+  static final int UNKNOWN_OBJ = 1024;
+
+  static int estimatedHeapSize(Obj obj) {
+    int size = IMMUTABLE_OBJ + objId(obj.id());
+    switch (obj.type()) {
+      case COMMIT:
+        CommitObj c = (CommitObj) obj;
+        size +=
+            objIds(c.tail())
+                + objIds(c.secondaryParents())
+                + headers(c.headers())
+                + string(c.message())
+                + objId(c.referenceIndex())
+                + stripes(c.referenceIndexStripes())
+                + byteString(c.incrementalIndex());
+        break;
+      case INDEX:
+        size += byteString(((IndexObj) obj).index());
+        break;
+      case INDEX_SEGMENTS:
+        size += stripes(((IndexSegmentsObj) obj).stripes());
+        break;
+      case VALUE:
+        ContentValueObj v = (ContentValueObj) obj;
+        size += string(v.contentId()) + byteString(v.data());
+        break;
+      case STRING:
+        StringObj s = (StringObj) obj;
+        size +=
+            string(s.contentType())
+                + string(s.filename())
+                + objIds(s.predecessors())
+                + byteString(s.text());
+        break;
+      case REF:
+        RefObj r = (RefObj) obj;
+        size += string(r.name()) + objId(r.initialPointer()) + objId(r.extendedInfoObj());
+        break;
+      case TAG:
+        TagObj t = (TagObj) obj;
+        size += string(t.message()) + headers(t.headers()) + byteString(t.signature());
+        break;
+      default:
+        size += UNKNOWN_OBJ;
+        break;
+    }
+    return size;
+  }
+
+  private static int objId(ObjId id) {
+    return id != null ? JAVA_OBJ_HEADER + id.size() : 0;
+  }
+
+  private static int objIds(List<ObjId> ids) {
+    int size = JAVA_LIST;
+    for (ObjId id : ids) {
+      size += JAVA_REFERENCE + objId(id);
+    }
+    return size;
+  }
+
+  private static int string(String s) {
+    return s != null ? JAVA_STRING + s.length() : 0;
+  }
+
+  private static int byteString(ByteString bytes) {
+    return bytes != null ? BYTE_STRING + bytes.size() : 0;
+  }
+
+  private static int storeKey(StoreKey key) {
+    return JAVA_OBJ_HEADER + string(key.rawString());
+  }
+
+  private static int stripes(List<IndexStripe> stripes) {
+    int size = JAVA_LIST;
+    for (IndexStripe stripe : stripes) {
+      size +=
+          JAVA_REFERENCE
+              + IMMUTABLE_OBJ
+              + storeKey(stripe.firstKey())
+              + storeKey(stripe.lastKey())
+              + objId(stripe.segment());
+    }
+    return size;
+  }
+
+  private static int headers(CommitHeaders headers) {
+    if (headers == null) {
+      return 0;
+    }
+    int size = JAVA_OBJ_HEADER + JAVA_LIST;
+    for (String name : headers.keySet()) {
+      size += JAVA_REFERENCE + string(name) + JAVA_LIST;
+      for (String value : headers.getAll(name)) {
+        size += JAVA_REFERENCE + string(value);
+      }
+    }
+    return size;
+  }
+}
@@ -0,0 +1,262 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import org.immutables.value.Value;
+
+/**
+ * {@link CacheBackend} that stores serialized objects in direct, off-heap memory, so that large
+ * caches do not add to the Java heap and GC pressure.
+ *
+ * <p>The configured {@link CacheConfig#capacity() capacity} is split into a number of independent
+ * {@link Segment segments}. Each segment owns one direct {@link ByteBuffer}, which is used as a
+ * ring buffer: new entries are appended at the "head", the oldest entries are evicted from the
+ * "tail" when there is not enough space for a new entry (FIFO eviction). Removed and replaced
+ * entries are only removed from the segment's index, the memory is reclaimed when the tail passes.
+ *
+ * <p>Direct memory is limited by the JVM option {@code -XX:MaxDirectMemorySize}, which defaults to
+ * the maximum heap size.
+ */
+@Value.Immutable
+abstract class OffHeapCacheBackend extends AbstractCacheBackend {
+
+  /** Segments are not smaller than this size, unless the total capacity is smaller. */
+  static final long MIN_SEGMENT_SIZE = 4L * 1024L * 1024L;
+
+  /** Maximum size of a single segment, must be less than {@link Integer#MAX_VALUE}. */
+  static final long MAX_SEGMENT_SIZE = 256L * 1024L * 1024L;
+
+  static final int DEFAULT_SEGMENTS = 16;
+
+  static final String TIER_OFF_HEAP = "off-heap";
+
+  static ImmutableOffHeapCacheBackend.Builder builder() {
+    return ImmutableOffHeapCacheBackend.builder();
+  }
+
+  @Value.Derived
+  List<Segment> segments() {
+    long capacity = config().capacity();
+    int num = segmentCount(capacity);
+    int segmentSize = (int) (capacity / num);
+
+    List<Segment> segments = new ArrayList<>(num);
+    for (int i = 0; i < num; i++) {
+      segments.add(new Segment(segmentSize));
+    }
+
+    config().meterRegistry().ifPresent(registry -> bindMetrics(registry, segments));
+
+    return segments;
+  }
+
+  static int segmentCount(long capacity) {
+    long num = Math.max(1L, Math.min(DEFAULT_SEGMENTS, capacity / MIN_SEGMENT_SIZE));
+    return (int) Math.max(num, (capacity + MAX_SEGMENT_SIZE - 1) / MAX_SEGMENT_SIZE);
+  }
+
+  private Segment segment(CacheKey key) {
+    List<Segment> segments = segments();
+    return segments.get((key.hashCode() & Integer.MAX_VALUE) % segments.size());
+  }
+
+  @Override
+  byte[] getSerialized(CacheKey key) {
+    return segment(key).get(key);
+  }
+
+  @Override
+  void putSerialized(CacheKey key, byte[] serialized) {
+    segment(key).put(key, serialized);
+  }
+
+  @Override
+  void removeSerialized(CacheKey key) {
+    segment(key).remove(key);
+  }
+
+  @Override
+  void clearSerialized(String repositoryId) {
+    for (Segment segment : segments()) {
+      segment.clear(repositoryId);
+    }
+  }
+
+  private static void bindMetrics(MeterRegistry registry, List<Segment> segments) {
+    Tags tags = Tags.of("cache", METER_CACHE_NAME, METER_TAG_TIER, TIER_OFF_HEAP);
+    FunctionCounter.builder("cache.gets", segments, s -> sum(s, seg -> seg.hits.sum()))
+        .tags(tags)
+        .tag("result", "hit")
+        .register(registry);
+    FunctionCounter.builder("cache.gets", segments, s -> sum(s, seg -> seg.misses.sum()))
+        .tags(tags)
+        .tag("result", "miss")
+        .register(registry);
+    FunctionCounter.builder("cache.puts", segments, s -> sum(s, seg -> seg.puts.sum()))
+        .tags(tags)
+        .register(registry);
+    FunctionCounter.builder("cache.evictions", segments, s -> sum(s, seg -> seg.evictions.sum()))
+        .tags(tags)
+        .register(registry);
+    Gauge.builder("cache.size", segments, s -> sum(s, Segment::size)).tags(tags).register(registry);
+    Gauge.builder("cache.off-heap.used", segments, s -> sum(s, Segment::used))
+        .tags(tags)
+        .baseUnit("bytes")
+        .register(registry);
+  }
+
+  @FunctionalInterface
+  private interface SegmentValue {
+    long value(Segment segment);
+  }
+
+  private static double sum(List<Segment> segments, SegmentValue value) {
+    long sum = 0L;
+    for (Segment segment : segments) {
+      sum += value.value(segment);
+    }
+    return sum;
+  }
+
+  /**
+   * Ring-buffer of serialized objects in a direct {@link ByteBuffer}, all operations are
+   * synchronized per segment.
+   */
+  static final class Segment {
+    private final ByteBuffer memory;
+    private final int capacity;
+    private final int maxEntrySize;
+    private final Map<CacheKey, Entry> index = new HashMap<>();
+    private final ArrayDeque<Entry> entries = new ArrayDeque<>();
+
+    /** Logical position of the next write, the physical offset is {@code head % capacity}. */
+    private long head;
+
+    /** Logical position of the oldest entry. */
+    private long tail;
+
+    final LongAdder hits = new LongAdder();
+    final LongAdder misses = new LongAdder();
+    final LongAdder puts = new LongAdder();
+    final LongAdder evictions = new LongAdder();
+
+    Segment(int capacity) {
+      this.capacity = capacity;
+      // Prevent that a single entry evicts (almost) everything else.
+      this.maxEntrySize = capacity / 4;
+      this.memory = ByteBuffer.allocateDirect(capacity);
+    }
+
+    synchronized byte[] get(CacheKey key) {
+      Entry entry = index.get(key);
+      if (entry == null) {
+        misses.increment();
+        return null;
+      }
+      hits.increment();
+      byte[] data = new byte[entry.length];
+      ByteBuffer buffer = memory.duplicate();
+      buffer.position(entry.offset);
+      buffer.get(data);
+      return data;
+    }
+
+    synchronized void put(CacheKey key, byte[] data) {
+      index.remove(key);
+
+      int length = data.length;
+      if (length > maxEntrySize) {
+        return;
+      }
+
+      int offset = (int) (head % capacity);
+      if (offset + length > capacity) {
+        // Entries never wrap around the end of the buffer, skip the remaining bytes.
+        head += capacity - offset;
+        offset = 0;
+      }
+
+      while (head + length - tail > capacity) {
+        evictOldest();
+      }
+
+      ByteBuffer buffer = memory.duplicate();
+      buffer.position(offset);
+      buffer.put(data);
+
+      Entry entry = new Entry(key, head, offset, length);
+      index.put(key, entry);
+      entries.addLast(entry);
+      head += length;
+      puts.increment();
+    }
+
+    private void evictOldest() {
+      Entry oldest = entries.pollFirst();
+      if (oldest == null) {
+        tail = head;
+        return;
+      }
+      // Only remove the index entry, if it has not been replaced or removed.
+      if (index.remove(oldest.key, oldest)) {
+        evictions.increment();
+      }
+      Entry next = entries.peekFirst();
+      tail = next != null ? next.position : head;
+    }
+
+    synchronized void remove(CacheKey key) {
+      index.remove(key);
+    }
+
+    synchronized void clear(String repositoryId) {
+      index.keySet().removeIf(k -> k.repositoryId.equals(repositoryId));
+    }
+
+    synchronized long size() {
+      return index.size();
+    }
+
+    synchronized long used() {
+      return head - tail;
+    }
+  }
+
+  static final class Entry {
+    final CacheKey key;
+    final long position;
+    final int offset;
+    final int length;
+
+    Entry(CacheKey key, long position, int offset, int length) {
+      this.key = key;
+      this.position = position;
+      this.offset = offset;
+      this.length = length;
+    }
+  }
+}
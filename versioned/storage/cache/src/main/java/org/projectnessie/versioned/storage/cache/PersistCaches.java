@@ -20,6 +20,17 @@ public final class PersistCaches {
 
   /** Produces a {@link CacheBackend} with the given maximum capacity. */
   public static CacheBackend newBackend(long capacity) {
-    return CaffeineCacheBackend.builder().capacity(capacity).build();
+    return newBackend(CacheConfig.builder().capacity(capacity).build());
+  }
+
+  /**
+   * Produces a {@link CacheBackend} using the given configuration, either storing serialized
+   * objects on the Java heap or, if {@link CacheConfig#offHeap()} is set, in off-heap memory.
+   */
+  public static CacheBackend newBackend(CacheConfig config) {
+    if (config.offHeap()) {
+      return OffHeapCacheBackend.builder().config(config).build();
+    }
+    return CaffeineCacheBackend.builder().config(config).build();
   }
 }
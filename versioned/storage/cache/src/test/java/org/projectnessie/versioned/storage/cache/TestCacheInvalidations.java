@@ -0,0 +1,173 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.cache;
+
+import static org.projectnessie.versioned.storage.common.objtypes.ContentValueObj.contentValue;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.randomObjId;
+import static org.projectnessie.versioned.storage.common.persist.Reference.reference;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.projectnessie.nessie.relocated.protobuf.ByteString;
+import org.projectnessie.versioned.storage.common.config.StoreConfig;
+import org.projectnessie.versioned.storage.common.persist.Backend;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.common.persist.Reference;
+import org.projectnessie.versioned.storage.inmemory.InmemoryBackendTestFactory;
+
+/** Verifies that two caches, simulating two Nessie instances, see each other's changes. */
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestCacheInvalidations {
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  private Backend backend;
+  private Persist persist;
+  private Persist persist1;
+  private Persist persist2;
+  private CacheBackend cache2;
+
+  @BeforeEach
+  void setup() {
+    backend = new InmemoryBackendTestFactory().createNewBackend();
+    backend.setupSchema();
+    persist = backend.createFactory().newPersist(new StoreConfig() {});
+
+    LoopbackCacheInvalidations invalidations = new LoopbackCacheInvalidations();
+    CacheBackend cache1 = newCache(invalidations.newChannel());
+    cache2 = newCache(invalidations.newChannel());
+
+    persist1 = cache1.wrap(persist);
+    persist2 = cache2.wrap(persist);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    backend.close();
+  }
+
+  private static CacheBackend newCache(CacheInvalidationChannel channel) {
+    return PersistCaches.newBackend(
+        CacheConfig.builder()
+            .capacity(1024L * 1024L)
+            .objectsCapacity(1024L * 1024L)
+            .referenceTtl(Duration.ofMinutes(1))
+            .invalidationChannel(channel)
+            .build());
+  }
+
+  @Test
+  public void upsertObj() throws Exception {
+    ObjId id = randomObjId();
+    Obj obj = contentValue(id, "cid", 1, ByteString.copyFromUtf8("one"));
+    persist1.upsertObj(obj);
+    soft.assertThat(persist2.fetchObj(id)).isEqualTo(obj);
+
+    Obj updated = contentValue(id, "cid", 1, ByteString.copyFromUtf8("two"));
+    persist1.upsertObj(updated);
+    soft.assertThat(persist2.fetchObj(id)).isEqualTo(updated);
+    soft.assertThat(persist1.fetchObj(id)).isEqualTo(updated);
+
+    persist1.deleteObj(id);
+    soft.assertThat(cache2.get(persist2.config().repositoryId(), id)).isNull();
+  }
+
+  @Test
+  public void references() throws Exception {
+    Reference ref =
+        persist1.addReference(reference("refs/heads/main", randomObjId(), false, 42L, null));
+    soft.assertThat(persist2.fetchReference(ref.name())).isEqualTo(ref);
+
+    Reference updated = persist1.updateReferencePointer(ref, randomObjId());
+    soft.assertThat(persist2.fetchReference(ref.name())).isEqualTo(updated);
+
+    Reference deleted = persist1.markReferenceAsDeleted(updated);
+    soft.assertThat(persist2.fetchReference(ref.name())).isEqualTo(deleted);
+
+    persist1.purgeReference(deleted);
+    soft.assertThat(persist2.fetchReference(ref.name())).isNull();
+  }
+
+  @Test
+  public void fetchReferenceConcurrentToUpdate() throws Exception {
+    Reference ref =
+        persist1.addReference(reference("refs/heads/main", randomObjId(), false, 42L, null));
+
+    AtomicReference<Reference> updated = new AtomicReference<>();
+    Persist racing =
+        (Persist)
+            Proxy.newProxyInstance(
+                Persist.class.getClassLoader(),
+                new Class<?>[] {Persist.class},
+                (proxy, method, args) -> {
+                  Object result;
+                  try {
+                    result = method.invoke(persist, args);
+                  } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                  }
+                  if ("fetchReference".equals(method.getName()) && updated.get() == null) {
+                    // Another Nessie instance updates the reference after it has been read here.
+                    updated.set(persist1.updateReferencePointer(ref, randomObjId()));
+                  }
+                  return result;
+                });
+    Persist cached = cache2.wrap(racing);
+
+    soft.assertThat(cached.fetchReference(ref.name())).isEqualTo(ref);
+    // The value read before the update must not have been cached.
+    soft.assertThat(cache2.getReference(persist.config().repositoryId(), ref.name())).isNull();
+    soft.assertThat(cached.fetchReference(ref.name())).isEqualTo(updated.get());
+  }
+
+  @Test
+  public void erase() throws Exception {
+    Obj obj = contentValue("cid", 1, ByteString.copyFromUtf8("one"));
+    persist1.storeObj(obj);
+    soft.assertThat(persist2.fetchObj(obj.id())).isEqualTo(obj);
+
+    persist1.erase();
+    soft.assertThat(cache2.get(persist2.config().repositoryId(), obj.id())).isNull();
+  }
+
+  @Test
+  public void loopbackDoesNotDeliverToPublisher() {
+    LoopbackCacheInvalidations invalidations = new LoopbackCacheInvalidations();
+    CacheInvalidationChannel channel1 = invalidations.newChannel();
+    CacheInvalidationChannel channel2 = invalidations.newChannel();
+    List<CacheInvalidation> received1 = new ArrayList<>();
+    List<CacheInvalidation> received2 = new ArrayList<>();
+    channel1.subscribe(received1::add);
+    channel2.subscribe(received2::add);
+
+    CacheInvalidation invalidation = CacheInvalidation.invalidateReference("repo", "main");
+    channel1.publish(invalidation);
+    soft.assertThat(received1).isEmpty();
+    soft.assertThat(received2).containsExactly(invalidation);
+  }
+}
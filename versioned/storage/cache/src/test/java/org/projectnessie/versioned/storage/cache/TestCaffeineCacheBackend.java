@@ -0,0 +1,199 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.cache;
+
+import static org.projectnessie.versioned.storage.cache.AbstractCacheBackend.METER_CACHE_NAME;
+import static org.projectnessie.versioned.storage.cache.AbstractCacheBackend.METER_TAG_TIER;
+import static org.projectnessie.versioned.storage.cache.AbstractCacheBackend.TIER_OBJECTS;
+import static org.projectnessie.versioned.storage.cache.AbstractCacheBackend.TIER_SERIALIZED;
+import static org.projectnessie.versioned.storage.common.objtypes.ContentValueObj.contentValue;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.randomObjId;
+import static org.projectnessie.versioned.storage.common.persist.Reference.reference;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.projectnessie.nessie.relocated.protobuf.ByteString;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.Reference;
+
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestCaffeineCacheBackend {
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  static final String REPO = "repo";
+
+  @Test
+  public void serializedOnly() {
+    CaffeineCacheBackend backend =
+        CaffeineCacheBackend.builder()
+            .config(CacheConfig.builder().capacity(1024L * 1024L).build())
+            .build();
+    soft.assertThat(backend.objCache()).isNull();
+
+    Obj obj = contentValue("cid", 1, ByteString.copyFromUtf8("hello"));
+    backend.put(REPO, obj);
+
+    Obj fetched = backend.get(REPO, obj.id());
+    soft.assertThat(fetched).isEqualTo(obj).isNotSameAs(obj);
+    soft.assertThat(backend.get(REPO, obj.id())).isEqualTo(obj).isNotSameAs(fetched);
+  }
+
+  @Test
+  public void objectsTier() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    CaffeineCacheBackend backend =
+        CaffeineCacheBackend.builder()
+            .config(
+                CacheConfig.builder()
+                    .capacity(1024L * 1024L)
+                    .objectsCapacity(1024L * 1024L)
+                    .meterRegistry(registry)
+                    .build())
+            .build();
+    soft.assertThat(backend.objCache()).isNotNull();
+
+    Obj obj = contentValue("cid", 1, ByteString.copyFromUtf8("hello"));
+    backend.put(REPO, obj);
+
+    // Served from the deserialized-objects tier, no deserialization
+    soft.assertThat(backend.get(REPO, obj.id())).isSameAs(obj);
+    soft.assertThat(backend.get("other", obj.id())).isNull();
+
+    // Evicted from the objects tier only, served from the serialized tier and re-populated
+    backend.objCache().invalidateAll();
+    Obj fetched = backend.get(REPO, obj.id());
+    soft.assertThat(fetched).isEqualTo(obj).isNotSameAs(obj);
+    soft.assertThat(backend.get(REPO, obj.id())).isSameAs(fetched);
+
+    backend.remove(REPO, obj.id());
+    soft.assertThat(backend.get(REPO, obj.id())).isNull();
+
+    backend.put(REPO, obj);
+    backend.clear(REPO);
+    soft.assertThat(backend.get(REPO, obj.id())).isNull();
+
+    soft.assertThat(
+            registry
+                .get("cache.gets")
+                .tags(METER_TAG_TIER, TIER_OBJECTS, "cache", METER_CACHE_NAME, "result", "hit")
+                .functionCounter()
+                .count())
+        .isEqualTo(2d);
+    soft.assertThat(
+            registry
+                .get("cache.gets")
+                .tags(METER_TAG_TIER, TIER_SERIALIZED, "cache", METER_CACHE_NAME, "result", "hit")
+                .functionCounter()
+                .count())
+        .isEqualTo(1d);
+  }
+
+  @Test
+  public void referencesDisabled() {
+    CaffeineCacheBackend backend =
+        CaffeineCacheBackend.builder()
+            .config(CacheConfig.builder().capacity(1024L * 1024L).build())
+            .build();
+    soft.assertThat(backend.referenceCache()).isNull();
+
+    Reference ref = reference("refs/heads/main", randomObjId(), false, 0L, null);
+    backend.putReference(REPO, ref);
+    soft.assertThat(backend.getReference(REPO, ref.name())).isNull();
+  }
+
+  @Test
+  public void referencesExpire() {
+    AtomicLong nanos = new AtomicLong();
+    CaffeineCacheBackend backend =
+        CaffeineCacheBackend.builder()
+            .config(
+                CacheConfig.builder()
+                    .capacity(1024L * 1024L)
+                    .referenceTtl(Duration.ofSeconds(1))
+                    .clockNanos(nanos::get)
+                    .build())
+            .build();
+
+    Reference ref = reference("refs/heads/main", randomObjId(), false, 0L, null);
+    backend.putReference(REPO, ref);
+    soft.assertThat(backend.getReference(REPO, ref.name())).isEqualTo(ref);
+    soft.assertThat(backend.getReference("other", ref.name())).isNull();
+
+    nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+    soft.assertThat(backend.getReference(REPO, ref.name())).isEqualTo(ref);
+
+    nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(501));
+    soft.assertThat(backend.getReference(REPO, ref.name())).isNull();
+
+    backend.putReference(REPO, ref);
+    backend.removeReference(REPO, ref.name());
+    soft.assertThat(backend.getReference(REPO, ref.name())).isNull();
+
+    backend.putReference(REPO, ref);
+    backend.clear(REPO);
+    soft.assertThat(backend.getReference(REPO, ref.name())).isNull();
+  }
+
+  @Test
+  public void putReferenceIfNotModified() {
+    CaffeineCacheBackend backend =
+        CaffeineCacheBackend.builder()
+            .config(
+                CacheConfig.builder()
+                    .capacity(1024L * 1024L)
+                    .referenceTtl(Duration.ofMinutes(1))
+                    .build())
+            .build();
+
+    Reference ref = reference("refs/heads/main", randomObjId(), false, 0L, null);
+    Reference updated = reference("refs/heads/main", randomObjId(), false, 0L, null);
+
+    long generation = backend.referencesGeneration();
+    backend.putReferenceIfNotModified(REPO, ref, generation);
+    soft.assertThat(backend.getReference(REPO, ref.name())).isEqualTo(ref);
+    soft.assertThat(backend.referencesGeneration()).isEqualTo(generation);
+
+    backend.removeReference(REPO, ref.name());
+    backend.putReferenceIfNotModified(REPO, ref, generation);
+    soft.assertThat(backend.getReference(REPO, ref.name())).isNull();
+
+    generation = backend.referencesGeneration();
+    backend.putReference(REPO, updated);
+    backend.putReferenceIfNotModified(REPO, ref, generation);
+    soft.assertThat(backend.getReference(REPO, ref.name())).isEqualTo(updated);
+
+    generation = backend.referencesGeneration();
+    backend.clear(REPO);
+    backend.putReferenceIfNotModified(REPO, ref, generation);
+    soft.assertThat(backend.getReference(REPO, ref.name())).isNull();
+  }
+
+  @Test
+  public void estimatedHeapSize() {
+    Obj small = contentValue("cid", 1, ByteString.copyFromUtf8("hello"));
+    Obj large = contentValue("cid", 1, ByteString.copyFrom(new byte[100_000]));
+    soft.assertThat(ObjSizes.estimatedHeapSize(small)).isPositive();
+    soft.assertThat(ObjSizes.estimatedHeapSize(large))
+        .isGreaterThan(ObjSizes.estimatedHeapSize(small) + 100_000 - 1);
+  }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.cache;
+
+import static org.projectnessie.versioned.storage.cache.AbstractCacheBackend.METER_CACHE_NAME;
+import static org.projectnessie.versioned.storage.cache.AbstractCacheBackend.METER_TAG_TIER;
+import static org.projectnessie.versioned.storage.cache.OffHeapCacheBackend.TIER_OFF_HEAP;
+import static org.projectnessie.versioned.storage.common.objtypes.ContentValueObj.contentValue;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.randomObjId;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Arrays;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.projectnessie.nessie.relocated.protobuf.ByteString;
+import org.projectnessie.versioned.storage.cache.AbstractCacheBackend.CacheKey;
+import org.projectnessie.versioned.storage.cache.OffHeapCacheBackend.Segment;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestOffHeapCacheBackend {
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  static final String REPO = "repo";
+
+  @Test
+  public void segments() {
+    soft.assertThat(OffHeapCacheBackend.segmentCount(1024L)).isEqualTo(1);
+    soft.assertThat(OffHeapCacheBackend.segmentCount(8L * 1024L * 1024L)).isEqualTo(2);
+    soft.assertThat(OffHeapCacheBackend.segmentCount(1024L * 1024L * 1024L))
+        .isEqualTo(OffHeapCacheBackend.DEFAULT_SEGMENTS);
+    soft.assertThat(OffHeapCacheBackend.segmentCount(8L * 1024L * 1024L * 1024L)).isEqualTo(32);
+
+    OffHeapCacheBackend backend =
+        OffHeapCacheBackend.builder()
+            .config(CacheConfig.builder().capacity(8L * 1024L * 1024L).build())
+            .build();
+    soft.assertThat(backend.segments()).hasSize(2);
+  }
+
+  @Test
+  public void roundTrip() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    OffHeapCacheBackend backend =
+        OffHeapCacheBackend.builder()
+            .config(CacheConfig.builder().capacity(1024L * 1024L).meterRegistry(registry).build())
+            .build();
+
+    Obj obj = contentValue("cid", 1, ByteString.copyFromUtf8("hello"));
+    backend.put(REPO, obj);
+
+    soft.assertThat(backend.get(REPO, obj.id())).isEqualTo(obj).isNotSameAs(obj);
+    soft.assertThat(backend.get("other", obj.id())).isNull();
+
+    backend.remove(REPO, obj.id());
+    soft.assertThat(backend.get(REPO, obj.id())).isNull();
+
+    backend.put(REPO, obj);
+    backend.put("other", obj);
+    backend.clear(REPO);
+    soft.assertThat(backend.get(REPO, obj.id())).isNull();
+    soft.assertThat(backend.get("other", obj.id())).isEqualTo(obj);
+
+    soft.assertThat(
+            registry
+                .get("cache.gets")
+                .tags(METER_TAG_TIER, TIER_OFF_HEAP, "cache", METER_CACHE_NAME, "result", "hit")
+                .functionCounter()
+                .count())
+        .isEqualTo(2d);
+    soft.assertThat(
+            registry
+                .get("cache.gets")
+                .tags(METER_TAG_TIER, TIER_OFF_HEAP, "cache", METER_CACHE_NAME, "result", "miss")
+                .functionCounter()
+                .count())
+        .isEqualTo(3d);
+    soft.assertThat(
+            registry
+                .get("cache.size")
+                .tags(METER_TAG_TIER, TIER_OFF_HEAP, "cache", METER_CACHE_NAME)
+                .gauge()
+                .value())
+        .isEqualTo(1d);
+  }
+
+  @Test
+  public void segmentEviction() {
+    Segment segment = new Segment(1000);
+    CacheKey[] keys = new CacheKey[6];
+    for (int i = 0; i < keys.length; i++) {
+      keys[i] = new CacheKey(REPO, randomObjId());
+    }
+
+    for (int i = 0; i < 5; i++) {
+      segment.put(keys[i], data(200, i));
+    }
+    soft.assertThat(segment.size()).isEqualTo(5);
+    soft.assertThat(segment.used()).isEqualTo(1000);
+
+    // Evicts the oldest entry
+    segment.put(keys[5], data(200, 5));
+    soft.assertThat(segment.get(keys[0])).isNull();
+    for (int i = 1; i < keys.length; i++) {
+      soft.assertThat(segment.get(keys[i])).isEqualTo(data(200, i));
+    }
+    soft.assertThat(segment.evictions.sum()).isEqualTo(1L);
+
+    // Entries larger than a quarter of the segment are not cached, replace the existing entry
+    segment.put(keys[1], data(251, 1));
+    soft.assertThat(segment.get(keys[1])).isNull();
+
+    // Entries do not wrap around the end of the buffer
+    segment.put(keys[0], data(150, 0));
+    soft.assertThat(segment.get(keys[0])).isEqualTo(data(150, 0));
+    segment.put(keys[1], data(100, 1));
+    soft.assertThat(segment.get(keys[1])).isEqualTo(data(100, 1));
+    for (int i = 0; i < keys.length; i++) {
+      byte[] data = segment.get(keys[i]);
+      if (data != null) {
+        soft.assertThat(data).containsOnly((byte) i);
+      }
+    }
+    soft.assertThat(segment.used()).isLessThanOrEqualTo(1000);
+
+    segment.clear(REPO);
+    soft.assertThat(segment.size()).isEqualTo(0);
+  }
+
+  private static byte[] data(int length, int value) {
+    byte[] data = new byte[length];
+    Arrays.fill(data, (byte) value);
+    return data;
+  }
+}
@@ -65,6 +65,7 @@ import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.M
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.MAX_CONCURRENT_STORES;
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.PURGE_REFERENCE;
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.SCAN_OBJS;
+import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.SELECT_BATCH_SIZE;
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.STORE_OBJ_SUFFIX;
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.UPDATE_REFERENCE_POINTER;
 import static org.projectnessie.versioned.storage.common.indexes.StoreKey.keyFromString;
@@ -87,10 +88,13 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.atomic.AtomicIntegerArray;
 import java.util.function.Consumer;
@@ -269,6 +273,54 @@ public class CassandraPersist implements Persist {
     return reference.forNewPointer(newPointer);
   }
 
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  @Override
+  public CompletionStage<Reference> updateReferencePointerAsync(
+      @Nonnull @jakarta.annotation.Nonnull Reference reference,
+      @Nonnull @jakarta.annotation.Nonnull ObjId newPointer) {
+    return backend
+        .executeAsync(
+            UPDATE_REFERENCE_POINTER,
+            serializeObjId(newPointer),
+            config().repositoryId(),
+            reference.name(),
+            serializeObjId(reference.pointer()),
+            false,
+            reference.createdAtMicros(),
+            serializeObjId(reference.extendedInfoObj()))
+        .handle(
+            (resultSet, e) -> {
+              if (e != null) {
+                Throwable cause = unwrapCompletionException(e);
+                if (cause instanceof DriverException) {
+                  // Same as 'CassandraBackend.executeCas()', an unknown CAS outcome is a failed CAS
+                  backend.handleDriverException((DriverException) cause);
+                  return false;
+                }
+                throw new CompletionException(cause);
+              }
+              return resultSet.wasApplied();
+            })
+        .thenCompose(
+            applied -> {
+              if (applied) {
+                return CompletableFuture.completedFuture(reference.forNewPointer(newPointer));
+              }
+              return backend
+                  .executeAsync(
+                      FIND_REFERENCES, config.repositoryId(), singletonList(reference.name()))
+                  .<Reference>thenApply(
+                      resultSet -> {
+                        Row row = resultSet.one();
+                        throw new CompletionException(
+                            row == null
+                                ? new RefNotFoundException(reference)
+                                : new RefConditionFailedException(deserializeReference(row)));
+                      });
+            });
+  }
+
   @SuppressWarnings("unused")
   @Override
   @Nonnull
@@ -320,26 +372,10 @@ public class CassandraPersist implements Persist {
       @Nonnull @jakarta.annotation.Nonnull ObjId[] ids,
       @Nullable @jakarta.annotation.Nullable ObjType type)
       throws ObjNotFoundException {
-    Function<List<ObjId>, List<String>> idsToStrings =
-        queryIds -> queryIds.stream().map(ObjId::toString).collect(Collectors.toList());
-
-    Function<List<ObjId>, CompletionStage<AsyncResultSet>> queryFunc =
-        type == null
-            ? keys ->
-                backend.executeAsync(FIND_OBJS, config.repositoryId(), idsToStrings.apply(keys))
-            : keys ->
-                backend.executeAsync(
-                    FIND_OBJS_TYPED, config.repositoryId(), idsToStrings.apply(keys), type.name());
-
-    Function<Row, Obj> rowMapper =
-        row -> {
-          ObjType objType = ObjType.valueOf(row.getString(1));
-          return deserializeObj(row, objType);
-        };
-
     Obj[] r;
     try (BatchedQuery<ObjId, Obj> batchedQuery =
-        backend.newBatchedQuery(queryFunc, rowMapper, Obj::id, ids.length, Obj.class)) {
+        backend.newBatchedQuery(
+            objsQuery(type), this::deserializeObj, Obj::id, ids.length, Obj.class)) {
 
       for (int i = 0; i < ids.length; i++) {
         ObjId id = ids[i];
@@ -351,6 +387,115 @@ public class CassandraPersist implements Persist {
       r = batchedQuery.finish();
     }
 
+    List<ObjId> notFound = notFound(ids, r);
+    if (notFound != null) {
+      throw new ObjNotFoundException(notFound);
+    }
+
+    return r;
+  }
+
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  @Override
+  public CompletionStage<Obj[]> fetchObjsAsync(@Nonnull @jakarta.annotation.Nonnull ObjId[] ids) {
+    return fetchObjsAsync(ids, null);
+  }
+
+  @Override
+  public boolean nativeAsyncFetches() {
+    return true;
+  }
+
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  @Override
+  public <T extends Obj> CompletionStage<T> fetchTypedObjAsync(
+      @Nonnull @jakarta.annotation.Nonnull ObjId id, ObjType type, Class<T> typeClass) {
+    return fetchObjsAsync(new ObjId[] {id}, type)
+        .thenApply(
+            objs -> {
+              @SuppressWarnings("unchecked")
+              T r = (T) objs[0];
+              return r;
+            });
+  }
+
+  /**
+   * Asynchronous counterpart of {@link #fetchObjs(ObjId[], ObjType)}, issues all batches of IDs
+   * at once and completes when the results of all batches have been received.
+   */
+  private CompletionStage<Obj[]> fetchObjsAsync(
+      @Nonnull @jakarta.annotation.Nonnull ObjId[] ids,
+      @Nullable @jakarta.annotation.Nullable ObjType type) {
+    Function<List<ObjId>, CompletionStage<AsyncResultSet>> queryFunc = objsQuery(type);
+
+    // Must be fully populated before the first query is issued, it is read by the driver threads.
+    Map<ObjId, Integer> idToIndex = new HashMap<>(ids.length * 2);
+    for (int i = 0; i < ids.length; i++) {
+      ObjId id = ids[i];
+      if (id != null) {
+        idToIndex.put(id, i);
+      }
+    }
+
+    Obj[] r = new Obj[ids.length];
+    Consumer<Row> rowConsumer =
+        row -> {
+          Obj obj = deserializeObj(row);
+          Integer i = idToIndex.get(obj.id());
+          if (i != null) {
+            r[i] = obj;
+          }
+        };
+
+    List<ObjId> keys = new ArrayList<>(idToIndex.keySet());
+    CompletableFuture<?>[] queries =
+        new CompletableFuture[(keys.size() + SELECT_BATCH_SIZE - 1) / SELECT_BATCH_SIZE];
+    for (int i = 0; i < queries.length; i++) {
+      List<ObjId> batch =
+          keys.subList(i * SELECT_BATCH_SIZE, Math.min(keys.size(), (i + 1) * SELECT_BATCH_SIZE));
+      queries[i] = consumeRows(queryFunc.apply(batch), rowConsumer).toCompletableFuture();
+    }
+
+    return CompletableFuture.allOf(queries)
+        .thenApply(
+            x -> {
+              List<ObjId> notFound = notFound(ids, r);
+              if (notFound != null) {
+                throw new CompletionException(new ObjNotFoundException(notFound));
+              }
+              return r;
+            });
+  }
+
+  private Function<List<ObjId>, CompletionStage<AsyncResultSet>> objsQuery(
+      @Nullable @jakarta.annotation.Nullable ObjType type) {
+    Function<List<ObjId>, List<String>> idsToStrings =
+        queryIds -> queryIds.stream().map(ObjId::toString).collect(Collectors.toList());
+
+    return type == null
+        ? keys -> backend.executeAsync(FIND_OBJS, config.repositoryId(), idsToStrings.apply(keys))
+        : keys ->
+            backend.executeAsync(
+                FIND_OBJS_TYPED, config.repositoryId(), idsToStrings.apply(keys), type.name());
+  }
+
+  /** Passes all rows of all pages of the given query to {@code rowConsumer}. */
+  private static CompletionStage<Void> consumeRows(
+      CompletionStage<AsyncResultSet> query, Consumer<Row> rowConsumer) {
+    return query.thenCompose(
+        resultSet -> {
+          for (Row row : resultSet.currentPage()) {
+            rowConsumer.accept(row);
+          }
+          return resultSet.hasMorePages()
+              ? consumeRows(resultSet.fetchNextPage(), rowConsumer)
+              : CompletableFuture.completedFuture(null);
+        });
+  }
+
+  private static List<ObjId> notFound(ObjId[] ids, Obj[] r) {
     List<ObjId> notFound = null;
     for (int i = 0; i < ids.length; i++) {
       ObjId id = ids[i];
@@ -361,11 +506,16 @@ public class CassandraPersist implements Persist {
         notFound.add(id);
       }
     }
-    if (notFound != null) {
-      throw new ObjNotFoundException(notFound);
-    }
+    return notFound;
+  }
 
-    return r;
+  private static Throwable unwrapCompletionException(Throwable e) {
+    return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+  }
+
+  private Obj deserializeObj(Row row) {
+    ObjType objType = ObjType.valueOf(row.getString(1));
+    return deserializeObj(row, objType);
   }
 
   private Obj deserializeObj(Row row, ObjType type) {
@@ -395,6 +545,51 @@ public class CassandraPersist implements Persist {
     return persistObjs(objs, true);
   }
 
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  @Override
+  public CompletionStage<boolean[]> storeObjsAsync(
+      @Nonnull @jakarta.annotation.Nonnull Obj[] objs) {
+    // Written by the driver threads, each write sets only its own element.
+    boolean[] results = new boolean[objs.length];
+    // At most MAX_CONCURRENT_STORES writes are in flight: the objects are distributed over that
+    // many chains of writes, each chain issues its next write when the previous one has completed.
+    int chains = Math.min(MAX_CONCURRENT_STORES, objs.length);
+    CompletableFuture<?>[] writes = new CompletableFuture<?>[chains];
+    for (int c = 0; c < chains; c++) {
+      CompletableFuture<Void> chain = CompletableFuture.completedFuture(null);
+      for (int i = c; i < objs.length; i += chains) {
+        Obj o = objs[i];
+        if (o != null) {
+          int idx = i;
+          chain = chain.thenCompose(x -> storeObjAsync(o, idx, results));
+        }
+      }
+      writes[c] = chain;
+    }
+
+    return CompletableFuture.allOf(writes).thenApply(x -> results);
+  }
+
+  private CompletableFuture<Void> storeObjAsync(Obj obj, int idx, boolean[] results) {
+    try {
+      return writeSingleObj(
+          obj,
+          false,
+          (storeObj, values) ->
+              backend
+                  .executeAsync(storeObj.cql(true), values)
+                  .<Void>handle(
+                      (resultSet, e) -> {
+                        results[idx] = writeApplied(resultSet, e);
+                        return null;
+                      })
+                  .toCompletableFuture());
+    } catch (ObjTooLargeException e) {
+      throw new CompletionException(e);
+    }
+  }
+
   @Override
   public void upsertObj(@Nonnull @jakarta.annotation.Nonnull Obj obj) throws ObjTooLargeException {
     writeSingleObj(obj, false, (storeObj, values) -> backend.execute(storeObj.cql(false), values));
@@ -427,17 +622,7 @@ public class CassandraPersist implements Persist {
                         .executeAsync(storeObj.cql(insert), values)
                         .handle(
                             (resultSet, e) -> {
-                              if (e != null) {
-                                if (e instanceof DriverException) {
-                                  backend.handleDriverException((DriverException) e);
-                                }
-                                if (e instanceof RuntimeException) {
-                                  throw (RuntimeException) e;
-                                }
-                                throw new RuntimeException(e);
-                              }
-
-                              if (resultSet.wasApplied()) {
+                              if (writeApplied(resultSet, e)) {
                                 results.set(idx, 1);
                               }
                               return null;
@@ -458,6 +643,19 @@ public class CassandraPersist implements Persist {
     return array;
   }
 
+  private boolean writeApplied(AsyncResultSet resultSet, Throwable e) {
+    if (e != null) {
+      if (e instanceof DriverException) {
+        backend.handleDriverException((DriverException) e);
+      }
+      if (e instanceof RuntimeException) {
+        throw (RuntimeException) e;
+      }
+      throw new RuntimeException(e);
+    }
+    return resultSet.wasApplied();
+  }
+
   @FunctionalInterface
   interface WriteSingleObj<R> {
     R apply(StoreObjDesc<?> storeObj, Object[] values);
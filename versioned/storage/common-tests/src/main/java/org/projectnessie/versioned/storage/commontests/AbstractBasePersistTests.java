@@ -66,6 +66,7 @@ import com.google.common.collect.Lists;
 import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.List;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.IntFunction;
 import java.util.function.Supplier;
@@ -615,6 +616,85 @@ public class AbstractBasePersistTests {
         .containsExactlyInAnyOrder(EMPTY_OBJ_ID, id, id2);
   }
 
+  @Test
+  public void asyncStoreAndFetch() {
+    List<TagObj> objects =
+        IntStream.range(0, 57)
+            .mapToObj(i -> tag(randomObjId(), null, null, ByteString.copyFrom(new byte[42])))
+            .collect(Collectors.toList());
+    Obj[] objs = objects.toArray(new Obj[0]);
+    ObjId[] ids = objects.stream().map(Obj::id).toArray(ObjId[]::new);
+
+    soft.assertThat(persist.storeObjsAsync(objs).toCompletableFuture().join())
+        .hasSize(objs.length)
+        .containsOnly(true);
+    soft.assertThat(persist.storeObjsAsync(new Obj[] {objs[0]}).toCompletableFuture().join())
+        .containsExactly(false);
+
+    soft.assertThat(persist.fetchObjsAsync(ids).toCompletableFuture().join())
+        .containsExactlyElementsOf(objects);
+    soft.assertThat(persist.fetchObjsAsync(new ObjId[] {null, ids[1]}).toCompletableFuture().join())
+        .containsExactly(null, objs[1]);
+    soft.assertThat(
+            persist.fetchTypedObjAsync(ids[2], TAG, TagObj.class).toCompletableFuture().join())
+        .isEqualTo(objs[2]);
+
+    ObjId id = randomObjId();
+    soft.assertThatThrownBy(
+            () -> persist.fetchObjsAsync(new ObjId[] {ids[0], id}).toCompletableFuture().join())
+        .isInstanceOf(CompletionException.class)
+        .extracting(Throwable::getCause, type(ObjNotFoundException.class))
+        .extracting(ObjNotFoundException::objIds, list(ObjId.class))
+        .containsExactly(id);
+    soft.assertThatThrownBy(
+            () ->
+                persist
+                    .fetchTypedObjAsync(ids[0], COMMIT, CommitObj.class)
+                    .toCompletableFuture()
+                    .join())
+        .isInstanceOf(CompletionException.class)
+        .hasCauseInstanceOf(ObjNotFoundException.class);
+  }
+
+  @Test
+  public void asyncUpdateReferencePointer() throws Exception {
+    Reference create = reference("async-reference", objIdFromString("0000"), false, 12345L, null);
+    Reference assigned = create.forNewPointer(objIdFromString("0001"));
+
+    soft.assertThat(persist.addReference(create)).isEqualTo(create);
+
+    soft.assertThat(
+            persist
+                .updateReferencePointerAsync(create, assigned.pointer())
+                .toCompletableFuture()
+                .join())
+        .isEqualTo(assigned);
+    soft.assertThat(persist.fetchReference(create.name())).isEqualTo(assigned);
+
+    // Wrong current pointer
+    soft.assertThatThrownBy(
+            () ->
+                persist
+                    .updateReferencePointerAsync(create, objIdFromString("0002"))
+                    .toCompletableFuture()
+                    .join())
+        .isInstanceOf(CompletionException.class)
+        .hasCauseInstanceOf(RefConditionFailedException.class);
+    soft.assertThat(persist.fetchReference(create.name())).isEqualTo(assigned);
+
+    // Non-existing reference
+    soft.assertThatThrownBy(
+            () ->
+                persist
+                    .updateReferencePointerAsync(
+                        reference("no-such-reference", objIdFromString("0000"), false, 1L, null),
+                        objIdFromString("0002"))
+                    .toCompletableFuture()
+                    .join())
+        .isInstanceOf(CompletionException.class)
+        .hasCauseInstanceOf(RefNotFoundException.class);
+  }
+
   @Test
   public void storeCommitObjHardObjectSizeLimit() {
     int hardLimit = persist.hardObjectSizeLimit();
@@ -27,6 +27,8 @@ import static org.assertj.core.api.Assertions.tuple;
 import static org.assertj.core.api.InstanceOfAssertFactories.list;
 import static org.assertj.core.api.InstanceOfAssertFactories.type;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
+import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_MAX_INCREMENTAL_INDEX_SIZE;
+import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_MAX_SERIALIZED_INDEX_SIZE;
 import static org.projectnessie.versioned.storage.common.indexes.StoreKey.key;
 import static org.projectnessie.versioned.storage.common.logic.CommitConflict.ConflictType.VALUE_DIFFERS;
 import static org.projectnessie.versioned.storage.common.logic.CommitLogQuery.commitLogQuery;
@@ -48,11 +50,14 @@ import static org.projectnessie.versioned.storage.common.persist.ObjId.randomObj
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.UUID;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
@@ -87,6 +92,7 @@ import org.projectnessie.versioned.storage.common.persist.ObjId;
 import org.projectnessie.versioned.storage.common.persist.Persist;
 import org.projectnessie.versioned.storage.common.persist.Reference;
 import org.projectnessie.versioned.storage.testextension.NessiePersist;
+import org.projectnessie.versioned.storage.testextension.NessieStoreConfig;
 import org.projectnessie.versioned.storage.testextension.PersistExtension;
 
 /** {@link CommitLogic} related tests to be run against every {@link Persist} implementation. */
@@ -611,6 +617,135 @@ public class AbstractCommitLogicTests {
     }
   }
 
+  @Test
+  public void diffWithSharedIndexStripes(
+      @NessieStoreConfig(name = CONFIG_MAX_INCREMENTAL_INDEX_SIZE, value = "1024")
+          @NessieStoreConfig(name = CONFIG_MAX_SERIALIZED_INDEX_SIZE, value = "1024")
+          @NessiePersist
+          Persist persist)
+      throws Exception {
+    CommitLogic commitLogic = commitLogic(persist);
+    IndexesLogic indexesLogic = indexesLogic(persist);
+
+    Map<StoreKey, ObjId> values = new HashMap<>();
+    Map<StoreKey, UUID> contentIds = new HashMap<>();
+
+    ObjId base = EMPTY_OBJ_ID;
+    for (int c = 0; c < 3; c++) {
+      CreateCommit.Builder commit = stdCommit().parentCommitId(base).message("base " + c);
+      for (int i = 0; i < 100; i++) {
+        StoreKey key = key(String.format("key-%03d", c * 100 + i));
+        values.put(key, randomObjId());
+        contentIds.put(key, randomUUID());
+        commit.addAdds(commitAdd(key, 0, values.get(key), null, contentIds.get(key)));
+      }
+      base = requireNonNull(commitLogic.doCommit(commit.build(), emptyList())).id();
+    }
+
+    // branch "a", two commits, the second one spills the changes of the first one into the
+    // reference index
+    CreateCommit.Builder commitA1 = stdCommit().parentCommitId(base).message("a1");
+    for (int i = 0; i < 50; i++) {
+      commitA1.addAdds(commitAdd(key(String.format("a-%03d", i)), 0, randomObjId(), null, null));
+    }
+    StoreKey key010 = key("key-010");
+    commitA1.addAdds(
+        commitAdd(key010, 0, randomObjId(), values.get(key010), contentIds.get(key010)));
+    StoreKey key150 = key("key-150");
+    commitA1.addRemoves(commitRemove(key150, 0, values.get(key150), contentIds.get(key150)));
+    ObjId a1 = requireNonNull(commitLogic.doCommit(commitA1.build(), emptyList())).id();
+    StoreKey key120 = key("key-120");
+    ObjId a2 =
+        requireNonNull(
+                commitLogic.doCommit(
+                    stdCommit()
+                        .parentCommitId(a1)
+                        .message("a2")
+                        .addAdds(
+                            commitAdd(
+                                key120,
+                                0,
+                                randomObjId(),
+                                values.get(key120),
+                                contentIds.get(key120)))
+                        .build(),
+                    emptyList()))
+            .id();
+
+    // branch "b", one commit
+    CreateCommit.Builder commitB = stdCommit().parentCommitId(base).message("b");
+    for (int i = 0; i < 50; i++) {
+      commitB.addAdds(commitAdd(key(String.format("z-%03d", i)), 0, randomObjId(), null, null));
+    }
+    StoreKey key250 = key("key-250");
+    commitB.addAdds(
+        commitAdd(key250, 0, randomObjId(), values.get(key250), contentIds.get(key250)));
+    ObjId b = requireNonNull(commitLogic.doCommit(commitB.build(), emptyList())).id();
+
+    CommitObj baseCommit = requireNonNull(commitLogic.fetchCommit(base));
+    CommitObj a1Commit = requireNonNull(commitLogic.fetchCommit(a1));
+    CommitObj a2Commit = requireNonNull(commitLogic.fetchCommit(a2));
+    CommitObj bCommit = requireNonNull(commitLogic.fetchCommit(b));
+
+    List<CommitObj> commits = asList(baseCommit, a1Commit, a2Commit, bCommit);
+    List<StoreKey[]> ranges =
+        asList(
+            new StoreKey[] {null, null},
+            new StoreKey[] {key("key-100"), key("key-200")},
+            new StoreKey[] {key("a"), key("key-015")},
+            new StoreKey[] {key("key-150"), null},
+            new StoreKey[] {null, key("key-150")});
+    for (CommitObj from : commits) {
+      for (CommitObj to : commits) {
+        for (StoreKey[] range : ranges) {
+          soft.assertThat(
+                  commitLogic.diff(diffQuery(null, from, to, range[0], range[1], false, null)))
+              .describedAs("%s -> %s, %s", from.message(), to.message(), asList(range))
+              .toIterable()
+              .containsExactlyElementsOf(
+                  fullDiff(indexesLogic, from, to, range[0], range[1]));
+        }
+      }
+    }
+  }
+
+  private static List<DiffEntry> fullDiff(
+      IndexesLogic indexesLogic, CommitObj from, CommitObj to, StoreKey start, StoreKey end) {
+    Map<StoreKey, CommitOp> fromOps = existingOps(indexesLogic, from, start, end);
+    Map<StoreKey, CommitOp> toOps = existingOps(indexesLogic, to, start, end);
+    Set<StoreKey> keys = new TreeSet<>(fromOps.keySet());
+    keys.addAll(toOps.keySet());
+    List<DiffEntry> diff = new ArrayList<>();
+    for (StoreKey key : keys) {
+      CommitOp f = fromOps.get(key);
+      CommitOp t = toOps.get(key);
+      if (f == null) {
+        diff.add(diffEntry(key, null, 0, null, t.value(), t.payload(), t.contentId()));
+      } else if (t == null) {
+        diff.add(diffEntry(key, f.value(), f.payload(), f.contentId(), null, 0, null));
+      } else if (!f.value().equals(t.value())) {
+        diff.add(
+            diffEntry(
+                key, f.value(), f.payload(), f.contentId(), t.value(), t.payload(), t.contentId()));
+      }
+    }
+    return diff;
+  }
+
+  private static Map<StoreKey, CommitOp> existingOps(
+      IndexesLogic indexesLogic, CommitObj commit, StoreKey start, StoreKey end) {
+    Map<StoreKey, CommitOp> ops = new HashMap<>();
+    for (StoreIndexElement<CommitOp> el : indexesLogic.buildCompleteIndexOrEmpty(commit)) {
+      StoreKey key = el.key();
+      if (el.content().action().exists()
+          && (start == null || key.compareTo(start) >= 0)
+          && (end == null || key.compareTo(end) <= 0)) {
+        ops.put(key, el.content());
+      }
+    }
+    return ops;
+  }
+
   @Test
   public void diffToCreateCommit() throws Exception {
     CommitLogic commitLogic = commitLogic(persist);
@@ -65,6 +65,15 @@ public interface StoreConfig {
   String CONFIG_NAMESPACE_VALIDATION = "namespace-validation";
   boolean DEFAULT_NAMESPACE_VALIDATION = true;
 
+  String CONFIG_GROUP_COMMITS = "group-commits";
+  boolean DEFAULT_GROUP_COMMITS = false;
+
+  String CONFIG_CONTENT_HISTORY = "content-history";
+  boolean DEFAULT_CONTENT_HISTORY = false;
+
+  String CONFIG_INDEX_CACHE_CAPACITY_MB = "index-cache-capacity-mb";
+  int DEFAULT_INDEX_CACHE_CAPACITY_MB = 0;
+
   /**
    * Committing operations by default enforce that all (parent) namespaces exist.
    *
@@ -78,6 +87,41 @@ public interface StoreConfig {
     return DEFAULT_NAMESPACE_VALIDATION;
   }
 
+  /**
+   * Whether concurrent commits to the same branch within this Nessie instance are coalesced.
+   * Commits that arrive while the reference pointer update for earlier commits is in flight are
+   * applied as a chain of commits on top of those earlier commits and published with a single
+   * conditional reference pointer update. This reduces the number of retries due to concurrent
+   * commits against "hot" branches. Defaults to {@value #DEFAULT_GROUP_COMMITS}.
+   */
+  @Value.Default
+  default boolean groupCommits() {
+    return DEFAULT_GROUP_COMMITS;
+  }
+
+  /**
+   * Whether commits maintain a per-content-ID history index, which lets content history queries
+   * visit only the commits that changed a content object instead of the whole commit log. Commits
+   * created while this option was disabled are found by walking the commit log. Defaults to
+   * {@value #DEFAULT_CONTENT_HISTORY}.
+   */
+  @Value.Default
+  default boolean contentHistory() {
+    return DEFAULT_CONTENT_HISTORY;
+  }
+
+  /**
+   * Capacity of the cache of fully materialized, read-only complete key indexes of commits in MB,
+   * measured by the serialized size of the cached indexes. Reads against commits that are in the
+   * cache, usually the heads of frequently read branches, do not need to reconstruct the index from
+   * the reference index stripes and the incremental index. Defaults to {@value
+   * #DEFAULT_INDEX_CACHE_CAPACITY_MB}, which disables the cache.
+   */
+  @Value.Default
+  default int indexCacheCapacityMb() {
+    return DEFAULT_INDEX_CACHE_CAPACITY_MB;
+  }
+
   /**
    * A free-form string that identifies a particular Nessie storage repository.
    *
@@ -313,6 +357,18 @@ public interface StoreConfig {
       if (v != null) {
         a = a.withValidateNamespaces(Boolean.parseBoolean(v.trim()));
       }
+      v = configFunction.apply(CONFIG_GROUP_COMMITS);
+      if (v != null) {
+        a = a.withGroupCommits(Boolean.parseBoolean(v.trim()));
+      }
+      v = configFunction.apply(CONFIG_CONTENT_HISTORY);
+      if (v != null) {
+        a = a.withContentHistory(Boolean.parseBoolean(v.trim()));
+      }
+      v = configFunction.apply(CONFIG_INDEX_CACHE_CAPACITY_MB);
+      if (v != null) {
+        a = a.withIndexCacheCapacityMb(Integer.parseInt(v.trim()));
+      }
       return a;
     }
 
@@ -352,6 +408,15 @@ public interface StoreConfig {
     /** See {@link StoreConfig#validateNamespaces ()} ()}. */
     Adjustable withValidateNamespaces(boolean validateNamespaces);
 
+    /** See {@link StoreConfig#groupCommits()}. */
+    Adjustable withGroupCommits(boolean groupCommits);
+
+    /** See {@link StoreConfig#contentHistory()}. */
+    Adjustable withContentHistory(boolean contentHistory);
+
+    /** See {@link StoreConfig#indexCacheCapacityMb()}. */
+    Adjustable withIndexCacheCapacityMb(int indexCacheCapacityMb);
+
     /** See {@link StoreConfig#clock()}. */
     Adjustable withClock(Clock clock);
   }
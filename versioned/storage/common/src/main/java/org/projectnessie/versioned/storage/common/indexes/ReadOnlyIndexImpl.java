@@ -0,0 +1,159 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.common.indexes;
+
+import static com.google.common.collect.Iterators.unmodifiableIterator;
+import static java.util.Collections.singletonList;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.projectnessie.nessie.relocated.protobuf.ByteString;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+
+/**
+ * Read-only view of a fully loaded index, safe to be shared across threads, if the wrapped index
+ * is not modified.
+ */
+final class ReadOnlyIndexImpl<V> implements StoreIndex<V> {
+
+  private final StoreIndex<V> delegate;
+
+  ReadOnlyIndexImpl(StoreIndex<V> delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public ObjId getObjId() {
+    return delegate.getObjId();
+  }
+
+  @Override
+  public boolean isModified() {
+    return false;
+  }
+
+  @Override
+  public StoreIndex<V> loadIfNecessary(Set<StoreKey> keys) {
+    return this;
+  }
+
+  @Override
+  public boolean isLoaded() {
+    return true;
+  }
+
+  @Override
+  public StoreIndex<V> asMutableIndex() {
+    throw new UnsupportedOperationException("Operation not supported for read-only indexes");
+  }
+
+  @Override
+  public boolean isMutable() {
+    return false;
+  }
+
+  @Override
+  public List<StoreIndex<V>> divide(int parts) {
+    throw new UnsupportedOperationException("Operation not supported for read-only indexes");
+  }
+
+  @Override
+  public List<StoreIndex<V>> stripes() {
+    return singletonList(this);
+  }
+
+  @Override
+  public int elementCount() {
+    return delegate.elementCount();
+  }
+
+  @Override
+  public int estimatedSerializedSize() {
+    return delegate.estimatedSerializedSize();
+  }
+
+  @Override
+  public boolean add(@Nonnull @jakarta.annotation.Nonnull StoreIndexElement<V> element) {
+    throw new UnsupportedOperationException("Operation not supported for read-only indexes");
+  }
+
+  @Override
+  public void updateAll(Function<StoreIndexElement<V>, V> updater) {
+    throw new UnsupportedOperationException("Operation not supported for read-only indexes");
+  }
+
+  @Override
+  public boolean remove(@Nonnull @jakarta.annotation.Nonnull StoreKey key) {
+    throw new UnsupportedOperationException("Operation not supported for read-only indexes");
+  }
+
+  @Override
+  public boolean contains(@Nonnull @jakarta.annotation.Nonnull StoreKey key) {
+    return delegate.contains(key);
+  }
+
+  @Override
+  @Nullable
+  @jakarta.annotation.Nullable
+  public StoreIndexElement<V> get(@Nonnull @jakarta.annotation.Nonnull StoreKey key) {
+    return delegate.get(key);
+  }
+
+  @Override
+  @Nullable
+  @jakarta.annotation.Nullable
+  public StoreKey first() {
+    return delegate.first();
+  }
+
+  @Override
+  @Nullable
+  @jakarta.annotation.Nullable
+  public StoreKey last() {
+    return delegate.last();
+  }
+
+  @Override
+  public List<StoreKey> asKeyList() {
+    return delegate.asKeyList();
+  }
+
+  @Override
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  public Iterator<StoreIndexElement<V>> iterator(
+      @Nullable @jakarta.annotation.Nullable StoreKey begin,
+      @Nullable @jakarta.annotation.Nullable StoreKey end,
+      boolean prefetch) {
+    return unmodifiableIterator(delegate.iterator(begin, end, prefetch));
+  }
+
+  @Override
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  public ByteString serialize() {
+    return delegate.serialize();
+  }
+
+  @Override
+  public String toString() {
+    return "ReadOnlyIndexImpl{" + delegate + "}";
+  }
+}
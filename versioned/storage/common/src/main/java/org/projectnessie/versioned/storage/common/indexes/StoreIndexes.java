@@ -56,6 +56,17 @@ public final class StoreIndexes {
     return new LazyIndexImpl<>(supplier, null, null);
   }
 
+  /**
+   * Returns a read-only view of the given, fully loaded index. The returned index can be shared
+   * across threads, as long as the given index is not modified.
+   *
+   * <p>Used to cache materialized complete indexes of commits.
+   */
+  public static <V> StoreIndex<V> readOnlyIndex(StoreIndex<V> index) {
+    checkArgument(index.isLoaded(), "Index must be fully loaded");
+    return new ReadOnlyIndexImpl<>(index);
+  }
+
   /**
    * Combined view of two indexes, values of the {@code updates} index take precedence.
    *
@@ -218,6 +218,20 @@ public interface CommitLogic {
       @Nonnull @jakarta.annotation.Nonnull ObjId endCommitId)
       throws ObjNotFoundException;
 
+  /**
+   * Retrieves multiple {@link CommitObj commit objects} at once, using a single bulk {@link
+   * org.projectnessie.versioned.storage.common.persist.Persist#fetchObjs(ObjId[])}.
+   *
+   * @param commitIds IDs of the commits to fetch, {@code null} elements and {@link
+   *     ObjId#EMPTY_OBJ_ID} are allowed
+   * @return array of the same length as {@code commitIds}, with {@code null} elements for {@code
+   *     null} or "empty" commit IDs
+   */
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  CommitObj[] fetchCommits(@Nonnull @jakarta.annotation.Nonnull ObjId[] commitIds)
+      throws ObjNotFoundException;
+
   /**
    * Applies the changes between {@code base} and {@code mostRecent} to the commit builder.
    *
@@ -22,6 +22,7 @@ import static com.google.common.collect.Sets.newHashSetWithExpectedSize;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Collections.emptyIterator;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonIterator;
 import static java.util.Collections.singletonList;
 import static java.util.Objects.requireNonNull;
 import static org.projectnessie.nessie.relocated.protobuf.ByteString.copyFromUtf8;
@@ -55,6 +56,7 @@ import static org.projectnessie.versioned.storage.common.persist.ObjId.EMPTY_OBJ
 import static org.projectnessie.versioned.storage.common.persist.ObjType.COMMIT;
 
 import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.Iterators;
 import com.google.common.hash.Hasher;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -67,7 +69,11 @@ import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
 import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -88,6 +94,7 @@ import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
 import org.projectnessie.versioned.storage.common.objtypes.CommitOp;
 import org.projectnessie.versioned.storage.common.objtypes.CommitOp.Action;
 import org.projectnessie.versioned.storage.common.objtypes.CommitType;
+import org.projectnessie.versioned.storage.common.objtypes.IndexSegmentsObj;
 import org.projectnessie.versioned.storage.common.objtypes.IndexStripe;
 import org.projectnessie.versioned.storage.common.persist.CloseableIterator;
 import org.projectnessie.versioned.storage.common.persist.Obj;
@@ -130,6 +137,15 @@ final class CommitLogicImpl implements CommitLogic {
 
     private Iterator<Obj> batch;
     private List<ObjId> next;
+    private boolean initialBatch = true;
+
+    /**
+     * Asynchronously fetched batch of commits following the current batch. Reading ahead starts
+     * with the second batch, so callers that only look at the first commit(s) do not pay for it.
+     */
+    private List<ObjId> readAheadIds;
+
+    private CompletionStage<Obj[]> readAhead;
 
     CommitLogIter(ObjId startCommitId, ObjId endCommitId) {
       this.next = singletonList(startCommitId);
@@ -156,7 +172,13 @@ final class CommitLogicImpl implements CommitLogic {
           }
 
           try {
-            b = batch = Arrays.asList(persist.fetchObjs(n.toArray(new ObjId[0]))).iterator();
+            Obj[] objs = fetchBatch(n);
+            if (initialBatch) {
+              initialBatch = false;
+            } else {
+              startReadAhead(objs);
+            }
+            b = batch = Arrays.asList(objs).iterator();
           } catch (ObjNotFoundException e) {
             List<ObjId> ids = e.objIds();
             throw new NoSuchElementException(
@@ -188,6 +210,56 @@ final class CommitLogicImpl implements CommitLogic {
       }
     }
 
+    private Obj[] fetchBatch(List<ObjId> ids) throws ObjNotFoundException {
+      CompletionStage<Obj[]> r = readAhead;
+      readAhead = null;
+      if (r != null && ids.equals(readAheadIds)) {
+        try {
+          return r.toCompletableFuture().join();
+        } catch (CompletionException e) {
+          Throwable cause = e.getCause();
+          if (cause instanceof ObjNotFoundException) {
+            throw (ObjNotFoundException) cause;
+          }
+          if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+          }
+          throw e;
+        }
+      }
+      return persist.fetchObjs(ids.toArray(new ObjId[0]));
+    }
+
+    /**
+     * Starts fetching the batch of commits that will be needed after the given batch, if the
+     * backend can fetch without blocking the calling thread, see {@link
+     * Persist#nativeAsyncFetches()}.
+     */
+    private void startReadAhead(Obj[] objs) {
+      if (!persist.nativeAsyncFetches()) {
+        return;
+      }
+      Obj last = objs.length > 0 ? objs[objs.length - 1] : null;
+      if (!(last instanceof CommitObj)) {
+        return;
+      }
+      for (Obj obj : objs) {
+        if (obj != null && obj.id().equals(endCommitId)) {
+          return;
+        }
+      }
+
+      List<ObjId> tail = ((CommitObj) last).tail();
+      int i = tail.indexOf(EMPTY_OBJ_ID);
+      if (i != -1) {
+        tail = tail.subList(0, i);
+      }
+      if (!tail.isEmpty()) {
+        readAheadIds = tail;
+        readAhead = persist.fetchObjsAsync(tail.toArray(new ObjId[0]));
+      }
+    }
+
     @Nonnull
     @jakarta.annotation.Nonnull
     @Override
@@ -315,11 +387,14 @@ final class CommitLogicImpl implements CommitLogic {
       commit = indexTooBigStoreUpdate(commit);
 
       try {
-        return persist.storeObj(commit, true);
+        if (!persist.storeObj(commit, true)) {
+          return false;
+        }
       } catch (ObjTooLargeException ex) {
         // Hit the "Hard database object size limit"
         throw new RuntimeException(ex);
       }
+      return true;
     }
   }
 
@@ -851,6 +926,15 @@ final class CommitLogicImpl implements CommitLogic {
                 return null;
               }
             })
+        .loadCommits(
+            commitIds -> {
+              try {
+                return fetchCommits(commitIds);
+              } catch (ObjNotFoundException e) {
+                // Let 'loadCommit' handle the missing commit(s)
+                return new CommitObj[commitIds.length];
+              }
+            })
         .targetCommitId(targetId)
         .fromCommitId(sourceId)
         .respectMergeParents(respectMergeParents)
@@ -898,6 +982,31 @@ final class CommitLogicImpl implements CommitLogic {
     return r;
   }
 
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  @Override
+  public CommitObj[] fetchCommits(@Nonnull @jakarta.annotation.Nonnull ObjId[] commitIds)
+      throws ObjNotFoundException {
+    ObjId[] ids = new ObjId[commitIds.length];
+    boolean any = false;
+    for (int i = 0; i < commitIds.length; i++) {
+      ObjId id = commitIds[i];
+      if (id != null && !EMPTY_OBJ_ID.equals(id)) {
+        ids[i] = id;
+        any = true;
+      }
+    }
+
+    CommitObj[] r = new CommitObj[commitIds.length];
+    if (any) {
+      Obj[] objs = persist.fetchObjs(ids);
+      for (int i = 0; i < objs.length; i++) {
+        r[i] = castToCommitObj(objs[i]);
+      }
+    }
+    return r;
+  }
+
   private static CommitObj castToCommitObj(Obj obj) {
     checkState(
         obj == null || obj instanceof CommitObj, "Expected a Commit object, but got %s", obj);
@@ -918,8 +1027,38 @@ final class CommitLogicImpl implements CommitLogic {
             .orElse(diffQuery.start());
     StoreKey end = diffQuery.end();
 
-    StoreIndex<CommitOp> fromIndex = indexesLogic.buildCompleteIndexOrEmpty(diffQuery.fromCommit());
-    StoreIndex<CommitOp> toIndex = indexesLogic.buildCompleteIndexOrEmpty(diffQuery.toCommit());
+    CommitObj fromCommit = diffQuery.fromCommit();
+    CommitObj toCommit = diffQuery.toCommit();
+    List<DiffRange> ranges = stripeAwareDiffRanges(fromCommit, toCommit, start, end);
+    if (ranges != null) {
+      // Both commits share (parts of) their reference index, only descend into the differing
+      // parts of the reference indexes and the keys in the incremental indexes.
+      StoreIndex<CommitOp> fromIncremental =
+          indexesLogic.incrementalIndexFromCommit(requireNonNull(fromCommit));
+      StoreIndex<CommitOp> toIncremental =
+          indexesLogic.incrementalIndexFromCommit(requireNonNull(toCommit));
+      StoreIndex<CommitOp> fromIndex =
+          indexesLogic.buildCompleteIndex(fromCommit, Optional.of(fromIncremental));
+      StoreIndex<CommitOp> toIndex =
+          indexesLogic.buildCompleteIndex(toCommit, Optional.of(toIncremental));
+
+      for (DiffRange range : ranges) {
+        range.collectChangedKeys(fromIncremental, toIncremental);
+      }
+
+      boolean prefetch = diffQuery.prefetch();
+      Iterator<StoreIndexElement<CommitOp>> fromIter =
+          Iterators.concat(
+              Iterators.transform(ranges.iterator(), r -> r.iterator(fromIndex, prefetch)));
+      Iterator<StoreIndexElement<CommitOp>> toIter =
+          Iterators.concat(
+              Iterators.transform(ranges.iterator(), r -> r.iterator(toIndex, prefetch)));
+
+      return new DiffEntryIter(fromIndex, toIndex, fromIter, toIter, diffQuery.filter());
+    }
+
+    StoreIndex<CommitOp> fromIndex = indexesLogic.buildCompleteIndexOrEmpty(fromCommit);
+    StoreIndex<CommitOp> toIndex = indexesLogic.buildCompleteIndexOrEmpty(toCommit);
 
     Iterator<StoreIndexElement<CommitOp>> fromIter =
         fromIndex.iterator(start, end, diffQuery.prefetch());
@@ -929,6 +1068,164 @@ final class CommitLogicImpl implements CommitLogic {
     return new DiffEntryIter(fromIndex, toIndex, fromIter, toIter, diffQuery.filter());
   }
 
+  /**
+   * Splits the key range of a diff into ranges that are covered by identical reference index
+   * stripes in both commits and the ranges in between. Returns {@code null}, if the reference
+   * indexes of the two commits have nothing in common.
+   */
+  private List<DiffRange> stripeAwareDiffRanges(
+      CommitObj fromCommit, CommitObj toCommit, StoreKey start, StoreKey end) {
+    if (fromCommit == null
+        || toCommit == null
+        || fromCommit.incompleteIndex()
+        || toCommit.incompleteIndex()
+        || (start != null && start.equals(end))) {
+      // Empty commits, incomplete indexes or prefix queries
+      return null;
+    }
+
+    ObjId fromReferenceIndex = fromCommit.referenceIndex();
+    if (fromReferenceIndex != null && fromReferenceIndex.equals(toCommit.referenceIndex())) {
+      // Same reference index, only the incremental indexes can differ.
+      return singletonList(DiffRange.shared(start, end));
+    }
+
+    List<IndexStripe> fromStripes = referenceIndexStripes(fromCommit);
+    List<IndexStripe> toStripes = referenceIndexStripes(toCommit);
+    if (fromStripes.isEmpty() || toStripes.isEmpty()) {
+      return null;
+    }
+
+    Set<ObjId> toSegments = newHashSetWithExpectedSize(toStripes.size());
+    for (IndexStripe stripe : toStripes) {
+      toSegments.add(stripe.segment());
+    }
+
+    // Stripes do not overlap and are ordered by key, so are the shared ones.
+    List<DiffRange> ranges = new ArrayList<>();
+    StoreKey lower = start;
+    boolean lowerExclusive = false;
+    for (IndexStripe stripe : fromStripes) {
+      if (!toSegments.contains(stripe.segment())) {
+        continue;
+      }
+      StoreKey first = stripe.firstKey();
+      StoreKey last = stripe.lastKey();
+      if ((start != null && last.compareTo(start) < 0)
+          || (end != null && first.compareTo(end) > 0)) {
+        continue;
+      }
+      if (start != null && first.compareTo(start) < 0) {
+        first = start;
+      }
+      if (end != null && last.compareTo(end) > 0) {
+        last = end;
+      }
+
+      ranges.add(DiffRange.differing(lower, lowerExclusive, first, true));
+      ranges.add(DiffRange.shared(first, last));
+      lower = last;
+      lowerExclusive = true;
+    }
+    if (ranges.isEmpty()) {
+      return null;
+    }
+    ranges.add(DiffRange.differing(lower, lowerExclusive, end, false));
+    return ranges;
+  }
+
+  private List<IndexStripe> referenceIndexStripes(CommitObj commit) {
+    List<IndexStripe> stripes = commit.referenceIndexStripes();
+    if (!stripes.isEmpty()) {
+      return stripes;
+    }
+    ObjId referenceIndex = commit.referenceIndex();
+    if (referenceIndex == null) {
+      return emptyList();
+    }
+    try {
+      Obj obj = persist.fetchObj(referenceIndex);
+      return obj instanceof IndexSegmentsObj ? ((IndexSegmentsObj) obj).stripes() : emptyList();
+    } catch (ObjNotFoundException e) {
+      // Let the "full" diff report the missing reference index
+      return emptyList();
+    }
+  }
+
+  /**
+   * A range of keys in a stripe-aware diff. If the reference indexes of both commits are identical
+   * for a range, only the keys in the incremental indexes in that range can be different.
+   */
+  private static final class DiffRange {
+    private final StoreKey lower;
+    private final boolean lowerExclusive;
+    private final StoreKey upper;
+    private final boolean upperExclusive;
+    private final boolean shared;
+    private final SortedSet<StoreKey> changedKeys = new TreeSet<>();
+
+    private DiffRange(
+        StoreKey lower,
+        boolean lowerExclusive,
+        StoreKey upper,
+        boolean upperExclusive,
+        boolean shared) {
+      this.lower = lower;
+      this.lowerExclusive = lowerExclusive;
+      this.upper = upper;
+      this.upperExclusive = upperExclusive;
+      this.shared = shared;
+    }
+
+    static DiffRange shared(StoreKey first, StoreKey last) {
+      return new DiffRange(first, false, last, false, true);
+    }
+
+    static DiffRange differing(
+        StoreKey lower, boolean lowerExclusive, StoreKey upper, boolean upperExclusive) {
+      return new DiffRange(lower, lowerExclusive, upper, upperExclusive, false);
+    }
+
+    void collectChangedKeys(
+        StoreIndex<CommitOp> fromIncremental, StoreIndex<CommitOp> toIncremental) {
+      if (shared) {
+        rangeIterator(fromIncremental, false).forEachRemaining(el -> changedKeys.add(el.key()));
+        rangeIterator(toIncremental, false).forEachRemaining(el -> changedKeys.add(el.key()));
+      }
+    }
+
+    Iterator<StoreIndexElement<CommitOp>> iterator(StoreIndex<CommitOp> index, boolean prefetch) {
+      if (shared) {
+        return changedKeys.stream().map(index::get).filter(Objects::nonNull).iterator();
+      }
+      return rangeIterator(index, prefetch);
+    }
+
+    private Iterator<StoreIndexElement<CommitOp>> rangeIterator(
+        StoreIndex<CommitOp> index, boolean prefetch) {
+      if (lower != null && upper != null) {
+        int cmp = lower.compareTo(upper);
+        if (cmp > 0 || (cmp == 0 && (lowerExclusive || upperExclusive))) {
+          return emptyIterator();
+        }
+        if (cmp == 0) {
+          // 'begin' == 'end' would be a prefix query
+          StoreIndexElement<CommitOp> el = index.get(lower);
+          return el != null ? singletonIterator(el) : emptyIterator();
+        }
+      }
+      Iterator<StoreIndexElement<CommitOp>> iter = index.iterator(lower, upper, prefetch);
+      if (!lowerExclusive && !upperExclusive) {
+        return iter;
+      }
+      return Iterators.filter(
+          iter,
+          el ->
+              !(lowerExclusive && el.key().equals(lower))
+                  && !(upperExclusive && el.key().equals(upper)));
+    }
+  }
+
   private static final class DiffEntryIter extends AbstractIterator<DiffEntry>
       implements DiffPagedResult<DiffEntry, StoreKey> {
     private final Iterator<StoreIndexElement<CommitOp>> fromIter;
@@ -43,11 +43,15 @@ public class CommitRetry {
       throws CommitWrappedException, CommitConflictException, RetryTimeoutException {
     Optional<?> retryState = Optional.empty();
 
+    // Commit attempts use the fetched references as the expected state for the conditional
+    // reference-pointer update, so these must never come from a cache.
+    Persist p = persist.forReferenceUpdates();
+
     long t0 = tls.currentNanos();
     long t1 = t0;
     for (int i = 0; true; i++, t1 = tls.currentNanos()) {
       try {
-        return attempt.attempt(persist, retryState);
+        return attempt.attempt(p, retryState);
       } catch (RetryException e) {
         if (!tls.retry(t1)) {
           throw new RetryTimeoutException(i, tls.currentNanos() - t0);
@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.common.logic;
+
+import javax.annotation.Nonnull;
+import org.projectnessie.versioned.storage.common.config.StoreConfig;
+import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
+import org.projectnessie.versioned.storage.common.indexes.StoreKey;
+import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
+import org.projectnessie.versioned.storage.common.objtypes.CommitOp;
+import org.projectnessie.versioned.storage.common.objtypes.IndexObj;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+
+/**
+ * Maintains and queries the per-content-ID history index, enabled via {@link
+ * StoreConfig#contentHistory()}.
+ *
+ * <p>For each content value that has been added by a commit, the history index holds {@link
+ * IndexObj}s with deterministic IDs derived from the {@link CommitOp#contentId() content ID}, the
+ * {@link CommitOp#value() value ID} and a slot number, one slot per commit that added the value,
+ * mapping the commit ID to the ID of the content's previous value, or {@link ObjId#EMPTY_OBJ_ID}
+ * for new content. Following the previous values from the current value of a content object visits
+ * exactly the commits that changed the content, without walking the commit log.
+ *
+ * <p>Slots are only ever inserted via {@link Persist#storeObj(Obj)}, never updated, so commits
+ * that add the same value concurrently do not overwrite each other's entries.
+ */
+public interface ContentHistoryLogic {
+
+  /**
+   * Records the content changes of the given, already persisted commit in the history index. This
+   * is a no-op, if the history index is disabled.
+   *
+   * <p>Must only be called after the reference pointer has been successfully updated to include the
+   * commit, so that the history index does not refer to commits that never became visible. Changes
+   * that are not recorded, for example because the process died in between, are still found by
+   * walking the commit log.
+   */
+  void recordCommit(@Nonnull @jakarta.annotation.Nonnull CommitObj commit);
+
+  /**
+   * Returns the commits that changed the content object with the given key in {@code head}, most
+   * recent changes first, following the content across renames. Commits that are not covered by
+   * the history index, because those were created before the history index has been enabled, are
+   * found by walking the commit log.
+   *
+   * <p>The result is empty, if no content exists for the given key.
+   */
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  PagedResult<CommitObj, ObjId> contentHistory(
+      @Nonnull @jakarta.annotation.Nonnull CommitObj head,
+      @Nonnull @jakarta.annotation.Nonnull StoreKey key);
+
+  /**
+   * Continues the content history of the content object with the given key in {@code head} at the
+   * commit identified by the given paging token, as returned by {@link
+   * PagedResult#tokenForKey(Object)} of a result of {@link #contentHistory(CommitObj, StoreKey)}.
+   * The commit identified by the paging token is the first returned commit.
+   *
+   * <p>The paging token identifies the content object by its content ID, so continuing a content
+   * history does not depend on the content's key, which may have changed due to renames.
+   *
+   * @throws IllegalArgumentException if the paging token is not a content history paging token,
+   *     refers to another content object than the one with the given key in {@code head} or to a
+   *     commit that is not {@code head} or one of its direct-parent ancestors
+   * @throws ObjNotFoundException if the commit referenced by the paging token does not exist
+   */
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  PagedResult<CommitObj, ObjId> contentHistory(
+      @Nonnull @jakarta.annotation.Nonnull CommitObj head,
+      @Nonnull @jakarta.annotation.Nonnull StoreKey key,
+      @Nonnull @jakarta.annotation.Nonnull PagingToken pagingToken)
+      throws ObjNotFoundException;
+}
@@ -0,0 +1,428 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.common.logic;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptyIterator;
+import static java.util.Comparator.comparingLong;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexElement.indexElement;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.deserializeStoreIndex;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.newStoreIndex;
+import static org.projectnessie.versioned.storage.common.indexes.StoreKey.key;
+import static org.projectnessie.versioned.storage.common.logic.CommitLogQuery.commitLogQuery;
+import static org.projectnessie.versioned.storage.common.logic.Logics.commitLogic;
+import static org.projectnessie.versioned.storage.common.logic.Logics.indexesLogic;
+import static org.projectnessie.versioned.storage.common.logic.PagingToken.emptyPagingToken;
+import static org.projectnessie.versioned.storage.common.logic.PagingToken.pagingToken;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.Action.ADD;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.Action.REMOVE;
+import static org.projectnessie.versioned.storage.common.objtypes.Hashes.hashAsObjId;
+import static org.projectnessie.versioned.storage.common.objtypes.Hashes.newHasher;
+import static org.projectnessie.versioned.storage.common.objtypes.IndexObj.index;
+import static org.projectnessie.versioned.storage.common.objtypes.ObjIdSerializer.OBJ_ID_SERIALIZER;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.EMPTY_OBJ_ID;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.objIdFromBytes;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.objIdFromString;
+
+import com.google.common.collect.AbstractIterator;
+import com.google.common.hash.Hasher;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import javax.annotation.Nonnull;
+import org.projectnessie.nessie.relocated.protobuf.ByteString;
+import org.projectnessie.versioned.storage.common.config.StoreConfig;
+import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
+import org.projectnessie.versioned.storage.common.exceptions.ObjTooLargeException;
+import org.projectnessie.versioned.storage.common.indexes.StoreIndex;
+import org.projectnessie.versioned.storage.common.indexes.StoreIndexElement;
+import org.projectnessie.versioned.storage.common.indexes.StoreKey;
+import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
+import org.projectnessie.versioned.storage.common.objtypes.CommitOp;
+import org.projectnessie.versioned.storage.common.objtypes.IndexObj;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+final class ContentHistoryLogicImpl implements ContentHistoryLogic {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ContentHistoryLogicImpl.class);
+
+  /** Size of the serialized content ID at the beginning of a content history paging token. */
+  private static final int CONTENT_ID_SIZE = 16;
+
+  /** Number of history object slots fetched per round-trip. */
+  private static final int HISTORY_SLOTS_PER_FETCH = 4;
+
+  private final Persist persist;
+
+  ContentHistoryLogicImpl(Persist persist) {
+    this.persist = persist;
+  }
+
+  static ObjId historyObjId(UUID contentId, ObjId value, int slot) {
+    Hasher hasher =
+        newHasher()
+            .putString("content-history", UTF_8)
+            .putLong(contentId.getMostSignificantBits())
+            .putLong(contentId.getLeastSignificantBits())
+            .putBytes(value.asByteBuffer());
+    if (slot > 0) {
+      hasher.putInt(slot);
+    }
+    return hashAsObjId(hasher);
+  }
+
+  @Override
+  public void recordCommit(@Nonnull @jakarta.annotation.Nonnull CommitObj commit) {
+    if (!persist.config().contentHistory()) {
+      return;
+    }
+
+    IndexesLogic indexesLogic = indexesLogic(persist);
+
+    Map<UUID, ObjId> removedValues = new HashMap<>();
+    List<StoreIndexElement<CommitOp>> adds = new ArrayList<>();
+    for (StoreIndexElement<CommitOp> el : indexesLogic.commitOperations(commit)) {
+      CommitOp op = el.content();
+      if (op.contentId() == null) {
+        continue;
+      }
+      if (op.action() == ADD) {
+        adds.add(el);
+      } else if (op.action() == REMOVE) {
+        removedValues.put(op.contentId(), op.value());
+      }
+    }
+    if (adds.isEmpty()) {
+      return;
+    }
+
+    try {
+      // The previous value of renamed content is the removed one, otherwise the value of the same
+      // key in the parent commit.
+      Set<StoreKey> keys = new HashSet<>();
+      for (StoreIndexElement<CommitOp> add : adds) {
+        if (!removedValues.containsKey(add.content().contentId())) {
+          keys.add(add.key());
+        }
+      }
+      StoreIndex<CommitOp> parentIndex =
+          indexesLogic.buildCompleteIndexOrEmpty(
+              keys.isEmpty() ? null : commitLogic(persist).fetchCommit(commit.directParent()));
+      parentIndex.loadIfNecessary(keys);
+
+      for (StoreIndexElement<CommitOp> add : adds) {
+        UUID contentId = add.content().contentId();
+        ObjId value = add.content().value();
+
+        ObjId previous = removedValues.get(contentId);
+        if (previous == null) {
+          StoreIndexElement<CommitOp> parentEl = parentIndex.get(add.key());
+          CommitOp parentOp = parentEl != null ? parentEl.content() : null;
+          previous =
+              parentOp != null
+                      && parentOp.action().exists()
+                      && contentId.equals(parentOp.contentId())
+                  ? parentOp.value()
+                  : EMPTY_OBJ_ID;
+        }
+
+        StoreIndex<ObjId> entry = newStoreIndex(OBJ_ID_SERIALIZER);
+        entry.add(indexElement(key(commit.id().toString()), previous));
+        ByteString serialized = entry.serialize();
+
+        // Slots are only inserted, never updated. A concurrent commit that added the same value
+        // took the slot, so try the next one.
+        int slot = fetchHistorySlots(contentId, value).size();
+        while (!persist.storeObj(index(historyObjId(contentId, value, slot), serialized))) {
+          slot++;
+        }
+      }
+    } catch (ObjNotFoundException | ObjTooLargeException e) {
+      // The content history is a secondary index, do not fail the commit, which has already been
+      // persisted. Content history queries fall back to walking the commit log.
+      LOGGER.warn("Failed to record content history for commit {}", commit.id(), e);
+    }
+  }
+
+  /**
+   * Fetches the existing slots of the history object for the given content value, in slot order.
+   * Slots are inserted without gaps, so fetching stops at the first non-existing slot.
+   */
+  private List<IndexObj> fetchHistorySlots(UUID contentId, ObjId value)
+      throws ObjNotFoundException {
+    List<IndexObj> slots = new ArrayList<>();
+    while (true) {
+      ObjId[] ids = new ObjId[HISTORY_SLOTS_PER_FETCH];
+      for (int i = 0; i < ids.length; i++) {
+        ids[i] = historyObjId(contentId, value, slots.size() + i);
+      }
+      for (Obj obj : fetchExisting(ids)) {
+        if (obj == null) {
+          return slots;
+        }
+        slots.add((IndexObj) obj);
+      }
+    }
+  }
+
+  /** Like {@link Persist#fetchObjs(ObjId[])}, but yields {@code null} for non-existing objects. */
+  private Obj[] fetchExisting(ObjId[] ids) throws ObjNotFoundException {
+    try {
+      return persist.fetchObjs(ids);
+    } catch (ObjNotFoundException e) {
+      Set<ObjId> missing = new HashSet<>(e.objIds());
+      ObjId[] existingIds = new ObjId[ids.length];
+      for (int i = 0; i < ids.length; i++) {
+        if (!missing.contains(ids[i])) {
+          existingIds[i] = ids[i];
+        }
+      }
+      return persist.fetchObjs(existingIds);
+    }
+  }
+
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  @Override
+  public PagedResult<CommitObj, ObjId> contentHistory(
+      @Nonnull @jakarta.annotation.Nonnull CommitObj head,
+      @Nonnull @jakarta.annotation.Nonnull StoreKey key) {
+    CommitOp op = existingContent(head, key);
+    if (op == null) {
+      return new HistoryIter(null, null, head);
+    }
+    return new HistoryIter(op.contentId(), op.value(), head);
+  }
+
+  private CommitOp existingContent(CommitObj head, StoreKey key) {
+    StoreIndexElement<CommitOp> el = indexesLogic(persist).buildCompleteIndexOrEmpty(head).get(key);
+    CommitOp op = el != null ? el.content() : null;
+    return op != null && op.action().exists() && op.contentId() != null ? op : null;
+  }
+
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  @Override
+  public PagedResult<CommitObj, ObjId> contentHistory(
+      @Nonnull @jakarta.annotation.Nonnull CommitObj head,
+      @Nonnull @jakarta.annotation.Nonnull StoreKey key,
+      @Nonnull @jakarta.annotation.Nonnull PagingToken pagingToken)
+      throws ObjNotFoundException {
+    ByteString token = pagingToken.token();
+    checkArgument(token.size() > CONTENT_ID_SIZE, "Invalid content history paging token");
+    ByteBuffer contentIdBytes = token.substring(0, CONTENT_ID_SIZE).asReadOnlyByteBuffer();
+    UUID contentId = new UUID(contentIdBytes.getLong(), contentIdBytes.getLong());
+    CommitOp op = existingContent(head, key);
+    checkArgument(
+        op != null && contentId.equals(op.contentId()),
+        "Paging token does not belong to the content history of key '%s'",
+        key);
+    CommitObj commit =
+        commitLogic(persist).fetchCommit(objIdFromBytes(token.substring(CONTENT_ID_SIZE)));
+    checkArgument(commit != null, "Invalid content history paging token");
+
+    // The returned commits change the content, the value of the content in the commit is the one
+    // added by the commit.
+    ObjId value = null;
+    for (StoreIndexElement<CommitOp> el : indexesLogic(persist).commitOperations(commit)) {
+      CommitOp op = el.content();
+      if (op.action() == ADD && contentId.equals(op.contentId())) {
+        value = op.value();
+      }
+    }
+
+    HistoryIter history = new HistoryIter(contentId, value, head);
+    checkArgument(
+        history.isAncestor(commit),
+        "Paging token does not belong to the content history on commit %s",
+        head.id());
+    history.current = commit;
+    if (value == null) {
+      // The commit only removed the content, continue by walking the commit log.
+      history.log = history.commitLogFrom(commit.id());
+    }
+    return history;
+  }
+
+  private final class HistoryIter extends AbstractIterator<CommitObj>
+      implements PagedResult<CommitObj, ObjId> {
+    private final UUID contentId;
+
+    /**
+     * The value of the content in {@link #current}, {@code null} if the commit that created the
+     * content has been returned.
+     */
+    private ObjId value;
+
+    /** The last returned commit, changes older than this commit are returned next. */
+    private CommitObj current;
+
+    /** Whether {@link #current} has not been returned and may be the most recent change. */
+    private boolean includeCurrent = true;
+
+    /** The commit log to walk, if the history index does not cover all changes. */
+    private Iterator<CommitObj> log;
+
+    /**
+     * A commit on the direct-parent chain of the initial head, used to check whether candidates are
+     * ancestors. Its sequence number is never lower than the one of {@link #current} and it only
+     * moves towards older commits, so the ancestor checks of a whole content history fetch at most
+     * one commit per {@link StoreConfig#parentsPerCommit()} commits.
+     */
+    private CommitObj ancestorCursor;
+
+    HistoryIter(UUID contentId, ObjId value, CommitObj head) {
+      this.contentId = contentId;
+      this.value = value;
+      this.current = head;
+      this.ancestorCursor = head;
+    }
+
+    @Override
+    protected CommitObj computeNext() {
+      try {
+        if (log == null) {
+          if (value == null) {
+            return endOfData();
+          }
+          if (persist.config().contentHistory()) {
+            CommitObj commit = nextFromHistoryIndex();
+            if (commit != null) {
+              return commit;
+            }
+          }
+          log = commitLogFrom(includeCurrent ? current.id() : current.directParent());
+        }
+
+        while (log.hasNext()) {
+          CommitObj commit = log.next();
+          if (changesContent(commit)) {
+            return commit;
+          }
+        }
+        return endOfData();
+      } catch (ObjNotFoundException e) {
+        throw new RuntimeException(e);
+      }
+    }
+
+    private CommitObj nextFromHistoryIndex() throws ObjNotFoundException {
+      Map<ObjId, ObjId> previousValues = new HashMap<>();
+      for (IndexObj slot : fetchHistorySlots(contentId, value)) {
+        for (StoreIndexElement<ObjId> entry :
+            deserializeStoreIndex(slot.index(), OBJ_ID_SERIALIZER)) {
+          previousValues.put(objIdFromString(entry.key().rawString()), entry.content());
+        }
+      }
+      if (previousValues.isEmpty()) {
+        return null;
+      }
+
+      // A value can have been added by multiple commits, for example by merges, transplants and
+      // commits that did not make it to a reference. Take the most recent ancestor, even a single
+      // candidate may not be an ancestor. If no candidate is an ancestor, the caller falls back to
+      // walking the commit log.
+      long maxSeq = includeCurrent ? current.seq() : current.seq() - 1;
+      List<CommitObj> candidates = new ArrayList<>();
+      for (Obj obj : fetchExisting(previousValues.keySet().toArray(new ObjId[0]))) {
+        if (obj instanceof CommitObj && ((CommitObj) obj).seq() <= maxSeq) {
+          candidates.add((CommitObj) obj);
+        }
+      }
+      candidates.sort(comparingLong(CommitObj::seq).reversed());
+
+      for (CommitObj candidate : candidates) {
+        if (isAncestor(candidate)) {
+          ObjId previous = previousValues.get(candidate.id());
+          value = EMPTY_OBJ_ID.equals(previous) ? null : previous;
+          current = candidate;
+          includeCurrent = false;
+          return candidate;
+        }
+      }
+      return null;
+    }
+
+    /**
+     * Checks whether {@code candidate} is on the direct-parent chain of the initial head. The direct
+     * parent {@code n} commits behind a commit is the {@code n}-th element of its tail, the sequence
+     * numbers tell the distance. Commits behind the tail are reached by following the last tail
+     * element, without walking the commit log.
+     */
+    private boolean isAncestor(CommitObj candidate) throws ObjNotFoundException {
+      while (true) {
+        if (candidate.id().equals(ancestorCursor.id())) {
+          return true;
+        }
+        long distance = ancestorCursor.seq() - candidate.seq();
+        List<ObjId> tail = ancestorCursor.tail();
+        if (distance <= 0 || tail.isEmpty()) {
+          return false;
+        }
+        if (distance <= tail.size()) {
+          return candidate.id().equals(tail.get((int) distance - 1));
+        }
+        ObjId last = tail.get(tail.size() - 1);
+        CommitObj next = EMPTY_OBJ_ID.equals(last) ? null : commitLogic(persist).fetchCommit(last);
+        if (next == null) {
+          return false;
+        }
+        ancestorCursor = next;
+      }
+    }
+
+    private Iterator<CommitObj> commitLogFrom(ObjId commitId) {
+      if (EMPTY_OBJ_ID.equals(commitId)) {
+        return emptyIterator();
+      }
+      return commitLogic(persist).commitLog(commitLogQuery(commitId));
+    }
+
+    private boolean changesContent(CommitObj commit) {
+      for (StoreIndexElement<CommitOp> el : indexesLogic(persist).commitOperations(commit)) {
+        if (contentId.equals(el.content().contentId())) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    @Nonnull
+    @jakarta.annotation.Nonnull
+    @Override
+    public PagingToken tokenForKey(ObjId key) {
+      if (key == null || contentId == null) {
+        return emptyPagingToken();
+      }
+      ByteBuffer contentIdBytes = ByteBuffer.allocate(CONTENT_ID_SIZE);
+      contentIdBytes.putLong(contentId.getMostSignificantBits());
+      contentIdBytes.putLong(contentId.getLeastSignificantBits());
+      contentIdBytes.flip();
+      return pagingToken(ByteString.copyFrom(contentIdBytes).concat(key.asBytes()));
+    }
+  }
+}
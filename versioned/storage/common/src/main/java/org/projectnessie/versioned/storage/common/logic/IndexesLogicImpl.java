@@ -49,6 +49,7 @@ import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.IntFunction;
 import java.util.function.Supplier;
 import javax.annotation.Nonnull;
@@ -493,26 +494,43 @@ final class IndexesLogicImpl implements IndexesLogic {
 
     IntFunction<ObjId[]> prefetchIds =
         i -> commitsToUpdate.subList(i, Math.min(totalCommits, i + 100)).toArray(new ObjId[0]);
-
-    // perform a bulk-load against the database, populates the cache
+    // Failures of asynchronous bulk-loads are ignored, those surface when a commit is fetched.
+    IntFunction<CompletableFuture<?>> prefetchAsync =
+        i ->
+            i < totalCommits
+                ? persist
+                    .fetchObjsAsync(prefetchIds.apply(i))
+                    .handle((objs, e) -> null)
+                    .toCompletableFuture()
+                : CompletableFuture.completedFuture(null);
+
+    // perform a bulk-load against the database, populates the cache, the next batch of commits is
+    // loaded asynchronously while the current batch is being processed
     persist.fetchObjs(prefetchIds.apply(0));
+    CompletableFuture<?> prefetch = prefetchAsync.apply(100);
+
+    // The commits are updated in place, the parent's updated index is the base of the next commit's
+    // index, so fetch the current state of the commits.
+    Persist forUpdates = persist.forObjectUpdates();
+    CommitLogic commitLogicForUpdates = commitLogic(forUpdates);
 
-    CommitObj current = persist.fetchTypedObj(oldestCommitId, COMMIT, CommitObj.class);
+    CommitObj current = forUpdates.fetchTypedObj(oldestCommitId, COMMIT, CommitObj.class);
     CommitObj parent =
         EMPTY_OBJ_ID.equals(current.directParent())
             ? null
-            : persist.fetchTypedObj(current.directParent(), COMMIT, CommitObj.class);
+            : forUpdates.fetchTypedObj(current.directParent(), COMMIT, CommitObj.class);
 
     for (int i = 0; i < totalCommits; i++) {
       if (i > 0 && (i % 100) == 0) {
-        // perform a bulk-load against the database, populates the cache
-        persist.fetchObjs(prefetchIds.apply(i));
+        // wait for the bulk-load of the current batch, then start loading the next batch
+        prefetch.join();
+        prefetch = prefetchAsync.apply(i + 100);
       }
 
       ObjId currentId = commitsToUpdate.get(i);
       if (current == null) {
         try {
-          current = commitLogic.fetchCommit(currentId);
+          current = commitLogicForUpdates.fetchCommit(currentId);
         } catch (ObjNotFoundException e) {
           throw new IllegalStateException(
               format(
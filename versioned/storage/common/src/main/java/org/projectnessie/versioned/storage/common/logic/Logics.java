@@ -36,6 +36,10 @@ public final class Logics {
     return new IndexesLogicImpl(persist);
   }
 
+  public static ContentHistoryLogic contentHistoryLogic(Persist persist) {
+    return new ContentHistoryLogicImpl(persist);
+  }
+
   public static StringLogic stringLogic(Persist persist) {
     return new StringLogicImpl(persist);
   }
@@ -18,6 +18,7 @@ package org.projectnessie.versioned.storage.common.logic;
 import static com.google.common.collect.Lists.newArrayList;
 import static java.util.Collections.singletonList;
 import static java.util.Comparator.comparing;
+import static java.util.Comparator.comparingLong;
 import static java.util.Objects.requireNonNull;
 import static org.projectnessie.versioned.storage.common.logic.CommitLogicImpl.NO_COMMON_ANCESTOR_IN_PARENTS_OF;
 import static org.projectnessie.versioned.storage.common.logic.ShallowCommit.BOTH_COMMITS;
@@ -26,12 +27,15 @@ import static org.projectnessie.versioned.storage.common.persist.ObjId.EMPTY_OBJ
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.PriorityQueue;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Stream;
+import javax.annotation.Nullable;
 import org.agrona.collections.Object2ObjectHashMap;
 import org.immutables.value.Value;
 import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
@@ -46,8 +50,29 @@ import org.projectnessie.versioned.storage.common.persist.ObjId;
  */
 @Value.Immutable
 public abstract class MergeBase {
+  /**
+   * Number of commits to fetch at once with the first batch, if {@link #loadCommits()} is present.
+   * The batch size doubles with every batch up to {@link #MAX_PREFETCH_BATCH_SIZE}, so finding a
+   * close merge base does not load many unneeded commits.
+   */
+  static final int INITIAL_PREFETCH_BATCH_SIZE = 2;
+
+  /** Maximum number of commits to fetch at once, if {@link #loadCommits()} is present. */
+  static final int MAX_PREFETCH_BATCH_SIZE = 50;
+
   public abstract Function<ObjId, CommitObj> loadCommit();
 
+  /**
+   * Optional function to load multiple commits at once. If present, the ancestors of the already
+   * loaded commits, known from {@link CommitObj#tail()}, are fetched in batches together with the
+   * commit to load, nearest ancestors by {@link CommitObj#seq()} first, which saves a lot of
+   * round-trips when the commits diverged long ago. The returned array must have the same length
+   * as the given array, with {@code null} elements for commits that do not exist.
+   */
+  @Nullable
+  @jakarta.annotation.Nullable
+  public abstract Function<ObjId[], CommitObj[]> loadCommits();
+
   public abstract ObjId targetCommitId();
 
   public abstract ObjId fromCommitId();
@@ -307,28 +332,109 @@ public abstract class MergeBase {
     if (EMPTY_OBJ_ID.equals(objId)) {
       return null;
     }
-    return commits.computeIfAbsent(
-        objId,
-        id -> {
-          CommitObj commit = loadCommit().apply(id);
-          if (commit == null) {
-            throw new NoSuchElementException("Commit '" + id + "' not found");
-          }
-          ObjId[] parents;
-          if (respectMergeParents()) {
-            List<ObjId> secondary = commit.secondaryParents();
-            parents = new ObjId[1 + secondary.size()];
-            int end = parents.length - 1;
-            for (int i = 0; i < end; i++) {
-              parents[i] = secondary.get(i);
-            }
-            parents[end] = commit.directParent();
-          } else {
-            parents = new ObjId[] {commit.directParent()};
-          }
-          return new ShallowCommit(commit.id(), parents, commit.seq());
-        });
+    ShallowCommit shallowCommit = commits.get(objId);
+    if (shallowCommit != null) {
+      return shallowCommit;
+    }
+
+    CommitObj commit = loadCommitWithPrefetch(objId);
+    if (commit == null) {
+      throw new NoSuchElementException("Commit '" + objId + "' not found");
+    }
+    ObjId[] parents;
+    if (respectMergeParents()) {
+      List<ObjId> secondary = commit.secondaryParents();
+      parents = new ObjId[1 + secondary.size()];
+      int end = parents.length - 1;
+      for (int i = 0; i < end; i++) {
+        parents[i] = secondary.get(i);
+      }
+      parents[end] = commit.directParent();
+    } else {
+      parents = new ObjId[] {commit.directParent()};
+    }
+    shallowCommit = new ShallowCommit(commit.id(), parents, commit.seq());
+    commits.put(objId, shallowCommit);
+
+    addPrefetchCandidates(commit);
+
+    return shallowCommit;
+  }
+
+  private CommitObj loadCommitWithPrefetch(ObjId id) {
+    CommitObj commit = prefetched.remove(id);
+    if (commit != null) {
+      return commit;
+    }
+
+    Function<ObjId[], CommitObj[]> loadCommits = loadCommits();
+    if (loadCommits != null) {
+      int batchSize = prefetchBatchSize;
+      prefetchBatchSize = Math.min(batchSize * 2, MAX_PREFETCH_BATCH_SIZE);
+
+      List<ObjId> batch = new ArrayList<>(batchSize);
+      batch.add(id);
+      while (batch.size() < batchSize && !prefetchCandidates.isEmpty()) {
+        ObjId candidate = prefetchCandidates.poll().id;
+        prefetchCandidateIds.remove(candidate);
+        if (!isLoaded(candidate) && !batch.contains(candidate)) {
+          batch.add(candidate);
+        }
+      }
+
+      CommitObj[] loaded = loadCommits.apply(batch.toArray(new ObjId[0]));
+      for (int i = 1; i < loaded.length; i++) {
+        if (loaded[i] != null) {
+          prefetched.put(batch.get(i), loaded[i]);
+        }
+      }
+      if (loaded[0] != null) {
+        return loaded[0];
+      }
+    }
+
+    return loadCommit().apply(id);
+  }
+
+  /**
+   * Memorizes the (direct) ancestors of the given commit as candidates to prefetch. The ancestors
+   * in {@link CommitObj#tail()} are ordered, so their {@link CommitObj#seq()} can be derived from
+   * the commit's {@code seq}.
+   */
+  private void addPrefetchCandidates(CommitObj commit) {
+    if (loadCommits() == null) {
+      return;
+    }
+    List<ObjId> tail = commit.tail();
+    long seq = commit.seq();
+    for (int i = 0; i < tail.size(); i++) {
+      ObjId ancestor = tail.get(i);
+      if (!EMPTY_OBJ_ID.equals(ancestor)
+          && !isLoaded(ancestor)
+          && prefetchCandidateIds.add(ancestor)) {
+        prefetchCandidates.add(new PrefetchCandidate(ancestor, seq - 1 - i));
+      }
+    }
+  }
+
+  private boolean isLoaded(ObjId id) {
+    return commits.containsKey(id) || prefetched.containsKey(id);
+  }
+
+  private static final class PrefetchCandidate {
+    final ObjId id;
+    final long seq;
+
+    PrefetchCandidate(ObjId id, long seq) {
+      this.id = id;
+      this.seq = seq;
+    }
   }
 
+  private int prefetchBatchSize = INITIAL_PREFETCH_BATCH_SIZE;
   private final Object2ObjectHashMap<ObjId, ShallowCommit> commits = new Object2ObjectHashMap<>();
+  private final Object2ObjectHashMap<ObjId, CommitObj> prefetched = new Object2ObjectHashMap<>();
+  private final Set<ObjId> prefetchCandidateIds = new HashSet<>();
+  private final PriorityQueue<PrefetchCandidate> prefetchCandidates =
+      new PriorityQueue<>(comparingLong((PrefetchCandidate c) -> c.seq).reversed());
 }
@@ -16,6 +16,8 @@
 package org.projectnessie.versioned.storage.common.persist;
 
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import org.projectnessie.versioned.storage.common.config.StoreConfig;
@@ -147,6 +149,34 @@ public interface Persist {
   @jakarta.annotation.Nonnull
   Reference[] fetchReferences(@Nonnull @jakarta.annotation.Nonnull String[] names);
 
+  /**
+   * Returns a {@link Persist} instance to be used by operations that use fetched references as the
+   * expected state of a subsequent conditional update, for example commits. References fetched via
+   * the returned instance always reflect the current state in the database and never come from a
+   * references cache.
+   *
+   * <p>Implementations that do not cache references return {@code this}.
+   */
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  default Persist forReferenceUpdates() {
+    return this;
+  }
+
+  /**
+   * Returns a {@link Persist} instance to be used by operations that fetch objects in order to
+   * update them via {@link #upsertObj(Obj)} or {@link #upsertObjs(Obj[])}. Objects fetched via the
+   * returned instance always reflect the current state in the database, for example they are never
+   * read from a read replica, which may lag behind.
+   *
+   * <p>Implementations that always read objects from the primary database return {@code this}.
+   */
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  default Persist forObjectUpdates() {
+    return this;
+  }
+
   // Objects
 
   /**
@@ -306,6 +336,101 @@ public interface Persist {
    */
   void upsertObjs(@Nonnull @jakarta.annotation.Nonnull Obj[] objs) throws ObjTooLargeException;
 
+  // Asynchronous variants
+
+  /**
+   * Asynchronous variant of {@link #updateReferencePointer(Reference, ObjId)}.
+   *
+   * <p>The returned stage completes exceptionally with a {@link RefNotFoundException} or {@link
+   * RefConditionFailedException} in the same cases in which the synchronous variant throws those.
+   *
+   * <p>Implementations for databases with asynchronous drivers issue the update without blocking
+   * the calling thread. The default implementation performs the synchronous operation and returns
+   * an already completed stage.
+   */
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  default CompletionStage<Reference> updateReferencePointerAsync(
+      @Nonnull @jakarta.annotation.Nonnull Reference reference,
+      @Nonnull @jakarta.annotation.Nonnull ObjId newPointer) {
+    try {
+      return CompletableFuture.completedFuture(updateReferencePointer(reference, newPointer));
+    } catch (RefNotFoundException | RefConditionFailedException | RuntimeException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
+  /**
+   * Asynchronous variant of {@link #fetchTypedObj(ObjId, ObjType, Class)}.
+   *
+   * <p>The returned stage completes exceptionally with an {@link ObjNotFoundException}, if no
+   * object of the requested type exists.
+   *
+   * @see #fetchObjsAsync(ObjId[])
+   */
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  default <T extends Obj> CompletionStage<T> fetchTypedObjAsync(
+      @Nonnull @jakarta.annotation.Nonnull ObjId id, ObjType type, Class<T> typeClass) {
+    try {
+      return CompletableFuture.completedFuture(fetchTypedObj(id, type, typeClass));
+    } catch (ObjNotFoundException | RuntimeException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
+  /**
+   * Asynchronous variant of {@link #fetchObjs(ObjId[])}, allows callers to overlap database I/O
+   * with other work, for example to prefetch the objects that will be needed next.
+   *
+   * <p>The returned stage completes exceptionally with an {@link ObjNotFoundException} carrying the
+   * IDs of the objects that do not exist.
+   *
+   * <p>Implementations for databases with asynchronous drivers issue the requests without blocking
+   * the calling thread. The default implementation performs the synchronous operation and returns
+   * an already completed stage.
+   */
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  default CompletionStage<Obj[]> fetchObjsAsync(@Nonnull @jakarta.annotation.Nonnull ObjId[] ids) {
+    try {
+      return CompletableFuture.completedFuture(fetchObjs(ids));
+    } catch (ObjNotFoundException | RuntimeException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
+  /**
+   * Whether {@link #fetchObjsAsync(ObjId[])} issues the requests without blocking the calling
+   * thread. Callers that only want to prefetch objects should not call {@link
+   * #fetchObjsAsync(ObjId[])} if this returns {@code false}, because the default implementation
+   * performs the fetch synchronously.
+   */
+  default boolean nativeAsyncFetches() {
+    return false;
+  }
+
+  /**
+   * Asynchronous variant of {@link #storeObjs(Obj[])}.
+   *
+   * <p>The returned stage completes exceptionally with an {@link ObjTooLargeException}, if an
+   * object exceeds a size limit.
+   *
+   * <p>Implementations for databases with asynchronous drivers issue the writes without blocking
+   * the calling thread. The default implementation performs the synchronous operation and returns
+   * an already completed stage.
+   */
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  default CompletionStage<boolean[]> storeObjsAsync(
+      @Nonnull @jakarta.annotation.Nonnull Obj[] objs) {
+    try {
+      return CompletableFuture.completedFuture(storeObjs(objs));
+    } catch (ObjTooLargeException | RuntimeException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
   /**
    * Returns an iterator over all objects that match the given predicate.
    *
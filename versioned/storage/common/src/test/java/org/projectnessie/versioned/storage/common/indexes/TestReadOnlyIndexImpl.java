@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.common.indexes;
+
+import static java.util.Collections.emptySet;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexElement.indexElement;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.lazyStoreIndex;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.newStoreIndex;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.readOnlyIndex;
+import static org.projectnessie.versioned.storage.common.indexes.StoreKey.key;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.Action.ADD;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.COMMIT_OP_SERIALIZER;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.commitOp;
+
+import java.util.Iterator;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.projectnessie.versioned.storage.common.objtypes.CommitOp;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestReadOnlyIndexImpl {
+  @InjectSoftAssertions SoftAssertions soft;
+
+  @Test
+  public void readOnly() {
+    StoreIndex<CommitOp> source = newStoreIndex(COMMIT_OP_SERIALIZER);
+    CommitOp commitOp = commitOp(ADD, 0, ObjId.randomObjId());
+    source.add(indexElement(key("a"), commitOp));
+    source.add(indexElement(key("b"), commitOp));
+    source.add(indexElement(key("c"), commitOp));
+
+    StoreIndex<CommitOp> index = readOnlyIndex(source);
+
+    soft.assertThat(index.elementCount()).isEqualTo(3);
+    soft.assertThat(index.isLoaded()).isTrue();
+    soft.assertThat(index.isModified()).isFalse();
+    soft.assertThat(index.first()).isEqualTo(key("a"));
+    soft.assertThat(index.last()).isEqualTo(key("c"));
+    soft.assertThat(index.estimatedSerializedSize()).isEqualTo(source.estimatedSerializedSize());
+    soft.assertThat(index.serialize()).isEqualTo(source.serialize());
+    soft.assertThat(index.asKeyList()).containsExactly(key("a"), key("b"), key("c"));
+    soft.assertThat(index.stripes()).containsExactly(index);
+    soft.assertThat(index.get(key("b"))).isEqualTo(indexElement(key("b"), commitOp));
+    soft.assertThat(index.get(key("foo"))).isNull();
+    soft.assertThat(index.contains(key("a"))).isTrue();
+    soft.assertThat(index.contains(key("foo"))).isFalse();
+    soft.assertThat(index)
+        .extracting(StoreIndexElement::key)
+        .containsExactly(key("a"), key("b"), key("c"));
+    soft.assertThat(index.iterator(key("b"), null, false))
+        .toIterable()
+        .extracting(StoreIndexElement::key)
+        .containsExactly(key("b"), key("c"));
+
+    soft.assertThatThrownBy(() -> index.add(indexElement(key("foo"), commitOp)))
+        .isInstanceOf(UnsupportedOperationException.class);
+    soft.assertThatThrownBy(() -> index.remove(key("a")))
+        .isInstanceOf(UnsupportedOperationException.class);
+    soft.assertThatThrownBy(() -> index.updateAll(e -> commitOp))
+        .isInstanceOf(UnsupportedOperationException.class);
+    Iterator<StoreIndexElement<CommitOp>> iter = index.iterator();
+    iter.next();
+    soft.assertThatThrownBy(iter::remove).isInstanceOf(UnsupportedOperationException.class);
+    soft.assertThat(source.elementCount()).isEqualTo(3);
+  }
+
+  @Test
+  public void stateRelated() {
+    StoreIndex<CommitOp> index = readOnlyIndex(newStoreIndex(COMMIT_OP_SERIALIZER));
+
+    soft.assertThat(index.loadIfNecessary(emptySet())).isSameAs(index);
+    soft.assertThat(index.isMutable()).isFalse();
+    soft.assertThatThrownBy(index::asMutableIndex)
+        .isInstanceOf(UnsupportedOperationException.class);
+    soft.assertThatThrownBy(() -> index.divide(3))
+        .isInstanceOf(UnsupportedOperationException.class);
+  }
+
+  @Test
+  public void notLoaded() {
+    StoreIndex<CommitOp> lazy = lazyStoreIndex(() -> newStoreIndex(COMMIT_OP_SERIALIZER));
+    soft.assertThatThrownBy(() -> readOnlyIndex(lazy))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -60,6 +60,7 @@ public class TestCommitRetry {
     CommitRetry.TryLoopState tryLoopState = new CommitRetry.TryLoopState(mockedConfig, clock);
 
     Persist persist = mock(Persist.class);
+    when(persist.forReferenceUpdates()).thenReturn(persist);
 
     AtomicInteger retryCounter = new AtomicInteger();
 
@@ -89,6 +90,7 @@ public class TestCommitRetry {
     CommitRetry.TryLoopState tryLoopState = new CommitRetry.TryLoopState(mockedConfig, clock);
 
     Persist persist = mock(Persist.class);
+    when(persist.forReferenceUpdates()).thenReturn(persist);
 
     AtomicInteger retryCounter = new AtomicInteger();
     AtomicReference<String> result = new AtomicReference<>();
@@ -119,6 +121,7 @@ public class TestCommitRetry {
     CommitRetry.TryLoopState tryLoopState = new CommitRetry.TryLoopState(mockedConfig, clock);
 
     Persist persist = mock(Persist.class);
+    when(persist.forReferenceUpdates()).thenReturn(persist);
 
     AtomicInteger retryCounter = new AtomicInteger();
     AtomicReference<String> result = new AtomicReference<>();
@@ -146,6 +149,7 @@ public class TestCommitRetry {
   public void commitRetrySuccessAfterRetryUnmocked() {
     StoreConfig config = mockedConfig(3, Long.MAX_VALUE, 1, 1000, 1);
     Persist persist = mock(Persist.class);
+    when(persist.forReferenceUpdates()).thenReturn(persist);
     when(persist.config()).thenReturn(config);
 
     AtomicInteger retryCounter = new AtomicInteger();
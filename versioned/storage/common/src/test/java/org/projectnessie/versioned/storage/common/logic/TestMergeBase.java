@@ -31,6 +31,7 @@ import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.assertj.core.api.SoftAssertions;
 import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
 import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
@@ -381,6 +382,72 @@ public class TestMergeBase {
     soft.assertThat(repo.loaded).doesNotContain(repo.root);
   }
 
+  /**
+   * Long diverged branches, commits have the "full" tail of parent commits. <code><pre>
+   *       ----B1 ... ----B200
+   *      /
+   * ----A-----C1 ... ----C200
+   * </pre></code>
+   */
+  @ParameterizedTest
+  @ValueSource(booleans = {true, false})
+  void prefetchAncestors(boolean respectMergeParents) {
+    CommitObj a = repo.add(repo.initialCommit());
+    CommitObj b = a;
+    CommitObj c = a;
+    for (int i = 1; i <= 200; i++) {
+      b = repo.add(repo.buildCommitWithTail("b" + i, b));
+      c = repo.add(repo.buildCommitWithTail("c" + i, c));
+    }
+
+    soft.assertThat(
+            MergeBase.builder()
+                .loadCommit(repo::loadCommit)
+                .loadCommits(repo::loadCommits)
+                .respectMergeParents(respectMergeParents)
+                .targetCommitId(c.id())
+                .fromCommitId(b.id())
+                .build()
+                .identifyMergeBase())
+        .isEqualTo(a.id());
+
+    soft.assertThat(repo.loaded).hasSizeGreaterThan(400);
+    // 400+ commits loaded in growing batches of up to 50 commits, not one by one
+    soft.assertThat(repo.loadCommitsCalls).hasValueLessThan(20);
+  }
+
+  /**
+   * Long history, branches diverged recently. <code><pre>
+   *                   ----B1
+   *                  /
+   * ----A1 ... ----A200----C1
+   * </pre></code>
+   */
+  @ParameterizedTest
+  @ValueSource(booleans = {true, false})
+  void prefetchAncestorsCloseMergeBase(boolean respectMergeParents) {
+    CommitObj a = repo.add(repo.initialCommit());
+    for (int i = 1; i <= 200; i++) {
+      a = repo.add(repo.buildCommitWithTail("a" + i, a));
+    }
+    CommitObj b = repo.add(repo.buildCommitWithTail("b1", a));
+    CommitObj c = repo.add(repo.buildCommitWithTail("c1", a));
+
+    soft.assertThat(
+            MergeBase.builder()
+                .loadCommit(repo::loadCommit)
+                .loadCommits(repo::loadCommits)
+                .respectMergeParents(respectMergeParents)
+                .targetCommitId(c.id())
+                .fromCommitId(b.id())
+                .build()
+                .identifyMergeBase())
+        .isEqualTo(a.id());
+
+    // the first batches are small, a close merge base does not load a lot of unneeded commits
+    soft.assertThat(repo.loaded).hasSizeLessThan(10);
+  }
+
   @Test
   void shallowCommitFlags() {
     ShallowCommit commit = new ShallowCommit(randomObjId(), new ObjId[] {randomObjId()}, 1L);
@@ -421,6 +488,7 @@ public class TestMergeBase {
   static class MockRepo {
     final Map<ObjId, CommitObj> commits = new HashMap<>();
     final Set<CommitObj> loaded = new LinkedHashSet<>();
+    final AtomicInteger loadCommitsCalls = new AtomicInteger();
     final CommitObj root;
     final CommitObj testRoot;
 
@@ -445,6 +513,15 @@ public class TestMergeBase {
       return commit;
     }
 
+    public CommitObj[] loadCommits(ObjId[] ids) {
+      loadCommitsCalls.incrementAndGet();
+      CommitObj[] r = new CommitObj[ids.length];
+      for (int i = 0; i < ids.length; i++) {
+        r[i] = loadCommit(ids[i]);
+      }
+      return r;
+    }
+
     public CommitObj loadCommit(ObjId id) {
       CommitObj c = commits.get(id);
       loaded.add(c);
@@ -459,6 +536,13 @@ public class TestMergeBase {
       return buildCommit(name, testRoot);
     }
 
+    /** Builds a commit with up to 20 ancestors in its tail, like real commits. */
+    CommitObj.Builder buildCommitWithTail(String msg, CommitObj parent) {
+      CommitObj.Builder commit = buildCommit(msg, parent);
+      parent.tail().stream().limit(19).forEach(commit::addTail);
+      return commit;
+    }
+
     CommitObj.Builder buildCommit(String msg, CommitObj parent) {
       CommitObj.Builder commit =
           commitBuilder()
@@ -43,6 +43,7 @@ dependencies {
   implementation(platform(libs.awssdk.bom))
   implementation("software.amazon.awssdk:dynamodb")
   implementation("software.amazon.awssdk:apache-client")
+  implementation("software.amazon.awssdk:netty-nio-client")
 
   compileOnly(platform(libs.testcontainers.bom))
   compileOnly("org.testcontainers:testcontainers")
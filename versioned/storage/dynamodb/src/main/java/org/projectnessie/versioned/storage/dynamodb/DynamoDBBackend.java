@@ -24,10 +24,12 @@ import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.projectnessie.versioned.storage.common.persist.Backend;
 import org.projectnessie.versioned.storage.common.persist.PersistFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.model.AttributeDefinition;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
@@ -46,10 +48,15 @@ final class DynamoDBBackend implements Backend {
   private static final Logger LOGGER = LoggerFactory.getLogger(DynamoDBBackend.class);
 
   private final DynamoDbClient client;
+  private final DynamoDbAsyncClient asyncClient;
   private final boolean closeClient;
 
-  DynamoDBBackend(@Nonnull @jakarta.annotation.Nonnull DynamoDbClient client, boolean closeClient) {
+  DynamoDBBackend(
+      @Nonnull @jakarta.annotation.Nonnull DynamoDbClient client,
+      @Nullable @jakarta.annotation.Nullable DynamoDbAsyncClient asyncClient,
+      boolean closeClient) {
     this.client = client;
+    this.asyncClient = asyncClient;
     this.closeClient = closeClient;
   }
 
@@ -59,6 +66,16 @@ final class DynamoDBBackend implements Backend {
     return client;
   }
 
+  /**
+   * The optional asynchronous client, used to issue multiple requests concurrently, for example
+   * the pages of a bulk object fetch.
+   */
+  @Nullable
+  @jakarta.annotation.Nullable
+  DynamoDbAsyncClient asyncClient() {
+    return asyncClient;
+  }
+
   @Override
   @Nonnull
   @jakarta.annotation.Nonnull
@@ -69,7 +86,13 @@ final class DynamoDBBackend implements Backend {
   @Override
   public void close() {
     if (closeClient) {
-      client.close();
+      try {
+        client.close();
+      } finally {
+        if (asyncClient != null) {
+          asyncClient.close();
+        }
+      }
     }
   }
 
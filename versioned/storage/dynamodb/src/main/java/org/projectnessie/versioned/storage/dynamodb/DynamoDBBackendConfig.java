@@ -15,13 +15,21 @@
  */
 package org.projectnessie.versioned.storage.dynamodb;
 
+import java.util.Optional;
 import org.immutables.value.Value;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 
 @Value.Immutable
 public interface DynamoDBBackendConfig {
   DynamoDbClient client();
 
+  /**
+   * Optional asynchronous client for the same DynamoDB endpoint. If present, multi-page bulk reads
+   * are issued concurrently instead of one page after the other.
+   */
+  Optional<DynamoDbAsyncClient> asyncClient();
+
   static ImmutableDynamoDBBackendConfig.Builder builder() {
     return ImmutableDynamoDBBackendConfig.builder();
   }
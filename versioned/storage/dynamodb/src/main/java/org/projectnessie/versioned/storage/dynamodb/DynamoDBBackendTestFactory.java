@@ -25,6 +25,7 @@ import org.testcontainers.containers.GenericContainer;
 import org.testcontainers.containers.output.Slf4jLogConsumer;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 
 public class DynamoDBBackendTestFactory implements BackendTestFactory {
@@ -42,18 +43,26 @@ public class DynamoDBBackendTestFactory implements BackendTestFactory {
 
   @Override
   public DynamoDBBackend createNewBackend() {
-    return new DynamoDBBackend(buildNewClient(), true);
+    return new DynamoDBBackend(buildNewClient(), buildNewAsyncClient(), true);
   }
 
   @VisibleForTesting
   DynamoDbClient buildNewClient() {
+    return clientProducer().createClient();
+  }
+
+  @VisibleForTesting
+  DynamoDbAsyncClient buildNewAsyncClient() {
+    return clientProducer().createAsyncClient();
+  }
+
+  private DynamoClientProducer clientProducer() {
     return DynamoClientProducer.builder()
         .endpointURI(endpointURI)
         .region("US_WEST_2")
         .credentialsProvider(
             StaticCredentialsProvider.create(AwsBasicCredentials.create("xxx", "xxx")))
-        .build()
-        .createClient();
+        .build();
   }
 
   @SuppressWarnings("resource")
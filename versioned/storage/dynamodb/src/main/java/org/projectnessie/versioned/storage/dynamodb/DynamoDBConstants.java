@@ -20,6 +20,13 @@ final class DynamoDBConstants {
   // This is the hard item size limit in DynamoDB
   static final int ITEM_SIZE_LIMIT = 400 * 1024;
   static final int BATCH_GET_LIMIT = 100;
+  // Maximum number of concurrent BatchGetItem requests issued by a single fetchObjs() or
+  // fetchObjsAsync() call
+  static final int MAX_CONCURRENT_BATCH_GETS = 16;
+  // Retries of "unprocessed keys" in BatchGetItem responses, exponential backoff
+  static final int BATCH_GET_MAX_RETRIES = 10;
+  static final long BATCH_GET_RETRY_INITIAL_DELAY_MILLIS = 10L;
+  static final long BATCH_GET_RETRY_MAX_DELAY_MILLIS = 1000L;
   static final int BATCH_WRITE_MAX_REQUESTS = 25;
 
   static final String TABLE_REFS = "refs";
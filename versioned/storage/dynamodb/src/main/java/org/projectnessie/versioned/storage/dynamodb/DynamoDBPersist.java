@@ -17,9 +17,12 @@ package org.projectnessie.versioned.storage.dynamodb;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
+import static java.lang.String.format;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyListIterator;
 import static java.util.Collections.singleton;
 import static java.util.Collections.singletonMap;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.projectnessie.nessie.relocated.protobuf.UnsafeByteOperations.unsafeWrap;
 import static org.projectnessie.versioned.storage.common.indexes.StoreKey.keyFromString;
 import static org.projectnessie.versioned.storage.common.objtypes.CommitHeaders.newCommitHeaders;
@@ -37,6 +40,9 @@ import static org.projectnessie.versioned.storage.common.persist.Reference.refer
 import static org.projectnessie.versioned.storage.dynamodb.DynamoDBBackend.condition;
 import static org.projectnessie.versioned.storage.dynamodb.DynamoDBBackend.keyPrefix;
 import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.BATCH_GET_LIMIT;
+import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.BATCH_GET_MAX_RETRIES;
+import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.BATCH_GET_RETRY_INITIAL_DELAY_MILLIS;
+import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.BATCH_GET_RETRY_MAX_DELAY_MILLIS;
 import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.COL_COMMIT;
 import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.COL_COMMIT_CREATED;
 import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.COL_COMMIT_HEADERS;
@@ -85,6 +91,7 @@ import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.CON
 import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.CONDITION_STORE_REF;
 import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.ITEM_SIZE_LIMIT;
 import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.KEY_NAME;
+import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.MAX_CONCURRENT_BATCH_GETS;
 import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.TABLE_OBJS;
 import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.TABLE_REFS;
 import static software.amazon.awssdk.core.SdkBytes.fromByteBuffer;
@@ -105,6 +112,10 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
@@ -137,6 +148,7 @@ import org.projectnessie.versioned.storage.common.persist.Persist;
 import org.projectnessie.versioned.storage.common.persist.Reference;
 import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
 import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
 import software.amazon.awssdk.services.dynamodb.model.Condition;
@@ -322,32 +334,25 @@ public class DynamoDBPersist implements Persist {
       Reference[] r,
       List<Map<String, AttributeValue>> keys,
       Object2IntHashMap<String> nameToIndex) {
-    Map<String, KeysAndAttributes> requestItems =
-        singletonMap(TABLE_REFS, KeysAndAttributes.builder().keys(keys).build());
-
-    BatchGetItemResponse response =
-        backend.client().batchGetItem(b -> b.requestItems(requestItems));
-
-    response
-        .responses()
-        .get(TABLE_REFS)
-        .forEach(
-            item -> {
-              String name = item.get(KEY_NAME).s().substring(keyPrefix.length());
-              String createdAtStr = attributeToString(item, COL_REFERENCES_CREATED_AT);
-              long createdAt = createdAtStr != null ? Long.parseLong(createdAtStr) : 0L;
-              Reference reference =
-                  reference(
-                      name,
-                      attributeToObjId(item, COL_REFERENCES_POINTER),
-                      attributeToBool(item, COL_REFERENCES_DELETED),
-                      createdAt,
-                      attributeToObjId(item, COL_REFERENCES_EXTENDED_INFO));
-              int idx = nameToIndex.getValue(name);
-              if (idx >= 0) {
-                r[idx] = reference;
-              }
-            });
+    batchGetItems(
+        TABLE_REFS,
+        keys,
+        item -> {
+          String name = item.get(KEY_NAME).s().substring(keyPrefix.length());
+          String createdAtStr = attributeToString(item, COL_REFERENCES_CREATED_AT);
+          long createdAt = createdAtStr != null ? Long.parseLong(createdAtStr) : 0L;
+          Reference reference =
+              reference(
+                  name,
+                  attributeToObjId(item, COL_REFERENCES_POINTER),
+                  attributeToBool(item, COL_REFERENCES_DELETED),
+                  createdAt,
+                  attributeToObjId(item, COL_REFERENCES_EXTENDED_INFO));
+          int idx = nameToIndex.getValue(name);
+          if (idx >= 0) {
+            r[idx] = reference;
+          }
+        });
   }
 
   @Override
@@ -406,67 +411,209 @@ public class DynamoDBPersist implements Persist {
   @Override
   public Obj[] fetchObjs(@Nonnull @jakarta.annotation.Nonnull ObjId[] ids)
       throws ObjNotFoundException {
-    List<Map<String, AttributeValue>> keys = new ArrayList<>(Math.min(ids.length, BATCH_GET_LIMIT));
-    Object2IntHashMap<ObjId> idToIndex =
-        new Object2IntHashMap<>(200, Hashing.DEFAULT_LOAD_FACTOR, -1);
-    Obj[] r = new Obj[ids.length];
-    for (int i = 0; i < ids.length; i++) {
-      ObjId id = ids[i];
-      if (id != null) {
-        keys.add(objKeyMap(id));
-        idToIndex.put(id, i);
-
-        if (keys.size() == BATCH_GET_LIMIT) {
-          fetchObjsPage(r, keys, idToIndex);
-          keys.clear();
-          idToIndex.clear();
+    ObjsBatchGet batchGet = new ObjsBatchGet(ids);
+
+    DynamoDbAsyncClient asyncClient = backend.asyncClient();
+    if (asyncClient != null && batchGet.pages.size() > 1) {
+      try {
+        fetchPagesAsync(asyncClient, TABLE_OBJS, batchGet.pages, batchGet).join();
+      } catch (CompletionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException) {
+          throw (RuntimeException) cause;
         }
+        throw e;
+      }
+    } else {
+      for (List<Map<String, AttributeValue>> page : batchGet.pages) {
+        batchGetItems(TABLE_OBJS, page, batchGet);
       }
     }
 
-    if (!keys.isEmpty()) {
-      fetchObjsPage(r, keys, idToIndex);
+    return batchGet.result();
+  }
+
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  @Override
+  public CompletionStage<Obj[]> fetchObjsAsync(@Nonnull @jakarta.annotation.Nonnull ObjId[] ids) {
+    DynamoDbAsyncClient asyncClient = backend.asyncClient();
+    if (asyncClient == null) {
+      return Persist.super.fetchObjsAsync(ids);
     }
 
-    List<ObjId> notFound = null;
-    for (int i = 0; i < ids.length; i++) {
-      ObjId id = ids[i];
-      if (id != null && r[i] == null) {
-        if (notFound == null) {
-          notFound = new ArrayList<>();
+    ObjsBatchGet batchGet = new ObjsBatchGet(ids);
+    return fetchPagesAsync(asyncClient, TABLE_OBJS, batchGet.pages, batchGet)
+        .thenApply(
+            x -> {
+              try {
+                return batchGet.result();
+              } catch (ObjNotFoundException e) {
+                throw new CompletionException(e);
+              }
+            });
+  }
+
+  @Override
+  public boolean nativeAsyncFetches() {
+    return backend.asyncClient() != null;
+  }
+
+  /**
+   * Collects the results of the {@code BatchGetItem} requests for the objects of a {@link
+   * #fetchObjs(ObjId[])} or {@link #fetchObjsAsync(ObjId[])} call.
+   */
+  private final class ObjsBatchGet implements Consumer<Map<String, AttributeValue>> {
+    private final ObjId[] ids;
+    private final List<List<Map<String, AttributeValue>>> pages = new ArrayList<>();
+    // Must be fully populated before the first request is issued, it is read by the SDK threads.
+    private final Object2IntHashMap<ObjId> idToIndex;
+    // Objects of different pages are written to different array indexes, the results are visible
+    // after the pages have been completed.
+    private final Obj[] r;
+
+    ObjsBatchGet(ObjId[] ids) {
+      this.ids = ids;
+      this.r = new Obj[ids.length];
+      this.idToIndex =
+          new Object2IntHashMap<>(Math.max(200, ids.length * 2), Hashing.DEFAULT_LOAD_FACTOR, -1);
+      List<Map<String, AttributeValue>> keys = null;
+      for (int i = 0; i < ids.length; i++) {
+        ObjId id = ids[i];
+        if (id != null) {
+          if (keys == null || keys.size() == BATCH_GET_LIMIT) {
+            keys = new ArrayList<>(Math.min(ids.length - i, BATCH_GET_LIMIT));
+            pages.add(keys);
+          }
+          keys.add(objKeyMap(id));
+          idToIndex.put(id, i);
         }
-        notFound.add(id);
       }
     }
-    if (notFound != null) {
-      throw new ObjNotFoundException(notFound);
+
+    @Override
+    public void accept(Map<String, AttributeValue> item) {
+      Obj obj = decomposeObj(item);
+      int idx = idToIndex.getValue(obj.id());
+      if (idx != -1) {
+        r[idx] = obj;
+      }
     }
 
-    return r;
+    Obj[] result() throws ObjNotFoundException {
+      List<ObjId> notFound = null;
+      for (int i = 0; i < ids.length; i++) {
+        ObjId id = ids[i];
+        if (id != null && r[i] == null) {
+          if (notFound == null) {
+            notFound = new ArrayList<>();
+          }
+          notFound.add(id);
+        }
+      }
+      if (notFound != null) {
+        throw new ObjNotFoundException(notFound);
+      }
+      return r;
+    }
   }
 
-  private void fetchObjsPage(
-      Obj[] r, List<Map<String, AttributeValue>> keys, Object2IntHashMap<ObjId> idToIndex) {
-
+  /**
+   * Fetches the items for the given keys using the synchronous client, retries {@link
+   * BatchGetItemResponse#unprocessedKeys() unprocessed keys} with an exponential backoff.
+   */
+  private void batchGetItems(
+      String table,
+      List<Map<String, AttributeValue>> keys,
+      Consumer<Map<String, AttributeValue>> resultConsumer) {
     Map<String, KeysAndAttributes> requestItems =
-        singletonMap(TABLE_OBJS, KeysAndAttributes.builder().keys(keys).build());
-
-    BatchGetItemResponse response =
-        backend.client().batchGetItem(b -> b.requestItems(requestItems));
-
-    response
-        .responses()
-        .get(TABLE_OBJS)
-        .forEach(
-            item -> {
-              Obj obj = decomposeObj(item);
-              int idx = idToIndex.getValue(obj.id());
-              if (idx != -1) {
-                r[idx] = obj;
+        singletonMap(table, KeysAndAttributes.builder().keys(keys).build());
+    for (int attempt = 0; ; attempt++) {
+      Map<String, KeysAndAttributes> request = requestItems;
+      BatchGetItemResponse response = backend.client().batchGetItem(b -> b.requestItems(request));
+      response.responses().getOrDefault(table, emptyList()).forEach(resultConsumer);
+
+      requestItems = response.unprocessedKeys();
+      if (requestItems == null || requestItems.isEmpty()) {
+        return;
+      }
+      try {
+        Thread.sleep(batchGetRetryDelayMillis(attempt, table, requestItems));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException(e);
+      }
+    }
+  }
+
+  /**
+   * Issues one {@code BatchGetItem} request per page using the asynchronous client, with at most
+   * {@link DynamoDBConstants#MAX_CONCURRENT_BATCH_GETS} requests in flight, so that a multi-page
+   * fetch takes roughly one round-trip instead of one round-trip per page. The pages are
+   * distributed over that many chains of requests, each chain issues its next request when the
+   * previous one has completed, so no thread is blocked while waiting for a free slot.
+   */
+  private CompletableFuture<Void> fetchPagesAsync(
+      DynamoDbAsyncClient asyncClient,
+      String table,
+      List<List<Map<String, AttributeValue>>> pages,
+      Consumer<Map<String, AttributeValue>> resultConsumer) {
+    int chains = Math.min(MAX_CONCURRENT_BATCH_GETS, pages.size());
+    CompletableFuture<?>[] futures = new CompletableFuture<?>[chains];
+    for (int c = 0; c < chains; c++) {
+      CompletableFuture<Void> chain = CompletableFuture.completedFuture(null);
+      for (int i = c; i < pages.size(); i += chains) {
+        Map<String, KeysAndAttributes> requestItems =
+            singletonMap(table, KeysAndAttributes.builder().keys(pages.get(i)).build());
+        chain =
+            chain.thenCompose(
+                x -> batchGetItemsAsync(asyncClient, table, requestItems, resultConsumer, 0));
+      }
+      futures[c] = chain;
+    }
+    return CompletableFuture.allOf(futures);
+  }
+
+  private CompletableFuture<Void> batchGetItemsAsync(
+      DynamoDbAsyncClient asyncClient,
+      String table,
+      Map<String, KeysAndAttributes> requestItems,
+      Consumer<Map<String, AttributeValue>> resultConsumer,
+      int attempt) {
+    return asyncClient
+        .batchGetItem(b -> b.requestItems(requestItems))
+        .thenCompose(
+            response -> {
+              response.responses().getOrDefault(table, emptyList()).forEach(resultConsumer);
+
+              Map<String, KeysAndAttributes> unprocessed = response.unprocessedKeys();
+              if (unprocessed == null || unprocessed.isEmpty()) {
+                return CompletableFuture.completedFuture(null);
               }
+              Executor delayed =
+                  CompletableFuture.delayedExecutor(
+                      batchGetRetryDelayMillis(attempt, table, unprocessed), MILLISECONDS);
+              return CompletableFuture.supplyAsync(() -> null, delayed)
+                  .thenCompose(
+                      x ->
+                          batchGetItemsAsync(
+                              asyncClient, table, unprocessed, resultConsumer, attempt + 1));
             });
   }
 
+  private static long batchGetRetryDelayMillis(
+      int attempt, String table, Map<String, KeysAndAttributes> unprocessed) {
+    if (attempt >= BATCH_GET_MAX_RETRIES) {
+      KeysAndAttributes keys = unprocessed.get(table);
+      throw new IllegalStateException(
+          format(
+              "DynamoDB did not process %d keys of a BatchGetItem request after %d retries",
+              keys != null ? keys.keys().size() : 0, attempt));
+    }
+    long delay = BATCH_GET_RETRY_INITIAL_DELAY_MILLIS << attempt;
+    return Math.min(delay, BATCH_GET_RETRY_MAX_DELAY_MILLIS);
+  }
+
   @Nonnull
   @jakarta.annotation.Nonnull
   @Override
@@ -15,8 +15,7 @@
  */
 package org.projectnessie.versioned.storage.jdbc;
 
-import org.projectnessie.versioned.storage.commontests.AbstractPersistTests;
 import org.projectnessie.versioned.storage.testextension.NessieBackend;
 
 @NessieBackend(CockroachBackendTestFactory.class)
-public class ITCockroachDBPersist extends AbstractPersistTests {}
+public class ITCockroachDBPersist extends AbstractJdbcPersistTests {}
@@ -15,8 +15,7 @@
  */
 package org.projectnessie.versioned.storage.jdbc;
 
-import org.projectnessie.versioned.storage.commontests.AbstractPersistTests;
 import org.projectnessie.versioned.storage.testextension.NessieBackend;
 
 @NessieBackend(PostgreSQLBackendTestFactory.class)
-public class ITPostgreSQLPersist extends AbstractPersistTests {}
+public class ITPostgreSQLPersist extends AbstractJdbcPersistTests {}
@@ -29,6 +29,10 @@ abstract class AbstractJdbcBackendTestFactory implements BackendTestFactory {
 
   protected abstract String jdbcPass();
 
+  protected boolean compactObjs() {
+    return false;
+  }
+
   @Override
   public JdbcBackend createNewBackend() throws SQLException {
     checkState(jdbcUrl() != null, "Must set JDBC URL first");
@@ -41,7 +45,8 @@ abstract class AbstractJdbcBackendTestFactory implements BackendTestFactory {
             .build()
             .createNewDataSource();
 
-    JdbcBackendConfig config = JdbcBackendConfig.builder().dataSource(dataSource).build();
+    JdbcBackendConfig config =
+        JdbcBackendConfig.builder().dataSource(dataSource).compactObjs(compactObjs()).build();
 
     DatabaseSpecific databaseSpecific = DatabaseSpecifics.detect(dataSource);
     return new JdbcBackend(config, databaseSpecific, true);
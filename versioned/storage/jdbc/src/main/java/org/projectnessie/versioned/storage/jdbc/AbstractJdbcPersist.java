@@ -34,6 +34,8 @@ import static org.projectnessie.versioned.storage.common.persist.Reference.refer
 import static org.projectnessie.versioned.storage.common.util.Closing.closeMultiple;
 import static org.projectnessie.versioned.storage.jdbc.JdbcBackend.unhandledSQLException;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.ADD_REFERENCE;
+import static org.projectnessie.versioned.storage.jdbc.SqlConstants.COLS_OBJS_PRIMARY_KEY;
+import static org.projectnessie.versioned.storage.jdbc.SqlConstants.COLS_OBJS_UPDATABLE;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.COL_COMMIT_CREATED;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.COL_COMMIT_HEADERS;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.COL_COMMIT_INCOMPLETE_INDEX;
@@ -46,6 +48,8 @@ import static org.projectnessie.versioned.storage.jdbc.SqlConstants.COL_COMMIT_S
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.COL_COMMIT_TAIL;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.COL_COMMIT_TYPE;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.COL_INDEX_INDEX;
+import static org.projectnessie.versioned.storage.jdbc.SqlConstants.COL_OBJ_DATA_IDX;
+import static org.projectnessie.versioned.storage.jdbc.SqlConstants.COL_OBJ_ID;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.COL_REF_CREATED_AT;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.COL_REF_EXTENDED_INFO;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.COL_REF_INITIAL_POINTER;
@@ -67,14 +71,18 @@ import static org.projectnessie.versioned.storage.jdbc.SqlConstants.FETCH_OBJ_TY
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.FIND_OBJS;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.FIND_OBJS_TYPED;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.FIND_REFERENCES;
+import static org.projectnessie.versioned.storage.jdbc.SqlConstants.FIND_WIDE_OBJS;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.MARK_REFERENCE_AS_DELETED;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.MAX_BATCH_SIZE;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.PURGE_REFERENCE;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.REFS_CREATED_AT_COND;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.REFS_EXTENDED_INFO_COND;
+import static org.projectnessie.versioned.storage.jdbc.SqlConstants.REWRITE_WIDE_OBJ;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.SCAN_OBJS;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.STORE_OBJ;
+import static org.projectnessie.versioned.storage.jdbc.SqlConstants.STORE_OBJ_COMPACT;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.UPDATE_REFERENCE_POINTER;
+import static org.projectnessie.versioned.storage.serialize.ProtoSerialization.serializeObj;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.AbstractIterator;
@@ -83,19 +91,23 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Types;
 import java.util.ArrayList;
 import java.util.EnumMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import org.agrona.collections.Hashing;
 import org.agrona.collections.Int2IntHashMap;
+import org.agrona.collections.IntArrayList;
 import org.agrona.collections.Object2IntHashMap;
 import org.projectnessie.nessie.relocated.protobuf.ByteString;
 import org.projectnessie.versioned.storage.common.config.StoreConfig;
@@ -125,16 +137,19 @@ import org.projectnessie.versioned.storage.common.proto.StorageTypes.HeaderEntry
 import org.projectnessie.versioned.storage.common.proto.StorageTypes.Headers;
 import org.projectnessie.versioned.storage.common.proto.StorageTypes.Stripe;
 import org.projectnessie.versioned.storage.common.proto.StorageTypes.Stripes;
+import org.projectnessie.versioned.storage.serialize.ProtoSerialization;
 
 @SuppressWarnings({"SqlDialectInspection", "SqlNoDataSourceInspection"})
 abstract class AbstractJdbcPersist implements Persist {
 
   private final StoreConfig config;
   private final DatabaseSpecific databaseSpecific;
+  private final boolean compactObjs;
 
-  AbstractJdbcPersist(DatabaseSpecific databaseSpecific, StoreConfig config) {
+  AbstractJdbcPersist(DatabaseSpecific databaseSpecific, StoreConfig config, boolean compactObjs) {
     this.config = config;
     this.databaseSpecific = databaseSpecific;
+    this.compactObjs = compactObjs;
   }
 
   @Nonnull
@@ -460,6 +475,13 @@ abstract class AbstractJdbcPersist implements Persist {
 
   private Obj deserializeObj(ResultSet rs) throws SQLException {
     ObjId id = deserializeObjId(rs, 1);
+
+    // Objects written using the compact layout
+    byte[] data = rs.getBytes(COL_OBJ_DATA_IDX);
+    if (data != null) {
+      return ProtoSerialization.deserializeObj(id, data);
+    }
+
     String objType = rs.getString(2);
     ObjType type = ObjType.valueOf(objType);
 
@@ -502,7 +524,6 @@ abstract class AbstractJdbcPersist implements Persist {
     return null;
   }
 
-  @SuppressWarnings("unchecked")
   @Nonnull
   @jakarta.annotation.Nonnull
   private boolean[] upsertObjs(
@@ -511,19 +532,176 @@ abstract class AbstractJdbcPersist implements Persist {
       boolean ignoreSoftSizeRestrictions,
       boolean insert)
       throws ObjTooLargeException {
+    int incrementalIndexSizeLimit =
+        ignoreSoftSizeRestrictions ? Integer.MAX_VALUE : effectiveIncrementalIndexSizeLimit();
+    int indexSizeLimit =
+        ignoreSoftSizeRestrictions ? Integer.MAX_VALUE : effectiveIndexSegmentSizeLimit();
+
+    String storeObj = compactObjs ? STORE_OBJ_COMPACT : STORE_OBJ;
+
+    try {
+      if (databaseSpecific.supportsBulkUpsert()) {
+        return bulkUpsertObjs(
+            conn, storeObj, objs, insert, incrementalIndexSizeLimit, indexSizeLimit);
+      }
+      return batchUpsertObjs(
+          conn, storeObj, objs, insert, incrementalIndexSizeLimit, indexSizeLimit);
+    } catch (SQLException e) {
+      if (databaseSpecific.isConstraintViolation(e)) {
+        throw new UnsupportedOperationException(
+            "The database should support a functionality like PostgreSQL's "
+                + "'ON CONFLICT DO NOTHING' for INSERT statements. For H2, enable the "
+                + "PostgreSQL Compatibility Mode.");
+      }
+      throw unhandledSQLException(e);
+    }
+  }
+
+  /**
+   * Writes the objects using multi-row {@code INSERT} statements of up to {@link
+   * SqlConstants#MAX_BATCH_SIZE} rows each. Inserts ignore existing objects and return the IDs of
+   * the actually inserted rows, upserts replace existing rows via {@code ON CONFLICT DO UPDATE}.
+   */
+  private boolean[] bulkUpsertObjs(
+      Connection conn,
+      String storeObj,
+      Obj[] objs,
+      boolean insert,
+      int incrementalIndexSizeLimit,
+      int indexSizeLimit)
+      throws SQLException, ObjTooLargeException {
+    boolean[] r = new boolean[objs.length];
+
+    List<Obj> chunk = new ArrayList<>(Math.min(objs.length, MAX_BATCH_SIZE));
+    IntArrayList chunkIndexes = new IntArrayList(Math.min(objs.length, MAX_BATCH_SIZE), -1);
+    Set<ObjId> chunkIds = new HashSet<>();
+    for (int i = 0; i < objs.length; i++) {
+      Obj obj = objs[i];
+      if (obj == null) {
+        continue;
+      }
+      ObjId id = obj.id();
+      checkArgument(id != null, "Obj to store must have a non-null ID");
+
+      // A statement must not contain the same row twice, write duplicates in the next statement
+      if (chunk.size() == MAX_BATCH_SIZE || !chunkIds.add(id)) {
+        bulkUpsertChunk(
+            conn,
+            storeObj,
+            chunk,
+            chunkIndexes,
+            insert,
+            incrementalIndexSizeLimit,
+            indexSizeLimit,
+            r);
+        chunk.clear();
+        chunkIndexes.clear();
+        chunkIds.clear();
+        chunkIds.add(id);
+      }
+
+      chunk.add(obj);
+      chunkIndexes.addInt(i);
+    }
+    if (!chunk.isEmpty()) {
+      bulkUpsertChunk(
+          conn,
+          storeObj,
+          chunk,
+          chunkIndexes,
+          insert,
+          incrementalIndexSizeLimit,
+          indexSizeLimit,
+          r);
+    }
+
+    return r;
+  }
+
+  /**
+   * Writes one chunk of objects with distinct IDs, {@code chunkIndexes} holds the indexes of the
+   * chunk's objects in the result array {@code r}.
+   */
+  private void bulkUpsertChunk(
+      Connection conn,
+      String storeObj,
+      List<Obj> chunk,
+      IntArrayList chunkIndexes,
+      boolean insert,
+      int incrementalIndexSizeLimit,
+      int indexSizeLimit,
+      boolean[] r)
+      throws SQLException, ObjTooLargeException {
+    String sql = sqlInsertMultiple(storeObj, chunk.size());
+    sql =
+        insert
+            ? databaseSpecific.wrapInsertReturning(sql, COL_OBJ_ID)
+            : databaseSpecific.wrapUpsert(sql, COLS_OBJS_PRIMARY_KEY, COLS_OBJS_UPDATABLE);
+
+    try (PreparedStatement ps = conn.prepareStatement(sql)) {
+      int idx = 1;
+      for (Obj obj : chunk) {
+        idx = bindObj(ps, idx, obj, incrementalIndexSizeLimit, indexSizeLimit);
+      }
+
+      if (insert) {
+        Object2IntHashMap<ObjId> idToIndex =
+            new Object2IntHashMap<>(chunk.size() * 2, Hashing.DEFAULT_LOAD_FACTOR, -1);
+        for (int i = 0; i < chunk.size(); i++) {
+          idToIndex.put(chunk.get(i).id(), chunkIndexes.getInt(i));
+        }
+        try (ResultSet rs = ps.executeQuery()) {
+          while (rs.next()) {
+            int i = idToIndex.getValue(deserializeObjId(rs, 1));
+            if (i != -1) {
+              r[i] = true;
+            }
+          }
+        }
+      } else {
+        ps.executeUpdate();
+        for (int i = 0; i < chunkIndexes.size(); i++) {
+          r[chunkIndexes.getInt(i)] = true;
+        }
+      }
+    }
+  }
+
+  private boolean[] batchUpsertObjs(
+      Connection conn,
+      String storeObj,
+      Obj[] objs,
+      boolean insert,
+      int incrementalIndexSizeLimit,
+      int indexSizeLimit)
+      throws SQLException, ObjTooLargeException {
     if (!insert) {
-      // Sadly an INSERT INTO ... ON CONFLICT DO UPDATE SET ... does not work with parameters in the
-      // UPDATE SET clause. Since the JDBC connection is configured with auto-commit=false, we can
-      // just DELETE the updates to be upserted and INSERT them again.
+      // Sadly an INSERT INTO ... ON CONFLICT DO UPDATE SET ... is not supported by all databases.
+      // Since the JDBC connection is configured with auto-commit=false, we can just DELETE the
+      // updates to be upserted and INSERT them again.
       deleteObjs(conn, stream(objs).map(Obj::id).toArray(ObjId[]::new));
     }
 
-    try (PreparedStatement ps = conn.prepareStatement(databaseSpecific.wrapInsert(STORE_OBJ))) {
+    try (PreparedStatement ps = conn.prepareStatement(databaseSpecific.wrapInsert(storeObj))) {
       boolean[] r = new boolean[objs.length];
 
       Int2IntHashMap batchIndexToObjIndex =
           new Int2IntHashMap(objs.length * 2, Hashing.DEFAULT_LOAD_FACTOR, -1);
 
+      // The last of the objects with the same ID wins for upserts, like for bulk upserts, the
+      // inserts of the other objects would be no-ops.
+      Object2IntHashMap<ObjId> lastIndex = null;
+      if (!insert) {
+        lastIndex = new Object2IntHashMap<>(objs.length * 2, Hashing.DEFAULT_LOAD_FACTOR, -1);
+        for (int i = 0; i < objs.length; i++) {
+          Obj obj = objs[i];
+          if (obj != null) {
+            checkArgument(obj.id() != null, "Obj to store must have a non-null ID");
+            lastIndex.put(obj.id(), i);
+          }
+        }
+      }
+
       Consumer<int[]> batchResultHandler =
           updated -> {
             for (int i = 0; i < updated.length; i++) {
@@ -539,36 +717,13 @@ abstract class AbstractJdbcPersist implements Persist {
         if (obj == null) {
           continue;
         }
-
-        ObjId id = obj.id();
-        ObjType type = obj.type();
-
-        int incrementalIndexSizeLimit =
-            ignoreSoftSizeRestrictions ? Integer.MAX_VALUE : effectiveIncrementalIndexSizeLimit();
-        int indexSizeLimit =
-            ignoreSoftSizeRestrictions ? Integer.MAX_VALUE : effectiveIndexSegmentSizeLimit();
-
-        checkArgument(id != null, "Obj to store must have a non-null ID");
-
-        checkArgument(STORE_OBJ_TYPE.containsKey(type), "Cannot serialize object type %s ", type);
-
-        //
-
-        int idx = 1;
-        ps.setString(idx++, config.repositoryId());
-        serializeObjId(ps, idx++, id);
-        ps.setString(idx++, type.name());
-
-        for (Entry<ObjType, StoreObjDesc<?>> e : STORE_OBJ_TYPE.entrySet()) {
-          if (e.getKey() == type) {
-            @SuppressWarnings("rawtypes")
-            StoreObjDesc storeType = e.getValue();
-            idx = storeType.store(ps, idx, obj, incrementalIndexSizeLimit, indexSizeLimit);
-          } else {
-            idx = e.getValue().storeNone(ps, idx);
-          }
+        if (lastIndex != null && lastIndex.getValue(obj.id()) != i) {
+          r[i] = true;
+          continue;
         }
 
+        bindObj(ps, 1, obj, incrementalIndexSizeLimit, indexSizeLimit);
+
         batchIndexToObjIndex.put(batchIndex++, i);
         ps.addBatch();
 
@@ -583,15 +738,45 @@ abstract class AbstractJdbcPersist implements Persist {
       }
 
       return r;
-    } catch (SQLException e) {
-      if (databaseSpecific.isConstraintViolation(e)) {
-        throw new UnsupportedOperationException(
-            "The database should support a functionality like PostgreSQL's "
-                + "'ON CONFLICT DO NOTHING' for INSERT statements. For H2, enable the "
-                + "PostgreSQL Compatibility Mode.");
+    }
+  }
+
+  /**
+   * Binds the parameters for one row of a {@link SqlConstants#STORE_OBJ} or {@link
+   * SqlConstants#STORE_OBJ_COMPACT} statement, starting at parameter index {@code idx}.
+   *
+   * @return the index of the next parameter
+   */
+  @SuppressWarnings("unchecked")
+  private int bindObj(
+      PreparedStatement ps, int idx, Obj obj, int incrementalIndexSizeLimit, int indexSizeLimit)
+      throws SQLException, ObjTooLargeException {
+    ObjId id = obj.id();
+    ObjType type = obj.type();
+
+    checkArgument(id != null, "Obj to store must have a non-null ID");
+
+    checkArgument(STORE_OBJ_TYPE.containsKey(type), "Cannot serialize object type %s ", type);
+
+    ps.setString(idx++, config.repositoryId());
+    serializeObjId(ps, idx++, id);
+    ps.setString(idx++, type.name());
+
+    if (compactObjs) {
+      ps.setBytes(idx++, serializeObj(obj, incrementalIndexSizeLimit, indexSizeLimit));
+      return idx;
+    }
+
+    for (Entry<ObjType, StoreObjDesc<?>> e : STORE_OBJ_TYPE.entrySet()) {
+      if (e.getKey() == type) {
+        @SuppressWarnings("rawtypes")
+        StoreObjDesc storeType = e.getValue();
+        idx = storeType.store(ps, idx, obj, incrementalIndexSizeLimit, indexSizeLimit);
+      } else {
+        idx = e.getValue().storeNone(ps, idx);
       }
-      throw unhandledSQLException(e);
     }
+    return idx;
   }
 
   protected final void deleteObj(
@@ -641,6 +826,62 @@ abstract class AbstractJdbcPersist implements Persist {
     }
   }
 
+  /**
+   * Rewrites up to {@code limit} objects with IDs greater than {@code after}, that are stored using
+   * the object type specific columns, using the compact layout. Objects that have been upserted
+   * concurrently, and are therefore already stored using the compact layout, are left untouched.
+   *
+   * @param after the value returned by the previous invocation, {@code null} to start with the
+   *     first object
+   * @param rewritten incremented by the number of rewritten objects
+   * @return the ID of the last found object, to continue with in the next invocation, or {@code
+   *     null}, if no more objects need to be rewritten
+   */
+  protected final ObjId rewriteWideObjs(
+      @Nonnull @jakarta.annotation.Nonnull Connection conn,
+      @Nullable @jakarta.annotation.Nullable ObjId after,
+      int limit,
+      @Nonnull @jakarta.annotation.Nonnull AtomicLong rewritten) {
+    checkState(compactObjs, "Compact objects layout is not enabled");
+
+    List<Obj> objs = new ArrayList<>(limit);
+    try (PreparedStatement ps = conn.prepareStatement(FIND_WIDE_OBJS)) {
+      ps.setString(1, config.repositoryId());
+      ps.setString(2, after != null ? after.toString() : "");
+      ps.setInt(3, limit);
+      try (ResultSet rs = ps.executeQuery()) {
+        while (rs.next()) {
+          objs.add(deserializeObj(rs));
+        }
+      }
+    } catch (SQLException e) {
+      throw unhandledSQLException(e);
+    }
+
+    try (PreparedStatement ps = conn.prepareStatement(REWRITE_WIDE_OBJ)) {
+      for (Obj obj : objs) {
+        ps.setBytes(1, serializeObj(obj, Integer.MAX_VALUE, Integer.MAX_VALUE));
+        ps.setString(2, config.repositoryId());
+        serializeObjId(ps, 3, obj.id());
+        ps.addBatch();
+      }
+      if (!objs.isEmpty()) {
+        for (int updated : ps.executeBatch()) {
+          if (updated > 0 || updated == Statement.SUCCESS_NO_INFO) {
+            rewritten.incrementAndGet();
+          }
+        }
+      }
+    } catch (SQLException e) {
+      throw unhandledSQLException(e);
+    } catch (ObjTooLargeException e) {
+      // cannot happen, size restrictions are not enforced
+      throw new RuntimeException(e);
+    }
+
+    return objs.size() < limit ? null : objs.get(objs.size() - 1).id();
+  }
+
   protected CloseableIterator<Obj> scanAllObjects(Connection conn, Set<ObjType> returnedObjTypes) {
     return new ScanAllObjectsIterator(conn, returnedObjTypes);
   }
@@ -1102,6 +1343,23 @@ abstract class AbstractJdbcPersist implements Persist {
     }
   }
 
+  /** Repeats the row of values of the given single-row {@code INSERT} statement. */
+  @VisibleForTesting
+  static String sqlInsertMultiple(String sql, int rows) {
+    if (rows == 1) {
+      return sql;
+    }
+    int idx = sql.indexOf(" VALUES ");
+    checkArgument(idx > 0, "SQL does not contain VALUES: %s", sql);
+    String values = sql.substring(idx + " VALUES ".length());
+    StringBuilder multi = new StringBuilder(idx + (values.length() + 1) * rows);
+    multi.append(sql, 0, idx + " VALUES ".length()).append(values);
+    for (int i = 1; i < rows; i++) {
+      multi.append(',').append(values);
+    }
+    return multi.toString();
+  }
+
   @VisibleForTesting
   static String sqlSelectMultiple(String sql, int count) {
     if (count == 1) {
@@ -16,6 +16,7 @@
 package org.projectnessie.versioned.storage.jdbc;
 
 import java.sql.SQLException;
+import java.util.List;
 import java.util.Map;
 
 public interface DatabaseSpecific {
@@ -44,4 +45,23 @@ public interface DatabaseSpecific {
   boolean isRetryTransaction(SQLException e);
 
   String wrapInsert(String sql);
+
+  /**
+   * Whether the database supports {@link #wrapUpsert(String, List, List) native upserts} and
+   * {@link #wrapInsertReturning(String, String) inserts returning the inserted rows}, both also for
+   * multi-row {@code INSERT} statements.
+   */
+  boolean supportsBulkUpsert();
+
+  /**
+   * Turns the given {@code INSERT} statement into an upsert, which replaces the values of {@code
+   * updateColumns} of existing rows that conflict on {@code conflictColumns}.
+   */
+  String wrapUpsert(String sql, List<String> conflictColumns, List<String> updateColumns);
+
+  /**
+   * Like {@link #wrapInsert(String)}, but the statement returns the value of {@code
+   * returnedColumn} for each actually inserted row.
+   */
+  String wrapInsertReturning(String sql, String returnedColumn);
 }
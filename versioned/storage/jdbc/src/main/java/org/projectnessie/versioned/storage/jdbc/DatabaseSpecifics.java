@@ -20,8 +20,10 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
 import java.util.EnumMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.sql.DataSource;
 
@@ -44,13 +46,14 @@ public final class DatabaseSpecifics {
   // choose a collation in which 'ref-    2' is sorted _after_ 'ref-   19', which is unexpected
   // and wrong for Nessie.
   public static final DatabaseSpecific POSTGRESQL_DATABASE_SPECIFIC =
-      new BasePostgresDatabaseSpecific("VARCHAR COLLATE ucs_basic");
+      new BasePostgresDatabaseSpecific("VARCHAR COLLATE ucs_basic", true);
 
   public static final DatabaseSpecific COCKROACH_DATABASE_SPECIFIC =
-      new BasePostgresDatabaseSpecific("VARCHAR");
+      new BasePostgresDatabaseSpecific("VARCHAR", true);
 
+  // H2's PostgreSQL compatibility mode supports neither ON CONFLICT DO UPDATE nor RETURNING
   public static final DatabaseSpecific H2_DATABASE_SPECIFIC =
-      new BasePostgresDatabaseSpecific("VARCHAR");
+      new BasePostgresDatabaseSpecific("VARCHAR", false);
 
   public static DatabaseSpecific detect(DataSource dataSource) {
     try (Connection conn = dataSource.getConnection()) {
@@ -88,8 +91,10 @@ public final class DatabaseSpecifics {
   static class BasePostgresDatabaseSpecific implements DatabaseSpecific {
     private final Map<JdbcColumnType, String> typeMap;
     private final Map<JdbcColumnType, Integer> typeIdMap;
+    private final boolean bulkUpsert;
 
-    BasePostgresDatabaseSpecific(String varcharType) {
+    BasePostgresDatabaseSpecific(String varcharType, boolean bulkUpsert) {
+      this.bulkUpsert = bulkUpsert;
       typeMap = new EnumMap<>(JdbcColumnType.class);
       typeIdMap = new EnumMap<>(JdbcColumnType.class);
       typeMap.put(JdbcColumnType.NAME, varcharType);
@@ -141,5 +146,24 @@ public final class DatabaseSpecifics {
     public String wrapInsert(String sql) {
       return sql + " ON CONFLICT DO NOTHING";
     }
+
+    @Override
+    public boolean supportsBulkUpsert() {
+      return bulkUpsert;
+    }
+
+    @Override
+    public String wrapUpsert(String sql, List<String> conflictColumns, List<String> updateColumns) {
+      return sql
+          + " ON CONFLICT ("
+          + String.join(", ", conflictColumns)
+          + ") DO UPDATE SET "
+          + updateColumns.stream().map(c -> c + "=EXCLUDED." + c).collect(Collectors.joining(", "));
+    }
+
+    @Override
+    public String wrapInsertReturning(String sql, String returnedColumn) {
+      return wrapInsert(sql) + " RETURNING " + returnedColumn;
+    }
   }
 }
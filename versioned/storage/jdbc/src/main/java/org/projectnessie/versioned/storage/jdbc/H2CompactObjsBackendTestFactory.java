@@ -0,0 +1,44 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.jdbc;
+
+public final class H2CompactObjsBackendTestFactory extends AbstractJdbcBackendTestFactory {
+
+  @Override
+  public String getName() {
+    return JdbcBackendFactory.NAME + "-H2-compact";
+  }
+
+  @Override
+  protected String jdbcUrl() {
+    return "jdbc:h2:mem:nessie_compact;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH";
+  }
+
+  @Override
+  protected String jdbcUser() {
+    return null;
+  }
+
+  @Override
+  protected String jdbcPass() {
+    return null;
+  }
+
+  @Override
+  protected boolean compactObjs() {
+    return true;
+  }
+}
@@ -16,10 +16,14 @@
 package org.projectnessie.versioned.storage.jdbc;
 
 import static com.google.common.base.Preconditions.checkState;
+import static java.lang.String.format;
+import static org.projectnessie.versioned.storage.common.util.Closing.closeMultiple;
 import static org.projectnessie.versioned.storage.jdbc.AbstractJdbcPersist.sqlSelectMultiple;
 import static org.projectnessie.versioned.storage.jdbc.JdbcColumnType.NAME;
 import static org.projectnessie.versioned.storage.jdbc.JdbcColumnType.OBJ_ID;
+import static org.projectnessie.versioned.storage.jdbc.JdbcColumnType.VARBINARY;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.COLS_OBJS_ALL;
+import static org.projectnessie.versioned.storage.jdbc.SqlConstants.COL_OBJ_DATA;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.COL_OBJ_ID;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.COL_REFS_DELETED;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.COL_REFS_NAME;
@@ -55,6 +59,7 @@ final class JdbcBackend implements Backend {
 
   private final DatabaseSpecific databaseSpecific;
   private final DataSource dataSource;
+  private final DataSource readReplicaDataSource;
   private final boolean closeDataSource;
   private final JdbcBackendConfig config;
 
@@ -64,6 +69,7 @@ final class JdbcBackend implements Backend {
       boolean closeDataSource) {
     this.config = config;
     this.dataSource = config.dataSource();
+    this.readReplicaDataSource = config.readReplicaDataSource().orElse(null);
     this.databaseSpecific = databaseSpecific;
     this.closeDataSource = closeDataSource;
   }
@@ -76,19 +82,27 @@ final class JdbcBackend implements Backend {
     return databaseSpecific;
   }
 
+  boolean compactObjs() {
+    return config.compactObjs();
+  }
+
   @Override
   public void close() {
     if (closeDataSource) {
       try {
-        if (dataSource instanceof AutoCloseable) {
-          ((AutoCloseable) dataSource).close();
-        }
+        closeMultiple(
+            closeable(dataSource),
+            readReplicaDataSource != dataSource ? closeable(readReplicaDataSource) : null);
       } catch (Exception e) {
         throw new RuntimeException(e);
       }
     }
   }
 
+  private static AutoCloseable closeable(DataSource dataSource) {
+    return dataSource instanceof AutoCloseable ? (AutoCloseable) dataSource : null;
+  }
+
   @Nonnull
   @jakarta.annotation.Nonnull
   @Override
@@ -97,6 +111,22 @@ final class JdbcBackend implements Backend {
   }
 
   Connection borrowConnection() throws SQLException {
+    return borrowConnection(dataSource);
+  }
+
+  boolean hasReadReplica() {
+    return readReplicaDataSource != null;
+  }
+
+  /**
+   * Borrows a connection to the read replica, must only be used to read objects, which are
+   * immutable. Returns a connection to the primary, if no read replica is configured.
+   */
+  Connection borrowReadReplicaConnection() throws SQLException {
+    return borrowConnection(hasReadReplica() ? readReplicaDataSource : dataSource);
+  }
+
+  private static Connection borrowConnection(DataSource dataSource) throws SQLException {
     Connection c = dataSource.getConnection();
     c.setAutoCommit(false);
     return c;
@@ -113,7 +143,8 @@ final class JdbcBackend implements Backend {
           CREATE_TABLE_REFS,
           Stream.of(COL_REPO_ID, COL_REFS_NAME, COL_REFS_POINTER, COL_REFS_DELETED)
               .collect(Collectors.toSet()),
-          ImmutableMap.of(COL_REPO_ID, nameTypeId, COL_REFS_NAME, nameTypeId));
+          ImmutableMap.of(COL_REPO_ID, nameTypeId, COL_REFS_NAME, nameTypeId),
+          ImmutableMap.of());
       createTableIfNotExists(
           conn,
           TABLE_OBJS,
@@ -121,7 +152,9 @@ final class JdbcBackend implements Backend {
           Stream.concat(
                   Stream.of(COL_REPO_ID), Arrays.stream(COLS_OBJS_ALL.split(",")).map(String::trim))
               .collect(Collectors.toSet()),
-          ImmutableMap.of(COL_REPO_ID, nameTypeId, COL_OBJ_ID, objIdTypeId));
+          ImmutableMap.of(COL_REPO_ID, nameTypeId, COL_OBJ_ID, objIdTypeId),
+          // Column for the compact layout, added to tables created by older Nessie versions
+          ImmutableMap.of(COL_OBJ_DATA, VARBINARY));
     } catch (SQLException e) {
       throw new RuntimeException(e);
     }
@@ -132,7 +165,8 @@ final class JdbcBackend implements Backend {
       String tableName,
       String createTable,
       Set<String> expectedColumns,
-      Map<String, Integer> expectedPrimaryKey)
+      Map<String, Integer> expectedPrimaryKey,
+      Map<String, JdbcColumnType> addableColumns)
       throws SQLException {
     Map<JdbcColumnType, String> columnTypesMap = databaseSpecific.columnTypes();
     Object[] types =
@@ -178,6 +212,18 @@ final class JdbcBackend implements Backend {
               primaryKey.keySet(),
               tableName,
               createTable);
+          for (Map.Entry<String, JdbcColumnType> add : addableColumns.entrySet()) {
+            if (!columns.containsKey(add.getKey())) {
+              // Adding a nullable column without a default value is a metadata-only change
+              st.executeUpdate(
+                  format(
+                      "ALTER TABLE %s ADD COLUMN %s %s",
+                      tableName, add.getKey(), columnTypesMap.get(add.getValue())));
+              conn.commit();
+              columns.put(add.getKey(), databaseSpecific.columnTypeIds().get(add.getValue()));
+            }
+          }
+
           checkState(
               columns.keySet().containsAll(expectedColumns),
               "Expected columns %s do not match the existing columns %s for table '%s'. DDL template:\n%s",
@@ -209,6 +255,18 @@ final class JdbcBackend implements Backend {
       }
       info.append("schema: ").append(s);
     }
+    if (hasReadReplica()) {
+      if (info.length() > 0) {
+        info.append(", ");
+      }
+      info.append("with read replica");
+    }
+    if (compactObjs()) {
+      if (info.length() > 0) {
+        info.append(", ");
+      }
+      info.append("compact objects layout");
+    }
     return info.toString();
   }
 
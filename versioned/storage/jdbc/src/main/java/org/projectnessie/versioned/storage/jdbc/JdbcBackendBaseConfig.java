@@ -16,6 +16,7 @@
 package org.projectnessie.versioned.storage.jdbc;
 
 import javax.annotation.Nullable;
+import org.immutables.value.Value;
 
 public interface JdbcBackendBaseConfig {
 
@@ -26,4 +27,15 @@ public interface JdbcBackendBaseConfig {
   @Nullable
   @jakarta.annotation.Nullable
   String schema();
+
+  /**
+   * Whether objects are written in the compact layout, as a single serialized blob per object
+   * instead of using the object type specific columns. Objects written using either layout can
+   * always be read, so this option can be enabled for existing repositories, once all Nessie
+   * instances accessing the database support the compact layout.
+   */
+  @Value.Default
+  default boolean compactObjs() {
+    return false;
+  }
 }
@@ -15,6 +15,7 @@
  */
 package org.projectnessie.versioned.storage.jdbc;
 
+import java.util.Optional;
 import javax.sql.DataSource;
 import org.immutables.value.Value;
 
@@ -23,6 +24,16 @@ public interface JdbcBackendConfig extends JdbcBackendBaseConfig {
 
   DataSource dataSource();
 
+  /**
+   * Optional data source for a read replica of {@link #dataSource()}. If present, objects are read
+   * from the replica, falling back to the primary data source if an object has not been replicated
+   * yet. Most objects are immutable once written, but some, like commits and content history
+   * objects, are updated in place: operations that update objects read them via the primary data
+   * source, see {@code Persist.forObjectUpdates()}. References are always read and updated via the
+   * primary data source.
+   */
+  Optional<DataSource> readReplicaDataSource();
+
   static ImmutableJdbcBackendConfig.Builder builder() {
     return ImmutableJdbcBackendConfig.builder();
   }
@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.jdbc;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+
+import javax.annotation.Nonnull;
+import org.projectnessie.versioned.storage.common.config.StoreConfig;
+import org.projectnessie.versioned.storage.common.persist.Backend;
+
+/**
+ * Migrates the objects of a repository that are stored using the object type specific columns to
+ * the compact layout, see {@link JdbcBackendBaseConfig#compactObjs()}.
+ */
+public final class JdbcCompactObjsMigration {
+  private JdbcCompactObjsMigration() {}
+
+  public static final int DEFAULT_BATCH_SIZE = 100;
+
+  /**
+   * Migrates all objects of the repository identified by {@link StoreConfig#repositoryId()} to the
+   * compact layout, in batches of {@code batchSize} objects per transaction.
+   *
+   * <p>The migration can be run while the repository is in use. Objects are rewritten in place, so
+   * concurrent readers see either layout of an object, but never a missing object. Running the
+   * migration again after it finished is a no-op.
+   *
+   * @param backend a JDBC backend with the compact layout enabled
+   * @return the number of migrated objects
+   * @throws IllegalArgumentException if {@code backend} is not a JDBC backend
+   * @throws IllegalStateException if the compact layout is not enabled for {@code backend}
+   */
+  public static long migrateToCompactObjs(
+      @Nonnull @jakarta.annotation.Nonnull Backend backend,
+      @Nonnull @jakarta.annotation.Nonnull StoreConfig config,
+      int batchSize) {
+    checkArgument(backend instanceof JdbcBackend, "Not a JDBC backend: %s", backend);
+    checkArgument(batchSize > 0, "batchSize must be greater than 0");
+    JdbcBackend jdbcBackend = (JdbcBackend) backend;
+    checkState(jdbcBackend.compactObjs(), "Compact objects layout is not enabled");
+
+    JdbcPersist persist = (JdbcPersist) jdbcBackend.createFactory().newPersist(config);
+    return persist.migrateToCompactObjs(batchSize);
+  }
+}
@@ -21,6 +21,7 @@ import static org.projectnessie.versioned.storage.jdbc.JdbcBackend.unhandledSQLE
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.annotation.Nonnull;
 import org.projectnessie.versioned.storage.common.config.StoreConfig;
 import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
@@ -32,15 +33,35 @@ import org.projectnessie.versioned.storage.common.persist.CloseableIterator;
 import org.projectnessie.versioned.storage.common.persist.Obj;
 import org.projectnessie.versioned.storage.common.persist.ObjId;
 import org.projectnessie.versioned.storage.common.persist.ObjType;
+import org.projectnessie.versioned.storage.common.persist.Persist;
 import org.projectnessie.versioned.storage.common.persist.Reference;
 
 class JdbcPersist extends AbstractJdbcPersist {
 
   private final JdbcBackend backend;
 
+  /**
+   * Whether objects are read from the read replica, {@code false} for instances returned by {@link
+   * #forObjectUpdates()}.
+   */
+  private final boolean readFromReplica;
+
   JdbcPersist(JdbcBackend backend, StoreConfig config) {
-    super(backend.databaseSpecific(), config);
+    this(backend, config, backend.hasReadReplica());
+  }
+
+  private JdbcPersist(JdbcBackend backend, StoreConfig config, boolean readFromReplica) {
+    super(backend.databaseSpecific(), config, backend.compactObjs());
     this.backend = backend;
+    this.readFromReplica = readFromReplica;
+  }
+
+  @Override
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  public Persist forObjectUpdates() {
+    // Upserted objects are mutable, a read replica may return an outdated state.
+    return readFromReplica ? new JdbcPersist(backend, config(), false) : this;
   }
 
   @FunctionalInterface
@@ -117,6 +138,26 @@ class JdbcPersist extends AbstractJdbcPersist {
     }
   }
 
+  /**
+   * Runs an object read against the read replica, if one is configured. Objects may not have been
+   * replicated yet, so reads that fail with {@link ObjNotFoundException} are retried against the
+   * primary. Objects that are updated via upserts may be outdated on the replica, operations that
+   * update objects read via {@link #forObjectUpdates()}.
+   */
+  private <R> R withReadReplica(SQLRunnableException<R, ObjNotFoundException> runnable)
+      throws ObjNotFoundException {
+    if (readFromReplica) {
+      try (Connection conn = backend.borrowReadReplicaConnection()) {
+        return runnable.run(conn);
+      } catch (ObjNotFoundException e) {
+        // replication lag, fall through and read from the primary
+      } catch (SQLException e) {
+        throw unhandledSQLException(e);
+      }
+    }
+    return withConnectionException(true, runnable);
+  }
+
   private <R, E1 extends Exception, E2 extends Exception> R withConnectionExceptions(
       SQLRunnableExceptions<R, E1, E2> runnable) throws E1, E2 {
     try (Connection conn = backend.borrowConnection()) {
@@ -195,7 +236,7 @@ class JdbcPersist extends AbstractJdbcPersist {
   @Nonnull
   @jakarta.annotation.Nonnull
   public Obj fetchObj(@Nonnull @jakarta.annotation.Nonnull ObjId id) throws ObjNotFoundException {
-    return withConnectionException(true, conn -> super.fetchObj(conn, id));
+    return withReadReplica(conn -> super.fetchObj(conn, id));
   }
 
   @Override
@@ -204,7 +245,7 @@ class JdbcPersist extends AbstractJdbcPersist {
   public <T extends Obj> T fetchTypedObj(
       @Nonnull @jakarta.annotation.Nonnull ObjId id, ObjType type, Class<T> typeClass)
       throws ObjNotFoundException {
-    return withConnectionException(true, conn -> super.fetchTypedObj(conn, id, type, typeClass));
+    return withReadReplica(conn -> super.fetchTypedObj(conn, id, type, typeClass));
   }
 
   @Override
@@ -212,7 +253,7 @@ class JdbcPersist extends AbstractJdbcPersist {
   @jakarta.annotation.Nonnull
   public ObjType fetchObjType(@Nonnull @jakarta.annotation.Nonnull ObjId id)
       throws ObjNotFoundException {
-    return withConnectionException(true, conn -> super.fetchObjType(conn, id));
+    return withReadReplica(conn -> super.fetchObjType(conn, id));
   }
 
   @Override
@@ -220,7 +261,7 @@ class JdbcPersist extends AbstractJdbcPersist {
   @jakarta.annotation.Nonnull
   public Obj[] fetchObjs(@Nonnull @jakarta.annotation.Nonnull ObjId[] ids)
       throws ObjNotFoundException {
-    return withConnectionException(true, conn -> super.fetchObjs(conn, ids));
+    return withReadReplica(conn -> super.fetchObjs(conn, ids));
   }
 
   @Override
@@ -260,6 +301,23 @@ class JdbcPersist extends AbstractJdbcPersist {
     withConnectionException(false, conn -> super.updateObjs(conn, objs));
   }
 
+  /**
+   * Migrates all objects of this repository that are stored using the object type specific columns
+   * to the compact layout, in batches of {@code batchSize} objects per transaction. Can be run
+   * while the repository is in use. Exposed via {@link JdbcCompactObjsMigration}.
+   *
+   * @return the number of migrated objects
+   */
+  long migrateToCompactObjs(int batchSize) {
+    AtomicLong migrated = new AtomicLong();
+    ObjId after = null;
+    do {
+      ObjId from = after;
+      after = withConnection(false, conn -> super.rewriteWideObjs(conn, from, batchSize, migrated));
+    } while (after != null);
+    return migrated.get();
+  }
+
   @Override
   public void erase() {
     backend.eraseRepositories(singleton(config().repositoryId()));
@@ -15,6 +15,11 @@
  */
 package org.projectnessie.versioned.storage.jdbc;
 
+import com.google.common.collect.ImmutableList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
 final class SqlConstants {
 
   static final int MAX_BATCH_SIZE = 50;
@@ -30,6 +35,7 @@ final class SqlConstants {
   static final String DELETE_OBJ =
       "DELETE FROM " + TABLE_OBJS + " WHERE " + COL_REPO_ID + "=? AND " + COL_OBJ_ID + "=?";
   static final String COL_OBJ_TYPE = "obj_type";
+  static final String COL_OBJ_DATA = "obj_data";
 
   static final String COLS_COMMIT =
       "c_created, c_seq, c_message, c_headers, c_reference_index, c_reference_index_stripes, c_tail, c_secondary_parents, c_incremental_index, c_incomplete_index, c_commit_type";
@@ -75,6 +81,19 @@ final class SqlConstants {
           + ",? " // INDEX
           + ")";
 
+  static final String STORE_OBJ_COMPACT =
+      "INSERT INTO "
+          + TABLE_OBJS
+          + " ("
+          + COL_REPO_ID
+          + ", "
+          + COL_OBJ_ID
+          + ", "
+          + COL_OBJ_TYPE
+          + ", "
+          + COL_OBJ_DATA
+          + ") VALUES (?,?,?,?)";
+
   static final String CREATE_TABLE_OBJS =
       "CREATE TABLE "
           + TABLE_OBJS
@@ -92,6 +111,9 @@ final class SqlConstants {
           + ",\n    i_index {4}"
           + ",\n    t_message {6}, t_headers {4}, t_signature {4}"
           + ",\n    s_content_type {0}, s_compression {0}, s_filename {0}, s_predecessors {2}, s_text {4}"
+          + ",\n    "
+          + COL_OBJ_DATA
+          + " {4}"
           + ",\n    PRIMARY KEY ("
           + COL_REPO_ID
           + ", "
@@ -231,7 +253,16 @@ final class SqlConstants {
           + ", "
           + COLS_TAG
           + ", "
-          + COLS_STRING;
+          + COLS_STRING
+          + ", "
+          + COL_OBJ_DATA;
+  static final List<String> COLS_OBJS_PRIMARY_KEY = ImmutableList.of(COL_REPO_ID, COL_OBJ_ID);
+  // All columns except the primary key columns, replaced by upserts
+  static final List<String> COLS_OBJS_UPDATABLE =
+      Arrays.stream(COLS_OBJS_ALL.split(","))
+          .map(String::trim)
+          .filter(c -> !COLS_OBJS_PRIMARY_KEY.contains(c))
+          .collect(ImmutableList.toImmutableList());
   static final int COL_COMMIT_CREATED = 3; // obj_id + obj_type before this column
   static final int COL_COMMIT_SEQ = COL_COMMIT_CREATED + 1;
   static final int COL_COMMIT_MESSAGE = COL_COMMIT_SEQ + 1;
@@ -260,6 +291,7 @@ final class SqlConstants {
   static final int COL_STRING_FILENAME = COL_STRING_COMPRESSION + 1;
   static final int COL_STRING_PREDECESSORS = COL_STRING_FILENAME + 1;
   static final int COL_STRING_TEXT = COL_STRING_PREDECESSORS + 1;
+  static final int COL_OBJ_DATA_IDX = COL_STRING_TEXT + 1;
 
   static final String FETCH_OBJ_TYPE =
       "SELECT "
@@ -285,6 +317,41 @@ final class SqlConstants {
 
   static final String FIND_OBJS_TYPED = FIND_OBJS + " AND " + COL_OBJ_TYPE + "=?";
 
+  static final String FIND_WIDE_OBJS =
+      "SELECT "
+          + COLS_OBJS_ALL
+          + " FROM "
+          + TABLE_OBJS
+          + " WHERE "
+          + COL_REPO_ID
+          + "=? AND "
+          + COL_OBJ_DATA
+          + " IS NULL AND "
+          + COL_OBJ_ID
+          + ">? ORDER BY "
+          + COL_OBJ_ID
+          + " LIMIT ?";
+
+  // Only rewrites rows that are still stored using the object type specific columns, so a
+  // concurrent upsert, which writes the compact layout, is not overwritten with a stale copy.
+  static final String REWRITE_WIDE_OBJ =
+      "UPDATE "
+          + TABLE_OBJS
+          + " SET "
+          + COL_OBJ_DATA
+          + "=?, "
+          + COLS_OBJS_UPDATABLE.stream()
+              .filter(c -> !c.equals(COL_OBJ_TYPE) && !c.equals(COL_OBJ_DATA))
+              .map(c -> c + "=NULL")
+              .collect(Collectors.joining(", "))
+          + " WHERE "
+          + COL_REPO_ID
+          + "=? AND "
+          + COL_OBJ_ID
+          + "=? AND "
+          + COL_OBJ_DATA
+          + " IS NULL";
+
   static final String SCAN_OBJS =
       "SELECT "
           + COLS_OBJS_ALL
@@ -15,10 +15,250 @@
  */
 package org.projectnessie.versioned.storage.jdbc;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.projectnessie.versioned.storage.common.objtypes.ContentValueObj.contentValue;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.randomObjId;
+import static org.projectnessie.versioned.storage.common.persist.Reference.reference;
+import static org.projectnessie.versioned.storage.jdbc.SqlConstants.COL_OBJ_DATA;
+import static org.projectnessie.versioned.storage.jdbc.SqlConstants.TABLE_OBJS;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.projectnessie.nessie.relocated.protobuf.ByteString;
+import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
+import org.projectnessie.versioned.storage.common.objtypes.ContentValueObj;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.ObjType;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+
 public class TestH2BackendFactory extends AbstractTestJdbcBackendFactory {
 
   @Override
   protected AbstractJdbcBackendTestFactory testFactory() {
     return new H2BackendTestFactory();
   }
+
+  @Test
+  public void readReplica() throws Exception {
+    DataSource primary = h2DataSource("nessie_primary");
+    DataSource replica = h2DataSource("nessie_replica");
+
+    try (JdbcBackend replicaOnly =
+            new JdbcBackend(
+                JdbcBackendConfig.builder().dataSource(replica).build(),
+                DatabaseSpecifics.detect(replica),
+                false);
+        JdbcBackend backend =
+            new JdbcBackend(
+                JdbcBackendConfig.builder()
+                    .dataSource(primary)
+                    .readReplicaDataSource(replica)
+                    .build(),
+                DatabaseSpecifics.detect(primary),
+                true)) {
+      replicaOnly.setupSchema();
+      backend.setupSchema();
+
+      Persist replicaPersist = replicaOnly.createFactory().newPersist(DEFAULT_CONFIG);
+      Persist persist = backend.createFactory().newPersist(DEFAULT_CONFIG);
+
+      // Not (yet) replicated objects are read from the primary
+      ContentValueObj onPrimary = contentValue("primary", 1, ByteString.copyFromUtf8("primary"));
+      soft.assertThat(persist.storeObj(onPrimary)).isTrue();
+      soft.assertThat(persist.fetchObj(onPrimary.id())).isEqualTo(onPrimary);
+      soft.assertThat(persist.fetchObjType(onPrimary.id())).isEqualTo(ObjType.VALUE);
+      soft.assertThat(persist.fetchObjs(new ObjId[] {onPrimary.id()})).containsExactly(onPrimary);
+
+      // Objects that exist on the replica are read from the replica
+      ContentValueObj onReplica = contentValue("replica", 1, ByteString.copyFromUtf8("replica"));
+      soft.assertThat(replicaPersist.storeObj(onReplica)).isTrue();
+      soft.assertThat(persist.fetchObj(onReplica.id())).isEqualTo(onReplica);
+      soft.assertThat(persist.fetchTypedObj(onReplica.id(), ObjType.VALUE, ContentValueObj.class))
+          .isEqualTo(onReplica);
+
+      ObjId missing = randomObjId();
+      soft.assertThatThrownBy(() -> persist.fetchObj(missing))
+          .isInstanceOf(ObjNotFoundException.class);
+
+      // References are only read from the primary
+      persist.addReference(reference("refs/heads/main", onPrimary.id(), false, 42L, null));
+      soft.assertThat(persist.fetchReference("refs/heads/main")).isNotNull();
+      soft.assertThat(replicaPersist.fetchReference("refs/heads/main")).isNull();
+
+      // Objects that are updated in place are read from the primary for updates
+      ObjId upserted = randomObjId();
+      ContentValueObj outdated =
+          contentValue(upserted, "upserted", 1, ByteString.copyFromUtf8("outdated"));
+      ContentValueObj current =
+          contentValue(upserted, "upserted", 1, ByteString.copyFromUtf8("current"));
+      replicaPersist.upsertObj(outdated);
+      persist.upsertObj(current);
+      soft.assertThat(persist.fetchObj(upserted)).isEqualTo(outdated);
+      Persist forUpdates = persist.forObjectUpdates();
+      soft.assertThat(forUpdates).isNotSameAs(persist);
+      soft.assertThat(forUpdates.fetchObj(upserted)).isEqualTo(current);
+      soft.assertThat(forUpdates.fetchObjs(new ObjId[] {upserted})).containsExactly(current);
+      soft.assertThat(replicaPersist.forObjectUpdates()).isSameAs(replicaPersist);
+
+      soft.assertThat(backend.configInfo()).contains("read replica");
+    }
+  }
+
+  @Test
+  public void migrateToCompactObjs() throws Exception {
+    DataSource dataSource = h2DataSource("nessie_migrate");
+
+    try (JdbcBackend wide =
+            new JdbcBackend(
+                JdbcBackendConfig.builder().dataSource(dataSource).build(),
+                DatabaseSpecifics.detect(dataSource),
+                false);
+        JdbcBackend compact =
+            new JdbcBackend(
+                JdbcBackendConfig.builder().dataSource(dataSource).compactObjs(true).build(),
+                DatabaseSpecifics.detect(dataSource),
+                true)) {
+      setupLegacySchema(dataSource, wide, compact);
+
+      JdbcPersist widePersist = (JdbcPersist) wide.createFactory().newPersist(DEFAULT_CONFIG);
+      JdbcPersist compactPersist =
+          (JdbcPersist) compact.createFactory().newPersist(DEFAULT_CONFIG);
+
+      List<Obj> objs = new ArrayList<>();
+      for (int i = 0; i < 5; i++) {
+        ContentValueObj obj = contentValue("cid-" + i, 1, ByteString.copyFromUtf8("data-" + i));
+        objs.add(obj);
+        soft.assertThat((i < 3 ? widePersist : compactPersist).storeObj(obj)).isTrue();
+      }
+      ObjId[] ids = objs.stream().map(Obj::id).toArray(ObjId[]::new);
+
+      soft.assertThat(compactPersist.fetchObjs(ids)).containsExactlyElementsOf(objs);
+      soft.assertThat(widePersist.fetchObjs(ids)).containsExactlyElementsOf(objs);
+      soft.assertThat(wideObjs(dataSource)).isEqualTo(3);
+
+      soft.assertThat(compactPersist.migrateToCompactObjs(2)).isEqualTo(3L);
+      soft.assertThat(wideObjs(dataSource)).isEqualTo(0);
+      soft.assertThat(compactPersist.fetchObjs(ids)).containsExactlyElementsOf(objs);
+      soft.assertThat(widePersist.fetchObjs(ids)).containsExactlyElementsOf(objs);
+
+      soft.assertThat(compactPersist.migrateToCompactObjs(2)).isEqualTo(0L);
+      soft.assertThatIllegalStateException().isThrownBy(() -> widePersist.migrateToCompactObjs(2));
+    }
+  }
+
+  @Test
+  public void migrateToCompactObjsWhileReading() throws Exception {
+    DataSource dataSource = h2DataSource("nessie_migrate_reading");
+
+    try (JdbcBackend wide =
+            new JdbcBackend(
+                JdbcBackendConfig.builder().dataSource(dataSource).build(),
+                DatabaseSpecifics.detect(dataSource),
+                false);
+        JdbcBackend compact =
+            new JdbcBackend(
+                JdbcBackendConfig.builder().dataSource(dataSource).compactObjs(true).build(),
+                DatabaseSpecifics.detect(dataSource),
+                true)) {
+      setupLegacySchema(dataSource, wide, compact);
+
+      Persist widePersist = wide.createFactory().newPersist(DEFAULT_CONFIG);
+      Persist compactPersist = compact.createFactory().newPersist(DEFAULT_CONFIG);
+
+      List<Obj> objs = new ArrayList<>();
+      for (int i = 0; i < 500; i++) {
+        ContentValueObj obj = contentValue("cid-" + i, 1, ByteString.copyFromUtf8("data-" + i));
+        objs.add(obj);
+      }
+      soft.assertThat(widePersist.storeObjs(objs.toArray(new Obj[0]))).doesNotContain(false);
+      ObjId[] ids = objs.stream().map(Obj::id).toArray(ObjId[]::new);
+
+      // Readers using either layout must see all objects during the whole migration
+      AtomicBoolean migrated = new AtomicBoolean();
+      CountDownLatch reading = new CountDownLatch(2);
+      ExecutorService executor = Executors.newFixedThreadPool(2);
+      try {
+        List<Future<Integer>> readers = new ArrayList<>();
+        for (Persist reader : Arrays.asList(widePersist, compactPersist)) {
+          readers.add(
+              executor.submit(
+                  () -> {
+                    int reads = 0;
+                    do {
+                      try {
+                        assertThat(reader.fetchObjs(ids)).containsExactlyElementsOf(objs);
+                      } finally {
+                        if (reads++ == 0) {
+                          reading.countDown();
+                        }
+                      }
+                    } while (!migrated.get());
+                    return reads;
+                  }));
+        }
+
+        reading.await();
+        soft.assertThat(JdbcCompactObjsMigration.migrateToCompactObjs(compact, DEFAULT_CONFIG, 10))
+            .isEqualTo(objs.size());
+        migrated.set(true);
+
+        for (Future<Integer> reader : readers) {
+          soft.assertThat(reader.get()).isGreaterThan(0);
+        }
+      } finally {
+        migrated.set(true);
+        executor.shutdown();
+      }
+
+      soft.assertThat(wideObjs(dataSource)).isEqualTo(0);
+      soft.assertThat(compactPersist.fetchObjs(ids)).containsExactlyElementsOf(objs);
+      soft.assertThatIllegalStateException()
+          .isThrownBy(
+              () -> JdbcCompactObjsMigration.migrateToCompactObjs(wide, DEFAULT_CONFIG, 10));
+    }
+  }
+
+  /** Simulates an objs table created by an older Nessie version, then upgrades the schema. */
+  private static void setupLegacySchema(
+      DataSource dataSource, JdbcBackend wide, JdbcBackend compact) throws Exception {
+    wide.setupSchema();
+    try (Connection conn = dataSource.getConnection();
+        Statement st = conn.createStatement()) {
+      st.executeUpdate("ALTER TABLE " + TABLE_OBJS + " DROP COLUMN " + COL_OBJ_DATA);
+    }
+    compact.setupSchema();
+  }
+
+  private static int wideObjs(DataSource dataSource) throws Exception {
+    try (Connection conn = dataSource.getConnection();
+        Statement st = conn.createStatement();
+        ResultSet rs =
+            st.executeQuery(
+                "SELECT COUNT(*) FROM " + TABLE_OBJS + " WHERE " + COL_OBJ_DATA + " IS NULL")) {
+      rs.next();
+      return rs.getInt(1);
+    }
+  }
+
+  private static DataSource h2DataSource(String name) throws Exception {
+    return DataSourceProducer.builder()
+        .jdbcUrl(
+            "jdbc:h2:mem:"
+                + name
+                + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH")
+        .build()
+        .createNewDataSource();
+  }
 }
@@ -15,8 +15,7 @@
  */
 package org.projectnessie.versioned.storage.jdbc;
 
-import org.projectnessie.versioned.storage.commontests.AbstractPersistTests;
 import org.projectnessie.versioned.storage.testextension.NessieBackend;
 
 @NessieBackend(H2BackendTestFactory.class)
-public class TestH2Persist extends AbstractPersistTests {}
+public class TestH2Persist extends AbstractJdbcPersistTests {}
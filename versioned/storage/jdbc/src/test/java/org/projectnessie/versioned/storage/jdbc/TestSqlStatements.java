@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.jdbc;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.projectnessie.versioned.storage.jdbc.AbstractJdbcPersist.sqlInsertMultiple;
+import static org.projectnessie.versioned.storage.jdbc.AbstractJdbcPersist.sqlSelectMultiple;
+import static org.projectnessie.versioned.storage.jdbc.DatabaseSpecifics.H2_DATABASE_SPECIFIC;
+import static org.projectnessie.versioned.storage.jdbc.DatabaseSpecifics.POSTGRESQL_DATABASE_SPECIFIC;
+
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestSqlStatements {
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  @Test
+  public void selectMultiple() {
+    soft.assertThat(sqlSelectMultiple("SELECT a FROM t WHERE b IN (?)", 1))
+        .isEqualTo("SELECT a FROM t WHERE b IN (?)");
+    soft.assertThat(sqlSelectMultiple("SELECT a FROM t WHERE b IN (?) AND c=?", 3))
+        .isEqualTo("SELECT a FROM t WHERE b IN (?,?,?) AND c=?");
+  }
+
+  @Test
+  public void insertMultiple() {
+    soft.assertThat(sqlInsertMultiple("INSERT INTO t (a, b) VALUES (?,?)", 1))
+        .isEqualTo("INSERT INTO t (a, b) VALUES (?,?)");
+    soft.assertThat(sqlInsertMultiple("INSERT INTO t (a, b) VALUES (?,?)", 3))
+        .isEqualTo("INSERT INTO t (a, b) VALUES (?,?),(?,?),(?,?)");
+    soft.assertThat(sqlInsertMultiple(SqlConstants.STORE_OBJ, 2))
+        .startsWith(SqlConstants.STORE_OBJ + ",(?,?,? ");
+  }
+
+  @Test
+  public void upsert() {
+    soft.assertThat(POSTGRESQL_DATABASE_SPECIFIC.supportsBulkUpsert()).isTrue();
+    soft.assertThat(H2_DATABASE_SPECIFIC.supportsBulkUpsert()).isFalse();
+
+    soft.assertThat(
+            POSTGRESQL_DATABASE_SPECIFIC.wrapUpsert(
+                "INSERT INTO t (a, b, c) VALUES (?,?,?)", singletonList("a"), asList("b", "c")))
+        .isEqualTo(
+            "INSERT INTO t (a, b, c) VALUES (?,?,?) ON CONFLICT (a) DO UPDATE SET b=EXCLUDED.b, c=EXCLUDED.c");
+    soft.assertThat(
+            POSTGRESQL_DATABASE_SPECIFIC.wrapInsertReturning(
+                "INSERT INTO t (a, b) VALUES (?,?)", "a"))
+        .isEqualTo("INSERT INTO t (a, b) VALUES (?,?) ON CONFLICT DO NOTHING RETURNING a");
+
+    soft.assertThat(SqlConstants.COLS_OBJS_UPDATABLE)
+        .doesNotContain(SqlConstants.COL_REPO_ID, SqlConstants.COL_OBJ_ID)
+        .contains(SqlConstants.COL_OBJ_TYPE, SqlConstants.COL_OBJ_DATA);
+  }
+}
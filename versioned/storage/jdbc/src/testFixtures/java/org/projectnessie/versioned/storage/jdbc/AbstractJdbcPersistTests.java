@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.jdbc;
+
+import static org.projectnessie.versioned.storage.common.objtypes.TagObj.tag;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.randomObjId;
+
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.projectnessie.versioned.storage.common.objtypes.TagObj;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.commontests.AbstractPersistTests;
+import org.projectnessie.versioned.storage.testextension.NessiePersist;
+import org.projectnessie.versioned.storage.testextension.PersistExtension;
+
+/** Groups the common {@link Persist} tests and the JDBC specific ones. */
+public abstract class AbstractJdbcPersistTests extends AbstractPersistTests {
+
+  @Nested
+  @ExtendWith({PersistExtension.class, SoftAssertionsExtension.class})
+  public class JdbcTests {
+    @InjectSoftAssertions protected SoftAssertions soft;
+
+    @NessiePersist protected Persist persist;
+
+    @Test
+    public void storeObjsWithDuplicateIds() throws Exception {
+      ObjId id1 = randomObjId();
+      ObjId id2 = randomObjId();
+      TagObj first = tag(id1, "first", null, null);
+      TagObj second = tag(id1, "second", null, null);
+      TagObj other = tag(id2, "other", null, null);
+
+      soft.assertThat(persist.storeObjs(new Obj[] {first, other, second, first}))
+          .containsExactly(true, true, false, false);
+      soft.assertThat(persist.fetchObj(id1)).isEqualTo(first);
+      soft.assertThat(persist.fetchObj(id2)).isEqualTo(other);
+
+      soft.assertThat(persist.storeObjs(new Obj[] {second, second, other}))
+          .containsExactly(false, false, false);
+      soft.assertThat(persist.fetchObj(id1)).isEqualTo(first);
+    }
+
+    @Test
+    public void upsertObjsWithDuplicateIds() throws Exception {
+      ObjId id1 = randomObjId();
+      ObjId id2 = randomObjId();
+      TagObj first = tag(id1, "first", null, null);
+      TagObj second = tag(id1, "second", null, null);
+      TagObj other = tag(id2, "other", null, null);
+
+      // The last object wins, like for a sequence of single upserts
+      persist.upsertObjs(new Obj[] {first, other, second});
+      soft.assertThat(persist.fetchObj(id1)).isEqualTo(second);
+      soft.assertThat(persist.fetchObj(id2)).isEqualTo(other);
+
+      persist.upsertObjs(new Obj[] {second, first, other, first});
+      soft.assertThat(persist.fetchObj(id1)).isEqualTo(first);
+      soft.assertThat(persist.fetchObj(id2)).isEqualTo(other);
+    }
+  }
+}
@@ -41,6 +41,7 @@ dependencies {
   implementation(libs.slf4j.api)
 
   implementation(libs.mongodb.driver.sync)
+  implementation(libs.mongodb.driver.reactivestreams)
 
   compileOnly(platform(libs.testcontainers.bom))
   compileOnly("org.testcontainers:mongodb")
@@ -27,6 +27,7 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.bson.Document;
 import org.bson.conversions.Bson;
 import org.projectnessie.versioned.storage.common.persist.Backend;
@@ -35,14 +36,17 @@ class MongoDBBackend implements Backend {
 
   private final MongoDBBackendConfig config;
   private final MongoClient client;
+  private final com.mongodb.reactivestreams.client.MongoClient asyncClient;
   private final boolean closeClient;
   private MongoCollection<Document> refs;
   private MongoCollection<Document> objs;
+  private com.mongodb.reactivestreams.client.MongoCollection<Document> asyncObjs;
 
   MongoDBBackend(
       @Nonnull @jakarta.annotation.Nonnull MongoDBBackendConfig config, boolean closeClient) {
     this.config = config;
     this.client = config.client();
+    this.asyncClient = config.asyncClient().orElse(null);
     this.closeClient = closeClient;
   }
 
@@ -58,6 +62,13 @@ class MongoDBBackend implements Backend {
     return objs;
   }
 
+  /** The objects collection of the reactive streams client, if configured. */
+  @Nullable
+  @jakarta.annotation.Nullable
+  com.mongodb.reactivestreams.client.MongoCollection<Document> asyncObjs() {
+    return asyncObjs;
+  }
+
   private synchronized void initialize() {
     if (refs == null) {
       String databaseName = config.databaseName();
@@ -66,6 +77,9 @@ class MongoDBBackend implements Backend {
 
       refs = database.getCollection(TABLE_REFS);
       objs = database.getCollection(TABLE_OBJS);
+      if (asyncClient != null) {
+        asyncObjs = asyncClient.getDatabase(databaseName).getCollection(TABLE_OBJS);
+      }
     }
   }
 
@@ -80,7 +94,13 @@ class MongoDBBackend implements Backend {
   @Override
   public synchronized void close() {
     if (closeClient) {
-      client.close();
+      try {
+        client.close();
+      } finally {
+        if (asyncClient != null) {
+          asyncClient.close();
+        }
+      }
     }
   }
 
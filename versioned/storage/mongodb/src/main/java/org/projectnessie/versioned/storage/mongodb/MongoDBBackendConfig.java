@@ -16,6 +16,7 @@
 package org.projectnessie.versioned.storage.mongodb;
 
 import com.mongodb.client.MongoClient;
+import java.util.Optional;
 import org.immutables.value.Value;
 
 @Value.Immutable
@@ -23,6 +24,12 @@ public interface MongoDBBackendConfig extends MongoDBBackendBaseConfig {
 
   MongoClient client();
 
+  /**
+   * Optional reactive streams client for the same deployment as {@link #client()}, used for
+   * non-blocking object fetches and stores.
+   */
+  Optional<com.mongodb.reactivestreams.client.MongoClient> asyncClient();
+
   static ImmutableMongoDBBackendConfig.Builder builder() {
     return ImmutableMongoDBBackendConfig.builder();
   }
@@ -82,10 +82,12 @@ public class MongoDBBackendTestFactory implements BackendTestFactory {
 
   @Override
   public MongoDBBackend createNewBackend() {
-    MongoClient client = buildNewClient();
-
     MongoDBBackendConfig config =
-        MongoDBBackendConfig.builder().databaseName(MONGO_DB_NAME).client(client).build();
+        MongoDBBackendConfig.builder()
+            .databaseName(MONGO_DB_NAME)
+            .client(buildNewClient())
+            .asyncClient(buildNewAsyncClient())
+            .build();
 
     return new MongoDBBackend(config, true);
   }
@@ -95,6 +97,13 @@ public class MongoDBBackendTestFactory implements BackendTestFactory {
     return MongoClientProducer.builder().connectionString(connectionString).build().createClient();
   }
 
+  com.mongodb.reactivestreams.client.MongoClient buildNewAsyncClient() {
+    return MongoClientProducer.builder()
+        .connectionString(connectionString)
+        .build()
+        .createAsyncClient();
+  }
+
   public String getDatabaseName() {
     return MONGO_DB_NAME;
   }
@@ -26,6 +26,7 @@ import static com.mongodb.client.model.Filters.not;
 import static com.mongodb.client.model.Updates.set;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singleton;
+import static java.util.function.Function.identity;
 import static java.util.stream.Collectors.toList;
 import static org.projectnessie.nessie.relocated.protobuf.UnsafeByteOperations.unsafeWrap;
 import static org.projectnessie.versioned.storage.common.indexes.StoreKey.keyFromString;
@@ -109,6 +110,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
@@ -141,6 +145,9 @@ import org.projectnessie.versioned.storage.common.persist.ObjId;
 import org.projectnessie.versioned.storage.common.persist.ObjType;
 import org.projectnessie.versioned.storage.common.persist.Persist;
 import org.projectnessie.versioned.storage.common.persist.Reference;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
 
 public class MongoDBPersist implements Persist {
   private static final Map<ObjType, StoreObjDesc<?>> STORE_OBJ_TYPE = new EnumMap<>(ObjType.class);
@@ -450,48 +457,131 @@ public class MongoDBPersist implements Persist {
   @Override
   public Obj[] fetchObjs(@Nonnull @jakarta.annotation.Nonnull ObjId[] ids)
       throws ObjNotFoundException {
-    List<Document> list = new ArrayList<>(ids.length);
-    Object2IntHashMap<ObjId> idToIndex =
-        new Object2IntHashMap<>(ids.length * 2, Hashing.DEFAULT_LOAD_FACTOR, -1);
-    Obj[] r = new Obj[ids.length];
-    for (int i = 0; i < ids.length; i++) {
-      ObjId id = ids[i];
-      if (id != null) {
-        list.add(idObjDoc(id));
-        idToIndex.put(id, i);
-      }
+    ObjsFetch fetch = new ObjsFetch(ids);
+    if (!fetch.keys.isEmpty()) {
+      backend.objs().find(in(ID_PROPERTY_NAME, fetch.keys)).forEach(fetch);
     }
+    return fetch.result();
+  }
 
-    if (!list.isEmpty()) {
-      fetchObjsPage(r, list, idToIndex);
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  @Override
+  public CompletionStage<Obj[]> fetchObjsAsync(@Nonnull @jakarta.annotation.Nonnull ObjId[] ids) {
+    com.mongodb.reactivestreams.client.MongoCollection<Document> asyncObjs = backend.asyncObjs();
+    if (asyncObjs == null) {
+      return Persist.super.fetchObjsAsync(ids);
     }
 
-    List<ObjId> notFound = null;
-    for (int i = 0; i < ids.length; i++) {
-      ObjId id = ids[i];
-      if (r[i] == null && id != null) {
-        if (notFound == null) {
-          notFound = new ArrayList<>();
+    ObjsFetch fetch = new ObjsFetch(ids);
+    CompletableFuture<Void> found =
+        fetch.keys.isEmpty()
+            ? CompletableFuture.completedFuture(null)
+            : subscribe(asyncObjs.find(in(ID_PROPERTY_NAME, fetch.keys)), fetch);
+    return found.thenApply(
+        x -> {
+          try {
+            return fetch.result();
+          } catch (ObjNotFoundException e) {
+            throw new CompletionException(e);
+          }
+        });
+  }
+
+  @Override
+  public boolean nativeAsyncFetches() {
+    return backend.asyncObjs() != null;
+  }
+
+  /**
+   * Collects the documents of the objects of a {@link #fetchObjs(ObjId[])} or {@link
+   * #fetchObjsAsync(ObjId[])} call.
+   */
+  private final class ObjsFetch implements Consumer<Document> {
+    private final ObjId[] ids;
+    private final List<Document> keys;
+    private final Object2IntHashMap<ObjId> idToIndex;
+    private final Obj[] r;
+
+    ObjsFetch(ObjId[] ids) {
+      this.ids = ids;
+      this.keys = new ArrayList<>(ids.length);
+      this.idToIndex = new Object2IntHashMap<>(ids.length * 2, Hashing.DEFAULT_LOAD_FACTOR, -1);
+      this.r = new Obj[ids.length];
+      for (int i = 0; i < ids.length; i++) {
+        ObjId id = ids[i];
+        if (id != null) {
+          keys.add(idObjDoc(id));
+          idToIndex.put(id, i);
         }
-        notFound.add(id);
       }
     }
-    if (notFound != null) {
-      throw new ObjNotFoundException(notFound);
-    }
-
-    return r;
-  }
 
-  private void fetchObjsPage(Obj[] r, List<Document> list, Object2IntHashMap<ObjId> idToIndex) {
-    FindIterable<Document> result = backend.objs().find(in(ID_PROPERTY_NAME, list));
-    for (Document doc : result) {
+    @Override
+    public void accept(Document doc) {
       Obj obj = docToObj(doc);
       int idx = idToIndex.getValue(obj.id());
       if (idx != -1) {
         r[idx] = obj;
       }
     }
+
+    Obj[] result() throws ObjNotFoundException {
+      List<ObjId> notFound = null;
+      for (int i = 0; i < ids.length; i++) {
+        ObjId id = ids[i];
+        if (r[i] == null && id != null) {
+          if (notFound == null) {
+            notFound = new ArrayList<>();
+          }
+          notFound.add(id);
+        }
+      }
+      if (notFound != null) {
+        throw new ObjNotFoundException(notFound);
+      }
+      return r;
+    }
+  }
+
+  /**
+   * Passes all items emitted by {@code publisher} to {@code consumer}, the returned future
+   * completes when the publisher has completed.
+   */
+  private static <T> CompletableFuture<Void> subscribe(
+      Publisher<T> publisher, Consumer<? super T> consumer) {
+    CompletableFuture<Void> future = new CompletableFuture<>();
+    publisher.subscribe(
+        new Subscriber<T>() {
+          private Subscription subscription;
+
+          @Override
+          public void onSubscribe(Subscription s) {
+            subscription = s;
+            s.request(Long.MAX_VALUE);
+          }
+
+          @Override
+          public void onNext(T item) {
+            try {
+              consumer.accept(item);
+            } catch (RuntimeException e) {
+              subscription.cancel();
+              future.completeExceptionally(e);
+            }
+          }
+
+          @Override
+          public void onError(Throwable t) {
+            future.completeExceptionally(t);
+          }
+
+          @Override
+          public void onComplete() {
+            future.complete(null);
+          }
+        });
+    return future;
   }
 
   @Override
@@ -516,12 +606,7 @@ public class MongoDBPersist implements Persist {
   @Override
   public boolean[] storeObjs(@Nonnull @jakarta.annotation.Nonnull Obj[] objs)
       throws ObjTooLargeException {
-    List<WriteModel<Document>> docs = new ArrayList<>(objs.length);
-    for (Obj obj : objs) {
-      if (obj != null) {
-        docs.add(new InsertOneModel<>(objToDoc(obj, false)));
-      }
-    }
+    List<WriteModel<Document>> docs = insertModels(objs);
 
     boolean[] r = new boolean[objs.length];
 
@@ -529,34 +614,106 @@ public class MongoDBPersist implements Persist {
     while (!inserts.isEmpty()) {
       try {
         BulkWriteResult res = backend.objs().bulkWrite(inserts);
-        for (BulkWriteInsert insert : res.getInserts()) {
-          ObjId id = objIdFromBulkWriteInsert(insert);
-          r[objIdIndex(objs, id)] = id != null;
-        }
+        applyInserts(res, objs, r);
         break;
       } catch (MongoBulkWriteException e) {
-        // Handle "insert of already existing objects".
-        //
-        // MongoDB returns a BulkWriteResult of what _would_ have succeeded. Use that information
-        // to retry the bulk write to make progress.
-        List<BulkWriteError> errs = e.getWriteErrors();
-        for (BulkWriteError err : errs) {
-          if (err.getCategory() != DUPLICATE_KEY) {
-            throw e;
-          }
-        }
-        BulkWriteResult res = e.getWriteResult();
-        inserts.clear();
-        res.getInserts().stream()
-            .map(MongoDBPersist::objIdFromBulkWriteInsert)
-            .mapToInt(id -> objIdIndex(objs, id))
-            .mapToObj(docs::get)
-            .forEach(inserts::add);
+        inserts = retryInserts(e, objs, docs);
       }
     }
     return r;
   }
 
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  @Override
+  public CompletionStage<boolean[]> storeObjsAsync(
+      @Nonnull @jakarta.annotation.Nonnull Obj[] objs) {
+    com.mongodb.reactivestreams.client.MongoCollection<Document> asyncObjs = backend.asyncObjs();
+    if (asyncObjs == null) {
+      return Persist.super.storeObjsAsync(objs);
+    }
+
+    List<WriteModel<Document>> docs;
+    try {
+      docs = insertModels(objs);
+    } catch (ObjTooLargeException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+
+    boolean[] r = new boolean[objs.length];
+    return bulkInsertAsync(asyncObjs, objs, docs, docs, r).thenApply(x -> r);
+  }
+
+  private CompletableFuture<Void> bulkInsertAsync(
+      com.mongodb.reactivestreams.client.MongoCollection<Document> asyncObjs,
+      Obj[] objs,
+      List<WriteModel<Document>> docs,
+      List<WriteModel<Document>> inserts,
+      boolean[] r) {
+    if (inserts.isEmpty()) {
+      return CompletableFuture.completedFuture(null);
+    }
+    return subscribe(asyncObjs.bulkWrite(inserts), res -> applyInserts(res, objs, r))
+        .handle(
+            (x, e) -> {
+              if (e == null) {
+                return CompletableFuture.<Void>completedFuture(null);
+              }
+              Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+              if (!(cause instanceof MongoBulkWriteException)) {
+                return CompletableFuture.<Void>failedFuture(cause);
+              }
+              try {
+                return bulkInsertAsync(
+                    asyncObjs,
+                    objs,
+                    docs,
+                    retryInserts((MongoBulkWriteException) cause, objs, docs),
+                    r);
+              } catch (MongoBulkWriteException ex) {
+                return CompletableFuture.<Void>failedFuture(ex);
+              }
+            })
+        .thenCompose(identity());
+  }
+
+  private List<WriteModel<Document>> insertModels(Obj[] objs) throws ObjTooLargeException {
+    List<WriteModel<Document>> docs = new ArrayList<>(objs.length);
+    for (Obj obj : objs) {
+      if (obj != null) {
+        docs.add(new InsertOneModel<>(objToDoc(obj, false)));
+      }
+    }
+    return docs;
+  }
+
+  private static void applyInserts(BulkWriteResult res, Obj[] objs, boolean[] r) {
+    for (BulkWriteInsert insert : res.getInserts()) {
+      ObjId id = objIdFromBulkWriteInsert(insert);
+      r[objIdIndex(objs, id)] = id != null;
+    }
+  }
+
+  /**
+   * Handles "insert of already existing objects", rethrows {@code e} for other errors.
+   *
+   * <p>MongoDB returns a {@link BulkWriteResult} of what <em>would</em> have succeeded. Use that
+   * information to retry the bulk write to make progress.
+   */
+  private static List<WriteModel<Document>> retryInserts(
+      MongoBulkWriteException e, Obj[] objs, List<WriteModel<Document>> docs) {
+    for (BulkWriteError err : e.getWriteErrors()) {
+      if (err.getCategory() != DUPLICATE_KEY) {
+        throw e;
+      }
+    }
+    return e.getWriteResult().getInserts().stream()
+        .map(MongoDBPersist::objIdFromBulkWriteInsert)
+        .mapToInt(id -> objIdIndex(objs, id))
+        .mapToObj(docs::get)
+        .collect(toList());
+  }
+
   private static ObjId objIdFromDoc(Document doc) {
     return binaryToObjId(doc.get(ID_PROPERTY_NAME, Document.class).get(COL_OBJ_ID, Binary.class));
   }
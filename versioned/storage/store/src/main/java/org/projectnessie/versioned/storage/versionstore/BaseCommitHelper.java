@@ -31,6 +31,7 @@ import static org.projectnessie.versioned.MergeResult.KeyDetails.keyDetails;
 import static org.projectnessie.versioned.storage.common.logic.CommitConflict.ConflictType.KEY_EXISTS;
 import static org.projectnessie.versioned.storage.common.logic.CommitRetry.commitRetry;
 import static org.projectnessie.versioned.storage.common.logic.Logics.commitLogic;
+import static org.projectnessie.versioned.storage.common.logic.Logics.contentHistoryLogic;
 import static org.projectnessie.versioned.storage.common.logic.Logics.indexesLogic;
 import static org.projectnessie.versioned.storage.common.persist.ObjId.EMPTY_OBJ_ID;
 import static org.projectnessie.versioned.storage.versionstore.RefMapping.commitConflictToConflict;
@@ -92,8 +93,10 @@ import org.projectnessie.versioned.storage.common.indexes.StoreIndex;
 import org.projectnessie.versioned.storage.common.indexes.StoreIndexElement;
 import org.projectnessie.versioned.storage.common.indexes.StoreKey;
 import org.projectnessie.versioned.storage.common.logic.CommitLogic;
+import org.projectnessie.versioned.storage.common.logic.CommitRetry.CommitAttempt;
 import org.projectnessie.versioned.storage.common.logic.CommitRetry.RetryException;
 import org.projectnessie.versioned.storage.common.logic.ConflictHandler.ConflictResolution;
+import org.projectnessie.versioned.storage.common.logic.ContentHistoryLogic;
 import org.projectnessie.versioned.storage.common.logic.CreateCommit;
 import org.projectnessie.versioned.storage.common.logic.IndexesLogic;
 import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
@@ -202,30 +205,46 @@ class BaseCommitHelper {
       @Nonnull @jakarta.annotation.Nonnull CommitterSupplier<I> committerSupplier,
       @Nonnull @jakarta.annotation.Nonnull CommittingFunction<R, I> committingFunction)
       throws ReferenceConflictException, ReferenceNotFoundException {
-    try {
-      return commitRetry(
-          persist,
-          (p, retryState) -> {
-            RefMapping refMapping = new RefMapping(p);
-            Reference reference;
-            try {
-              reference = refMapping.resolveNamedRef(branch);
-            } catch (ReferenceNotFoundException e) {
-              throw new CommitWrappedException(e);
-            }
+    return retryingOperation(
+        operationName,
+        persist,
+        (p, retryState) -> {
+          RefMapping refMapping = new RefMapping(p);
+          Reference reference;
+          try {
+            reference = refMapping.resolveNamedRef(branch);
+          } catch (ReferenceNotFoundException e) {
+            throw new CommitWrappedException(e);
+          }
 
-            try {
-              CommitObj head = commitLogic(p).headCommit(reference);
-              I committer =
-                  committerSupplier.newCommitter(branch, referenceHash, p, reference, head);
-              return committingFunction.perform(committer, retryState);
-            } catch (ReferenceConflictException
-                | ReferenceNotFoundException
-                | ObjNotFoundException
-                | ObjTooLargeException e) {
-              throw new CommitWrappedException(e);
-            }
-          });
+          try {
+            CommitObj head = commitLogic(p).headCommit(reference);
+            I committer = committerSupplier.newCommitter(branch, referenceHash, p, reference, head);
+            return committingFunction.perform(committer, retryState);
+          } catch (ReferenceConflictException
+              | ReferenceNotFoundException
+              | ObjNotFoundException
+              | ObjTooLargeException e) {
+            throw new CommitWrappedException(e);
+          }
+        });
+  }
+
+  /**
+   * Runs the given attempt via {@link
+   * org.projectnessie.versioned.storage.common.logic.CommitRetry#commitRetry(Persist,
+   * CommitAttempt)} and maps the exceptions to the ones declared by {@link
+   * org.projectnessie.versioned.VersionStore}. {@link ReferenceNotFoundException}s, {@link
+   * ReferenceConflictException}s and other exceptions must be wrapped in a {@link
+   * CommitWrappedException} by the attempt.
+   */
+  static <R> R retryingOperation(
+      @Nonnull @jakarta.annotation.Nonnull String operationName,
+      @Nonnull @jakarta.annotation.Nonnull Persist persist,
+      @Nonnull @jakarta.annotation.Nonnull CommitAttempt<R> attempt)
+      throws ReferenceConflictException, ReferenceNotFoundException {
+    try {
+      return commitRetry(persist, attempt);
     } catch (CommitConflictException e) {
       throw referenceConflictException(e);
     } catch (CommitWrappedException e) {
@@ -629,10 +648,15 @@ class BaseCommitHelper {
     return hasConflicts;
   }
 
+  /**
+   * Publishes the result of a merge or transplant by bumping the reference pointer to {@code
+   * newHead}, then records the given, newly stored commits in the content history index.
+   */
   MergeResult<Commit> finishMergeTransplant(
       boolean isEmpty,
       ImmutableMergeResult.Builder<Commit> mergeResult,
       ObjId newHead,
+      List<CommitObj> storedCommits,
       boolean dryRun,
       boolean hasConflicts)
       throws RetryException {
@@ -650,6 +674,11 @@ class BaseCommitHelper {
     if (!isEmpty) {
       bumpReferencePointer(newHead, Optional.empty());
       mergeResult.wasApplied(true);
+
+      ContentHistoryLogic contentHistoryLogic = contentHistoryLogic(persist);
+      for (CommitObj commit : storedCommits) {
+        contentHistoryLogic.recordCommit(commit);
+      }
     }
 
     return mergeResult.build();
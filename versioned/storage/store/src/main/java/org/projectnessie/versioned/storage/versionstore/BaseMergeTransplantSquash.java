@@ -110,15 +110,23 @@ class BaseMergeTransplantSquash extends BaseCommitHelper {
     if (!indexesLogic.commitOperations(mergeCommit).iterator().hasNext()) {
       // The squashed commit is empty, i.e. it doesn't contain any operations: don't persist it.
       return finishMergeTransplant(
-          true, mergeResult, headId(), mergeTransplantOpBase.dryRun(), hasConflicts);
+          true,
+          mergeResult,
+          headId(),
+          Collections.emptyList(),
+          mergeTransplantOpBase.dryRun(),
+          hasConflicts);
     }
 
     ObjId newHead;
+    List<CommitObj> storedCommits;
     if (mergeTransplantOpBase.dryRun() || hasConflicts) {
       newHead = headId();
+      storedCommits = Collections.emptyList();
     } else {
       CommitLogic commitLogic = commitLogic(persist);
       newHead = mergeCommit.id();
+      storedCommits = Collections.singletonList(mergeCommit);
       boolean committed = commitLogic.storeCommit(mergeCommit, objsToStore);
       if (committed) {
         mergeResult.addCreatedCommits(commitObjToCommit(mergeCommit));
@@ -126,7 +134,12 @@ class BaseMergeTransplantSquash extends BaseCommitHelper {
     }
 
     return finishMergeTransplant(
-        false, mergeResult, newHead, mergeTransplantOpBase.dryRun(), hasConflicts);
+        false,
+        mergeResult,
+        newHead,
+        storedCommits,
+        mergeTransplantOpBase.dryRun(),
+        hasConflicts);
   }
 
   private CreateCommit createSquashCommit(
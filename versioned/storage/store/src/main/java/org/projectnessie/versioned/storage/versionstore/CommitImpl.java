@@ -31,6 +31,7 @@ import static org.projectnessie.versioned.storage.common.logic.CreateCommit.Remo
 import static org.projectnessie.versioned.storage.common.logic.CreateCommit.Unchanged.commitUnchanged;
 import static org.projectnessie.versioned.storage.common.logic.CreateCommit.newCommitBuilder;
 import static org.projectnessie.versioned.storage.common.logic.Logics.commitLogic;
+import static org.projectnessie.versioned.storage.common.logic.Logics.contentHistoryLogic;
 import static org.projectnessie.versioned.storage.common.logic.Logics.indexesLogic;
 import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.contentIdMaybe;
 import static org.projectnessie.versioned.storage.common.persist.ObjId.EMPTY_OBJ_ID;
@@ -156,12 +157,30 @@ class CommitImpl extends BaseCommitHelper {
           ReferenceConflictException,
           RetryException,
           ObjTooLargeException {
-    CreateCommit.Builder commit = newCommitBuilder().parentCommitId(headId());
-    List<Obj> objectsToStore = new ArrayList<>(operations.size() + 1);
-
     CommitRetryState commitRetryState =
         retryState.map(x -> (CommitRetryState) x).orElseGet(CommitRetryState::new);
 
+    CommitObj newHead = createCommit(commitRetryState, metadata, operations, validator);
+
+    bumpReferencePointer(newHead.id(), Optional.of(commitRetryState));
+
+    return commitResult(newHead, commitRetryState, addedContents);
+  }
+
+  /**
+   * Validates the given operations against the {@link #head} commit and persists the new commit
+   * object with the {@link #head} commit as its parent, but does <em>not</em> update the reference
+   * pointer.
+   */
+  CommitObj createCommit(
+      @Nonnull @jakarta.annotation.Nonnull CommitRetryState commitRetryState,
+      @Nonnull @jakarta.annotation.Nonnull CommitMeta metadata,
+      @Nonnull @jakarta.annotation.Nonnull List<Operation> operations,
+      @Nonnull @jakarta.annotation.Nonnull CommitValidator validator)
+      throws ReferenceNotFoundException, ReferenceConflictException, ObjTooLargeException {
+    CreateCommit.Builder commit = newCommitBuilder().parentCommitId(headId());
+    List<Obj> objectsToStore = new ArrayList<>(operations.size() + 1);
+
     Consumer<Obj> valueConsumer =
         obj -> {
           if (commitRetryState.storedContents.add(obj.id())) {
@@ -193,17 +212,33 @@ class CommitImpl extends BaseCommitHelper {
           "Hash collision detected, a commit with the same parent commit, commit message, "
               + "headers/commit-metadata and operations already exists");
 
-      bumpReferencePointer(newHead.id(), Optional.of(commitRetryState));
+      return newHead;
+    } catch (CommitConflictException e) {
+      throw referenceConflictException(e);
+    } catch (ObjNotFoundException e) {
+      throw referenceNotFound(e);
+    }
+  }
+
+  /**
+   * Builds the result for a commit created via {@link #createCommit}, once it is published, and
+   * records the commit in the content history index. Recording only published commits ensures that
+   * the history index does not refer to commits that never made it to the reference.
+   */
+  CommitResult<Commit> commitResult(
+      @Nonnull @jakarta.annotation.Nonnull CommitObj newHead,
+      @Nonnull @jakarta.annotation.Nonnull CommitRetryState commitRetryState,
+      @Nonnull @jakarta.annotation.Nonnull BiConsumer<ContentKey, String> addedContents)
+      throws ReferenceNotFoundException {
+    contentHistoryLogic(persist).recordCommit(newHead);
 
-      commitRetryState.generatedContentIds.forEach(addedContents);
+    commitRetryState.generatedContentIds.forEach(addedContents);
 
+    try {
       return ImmutableCommitResult.<Commit>builder()
           .commit(contentMapping.commitObjToCommit(true, newHead))
           .targetBranch((BranchName) RefMapping.referenceToNamedRef(reference))
           .build();
-
-    } catch (CommitConflictException e) {
-      throw referenceConflictException(e);
     } catch (ObjNotFoundException e) {
       throw referenceNotFound(e);
     }
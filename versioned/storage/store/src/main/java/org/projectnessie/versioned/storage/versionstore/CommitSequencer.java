@@ -0,0 +1,358 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.versionstore;
+
+import static com.google.common.base.Throwables.throwIfUnchecked;
+import static java.util.Collections.emptyList;
+import static org.projectnessie.versioned.storage.common.logic.Logics.commitLogic;
+import static org.projectnessie.versioned.storage.versionstore.BaseCommitHelper.retryingOperation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import javax.annotation.Nonnull;
+import org.projectnessie.model.CommitMeta;
+import org.projectnessie.model.ContentKey;
+import org.projectnessie.versioned.BranchName;
+import org.projectnessie.versioned.Commit;
+import org.projectnessie.versioned.CommitResult;
+import org.projectnessie.versioned.Hash;
+import org.projectnessie.versioned.Operation;
+import org.projectnessie.versioned.ReferenceConflictException;
+import org.projectnessie.versioned.ReferenceNotFoundException;
+import org.projectnessie.versioned.VersionStore.CommitValidator;
+import org.projectnessie.versioned.storage.common.exceptions.CommitWrappedException;
+import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
+import org.projectnessie.versioned.storage.common.exceptions.ObjTooLargeException;
+import org.projectnessie.versioned.storage.common.exceptions.RefConditionFailedException;
+import org.projectnessie.versioned.storage.common.exceptions.RefNotFoundException;
+import org.projectnessie.versioned.storage.common.logic.CommitRetry.RetryException;
+import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.common.persist.Reference;
+import org.projectnessie.versioned.storage.versionstore.CommitImpl.CommitRetryState;
+
+/**
+ * Coalesces concurrent commits to the same branch within this Nessie instance, enabled via {@link
+ * org.projectnessie.versioned.storage.common.config.StoreConfig#groupCommits()}.
+ *
+ * <p>Commits to a branch are created one after another, each with the previous one as its parent,
+ * but the reference pointer is only updated once per <em>group</em> of commits. The first commit
+ * against an idle branch is published immediately. Commits that arrive while a reference pointer
+ * update is in flight are chained on top of the in-flight commits and form the next group, which
+ * is published by one of its members as soon as the previous update finished. There is no
+ * artificial delay, the "window" to collect a group is the duration of the previous update.
+ *
+ * <p>Each commit is validated and created by the calling thread, so {@link CommitValidator}s are
+ * invoked by the thread that issued the commit. A commit that fails, for example due to a
+ * conflict, does not affect the other commits. If a reference pointer update fails, because the
+ * branch has been changed by another Nessie instance or by a non-commit operation, the commits of
+ * the failed group and all commits chained on top of it are retried following the usual commit
+ * retry rules.
+ */
+final class CommitSequencer {
+  private final Map<String, BranchSequencer> branches = new ConcurrentHashMap<>();
+
+  CommitResult<Commit> commit(
+      @Nonnull @jakarta.annotation.Nonnull Persist persist,
+      @Nonnull @jakarta.annotation.Nonnull BranchName branch,
+      @Nonnull @jakarta.annotation.Nonnull Optional<Hash> referenceHash,
+      @Nonnull @jakarta.annotation.Nonnull CommitMeta metadata,
+      @Nonnull @jakarta.annotation.Nonnull List<Operation> operations,
+      @Nonnull @jakarta.annotation.Nonnull CommitValidator validator,
+      @Nonnull @jakarta.annotation.Nonnull BiConsumer<ContentKey, String> addedContents)
+      throws ReferenceNotFoundException, ReferenceConflictException {
+    BranchSequencer sequencer = acquire(branch.getName());
+    try {
+      return retryingOperation(
+          "commit",
+          persist,
+          (p, retryState) -> {
+            CommitRetryState commitRetryState =
+                retryState.map(x -> (CommitRetryState) x).orElseGet(CommitRetryState::new);
+            try {
+              return sequencer.commit(
+                  p,
+                  branch,
+                  referenceHash,
+                  commitRetryState,
+                  metadata,
+                  operations,
+                  validator,
+                  addedContents);
+            } catch (ReferenceConflictException
+                | ReferenceNotFoundException
+                | ObjNotFoundException
+                | ObjTooLargeException e) {
+              throw new CommitWrappedException(e);
+            }
+          });
+    } finally {
+      release(branch.getName());
+    }
+  }
+
+  private BranchSequencer acquire(String branchName) {
+    return branches.compute(
+        branchName,
+        (name, sequencer) -> {
+          if (sequencer == null) {
+            sequencer = new BranchSequencer();
+          }
+          sequencer.users++;
+          return sequencer;
+        });
+  }
+
+  private void release(String branchName) {
+    branches.computeIfPresent(
+        branchName, (name, sequencer) -> --sequencer.users == 0 ? null : sequencer);
+  }
+
+  enum Outcome {
+    /** The commit has been published. */
+    PUBLISHED,
+    /** The commit has not been published and must be retried. */
+    RETRY,
+    /** The reference pointer update failed with an exception. */
+    FAILED,
+    /** The receiving member has to publish its group. */
+    LEAD
+  }
+
+  static final class BranchSequencer {
+    /**
+     * Serializes the creation of the commits, which performs database I/O. Never acquired while
+     * holding {@link #lock}.
+     */
+    private final Lock creationLock = new ReentrantLock();
+
+    private final Lock lock = new ReentrantLock();
+
+    /** Number of threads using this instance, guarded by {@link CommitSequencer#branches}. */
+    int users;
+
+    /** Whether a group of commits is being published, guarded by {@link #lock}. */
+    private boolean publishing;
+
+    /**
+     * The commits waiting to be published, chained on top of the group being published, if any.
+     * Guarded by {@link #lock}.
+     */
+    private Group open;
+
+    CommitResult<Commit> commit(
+        Persist persist,
+        BranchName branch,
+        Optional<Hash> referenceHash,
+        CommitRetryState commitRetryState,
+        CommitMeta metadata,
+        List<Operation> operations,
+        CommitValidator validator,
+        BiConsumer<ContentKey, String> addedContents)
+        throws ReferenceNotFoundException,
+            ReferenceConflictException,
+            ObjNotFoundException,
+            ObjTooLargeException,
+            RetryException {
+      Member member = new Member();
+      CommitImpl commitImpl;
+      CommitObj newHead;
+      boolean leader;
+
+      // Commits are created one after another, each on top of the previous one, but without
+      // holding the lock, so that publishing the previous group is not delayed by the I/O. If the
+      // chain changed in the meantime, because a publish failed or finished, the commit is
+      // created again on top of the new chain.
+      creationLock.lock();
+      try {
+        while (true) {
+          Reference reference;
+          CommitObj head;
+          boolean wasPublishing;
+          lock.lock();
+          try {
+            wasPublishing = publishing;
+            reference = wasPublishing ? open.reference : null;
+            head = wasPublishing ? open.head : null;
+          } finally {
+            lock.unlock();
+          }
+
+          if (!wasPublishing) {
+            // Idle branch, start a new chain from the persisted reference.
+            reference = new RefMapping(persist).resolveNamedRef(branch);
+            head = commitLogic(persist).headCommit(reference);
+          }
+
+          commitImpl = new CommitImpl(branch, referenceHash, persist, reference, head);
+          newHead = commitImpl.createCommit(commitRetryState, metadata, operations, validator);
+
+          lock.lock();
+          try {
+            if (publishing == wasPublishing && (!publishing || open.head == head)) {
+              if (!publishing) {
+                open = new Group(reference, head);
+              }
+              open.members.add(member);
+              open.head = newHead;
+              leader = !publishing;
+              publishing = true;
+              break;
+            }
+          } finally {
+            lock.unlock();
+          }
+        }
+      } finally {
+        creationLock.unlock();
+      }
+
+      if (leader) {
+        publish(persist);
+      }
+
+      while (true) {
+        switch (member.await()) {
+          case PUBLISHED:
+            return commitImpl.commitResult(newHead, commitRetryState, addedContents);
+          case RETRY:
+            throw new RetryException(Optional.of(commitRetryState));
+          case FAILED:
+            throwIfUnchecked(member.failure);
+            throw new RuntimeException(member.failure);
+          case LEAD:
+            publish(persist);
+            break;
+          default:
+            throw new IllegalStateException();
+        }
+      }
+    }
+
+    /**
+     * Publishes the open group with a single reference pointer update, then signals the outcome to
+     * the group's members and hands over to the next group, if any.
+     */
+    private void publish(Persist persist) {
+      Group group;
+      lock.lock();
+      try {
+        group = open;
+        open = new Group(group.reference.forNewPointer(group.head.id()), group.head);
+      } finally {
+        lock.unlock();
+      }
+
+      Outcome outcome;
+      Throwable failure = null;
+      try {
+        persist.updateReferencePointer(group.reference, group.head.id());
+        outcome = Outcome.PUBLISHED;
+      } catch (RefConditionFailedException | RefNotFoundException e) {
+        // A retry resolves the reference again, which yields the right exception, if the
+        // reference does no longer exist.
+        outcome = Outcome.RETRY;
+      } catch (Throwable e) {
+        // Includes errors, the members of the group and the chained commits must be signalled in
+        // every case, otherwise those would wait forever.
+        outcome = Outcome.FAILED;
+        failure = e;
+      }
+
+      Member next = null;
+      List<Member> chained = emptyList();
+      lock.lock();
+      try {
+        if (outcome != Outcome.PUBLISHED) {
+          // The chained commits are based on the unpublished commits.
+          chained = open.members;
+          open = null;
+          publishing = false;
+        } else if (open.members.isEmpty()) {
+          publishing = false;
+        } else {
+          next = open.members.get(0);
+        }
+      } finally {
+        lock.unlock();
+      }
+
+      for (Member member : group.members) {
+        member.signal(outcome, failure);
+      }
+      for (Member member : chained) {
+        member.signal(Outcome.RETRY, null);
+      }
+      if (next != null) {
+        next.signal(Outcome.LEAD, null);
+      }
+    }
+  }
+
+  /** Commits that are published together, with the reference state they are based on. */
+  static final class Group {
+    final Reference reference;
+    final List<Member> members = new ArrayList<>();
+    CommitObj head;
+
+    Group(Reference reference, CommitObj head) {
+      this.reference = reference;
+      this.head = head;
+    }
+  }
+
+  static final class Member {
+    private Outcome outcome;
+    private Throwable failure;
+
+    synchronized void signal(Outcome outcome, Throwable failure) {
+      this.outcome = outcome;
+      this.failure = failure;
+      notifyAll();
+    }
+
+    /**
+     * Waits for the next outcome. Waiting is not interruptible, because the commit might already
+     * be part of a group that is being published and a handover to the next group must not get
+     * lost.
+     */
+    synchronized Outcome await() {
+      boolean interrupted = false;
+      try {
+        while (outcome == null) {
+          try {
+            wait();
+          } catch (InterruptedException e) {
+            interrupted = true;
+          }
+        }
+      } finally {
+        if (interrupted) {
+          Thread.currentThread().interrupt();
+        }
+      }
+      Outcome o = outcome;
+      outcome = null;
+      return o;
+    }
+  }
+}
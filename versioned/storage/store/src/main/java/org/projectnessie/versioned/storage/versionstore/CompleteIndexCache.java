@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.versionstore;
+
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexElement.indexElement;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.newStoreIndex;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.readOnlyIndex;
+import static org.projectnessie.versioned.storage.common.logic.Logics.indexesLogic;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.COMMIT_OP_SERIALIZER;
+
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import javax.annotation.Nonnull;
+import org.projectnessie.versioned.storage.common.config.StoreConfig;
+import org.projectnessie.versioned.storage.common.indexes.StoreIndex;
+import org.projectnessie.versioned.storage.common.indexes.StoreIndexElement;
+import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
+import org.projectnessie.versioned.storage.common.objtypes.CommitOp;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+
+/**
+ * Bounded cache of fully materialized, read-only complete key indexes of commits, enabled via
+ * {@link StoreConfig#indexCacheCapacityMb()}.
+ *
+ * <p>The complete index of a commit never changes, so cached indexes are keyed by commit ID and
+ * shared across requests. Only commits whose reference index is small enough, estimated from the
+ * number of reference index stripes, are materialized, other commits get the lazily loading index
+ * built by {@link org.projectnessie.versioned.storage.common.logic.IndexesLogic}, which only
+ * fetches the stripes that are actually needed.
+ */
+final class CompleteIndexCache {
+  private final Cache<ObjId, StoreIndex<CommitOp>> cache;
+  private final long maxIndexSize;
+
+  CompleteIndexCache(long capacityBytes) {
+    this.cache =
+        CacheBuilder.newBuilder()
+            .maximumWeight(capacityBytes)
+            .<ObjId, StoreIndex<CommitOp>>weigher((id, index) -> index.estimatedSerializedSize())
+            .build();
+    // A single segment of the cache must be able to hold a materialized index.
+    this.maxIndexSize = capacityBytes / 8;
+  }
+
+  static CompleteIndexCache forConfig(StoreConfig config) {
+    int capacityMb = config.indexCacheCapacityMb();
+    return capacityMb > 0 ? new CompleteIndexCache(capacityMb * 1024L * 1024L) : null;
+  }
+
+  /**
+   * Returns the complete index for the given commit, either a cached, read-only index or the
+   * lazily loading index built by {@link
+   * org.projectnessie.versioned.storage.common.logic.IndexesLogic#buildCompleteIndex(CommitObj,
+   * Optional)}. The returned index must not be modified.
+   */
+  StoreIndex<CommitOp> completeIndex(
+      @Nonnull @jakarta.annotation.Nonnull Persist persist,
+      @Nonnull @jakarta.annotation.Nonnull CommitObj commit) {
+    StoreIndex<CommitOp> index = cache.getIfPresent(commit.id());
+    if (index != null) {
+      return index;
+    }
+    if (!cacheable(persist, commit)) {
+      return indexesLogic(persist).buildCompleteIndex(commit, Optional.empty());
+    }
+    try {
+      return cache.get(commit.id(), () -> materialize(persist, commit));
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      Throwable cause = e.getCause();
+      Throwables.throwIfUnchecked(cause);
+      throw new RuntimeException(cause);
+    }
+  }
+
+  private boolean cacheable(Persist persist, CommitObj commit) {
+    if (commit.incompleteIndex() || commit.referenceIndex() != null) {
+      // A reference index that is not embedded in the commit has more stripes than
+      // 'max-reference-stripes-per-commit'.
+      return false;
+    }
+    long estimatedSize =
+        (long) commit.referenceIndexStripes().size() * persist.config().maxSerializedIndexSize()
+            + commit.incrementalIndex().size();
+    return estimatedSize <= maxIndexSize;
+  }
+
+  private static StoreIndex<CommitOp> materialize(Persist persist, CommitObj commit) {
+    StoreIndex<CommitOp> index = indexesLogic(persist).buildCompleteIndex(commit, Optional.empty());
+    StoreIndex<CommitOp> materialized = newStoreIndex(COMMIT_OP_SERIALIZER);
+    for (Iterator<StoreIndexElement<CommitOp>> iter = index.iterator(null, null, true);
+        iter.hasNext(); ) {
+      StoreIndexElement<CommitOp> el = iter.next();
+      materialized.add(indexElement(el.key(), el.content()));
+    }
+    return readOnlyIndex(materialized);
+  }
+}
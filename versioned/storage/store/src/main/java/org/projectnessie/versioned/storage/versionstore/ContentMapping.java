@@ -17,6 +17,7 @@ package org.projectnessie.versioned.storage.versionstore;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.collect.Maps.newHashMapWithExpectedSize;
+import static java.util.Collections.emptyMap;
 import static java.util.Objects.requireNonNull;
 import static org.projectnessie.versioned.storage.common.logic.Logics.indexesLogic;
 import static org.projectnessie.versioned.storage.common.objtypes.ContentValueObj.contentValue;
@@ -26,10 +27,12 @@ import static org.projectnessie.versioned.storage.versionstore.TypeMapping.store
 import static org.projectnessie.versioned.storage.versionstore.TypeMapping.toCommitMeta;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import javax.annotation.Nonnull;
-import org.projectnessie.model.CommitMeta;
 import org.projectnessie.model.Content;
 import org.projectnessie.model.ContentKey;
 import org.projectnessie.nessie.relocated.protobuf.ByteString;
@@ -118,17 +121,76 @@ public final class ContentMapping {
       @Nonnull @jakarta.annotation.Nonnull CommitObj commitObj,
       @Nonnull @jakarta.annotation.Nonnull ObjId commitId)
       throws ObjNotFoundException {
-    ImmutableCommit.Builder commit =
-        Commit.builder()
-            .hash(objIdToHash(commitId))
-            .parentHash(objIdToHash(commitObj.directParent()));
+    CommitBuilder commit = new CommitBuilder(commitObj, commitId);
+    if (fetchAdditionalInfo) {
+      commit.collectOperations();
+      commit.addPuts(fetchContentValues(commit.putValues));
+    }
+    return commit.build();
+  }
+
+  /**
+   * Converts multiple commits, all content values referenced by the commits' operations are
+   * fetched at once, if {@code fetchAdditionalInfo} is {@code true}.
+   */
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  public List<Commit> commitObjsToCommits(
+      boolean fetchAdditionalInfo,
+      @Nonnull @jakarta.annotation.Nonnull List<CommitObj> commitObjs)
+      throws ObjNotFoundException {
+    List<CommitBuilder> commits = new ArrayList<>(commitObjs.size());
+    Set<ObjId> valueIds = new LinkedHashSet<>();
+    for (CommitObj commitObj : commitObjs) {
+      CommitBuilder commit = new CommitBuilder(commitObj, commitObj.id());
+      if (fetchAdditionalInfo) {
+        commit.collectOperations();
+        valueIds.addAll(commit.putValues);
+      }
+      commits.add(commit);
+    }
 
-    CommitMeta commitMeta = toCommitMeta(commitObj);
+    Map<ObjId, ContentValueObj> values = fetchContentValues(valueIds);
 
-    if (fetchAdditionalInfo) {
+    List<Commit> r = new ArrayList<>(commits.size());
+    for (CommitBuilder commit : commits) {
+      commit.addPuts(values);
+      r.add(commit.build());
+    }
+    return r;
+  }
+
+  private Map<ObjId, ContentValueObj> fetchContentValues(Collection<ObjId> ids)
+      throws ObjNotFoundException {
+    if (ids.isEmpty()) {
+      return emptyMap();
+    }
+    Obj[] objs = persist.fetchObjs(ids.toArray(new ObjId[0]));
+    Map<ObjId, ContentValueObj> r = newHashMapWithExpectedSize(objs.length);
+    for (Obj obj : objs) {
+      assert obj instanceof ContentValueObj;
+      r.put(obj.id(), (ContentValueObj) obj);
+    }
+    return r;
+  }
+
+  private final class CommitBuilder {
+    final CommitObj commitObj;
+    final ImmutableCommit.Builder commit;
+    final List<ContentKey> putKeys = new ArrayList<>();
+    final List<ObjId> putValues = new ArrayList<>();
+
+    CommitBuilder(CommitObj commitObj, ObjId commitId) {
+      this.commitObj = commitObj;
+      this.commit =
+          Commit.builder()
+              .hash(objIdToHash(commitId))
+              .parentHash(objIdToHash(commitObj.directParent()));
+    }
+
+    /** Adds the {@link Delete}s and memorizes the keys and values of the {@link Put}s. */
+    void collectOperations() {
       IndexesLogic indexesLogic = indexesLogic(persist);
-      List<ObjId> ids = new ArrayList<>();
-      List<ContentKey> keys = new ArrayList<>();
       for (StoreIndexElement<CommitOp> op : indexesLogic.commitOperations(commitObj)) {
         ContentKey key = storeKeyToKey(op.key());
         // Note: key==null, if not the "main universe" or not a "content" discriminator
@@ -136,25 +198,25 @@ public final class ContentMapping {
           CommitOp c = op.content();
           if (c.action().exists()) {
             ObjId objId = requireNonNull(c.value(), "Required value pointer is null");
-            ids.add(objId);
-            keys.add(key);
+            putValues.add(objId);
+            putKeys.add(key);
           } else {
             commit.addOperations(Delete.of(key));
           }
         }
       }
-      if (!ids.isEmpty()) {
-        Obj[] objs = persist.fetchObjs(ids.toArray(new ObjId[0]));
-        for (int i = 0; i < objs.length; i++) {
-          Obj obj = objs[i];
-          ContentKey key = keys.get(i);
-          assert obj instanceof ContentValueObj;
-          ContentValueObj contentValue = (ContentValueObj) obj;
-          commit.addOperations(Put.ofLazy(key, contentValue.payload(), contentValue.data()));
-        }
+    }
+
+    void addPuts(Map<ObjId, ContentValueObj> values) {
+      for (int i = 0; i < putValues.size(); i++) {
+        ContentValueObj contentValue = values.get(putValues.get(i));
+        commit.addOperations(
+            Put.ofLazy(putKeys.get(i), contentValue.payload(), contentValue.data()));
       }
     }
 
-    return commit.commitMeta(commitMeta).build();
+    Commit build() {
+      return commit.commitMeta(toCommitMeta(commitObj)).build();
+    }
   }
 }
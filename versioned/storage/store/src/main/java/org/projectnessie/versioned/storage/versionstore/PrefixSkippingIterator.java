@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.versionstore;
+
+import static java.util.Collections.emptyIterator;
+import static org.projectnessie.versioned.storage.common.indexes.StoreKey.keyFromString;
+
+import java.util.Iterator;
+import org.projectnessie.versioned.storage.common.indexes.StoreIndex;
+import org.projectnessie.versioned.storage.common.indexes.StoreIndexElement;
+import org.projectnessie.versioned.storage.common.indexes.StoreKey;
+
+/**
+ * Iterates over a range of a {@link StoreIndex} and allows seeking past all keys that share an
+ * element-wise prefix, see {@link #skipPrefix(StoreKey)}. Seeking re-positions the iterator using
+ * {@link StoreIndex#iterator(StoreKey, StoreKey, boolean)}, so index stripes that only contain
+ * skipped keys do not need to be loaded.
+ */
+final class PrefixSkippingIterator<V> implements Iterator<StoreIndexElement<V>> {
+
+  /**
+   * Element and variant separators in store keys are {@code \0} and {@code \1}, content key
+   * elements cannot contain characters less than {@code 0x20}.
+   */
+  private static final char PAST_PREFIX = (char) 2;
+
+  private final StoreIndex<V> index;
+  private final StoreKey end;
+  private Iterator<StoreIndexElement<V>> delegate;
+  private StoreKey lastKey;
+
+  PrefixSkippingIterator(StoreIndex<V> index, StoreKey begin, StoreKey end) {
+    this.index = index;
+    this.end = end;
+    this.delegate = index.iterator(begin, end, false);
+  }
+
+  /**
+   * Seeks past all keys that {@link StoreKey#startsWithElementsOrParts(StoreKey) start with} the
+   * given prefix, if the last returned key starts with the prefix. Keys that start with the same
+   * prefix are contiguous, if the last returned key does not start with the prefix, the iterator
+   * is already positioned past the prefix and this function is a no-op.
+   */
+  void skipPrefix(StoreKey prefix) {
+    if (lastKey == null || !lastKey.startsWithElementsOrParts(prefix)) {
+      return;
+    }
+    lastKey = null;
+
+    StoreKey begin = keyFromString(prefix.rawString() + PAST_PREFIX);
+    delegate =
+        end != null && begin.compareTo(end) > 0
+            ? emptyIterator()
+            : index.iterator(begin, end, false);
+  }
+
+  @Override
+  public boolean hasNext() {
+    return delegate.hasNext();
+  }
+
+  @Override
+  public StoreIndexElement<V> next() {
+    StoreIndexElement<V> element = delegate.next();
+    lastKey = element.key();
+    return element;
+  }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.versionstore;
+
+import com.google.common.collect.AbstractIterator;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
+import org.projectnessie.versioned.storage.common.logic.CommitLogic;
+import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Reference;
+
+/**
+ * Iterates over references together with their head commits. The head commits are fetched in
+ * batches via {@link CommitLogic#fetchCommits(ObjId[])}, instead of one read per reference.
+ *
+ * <p>The batch size starts small and grows up to {@link #MAX_BATCH_SIZE}, so that requests for a
+ * small page of references do not fetch many more commits than needed.
+ */
+final class ReferenceHeadsIterator extends AbstractIterator<ReferenceHeadsIterator.ReferenceHead> {
+
+  static final int INITIAL_BATCH_SIZE = 10;
+  static final int MAX_BATCH_SIZE = 100;
+
+  private final Iterator<Reference> references;
+  private final CommitLogic commitLogic;
+  private final Deque<ReferenceHead> batch = new ArrayDeque<>();
+  private int batchSize = INITIAL_BATCH_SIZE;
+
+  ReferenceHeadsIterator(Iterator<Reference> references, CommitLogic commitLogic) {
+    this.references = references;
+    this.commitLogic = commitLogic;
+  }
+
+  @Override
+  protected ReferenceHead computeNext() {
+    if (batch.isEmpty()) {
+      fetchBatch();
+      if (batch.isEmpty()) {
+        return endOfData();
+      }
+    }
+    return batch.removeFirst();
+  }
+
+  private void fetchBatch() {
+    List<Reference> refs = new ArrayList<>(batchSize);
+    while (refs.size() < batchSize && references.hasNext()) {
+      refs.add(references.next());
+    }
+    if (refs.isEmpty()) {
+      return;
+    }
+    batchSize = Math.min(batchSize * 2, MAX_BATCH_SIZE);
+
+    ObjId[] ids = new ObjId[refs.size()];
+    for (int i = 0; i < ids.length; i++) {
+      ids[i] = refs.get(i).pointer();
+    }
+
+    CommitObj[] heads;
+    try {
+      heads = commitLogic.fetchCommits(ids);
+    } catch (ObjNotFoundException e) {
+      throw new RuntimeException("Could not resolve references " + refs, e);
+    }
+
+    for (int i = 0; i < ids.length; i++) {
+      batch.addLast(new ReferenceHead(refs.get(i), heads[i]));
+    }
+  }
+
+  static final class ReferenceHead {
+    private final Reference reference;
+    private final CommitObj head;
+
+    ReferenceHead(Reference reference, CommitObj head) {
+      this.reference = reference;
+      this.head = head;
+    }
+
+    Reference reference() {
+      return reference;
+    }
+
+    /** The head commit, {@code null} if the reference points to the "empty" commit. */
+    CommitObj head() {
+      return head;
+    }
+  }
+}
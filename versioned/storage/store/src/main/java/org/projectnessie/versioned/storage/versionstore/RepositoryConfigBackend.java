@@ -81,7 +81,7 @@ class RepositoryConfigBackend {
   public List<RepositoryConfig> getConfigs(Set<RepositoryConfig.Type> repositoryConfigTypes) {
     try {
       Persist p = persist;
-      Reference reference = configsRef();
+      Reference reference = configsRef(p);
       IndexesLogic indexesLogic = indexesLogic(p);
       CommitObj head = commitLogic(p).headCommit(reference);
       StoreIndex<CommitOp> index = indexesLogic.buildCompleteIndexOrEmpty(head);
@@ -124,7 +124,7 @@ class RepositoryConfigBackend {
           (p, retryState) -> {
             Reference reference;
             try {
-              reference = configsRef();
+              reference = configsRef(p);
             } catch (RetryTimeoutException ex) {
               throw new CommitWrappedException(new CommitRetry.RetryException(Optional.empty()));
             }
@@ -217,7 +217,7 @@ class RepositoryConfigBackend {
   }
 
   /** Retrieves the configs-reference, creates the reference, if it does not exist. */
-  private Reference configsRef() throws RetryTimeoutException {
+  private static Reference configsRef(Persist persist) throws RetryTimeoutException {
     ReferenceLogic referenceLogic = referenceLogic(persist);
     Reference reference;
     try {
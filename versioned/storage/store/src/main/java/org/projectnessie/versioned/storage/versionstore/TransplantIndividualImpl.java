@@ -91,6 +91,7 @@ final class TransplantIndividualImpl extends BaseCommitHelper implements Transpl
     CommitLogic commitLogic = commitLogic(persist);
     ObjId newHead = headId();
     boolean empty = true;
+    List<CommitObj> storedCommits = new ArrayList<>();
     Map<ContentKey, MergeResult.KeyDetails> keyDetailsMap = new HashMap<>();
     for (CommitObj sourceCommit : mergeTransplantContext.sourceCommits()) {
       CreateCommit createCommit =
@@ -115,6 +116,7 @@ final class TransplantIndividualImpl extends BaseCommitHelper implements Transpl
       if (!transplantOp.dryRun()) {
         newHead = newCommit.id();
         boolean committed = commitLogic.storeCommit(newCommit, objsToStore);
+        storedCommits.add(newCommit);
         if (committed) {
           mergeResult.addCreatedCommits(commitObjToCommit(newCommit));
         }
@@ -126,7 +128,8 @@ final class TransplantIndividualImpl extends BaseCommitHelper implements Transpl
 
     boolean hasConflicts = recordKeyDetailsAndCheckConflicts(mergeResult, keyDetailsMap);
 
-    return finishMergeTransplant(empty, mergeResult, newHead, transplantOp.dryRun(), hasConflicts);
+    return finishMergeTransplant(
+        empty, mergeResult, newHead, storedCommits, transplantOp.dryRun(), hasConflicts);
   }
 
   private CreateCommit cloneCommit(
@@ -21,12 +21,14 @@ import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singleton;
 import static java.util.Objects.requireNonNull;
+import static java.util.function.Function.identity;
 import static org.projectnessie.model.IdentifiedContentKey.identifiedContentKeyFromContent;
 import static org.projectnessie.nessie.relocated.protobuf.ByteString.copyFromUtf8;
 import static org.projectnessie.versioned.ContentResult.contentResult;
 import static org.projectnessie.versioned.storage.common.logic.CommitLogQuery.commitLogQuery;
 import static org.projectnessie.versioned.storage.common.logic.DiffQuery.diffQuery;
 import static org.projectnessie.versioned.storage.common.logic.Logics.commitLogic;
+import static org.projectnessie.versioned.storage.common.logic.Logics.contentHistoryLogic;
 import static org.projectnessie.versioned.storage.common.logic.Logics.indexesLogic;
 import static org.projectnessie.versioned.storage.common.logic.Logics.referenceLogic;
 import static org.projectnessie.versioned.storage.common.logic.Logics.repositoryLogic;
@@ -59,6 +61,7 @@ import static org.projectnessie.versioned.storage.versionstore.TypeMapping.store
 import static org.projectnessie.versioned.storage.versionstore.TypeMapping.toCommitMeta;
 import static org.projectnessie.versioned.store.DefaultStoreWorker.contentTypeForPayload;
 
+import com.google.common.collect.Iterators;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
@@ -123,9 +126,9 @@ import org.projectnessie.versioned.storage.common.indexes.StoreIndex;
 import org.projectnessie.versioned.storage.common.indexes.StoreIndexElement;
 import org.projectnessie.versioned.storage.common.indexes.StoreKey;
 import org.projectnessie.versioned.storage.common.logic.CommitLogic;
+import org.projectnessie.versioned.storage.common.logic.ContentHistoryLogic;
 import org.projectnessie.versioned.storage.common.logic.DiffEntry;
 import org.projectnessie.versioned.storage.common.logic.DiffPagedResult;
-import org.projectnessie.versioned.storage.common.logic.IndexesLogic;
 import org.projectnessie.versioned.storage.common.logic.PagedResult;
 import org.projectnessie.versioned.storage.common.logic.PagingToken;
 import org.projectnessie.versioned.storage.common.logic.ReferenceLogic;
@@ -136,10 +139,19 @@ import org.projectnessie.versioned.storage.common.persist.ObjId;
 import org.projectnessie.versioned.storage.common.persist.Persist;
 import org.projectnessie.versioned.storage.common.persist.Reference;
 import org.projectnessie.versioned.storage.versionstore.BaseCommitHelper.CommitterSupplier;
+import org.projectnessie.versioned.storage.versionstore.ReferenceHeadsIterator.ReferenceHead;
 
 public class VersionStoreImpl implements VersionStore {
 
+  /**
+   * Number of commits for which {@link #getCommits(Ref, boolean)} fetches the content values of the
+   * commits' operations at once.
+   */
+  static final int COMMIT_LOG_CONTENT_BATCH_SIZE = 20;
+
   private final Persist persist;
+  private final CommitSequencer commitSequencer;
+  private final CompleteIndexCache completeIndexCache;
 
   @SuppressWarnings("unused")
   public VersionStoreImpl() {
@@ -148,6 +160,20 @@ public class VersionStoreImpl implements VersionStore {
 
   public VersionStoreImpl(Persist persist) {
     this.persist = persist;
+    this.commitSequencer =
+        persist != null && persist.config().groupCommits() ? new CommitSequencer() : null;
+    this.completeIndexCache =
+        persist != null ? CompleteIndexCache.forConfig(persist.config()) : null;
+  }
+
+  /**
+   * Returns the complete index for the given commit for read-only use, served from the {@link
+   * CompleteIndexCache}, if enabled.
+   */
+  private StoreIndex<CommitOp> completeIndexForRead(CommitObj head) {
+    return completeIndexCache != null
+        ? completeIndexCache.completeIndex(persist, head)
+        : indexesLogic(persist).buildCompleteIndex(head, Optional.empty());
   }
 
   @Nonnull
@@ -241,7 +267,8 @@ public class VersionStoreImpl implements VersionStore {
       NamedRef namedRef, Optional<Hash> expectedHash, Hash targetHash)
       throws ReferenceNotFoundException, ReferenceConflictException {
     String refName = namedRefToRefName(namedRef);
-    ReferenceLogic referenceLogic = referenceLogic(persist);
+    // The current reference is the expected state for the conditional update
+    ReferenceLogic referenceLogic = referenceLogic(persist.forReferenceUpdates());
     Reference expected;
     try {
       expected = referenceLogic.getReference(refName);
@@ -289,7 +316,8 @@ public class VersionStoreImpl implements VersionStore {
   public ReferenceDeletedResult delete(NamedRef namedRef, Optional<Hash> hash)
       throws ReferenceNotFoundException, ReferenceConflictException {
     String refName = namedRefToRefName(namedRef);
-    ReferenceLogic referenceLogic = referenceLogic(persist);
+    // The current reference is the expected state for the conditional update
+    ReferenceLogic referenceLogic = referenceLogic(persist.forReferenceUpdates());
 
     ObjId expected = EMPTY_OBJ_ID;
     try {
@@ -376,12 +404,13 @@ public class VersionStoreImpl implements VersionStore {
     CommitLogic commitLogic = commitLogic(persist);
 
     return new FilteringPaginationIterator<>(
-        result,
-        reference -> {
+        new ReferenceHeadsIterator(result, commitLogic),
+        referenceHead -> {
+          Reference reference = referenceHead.reference();
           try {
             NamedRef namedRef = referenceToNamedRef(reference);
-            CommitObj head = commitLogic(persist).headCommit(reference);
-            return buildReferenceInfo(params, baseRefHead, commitLogic, namedRef, head);
+            return buildReferenceInfo(
+                params, baseRefHead, commitLogic, namedRef, referenceHead.head());
           } catch (ReferenceNotFoundException | ObjNotFoundException e) {
             throw new RuntimeException("Could not resolve reference " + reference, e);
           }
@@ -389,8 +418,8 @@ public class VersionStoreImpl implements VersionStore {
 
       @Override
       protected String computeTokenForCurrent() {
-        Reference c = current();
-        return c != null ? tokenFor(c.name()) : null;
+        ReferenceHead c = current();
+        return c != null ? tokenFor(c.reference().name()) : null;
       }
 
       @Override
@@ -437,7 +466,13 @@ public class VersionStoreImpl implements VersionStore {
             refInfo.commonAncestor(objIdToHash(commonAncestorId));
 
             if (opts.isComputeAheadBehind()) {
-              CommitObj commonAncestor = commitLogic.fetchCommit(commonAncestorId);
+              // The common ancestor is often one of the two heads, no need to fetch it again.
+              CommitObj commonAncestor =
+                  commonAncestorId.equals(head.id())
+                      ? head
+                      : commonAncestorId.equals(baseHead.id())
+                          ? baseHead
+                          : commitLogic.fetchCommit(commonAncestorId);
               long commonAncestorSeq = commonAncestor.seq();
               refInfo.aheadBehind(
                   CommitsAheadBehind.of(
@@ -485,26 +520,64 @@ public class VersionStoreImpl implements VersionStore {
     CommitLogic commitLogic = commitLogic(persist);
     PagedResult<CommitObj, ObjId> result = commitLogic.commitLog(commitLogQuery(head.id()));
 
+    return commitsIterator(result, fetchAdditionalInfo);
+  }
+
+  @Override
+  public PaginationIterator<Commit> getContentHistory(
+      Ref ref, ContentKey key, String pagingToken, boolean fetchAdditionalInfo)
+      throws ReferenceNotFoundException {
+    RefMapping refMapping = new RefMapping(persist);
+    CommitObj head = refMapping.resolveRefHead(ref);
+    if (head == null) {
+      return emptyOrNotFound(ref, PaginationIterator.empty());
+    }
+    ContentHistoryLogic contentHistoryLogic = contentHistoryLogic(persist);
+    PagedResult<CommitObj, ObjId> result;
+    if (pagingToken != null) {
+      try {
+        result =
+            contentHistoryLogic.contentHistory(head, keyToStoreKey(key), fromString(pagingToken));
+      } catch (ObjNotFoundException e) {
+        throw referenceNotFound(e);
+      }
+    } else {
+      result = contentHistoryLogic.contentHistory(head, keyToStoreKey(key));
+    }
+
+    return commitsIterator(result, fetchAdditionalInfo);
+  }
+
+  private PaginationIterator<Commit> commitsIterator(
+      PagedResult<CommitObj, ObjId> commitObjs, boolean fetchAdditionalInfo) {
     ContentMapping contentMapping = new ContentMapping(persist);
 
-    return new FilteringPaginationIterator<>(
-        result,
-        commitObj -> {
-          try {
-            return contentMapping.commitObjToCommit(fetchAdditionalInfo, commitObj);
-          } catch (ObjNotFoundException e) {
-            throw new RuntimeException("Could not map commit", e);
-          }
-        }) {
+    // Resolve the content values of multiple commits at once, saves a lot of round-trips.
+    int batchSize = fetchAdditionalInfo ? COMMIT_LOG_CONTENT_BATCH_SIZE : 1;
+    Iterator<Commit> commits =
+        Iterators.concat(
+            Iterators.transform(
+                Iterators.partition(commitObjs, batchSize),
+                batch -> {
+                  try {
+                    return contentMapping
+                        .commitObjsToCommits(fetchAdditionalInfo, batch)
+                        .iterator();
+                  } catch (ObjNotFoundException e) {
+                    throw new RuntimeException("Could not map commit", e);
+                  }
+                }));
+
+    return new FilteringPaginationIterator<Commit, Commit>(commits, identity()) {
       @Override
       protected String computeTokenForCurrent() {
-        CommitObj c = current();
-        return c != null ? pagingToken(c.id().asBytes()).asString() : null;
+        Commit c = current();
+        return c != null ? tokenForEntry(c) : null;
       }
 
       @Override
       public String tokenForEntry(Commit entry) {
-        return pagingToken(entry.getHash().asBytes()).asString();
+        return commitObjs.tokenForKey(hashToObjId(entry.getHash())).asString();
       }
     };
   }
@@ -517,8 +590,7 @@ public class VersionStoreImpl implements VersionStore {
     if (head == null) {
       return emptyList();
     }
-    IndexesLogic indexesLogic = indexesLogic(persist);
-    StoreIndex<CommitOp> index = indexesLogic.buildCompleteIndex(head, Optional.empty());
+    StoreIndex<CommitOp> index = completeIndexForRead(head);
 
     return keys.stream()
         .map(
@@ -553,11 +625,10 @@ public class VersionStoreImpl implements VersionStore {
     if (head == null) {
       return emptyOrNotFound(ref, PaginationIterator.empty());
     }
-    IndexesLogic indexesLogic = indexesLogic(persist);
-    StoreIndex<CommitOp> index = indexesLogic.buildCompleteIndex(head, Optional.empty());
+    StoreIndex<CommitOp> index = completeIndexForRead(head);
 
-    Iterator<StoreIndexElement<CommitOp>> result =
-        index.iterator(keyRanges.beginStoreKey(), keyRanges.endStoreKey(), false);
+    PrefixSkippingIterator<CommitOp> result =
+        new PrefixSkippingIterator<>(index, keyRanges.beginStoreKey(), keyRanges.endStoreKey());
     ContentMapping contentMapping = new ContentMapping(persist);
 
     Predicate<StoreIndexElement<CommitOp>> keyPredicate =
@@ -622,6 +693,11 @@ public class VersionStoreImpl implements VersionStore {
         return token(keyToStoreKey(entry.getKey().contentKey()));
       }
 
+      @Override
+      public void skipKeysWithPrefix(ContentKey prefix) {
+        result.skipPrefix(keyToStoreKeyNoVariant(prefix));
+      }
+
       private String token(StoreKey storeKey) {
         return pagingToken(copyFromUtf8(storeKey.rawString())).asString();
       }
@@ -644,8 +720,7 @@ public class VersionStoreImpl implements VersionStore {
     try {
 
       StoreKey storeKey = keyToStoreKey(key);
-      IndexesLogic indexesLogic = indexesLogic(persist);
-      StoreIndex<CommitOp> index = indexesLogic.buildCompleteIndex(head, Optional.empty());
+      StoreIndex<CommitOp> index = completeIndexForRead(head);
 
       index.loadIfNecessary(singleton(storeKey));
 
@@ -719,8 +794,7 @@ public class VersionStoreImpl implements VersionStore {
     }
 
     try {
-      IndexesLogic indexesLogic = indexesLogic(persist);
-      StoreIndex<CommitOp> index = indexesLogic.buildCompleteIndex(head, Optional.empty());
+      StoreIndex<CommitOp> index = completeIndexForRead(head);
 
       // Eagerly bulk-(pre)fetch the requested keys
       index.loadIfNecessary(
@@ -762,6 +836,10 @@ public class VersionStoreImpl implements VersionStore {
       @Nonnull @jakarta.annotation.Nonnull CommitValidator validator,
       @Nonnull @jakarta.annotation.Nonnull BiConsumer<ContentKey, String> addedContents)
       throws ReferenceNotFoundException, ReferenceConflictException {
+    if (commitSequencer != null) {
+      return commitSequencer.commit(
+          persist, branch, referenceHash, metadata, operations, validator, addedContents);
+    }
     return committingOperation(
         "commit",
         branch,
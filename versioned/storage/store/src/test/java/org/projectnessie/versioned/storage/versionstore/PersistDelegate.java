@@ -37,6 +37,11 @@ public class PersistDelegate implements Persist {
     this.delegate = delegate;
   }
 
+  @Override
+  public boolean nativeAsyncFetches() {
+    return delegate.nativeAsyncFetches();
+  }
+
   @Override
   public int hardObjectSizeLimit() {
     return delegate.hardObjectSizeLimit();
@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.versionstore;
+
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexElement.indexElement;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.newStoreIndex;
+import static org.projectnessie.versioned.storage.common.objtypes.ObjIdSerializer.OBJ_ID_SERIALIZER;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.EMPTY_OBJ_ID;
+import static org.projectnessie.versioned.storage.versionstore.TypeMapping.keyToStoreKey;
+import static org.projectnessie.versioned.storage.versionstore.TypeMapping.keyToStoreKeyNoVariant;
+import static org.projectnessie.versioned.storage.versionstore.TypeMapping.storeKeyToKey;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.projectnessie.model.ContentKey;
+import org.projectnessie.versioned.storage.common.indexes.StoreIndex;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestPrefixSkippingIterator {
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  static final ContentKey A = ContentKey.of("a");
+  static final ContentKey A_B = ContentKey.of("a", "b");
+  static final ContentKey A_B_C = ContentKey.of("a", "b", "c");
+  static final ContentKey A_B_D = ContentKey.of("a", "b", "d");
+  static final ContentKey A_BB = ContentKey.of("a", "bb");
+  static final ContentKey A_C = ContentKey.of("a", "c");
+  static final ContentKey B = ContentKey.of("b");
+
+  static StoreIndex<ObjId> index() {
+    StoreIndex<ObjId> index = newStoreIndex(OBJ_ID_SERIALIZER);
+    for (ContentKey key : new ContentKey[] {A, A_B, A_B_C, A_B_D, A_BB, A_C, B}) {
+      index.add(indexElement(keyToStoreKey(key), EMPTY_OBJ_ID));
+    }
+    return index;
+  }
+
+  static List<ContentKey> remaining(PrefixSkippingIterator<ObjId> iter) {
+    List<ContentKey> keys = new ArrayList<>();
+    iter.forEachRemaining(e -> keys.add(storeKeyToKey(e.key())));
+    return keys;
+  }
+
+  @Test
+  public void noSkip() {
+    PrefixSkippingIterator<ObjId> iter = new PrefixSkippingIterator<>(index(), null, null);
+    soft.assertThat(remaining(iter)).containsExactly(A, A_B, A_B_C, A_B_D, A_BB, A_C, B);
+  }
+
+  @Test
+  public void skipPrefix() {
+    PrefixSkippingIterator<ObjId> iter = new PrefixSkippingIterator<>(index(), null, null);
+    soft.assertThat(storeKeyToKey(iter.next().key())).isEqualTo(A);
+    soft.assertThat(storeKeyToKey(iter.next().key())).isEqualTo(A_B);
+    iter.skipPrefix(keyToStoreKeyNoVariant(A_B));
+    soft.assertThat(storeKeyToKey(iter.next().key())).isEqualTo(A_BB);
+    iter.skipPrefix(keyToStoreKeyNoVariant(A));
+    soft.assertThat(remaining(iter)).containsExactly(B);
+  }
+
+  @Test
+  public void skipIsNoopWhenPastPrefix() {
+    PrefixSkippingIterator<ObjId> iter = new PrefixSkippingIterator<>(index(), null, null);
+    // nothing returned yet
+    iter.skipPrefix(keyToStoreKeyNoVariant(A));
+    soft.assertThat(storeKeyToKey(iter.next().key())).isEqualTo(A);
+    soft.assertThat(storeKeyToKey(iter.next().key())).isEqualTo(A_B);
+    soft.assertThat(storeKeyToKey(iter.next().key())).isEqualTo(A_B_C);
+    // not yet reached the prefix
+    iter.skipPrefix(keyToStoreKeyNoVariant(B));
+    soft.assertThat(storeKeyToKey(iter.next().key())).isEqualTo(A_B_D);
+    iter.skipPrefix(keyToStoreKeyNoVariant(A_B));
+    // already past the prefix
+    iter.skipPrefix(keyToStoreKeyNoVariant(A_B));
+    soft.assertThat(remaining(iter)).containsExactly(A_BB, A_C, B);
+  }
+
+  @Test
+  public void skipRespectsEnd() {
+    PrefixSkippingIterator<ObjId> iter =
+        new PrefixSkippingIterator<>(index(), keyToStoreKey(A_B), keyToStoreKey(A_BB));
+    soft.assertThat(storeKeyToKey(iter.next().key())).isEqualTo(A_B);
+    iter.skipPrefix(keyToStoreKeyNoVariant(A_B));
+    soft.assertThat(remaining(iter)).containsExactly(A_BB);
+
+    iter = new PrefixSkippingIterator<>(index(), keyToStoreKey(A_B), keyToStoreKey(A_B_D));
+    soft.assertThat(storeKeyToKey(iter.next().key())).isEqualTo(A_B);
+    iter.skipPrefix(keyToStoreKeyNoVariant(A_B));
+    soft.assertThat(iter.hasNext()).isFalse();
+  }
+}
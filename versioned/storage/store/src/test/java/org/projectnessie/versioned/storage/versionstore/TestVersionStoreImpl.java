@@ -16,30 +16,57 @@
 package org.projectnessie.versioned.storage.versionstore;
 
 import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.projectnessie.model.CommitMeta.fromMessage;
 import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_COMMIT_RETRIES;
 import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_COMMIT_TIMEOUT_MILLIS;
+import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_CONTENT_HISTORY;
+import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_GROUP_COMMITS;
+import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_INDEX_CACHE_CAPACITY_MB;
+import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_MAX_INCREMENTAL_INDEX_SIZE;
+import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_MAX_SERIALIZED_INDEX_SIZE;
+import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_PARENTS_PER_COMMIT;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
 import javax.annotation.Nonnull;
 import org.assertj.core.api.SoftAssertions;
 import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
 import org.junit.jupiter.api.Test;
+import org.projectnessie.model.CommitMeta;
 import org.projectnessie.model.ContentKey;
 import org.projectnessie.model.IcebergTable;
 import org.projectnessie.versioned.BranchName;
+import org.projectnessie.versioned.Commit;
+import org.projectnessie.versioned.Delete;
+import org.projectnessie.versioned.GetNamedRefsParams;
 import org.projectnessie.versioned.Hash;
+import org.projectnessie.versioned.KeyEntry;
+import org.projectnessie.versioned.Operation;
 import org.projectnessie.versioned.Put;
 import org.projectnessie.versioned.ReferenceConflictException;
+import org.projectnessie.versioned.ReferenceInfo;
 import org.projectnessie.versioned.ReferenceNotFoundException;
 import org.projectnessie.versioned.ReferenceRetryFailureException;
 import org.projectnessie.versioned.VersionStore;
+import org.projectnessie.versioned.VersionStore.KeyRestrictions;
+import org.projectnessie.versioned.paging.PaginationIterator;
+import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
+import org.projectnessie.versioned.storage.common.exceptions.ObjTooLargeException;
 import org.projectnessie.versioned.storage.common.exceptions.RefConditionFailedException;
 import org.projectnessie.versioned.storage.common.exceptions.RefNotFoundException;
+import org.projectnessie.versioned.storage.common.persist.Obj;
 import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.ObjType;
 import org.projectnessie.versioned.storage.common.persist.Persist;
 import org.projectnessie.versioned.storage.common.persist.Reference;
 import org.projectnessie.versioned.storage.commontests.AbstractVersionStoreTests;
@@ -160,4 +187,769 @@ public class TestVersionStoreImpl extends AbstractVersionStoreTests {
         fromMessage("commit foo"),
         singletonList(Put.of(ContentKey.of("some-key"), IcebergTable.of("meta", 42, 43, 44, 45))));
   }
+
+  @Test
+  public void getNamedRefsFetchesHeadsInBulk() throws Exception {
+    VersionStore store = new VersionStoreImpl(persist);
+
+    BranchName main = BranchName.of("main");
+    Hash head =
+        store
+            .commit(
+                main,
+                Optional.empty(),
+                fromMessage("commit"),
+                singletonList(
+                    Put.of(ContentKey.of("some-key"), IcebergTable.of("meta", 42, 43, 44, 45))))
+            .getCommitHash();
+    int numBranches = 25;
+    for (int i = 0; i < numBranches; i++) {
+      store.create(BranchName.of("branch-" + i), Optional.of(head));
+    }
+
+    ObjId headId = TypeMapping.hashToObjId(head);
+    AtomicInteger singleFetches = new AtomicInteger();
+    AtomicInteger bulkFetches = new AtomicInteger();
+    Persist tested =
+        new PersistDelegate(persist) {
+          @Nonnull
+          @jakarta.annotation.Nonnull
+          @Override
+          public Obj fetchObj(@Nonnull @jakarta.annotation.Nonnull ObjId id)
+              throws ObjNotFoundException {
+            if (id.equals(headId)) {
+              singleFetches.incrementAndGet();
+            }
+            return super.fetchObj(id);
+          }
+
+          @Nonnull
+          @jakarta.annotation.Nonnull
+          @Override
+          public <T extends Obj> T fetchTypedObj(
+              @Nonnull @jakarta.annotation.Nonnull ObjId id, ObjType type, Class<T> typeClass)
+              throws ObjNotFoundException {
+            if (id.equals(headId)) {
+              singleFetches.incrementAndGet();
+            }
+            return super.fetchTypedObj(id, type, typeClass);
+          }
+
+          @Nonnull
+          @jakarta.annotation.Nonnull
+          @Override
+          public Obj[] fetchObjs(@Nonnull @jakarta.annotation.Nonnull ObjId[] ids)
+              throws ObjNotFoundException {
+            if (Arrays.asList(ids).contains(headId)) {
+              bulkFetches.incrementAndGet();
+            }
+            return super.fetchObjs(ids);
+          }
+        };
+
+    VersionStore storeTested = new VersionStoreImpl(tested);
+    List<ReferenceInfo<CommitMeta>> refs = new ArrayList<>();
+    try (PaginationIterator<ReferenceInfo<CommitMeta>> iter =
+        storeTested.getNamedRefs(GetNamedRefsParams.DEFAULT, null)) {
+      iter.forEachRemaining(refs::add);
+    }
+
+    soft.assertThat(refs)
+        .hasSize(numBranches + 1)
+        .allSatisfy(r -> assertThat(r.getHash()).isEqualTo(head));
+    soft.assertThat(singleFetches).hasValue(0);
+    // 26 references: batches of 10 + 16 references
+    soft.assertThat(bulkFetches).hasValue(2);
+  }
+
+  @Test
+  public void groupCommits(
+      @NessieStoreConfig(name = CONFIG_GROUP_COMMITS, value = "true") @NessiePersist
+          Persist persist)
+      throws Exception {
+    BranchName branch = BranchName.of("branch1");
+    new VersionStoreImpl(persist).create(branch, Optional.empty());
+
+    AtomicInteger referenceUpdates = new AtomicInteger();
+    Persist tested =
+        new PersistDelegate(persist) {
+          @Nonnull
+          @jakarta.annotation.Nonnull
+          @Override
+          public Reference updateReferencePointer(
+              @Nonnull @jakarta.annotation.Nonnull Reference reference,
+              @Nonnull @jakarta.annotation.Nonnull ObjId newPointer)
+              throws RefNotFoundException, RefConditionFailedException {
+            referenceUpdates.incrementAndGet();
+            try {
+              // Simulate database latency, lets concurrent commits queue up
+              Thread.sleep(5);
+            } catch (InterruptedException e) {
+              throw new RuntimeException(e);
+            }
+            return super.updateReferencePointer(reference, newPointer);
+          }
+        };
+    VersionStore store = new VersionStoreImpl(tested);
+
+    int threads = 8;
+    int commitsPerThread = 10;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<CompletableFuture<Void>> futures = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        int thread = t;
+        futures.add(
+            CompletableFuture.runAsync(
+                () -> {
+                  for (int i = 0; i < commitsPerThread; i++) {
+                    try {
+                      store.commit(
+                          branch,
+                          Optional.empty(),
+                          fromMessage("commit " + thread + "-" + i),
+                          singletonList(
+                              Put.of(
+                                  ContentKey.of("key-" + thread + "-" + i),
+                                  IcebergTable.of("meta", 42, 43, 44, 45))));
+                    } catch (ReferenceNotFoundException | ReferenceConflictException e) {
+                      throw new RuntimeException(e);
+                    }
+                  }
+                },
+                executor));
+      }
+      CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get();
+    } finally {
+      executor.shutdown();
+    }
+
+    List<Commit> commits = new ArrayList<>();
+    try (PaginationIterator<Commit> iter = store.getCommits(branch, false)) {
+      iter.forEachRemaining(commits::add);
+    }
+    soft.assertThat(commits).hasSize(threads * commitsPerThread);
+    soft.assertThat(referenceUpdates.get()).isLessThan(threads * commitsPerThread);
+  }
+
+  @Test
+  public void groupCommitsWithConcurrentReferenceUpdate(
+      @NessieStoreConfig(name = CONFIG_GROUP_COMMITS, value = "true") @NessiePersist
+          Persist persist)
+      throws Exception {
+    VersionStore store = new VersionStoreImpl(persist);
+
+    BranchName branch = BranchName.of("branch1");
+    Hash branch1 = store.create(branch, Optional.empty()).getHash();
+
+    AtomicBoolean intercepted = new AtomicBoolean();
+
+    Persist tested =
+        new PersistDelegate(persist) {
+          @Nonnull
+          @jakarta.annotation.Nonnull
+          @Override
+          public Reference updateReferencePointer(
+              @Nonnull @jakarta.annotation.Nonnull Reference reference,
+              @Nonnull @jakarta.annotation.Nonnull ObjId newPointer)
+              throws RefNotFoundException, RefConditionFailedException {
+
+            if (intercepted.compareAndSet(false, true)) {
+              // Another version store instance, like another Nessie instance, changes the
+              // reference, the group has to be retried
+              try {
+                store.commit(
+                    branch,
+                    Optional.of(branch1),
+                    fromMessage("conflicting pointer bump"),
+                    singletonList(
+                        Put.of(
+                            ContentKey.of("other-key"), IcebergTable.of("meta", 42, 43, 44, 45))));
+              } catch (ReferenceNotFoundException | ReferenceConflictException e) {
+                throw new RuntimeException(e);
+              }
+            }
+
+            return super.updateReferencePointer(reference, newPointer);
+          }
+        };
+
+    VersionStore storeTested = new VersionStoreImpl(tested);
+    Hash head =
+        storeTested
+            .commit(
+                branch,
+                Optional.of(branch1),
+                fromMessage("commit foo"),
+                singletonList(
+                    Put.of(ContentKey.of("some-key"), IcebergTable.of("meta", 42, 43, 44, 45))))
+            .getCommitHash();
+
+    soft.assertThat(store.getNamedRef(branch.getName(), GetNamedRefsParams.DEFAULT).getHash())
+        .isEqualTo(head);
+    soft.assertThat(
+            store.getValues(
+                branch, Arrays.asList(ContentKey.of("some-key"), ContentKey.of("other-key"))))
+        .hasSize(2);
+  }
+
+  @Test
+  public void groupCommitsWithReferenceUpdateError(
+      @NessieStoreConfig(name = CONFIG_GROUP_COMMITS, value = "true") @NessiePersist
+          Persist persist)
+      throws Exception {
+    BranchName branch = BranchName.of("branch1");
+    new VersionStoreImpl(persist).create(branch, Optional.empty());
+
+    AtomicBoolean failed = new AtomicBoolean();
+    Persist tested =
+        new PersistDelegate(persist) {
+          @Nonnull
+          @jakarta.annotation.Nonnull
+          @Override
+          public Reference updateReferencePointer(
+              @Nonnull @jakarta.annotation.Nonnull Reference reference,
+              @Nonnull @jakarta.annotation.Nonnull ObjId newPointer)
+              throws RefNotFoundException, RefConditionFailedException {
+            if (failed.compareAndSet(false, true)) {
+              throw new AssertionError("simulated error");
+            }
+            return super.updateReferencePointer(reference, newPointer);
+          }
+        };
+    VersionStore store = new VersionStoreImpl(tested);
+
+    IntFunction<Hash> commit =
+        i -> {
+          try {
+            return store
+                .commit(
+                    branch,
+                    Optional.empty(),
+                    fromMessage("commit " + i),
+                    singletonList(
+                        Put.of(ContentKey.of("key-" + i), IcebergTable.of("meta", 42, 43, 44, 45))))
+                .getCommitHash();
+          } catch (ReferenceNotFoundException | ReferenceConflictException e) {
+            throw new RuntimeException(e);
+          }
+        };
+
+    // An error during the reference pointer update must not leave the branch in the "publishing"
+    // state, otherwise following commits would wait forever.
+    soft.assertThatThrownBy(() -> commit.apply(1))
+        .isInstanceOf(AssertionError.class)
+        .hasMessage("simulated error");
+    Hash head = commit.apply(2);
+
+    soft.assertThat(store.getNamedRef(branch.getName(), GetNamedRefsParams.DEFAULT).getHash())
+        .isEqualTo(head);
+  }
+
+  @Test
+  public void commitLogFetchesContentValuesInBatches(@NessiePersist Persist persist)
+      throws Exception {
+    BranchName branch = BranchName.of("branch1");
+    VersionStore store = new VersionStoreImpl(persist);
+    store.create(branch, Optional.empty());
+
+    int numCommits = 3 * VersionStoreImpl.COMMIT_LOG_CONTENT_BATCH_SIZE + 5;
+    for (int i = 0; i < numCommits; i++) {
+      store.commit(
+          branch,
+          Optional.empty(),
+          fromMessage("commit " + i),
+          Arrays.asList(
+              Put.of(ContentKey.of("key-" + i), IcebergTable.of("meta-" + i, 42, 43, 44, 45)),
+              Put.of(ContentKey.of("other-" + i), IcebergTable.of("other-" + i, 42, 43, 44, 45))));
+    }
+
+    AtomicInteger valueFetches = new AtomicInteger();
+    Persist tested =
+        new PersistDelegate(persist) {
+          @Nonnull
+          @jakarta.annotation.Nonnull
+          @Override
+          public Obj[] fetchObjs(@Nonnull @jakarta.annotation.Nonnull ObjId[] ids)
+              throws ObjNotFoundException {
+            Obj[] objs = super.fetchObjs(ids);
+            if (Arrays.stream(objs).anyMatch(o -> o != null && o.type() == ObjType.VALUE)) {
+              valueFetches.incrementAndGet();
+            }
+            return objs;
+          }
+        };
+
+    List<Commit> commits = new ArrayList<>();
+    try (PaginationIterator<Commit> iter = new VersionStoreImpl(tested).getCommits(branch, true)) {
+      iter.forEachRemaining(commits::add);
+    }
+
+    soft.assertThat(commits).hasSize(numCommits);
+    for (int i = 0; i < numCommits; i++) {
+      Commit commit = commits.get(numCommits - 1 - i);
+      soft.assertThat(commit.getCommitMeta().getMessage()).isEqualTo("commit " + i);
+      soft.assertThat(commit.getOperations())
+          .hasSize(2)
+          .allMatch(op -> op instanceof Put)
+          .extracting(op -> ((IcebergTable) ((Put) op).getValue()).getMetadataLocation())
+          .containsExactlyInAnyOrder("meta-" + i, "other-" + i);
+    }
+    soft.assertThat(valueFetches)
+        .hasValue(
+            (numCommits + VersionStoreImpl.COMMIT_LOG_CONTENT_BATCH_SIZE - 1)
+                / VersionStoreImpl.COMMIT_LOG_CONTENT_BATCH_SIZE);
+  }
+
+  @Test
+  public void contentHistory(
+      @NessieStoreConfig(name = CONFIG_CONTENT_HISTORY, value = "true") @NessiePersist
+          Persist withHistory)
+      throws Exception {
+    List<String> expected = contentHistoryScenario(persist, BranchName.of("no-history"));
+    soft.assertThat(expected)
+        .containsExactly(
+            "update renamed", "rename", "update 2", "update 1", "create", "create at old key");
+
+    // Both the history index and the commit-log-walk must yield the same history
+    soft.assertThat(contentHistoryScenario(withHistory, BranchName.of("history")))
+        .isEqualTo(expected);
+
+    // Paging continues the history of the same content object across the rename
+    List<String> expectedRenamed = expected.subList(0, 5);
+    soft.assertThat(pagedContentHistory(persist, BranchName.of("no-history")))
+        .isEqualTo(expectedRenamed);
+    soft.assertThat(pagedContentHistory(withHistory, BranchName.of("history")))
+        .isEqualTo(expectedRenamed);
+
+    // The history index does not need to walk over the commits of other content
+    soft.assertThat(contentHistoryCommitFetches(withHistory, BranchName.of("history")))
+        .isLessThan(contentHistoryCommitFetches(persist, BranchName.of("no-history")));
+  }
+
+  @Test
+  public void contentHistoryIgnoresOtherBranches(
+      @NessieStoreConfig(name = CONFIG_CONTENT_HISTORY, value = "true") @NessiePersist
+          Persist withHistory)
+      throws Exception {
+    VersionStore store = new VersionStoreImpl(withHistory);
+    BranchName branch = BranchName.of("main-history");
+    BranchName other = BranchName.of("other-history");
+    store.create(branch, Optional.empty());
+
+    ContentKey key = ContentKey.of("table");
+    Hash created =
+        store
+            .commit(
+                branch,
+                Optional.empty(),
+                fromMessage("create"),
+                singletonList(Put.of(key, IcebergTable.of("meta-0", 42, 43, 44, 45))))
+            .getCommitHash();
+    String contentId = store.getValue(branch, key).content().getId();
+    Put update = Put.of(key, IcebergTable.of("meta-1", 42, 43, 44, 45).withId(contentId));
+
+    // Not recorded in the history index, like changes made before the history index was enabled.
+    new VersionStoreImpl(persist)
+        .commit(branch, Optional.empty(), fromMessage("update"), singletonList(update));
+
+    // The only recorded commit that added the same value is not an ancestor of the branch's HEAD.
+    store.create(other, Optional.of(created));
+    store.commit(other, Optional.empty(), fromMessage("update on other"), singletonList(update));
+
+    List<String> messages = new ArrayList<>();
+    try (PaginationIterator<Commit> iter = store.getContentHistory(branch, key, null, false)) {
+      iter.forEachRemaining(c -> messages.add(c.getCommitMeta().getMessage()));
+    }
+    soft.assertThat(messages).containsExactly("update", "create");
+  }
+
+  @Test
+  public void contentHistoryRejectsForeignPagingTokens(
+      @NessieStoreConfig(name = CONFIG_CONTENT_HISTORY, value = "true") @NessiePersist
+          Persist withHistory)
+      throws Exception {
+    VersionStore store = new VersionStoreImpl(withHistory);
+    BranchName branch = BranchName.of("main-tokens");
+    BranchName side = BranchName.of("side-tokens");
+    store.create(branch, Optional.empty());
+
+    ContentKey key = ContentKey.of("table");
+    ContentKey otherKey = ContentKey.of("other");
+    Hash created =
+        store
+            .commit(
+                branch,
+                Optional.empty(),
+                fromMessage("create"),
+                Arrays.asList(
+                    Put.of(key, IcebergTable.of("meta-0", 42, 43, 44, 45)),
+                    Put.of(otherKey, IcebergTable.of("other-0", 42, 43, 44, 45))))
+            .getCommitHash();
+    String contentId = store.getValue(branch, key).content().getId();
+    store.create(side, Optional.of(created));
+    store.commit(
+        side,
+        Optional.empty(),
+        fromMessage("update on side"),
+        singletonList(Put.of(key, IcebergTable.of("meta-1", 42, 43, 44, 45).withId(contentId))));
+
+    String sideToken;
+    try (PaginationIterator<Commit> iter = store.getContentHistory(side, key, null, false)) {
+      iter.next();
+      sideToken = iter.tokenForCurrent();
+    }
+    String mainToken;
+    try (PaginationIterator<Commit> iter = store.getContentHistory(branch, key, null, false)) {
+      iter.next();
+      mainToken = iter.tokenForCurrent();
+    }
+
+    // The commit of the paging token is not on the requested branch.
+    soft.assertThatIllegalArgumentException()
+        .isThrownBy(() -> store.getContentHistory(branch, key, sideToken, false));
+    // The paging token belongs to the history of another content object.
+    soft.assertThatIllegalArgumentException()
+        .isThrownBy(() -> store.getContentHistory(branch, otherKey, mainToken, false));
+
+    try (PaginationIterator<Commit> iter = store.getContentHistory(branch, key, mainToken, false)) {
+      soft.assertThat(iter.next().getHash()).isEqualTo(created);
+    }
+  }
+
+  @Test
+  public void contentHistoryBeyondCommitTail(
+      @NessieStoreConfig(name = CONFIG_CONTENT_HISTORY, value = "true")
+          @NessieStoreConfig(name = CONFIG_PARENTS_PER_COMMIT, value = "2")
+          @NessiePersist
+          Persist withHistory)
+      throws Exception {
+    VersionStore store = new VersionStoreImpl(withHistory);
+    BranchName branch = BranchName.of("main-tail");
+    BranchName other = BranchName.of("other-tail");
+    store.create(branch, Optional.empty());
+
+    ContentKey key = ContentKey.of("table");
+    IntFunction<Put> otherKey =
+        i -> Put.of(ContentKey.of("other-" + i), IcebergTable.of("other-" + i, 42, 43, 44, 45));
+    Hash created =
+        store
+            .commit(
+                branch,
+                Optional.empty(),
+                fromMessage("create"),
+                singletonList(Put.of(key, IcebergTable.of("meta-0", 42, 43, 44, 45))))
+            .getCommitHash();
+    String contentId = store.getValue(branch, key).content().getId();
+    Put update = Put.of(key, IcebergTable.of("meta-1", 42, 43, 44, 45).withId(contentId));
+
+    // A recorded commit that added the same value, with a lower sequence number than the commit on
+    // the branch, but not an ancestor of the branch's HEAD.
+    store.create(other, Optional.of(created));
+    store.commit(other, Optional.empty(), fromMessage("update on other"), singletonList(update));
+
+    for (int i = 0; i < 15; i++) {
+      if (i == 5) {
+        new VersionStoreImpl(persist)
+            .commit(branch, Optional.empty(), fromMessage("update"), singletonList(update));
+      } else if (i == 10) {
+        store.commit(
+            branch,
+            Optional.empty(),
+            fromMessage("update 2"),
+            singletonList(
+                Put.of(key, IcebergTable.of("meta-2", 42, 43, 44, 45).withId(contentId))));
+      }
+      store.commit(
+          branch, Optional.empty(), fromMessage("other " + i), singletonList(otherKey.apply(i)));
+    }
+
+    // The ancestor checks have to follow the commit tails, which are shorter than the distances
+    // between the changes.
+    List<String> messages = new ArrayList<>();
+    try (PaginationIterator<Commit> iter = store.getContentHistory(branch, key, null, false)) {
+      iter.forEachRemaining(c -> messages.add(c.getCommitMeta().getMessage()));
+    }
+    soft.assertThat(messages).containsExactly("update 2", "update", "create");
+  }
+
+  @Test
+  public void contentHistoryConcurrentlyRecordedValue(
+      @NessieStoreConfig(name = CONFIG_CONTENT_HISTORY, value = "true") @NessiePersist
+          Persist withHistory)
+      throws Exception {
+    VersionStore store = new VersionStoreImpl(withHistory);
+    BranchName branch = BranchName.of("main-concurrent");
+    BranchName other = BranchName.of("other-concurrent");
+    store.create(branch, Optional.empty());
+
+    ContentKey key = ContentKey.of("table");
+    store.commit(
+        branch,
+        Optional.empty(),
+        fromMessage("create"),
+        singletonList(Put.of(key, IcebergTable.of("meta-0", 42, 43, 44, 45))));
+    String contentId = store.getValue(branch, key).content().getId();
+    Hash updated =
+        store
+            .commit(
+                branch,
+                Optional.empty(),
+                fromMessage("update"),
+                singletonList(
+                    Put.of(key, IcebergTable.of("meta-1", 42, 43, 44, 45).withId(contentId))))
+            .getCommitHash();
+    store.create(other, Optional.of(updated));
+    Put revert = Put.of(key, IcebergTable.of("meta-0", 42, 43, 44, 45).withId(contentId));
+
+    // Records the same value for another commit, after the history slots have been read, but
+    // before the history entry is stored.
+    AtomicBoolean raced = new AtomicBoolean();
+    Persist racing =
+        new PersistDelegate(withHistory) {
+          @Override
+          public boolean storeObj(@Nonnull @jakarta.annotation.Nonnull Obj obj)
+              throws ObjTooLargeException {
+            if (obj.type() == ObjType.INDEX && raced.compareAndSet(false, true)) {
+              try {
+                store.commit(
+                    other, Optional.empty(), fromMessage("revert on other"), singletonList(revert));
+              } catch (Exception e) {
+                throw new RuntimeException(e);
+              }
+            }
+            return super.storeObj(obj);
+          }
+        };
+    new VersionStoreImpl(racing)
+        .commit(branch, Optional.empty(), fromMessage("revert"), singletonList(revert));
+    soft.assertThat(raced).isTrue();
+
+    for (BranchName ref : Arrays.asList(branch, other)) {
+      List<String> messages = new ArrayList<>();
+      try (PaginationIterator<Commit> iter = store.getContentHistory(ref, key, null, false)) {
+        iter.forEachRemaining(c -> messages.add(c.getCommitMeta().getMessage()));
+      }
+      soft.assertThat(messages)
+          .describedAs("history on %s", ref)
+          .containsExactly(ref == branch ? "revert" : "revert on other", "update", "create");
+    }
+  }
+
+  /**
+   * Creates a content object, updates it, interleaved with commits to other keys, renames it and
+   * creates a new content object using the old key. Returns the messages of the commits in the
+   * history of the renamed content object followed by the history of the new content object.
+   */
+  private static List<String> contentHistoryScenario(Persist persist, BranchName branch)
+      throws Exception {
+    VersionStore store = new VersionStoreImpl(persist);
+    store.create(branch, Optional.empty());
+
+    ContentKey key = ContentKey.of("table");
+    ContentKey renamed = ContentKey.of("renamed");
+    IntFunction<Put> other =
+        i -> Put.of(ContentKey.of("other-" + i), IcebergTable.of("other-" + i, 42, 43, 44, 45));
+
+    store.commit(branch, Optional.empty(), fromMessage("other 0"), singletonList(other.apply(0)));
+    store.commit(
+        branch,
+        Optional.empty(),
+        fromMessage("create"),
+        singletonList(Put.of(key, IcebergTable.of("meta-0", 42, 43, 44, 45))));
+    String contentId = store.getValue(branch, key).content().getId();
+    for (int i = 1; i <= 2; i++) {
+      for (int j = 0; j < 5; j++) {
+        store.commit(
+            branch,
+            Optional.empty(),
+            fromMessage("other " + i + "-" + j),
+            singletonList(other.apply(i * 10 + j)));
+      }
+      store.commit(
+          branch,
+          Optional.empty(),
+          fromMessage("update " + i),
+          singletonList(
+              Put.of(key, IcebergTable.of("meta-" + i, 42, 43, 44, 45).withId(contentId))));
+    }
+    store.commit(
+        branch,
+        Optional.empty(),
+        fromMessage("rename"),
+        Arrays.asList(
+            Delete.of(key),
+            Put.of(renamed, IcebergTable.of("meta-2", 42, 43, 44, 45).withId(contentId))));
+    store.commit(
+        branch,
+        Optional.empty(),
+        fromMessage("create at old key"),
+        singletonList(Put.of(key, IcebergTable.of("meta-new", 42, 43, 44, 45))));
+    store.commit(
+        branch,
+        Optional.empty(),
+        fromMessage("update renamed"),
+        singletonList(
+            Put.of(renamed, IcebergTable.of("meta-3", 42, 43, 44, 45).withId(contentId))));
+    store.commit(branch, Optional.empty(), fromMessage("other 3"), singletonList(other.apply(3)));
+
+    List<String> messages = new ArrayList<>();
+    for (ContentKey k : Arrays.asList(renamed, key)) {
+      try (PaginationIterator<Commit> iter = store.getContentHistory(branch, k, null, false)) {
+        iter.forEachRemaining(c -> messages.add(c.getCommitMeta().getMessage()));
+      }
+    }
+    return messages;
+  }
+
+  /**
+   * Returns the messages of the commits in the history of the renamed content object of {@link
+   * #contentHistoryScenario(Persist, BranchName)}, fetching one commit per page.
+   */
+  private static List<String> pagedContentHistory(Persist persist, BranchName branch)
+      throws Exception {
+    VersionStore store = new VersionStoreImpl(persist);
+    List<String> messages = new ArrayList<>();
+    String token = null;
+    do {
+      try (PaginationIterator<Commit> iter =
+          store.getContentHistory(branch, ContentKey.of("renamed"), token, false)) {
+        token = null;
+        if (iter.hasNext()) {
+          messages.add(iter.next().getCommitMeta().getMessage());
+          if (iter.hasNext()) {
+            iter.next();
+            token = iter.tokenForCurrent();
+          }
+        }
+      }
+    } while (token != null);
+    return messages;
+  }
+
+  private static int contentHistoryCommitFetches(Persist persist, BranchName branch)
+      throws Exception {
+    AtomicInteger commitFetches = new AtomicInteger();
+    Persist tested =
+        new PersistDelegate(persist) {
+          @Nonnull
+          @jakarta.annotation.Nonnull
+          @Override
+          public Obj fetchObj(@Nonnull @jakarta.annotation.Nonnull ObjId id)
+              throws ObjNotFoundException {
+            Obj obj = super.fetchObj(id);
+            if (obj.type() == ObjType.COMMIT) {
+              commitFetches.incrementAndGet();
+            }
+            return obj;
+          }
+
+          @Nonnull
+          @jakarta.annotation.Nonnull
+          @Override
+          public Obj[] fetchObjs(@Nonnull @jakarta.annotation.Nonnull ObjId[] ids)
+              throws ObjNotFoundException {
+            Obj[] objs = super.fetchObjs(ids);
+            for (Obj obj : objs) {
+              if (obj != null && obj.type() == ObjType.COMMIT) {
+                commitFetches.incrementAndGet();
+              }
+            }
+            return objs;
+          }
+        };
+
+    try (PaginationIterator<Commit> iter =
+        new VersionStoreImpl(tested)
+            .getContentHistory(branch, ContentKey.of("renamed"), null, false)) {
+      iter.forEachRemaining(c -> {});
+    }
+    return commitFetches.get();
+  }
+
+  @Test
+  public void completeIndexCache(
+      @NessieStoreConfig(name = CONFIG_INDEX_CACHE_CAPACITY_MB, value = "8")
+          @NessieStoreConfig(name = CONFIG_MAX_INCREMENTAL_INDEX_SIZE, value = "1024")
+          @NessieStoreConfig(name = CONFIG_MAX_SERIALIZED_INDEX_SIZE, value = "1024")
+          @NessiePersist
+          Persist persist)
+      throws Exception {
+    BranchName branch = BranchName.of("branch1");
+    VersionStore store = new VersionStoreImpl(persist);
+    store.create(branch, Optional.empty());
+
+    List<ContentKey> keys = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      List<Operation> puts = new ArrayList<>();
+      for (int j = 0; j < 10; j++) {
+        ContentKey key = ContentKey.of("table-" + i + "-" + j);
+        keys.add(key);
+        puts.add(Put.of(key, IcebergTable.of("meta-" + i + "-" + j, 42, 43, 44, 45)));
+      }
+      store.commit(branch, Optional.empty(), fromMessage("commit " + i), puts);
+    }
+
+    AtomicInteger indexFetches = new AtomicInteger();
+    Persist tested =
+        new PersistDelegate(persist) {
+          @Nonnull
+          @jakarta.annotation.Nonnull
+          @Override
+          public Obj fetchObj(@Nonnull @jakarta.annotation.Nonnull ObjId id)
+              throws ObjNotFoundException {
+            return countIndexes(super.fetchObj(id));
+          }
+
+          @Nonnull
+          @jakarta.annotation.Nonnull
+          @Override
+          public <T extends Obj> T fetchTypedObj(
+              @Nonnull @jakarta.annotation.Nonnull ObjId id, ObjType type, Class<T> typeClass)
+              throws ObjNotFoundException {
+            return countIndexes(super.fetchTypedObj(id, type, typeClass));
+          }
+
+          @Nonnull
+          @jakarta.annotation.Nonnull
+          @Override
+          public Obj[] fetchObjs(@Nonnull @jakarta.annotation.Nonnull ObjId[] ids)
+              throws ObjNotFoundException {
+            Obj[] objs = super.fetchObjs(ids);
+            for (Obj obj : objs) {
+              countIndexes(obj);
+            }
+            return objs;
+          }
+
+          private <T extends Obj> T countIndexes(T obj) {
+            if (obj != null
+                && (obj.type() == ObjType.INDEX || obj.type() == ObjType.INDEX_SEGMENTS)) {
+              indexFetches.incrementAndGet();
+            }
+            return obj;
+          }
+        };
+    VersionStore cached = new VersionStoreImpl(tested);
+
+    // First read materializes the complete index from the reference index stripes
+    soft.assertThat(cached.getValues(branch, keys)).hasSize(keys.size());
+    soft.assertThat(indexFetches.getAndSet(0)).isPositive();
+
+    // Subsequent reads against the same commit use the cached index
+    for (int i = 0; i < keys.size(); i += 17) {
+      ContentKey key = keys.get(i);
+      soft.assertThat(cached.getValue(branch, key))
+          .extracting(r -> ((IcebergTable) r.content()).getMetadataLocation())
+          .isEqualTo(((IcebergTable) store.getValue(branch, key).content()).getMetadataLocation());
+    }
+    soft.assertThat(cached.getIdentifiedKeys(branch, keys)).hasSize(keys.size());
+    List<ContentKey> listed = new ArrayList<>();
+    try (PaginationIterator<KeyEntry> iter =
+        cached.getKeys(branch, null, false, KeyRestrictions.NO_KEY_RESTRICTIONS)) {
+      iter.forEachRemaining(e -> listed.add(e.getKey().contentKey()));
+    }
+    soft.assertThat(listed).containsExactlyInAnyOrderElementsOf(keys);
+    soft.assertThat(indexFetches).hasValue(0);
+  }
 }
@@ -25,7 +25,7 @@ import io.opentelemetry.context.Scope;
 final class OpenTelemetryTraced implements Traced {
 
   private final Span span;
-  private final Scope scope;
+  private Scope scope;
 
   @SuppressWarnings("MustBeClosedChecker")
   OpenTelemetryTraced(Tracer tracer, String spanName) {
@@ -36,12 +36,22 @@ final class OpenTelemetryTraced implements Traced {
   @Override
   public void close() {
     try {
-      scope.close();
+      closeScope();
     } finally {
       span.end();
     }
   }
 
+  @Override
+  public Traced closeScope() {
+    Scope s = scope;
+    if (s != null) {
+      scope = null;
+      s.close();
+    }
+    return this;
+  }
+
   @Override
   public void event(String eventName) {
     span.addEvent(eventName);
@@ -21,7 +21,11 @@ import static java.util.stream.Collectors.groupingBy;
 
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import javax.annotation.Nonnull;
 import org.projectnessie.versioned.storage.common.config.StoreConfig;
 import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
@@ -347,8 +351,119 @@ final class TelemetryPersist implements Persist {
     }
   }
 
+  // Asynchronous variants, the span is started before the operation is issued, its scope ends on
+  // the calling thread, the span ends when the returned stage completes.
+
+  @SuppressWarnings("resource")
+  <R> CompletionStage<R> tracedAsync(
+      Traced trace, Supplier<CompletionStage<R>> operation, BiConsumer<Traced, R> onSuccess) {
+    CompletionStage<R> stage;
+    try {
+      stage = operation.get();
+    } catch (RuntimeException e) {
+      trace.unhandledError(e);
+      trace.close();
+      throw e;
+    } finally {
+      trace.closeScope();
+    }
+    return stage.whenComplete(
+        (result, failure) -> {
+          try {
+            if (failure == null) {
+              onSuccess.accept(trace, result);
+            } else {
+              asyncFailure(trace, failure);
+            }
+          } finally {
+            trace.close();
+          }
+        });
+  }
+
+  private static void asyncFailure(Traced trace, Throwable failure) {
+    Throwable e =
+        failure instanceof CompletionException && failure.getCause() != null
+            ? failure.getCause()
+            : failure;
+    if (e instanceof ObjNotFoundException || e instanceof RefNotFoundException) {
+      trace.attribute("error", "not found");
+    } else if (e instanceof RefConditionFailedException) {
+      trace.attribute("error", "conditional update failed");
+    } else if (e instanceof ObjTooLargeException) {
+      trace.attribute("error", "too large");
+    } else if (e instanceof RuntimeException) {
+      trace.unhandledError((RuntimeException) e);
+    }
+  }
+
+  @Override
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  public CompletionStage<Reference> updateReferencePointerAsync(
+      @Nonnull @jakarta.annotation.Nonnull Reference reference,
+      @Nonnull @jakarta.annotation.Nonnull ObjId newPointer) {
+    return tracedAsync(
+        traced("updateReferencePointerAsync"),
+        () -> persist.updateReferencePointerAsync(reference, newPointer),
+        (trace, result) -> {});
+  }
+
+  @Override
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  public <T extends Obj> CompletionStage<T> fetchTypedObjAsync(
+      @Nonnull @jakarta.annotation.Nonnull ObjId id, ObjType type, Class<T> typeClass) {
+    return tracedAsync(
+        traced("fetchTypedObjAsync").attribute("type", type.name()),
+        () -> persist.fetchTypedObjAsync(id, type, typeClass),
+        (trace, result) -> {});
+  }
+
+  @Override
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  public CompletionStage<Obj[]> fetchObjsAsync(@Nonnull @jakarta.annotation.Nonnull ObjId[] ids) {
+    return tracedAsync(
+        traced("fetchObjsAsync").attribute("ids.length", ids.length),
+        () -> persist.fetchObjsAsync(ids),
+        (trace, objs) ->
+            stream(objs)
+                .filter(Objects::nonNull)
+                .collect(groupingBy(Obj::type, counting()))
+                .forEach((t, c) -> trace.attribute("type." + t.name() + ".count", c)));
+  }
+
+  @Override
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  public CompletionStage<boolean[]> storeObjsAsync(
+      @Nonnull @jakarta.annotation.Nonnull Obj[] objs) {
+    Traced traced = traced("storeObjsAsync").attribute("objs.length", objs.length);
+    stream(objs)
+        .collect(groupingBy(Obj::type, counting()))
+        .forEach((t, c) -> traced.attribute("type." + t.name() + ".count", c));
+    return tracedAsync(
+        traced,
+        () -> persist.storeObjsAsync(objs),
+        (trace, result) -> {
+          int successes = 0;
+          for (boolean b : result) {
+            if (b) {
+              successes++;
+            }
+          }
+          trace.attribute("created.count", successes);
+        });
+  }
+
   // Simple delegates
 
+  @Override
+  public boolean nativeAsyncFetches() {
+    return persist.nativeAsyncFetches();
+  }
+
   @Override
   public int hardObjectSizeLimit() {
     return persist.hardObjectSizeLimit();
@@ -375,4 +490,20 @@ final class TelemetryPersist implements Persist {
   public String name() {
     return persist.name();
   }
+
+  @Override
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  public Persist forReferenceUpdates() {
+    Persist forUpdates = persist.forReferenceUpdates();
+    return forUpdates == persist ? this : new TelemetryPersist(forUpdates, tracerSupplier);
+  }
+
+  @Override
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  public Persist forObjectUpdates() {
+    Persist forUpdates = persist.forObjectUpdates();
+    return forUpdates == persist ? this : new TelemetryPersist(forUpdates, tracerSupplier);
+  }
 }
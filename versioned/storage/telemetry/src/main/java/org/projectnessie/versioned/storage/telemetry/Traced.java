@@ -26,6 +26,13 @@ interface Traced extends Closeable {
   @Override
   void close();
 
+  /**
+   * Ends the scope of the span on the calling thread, but keeps the span open until {@link
+   * #close()} is called, which may happen on another thread, when an asynchronous operation
+   * completes.
+   */
+  Traced closeScope();
+
   void event(String eventName);
 
   Traced attribute(String tag, String value);
@@ -31,4 +31,13 @@ import java.lang.annotation.Target;
 @Inherited
 public @interface NessiePersistCache {
   long capacity() default 1024 * 1024;
+
+  /**
+   * Time-to-live for cached references in milliseconds, references are not cached, if {@code 0}
+   * (the default).
+   */
+  long referenceTtlMillis() default 0L;
+
+  /** Whether serialized objects are cached in off-heap memory. */
+  boolean offHeap() default false;
 }
@@ -73,13 +73,16 @@ abstract class ExportCommon {
   }
 
   ExportContext createExportContext(ExportVersion exportVersion) {
-    return new ExportContext(
-        exportFiles,
-        exporter,
+    ExportMeta.Builder exportMeta =
         ExportMeta.newBuilder()
             .setNessieVersion(NessieVersion.NESSIE_VERSION)
             .setCreatedMillisEpoch(currentTimestampMillis())
-            .setVersion(exportVersion));
+            .setVersion(exportVersion);
+    HeadsAndForks deltaBase = exporter.deltaBase();
+    if (deltaBase != null) {
+      exportMeta.addAllDeltaBaseHeads(deltaBase.getHeadsList());
+    }
+    return new ExportContext(exportFiles, exporter, exportMeta);
   }
 
   abstract ExportVersion getExportVersion();
@@ -16,6 +16,8 @@
 package org.projectnessie.versioned.transfer;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import org.projectnessie.versioned.transfer.files.ExportFileSupplier;
 import org.projectnessie.versioned.transfer.serialize.TransferTypes.Commit;
 import org.projectnessie.versioned.transfer.serialize.TransferTypes.ExportMeta;
@@ -24,30 +26,61 @@ import org.projectnessie.versioned.transfer.serialize.TransferTypes.Ref;
 
 final class ExportContext {
 
+  private final ExportFileSupplier exportFiles;
+  private final NessieExporter exporter;
   private final ExportMeta.Builder exportMeta;
+  private final List<ExportContext> shards = new ArrayList<>();
 
   final SizeLimitedOutput namedReferenceOutput;
   final SizeLimitedOutput commitOutput;
 
   ExportContext(
       ExportFileSupplier exportFiles, NessieExporter exporter, ExportMeta.Builder exportMeta) {
+    this(exportFiles, exporter, exportMeta, "");
+  }
+
+  private ExportContext(
+      ExportFileSupplier exportFiles,
+      NessieExporter exporter,
+      ExportMeta.Builder exportMeta,
+      String fileNameSuffix) {
+    this.exportFiles = exportFiles;
+    this.exporter = exporter;
     this.exportMeta = exportMeta;
     namedReferenceOutput =
         new SizeLimitedOutput(
             exportFiles,
             exporter,
-            NessieExporter.NAMED_REFS_PREFIX,
+            NessieExporter.NAMED_REFS_PREFIX + fileNameSuffix,
             exportMeta::addNamedReferencesFiles,
             exportMeta::setNamedReferencesCount);
     commitOutput =
         new SizeLimitedOutput(
             exportFiles,
             exporter,
-            NessieExporter.COMMITS_PREFIX,
+            NessieExporter.COMMITS_PREFIX + fileNameSuffix,
             exportMeta::addCommitsFiles,
             exportMeta::setCommitCount);
   }
 
+  /**
+   * Returns the shard with the given index, creating it if needed. Each shard writes named
+   * references and commits to its own set of files and is meant to be used by exactly one export
+   * worker thread at a time. The files and entity counts of all shards are added to the export
+   * metadata by {@link #finish()}.
+   */
+  synchronized ExportContext shard(int shardIndex) {
+    while (shards.size() <= shardIndex) {
+      shards.add(
+          new ExportContext(
+              exportFiles,
+              exporter,
+              ExportMeta.newBuilder(),
+              String.format("-%03d", shards.size() + 1)));
+    }
+    return shards.get(shardIndex);
+  }
+
   public void writeRef(Ref ref) {
     namedReferenceOutput.writeEntity(ref);
   }
@@ -60,14 +93,29 @@ final class ExportContext {
     commitOutput.writeEntity(commit);
   }
 
-  ExportMeta finish() throws IOException {
+  void finishCurrentFiles() throws IOException {
+    namedReferenceOutput.finishCurrentFile();
+    commitOutput.finishCurrentFile();
+  }
+
+  synchronized ExportMeta finish() throws IOException {
     namedReferenceOutput.finish();
     commitOutput.finish();
+    for (ExportContext shard : shards) {
+      ExportMeta shardMeta = shard.finish();
+      exportMeta
+          .addAllNamedReferencesFiles(shardMeta.getNamedReferencesFilesList())
+          .setNamedReferencesCount(
+              exportMeta.getNamedReferencesCount() + shardMeta.getNamedReferencesCount())
+          .addAllCommitsFiles(shardMeta.getCommitsFilesList())
+          .setCommitCount(exportMeta.getCommitCount() + shardMeta.getCommitCount());
+    }
     return exportMeta.build();
   }
 
-  void closeSilently() {
+  synchronized void closeSilently() {
     namedReferenceOutput.closeSilently();
     commitOutput.closeSilently();
+    shards.forEach(ExportContext::closeSilently);
   }
 }
@@ -24,18 +24,23 @@ import static org.projectnessie.versioned.storage.common.logic.Logics.indexesLog
 import static org.projectnessie.versioned.storage.common.logic.Logics.referenceLogic;
 import static org.projectnessie.versioned.storage.common.logic.Logics.repositoryLogic;
 import static org.projectnessie.versioned.storage.common.logic.ReferencesQuery.referencesQuery;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.objIdFromBytes;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
+import javax.annotation.Nullable;
 import org.projectnessie.model.Content;
 import org.projectnessie.nessie.relocated.protobuf.ByteString;
 import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
@@ -63,8 +68,11 @@ import org.projectnessie.versioned.transfer.serialize.TransferTypes.Ref;
 import org.projectnessie.versioned.transfer.serialize.TransferTypes.RepositoryDescriptionProto;
 
 final class ExportPersist extends ExportCommon {
+  private final ProgressListener progressListener;
+
   ExportPersist(ExportFileSupplier exportFiles, NessieExporter exporter) {
     super(exportFiles, exporter);
+    this.progressListener = new SynchronizedProgressListener(exporter.progressListener());
   }
 
   @Override
@@ -76,13 +84,13 @@ final class ExportPersist extends ExportCommon {
   HeadsAndForks exportCommits(ExportContext exportContext) {
 
     HeadsAndForkPoints headsAndForkPoints;
-    try (Batcher<CommitObj> commitObjBatcher =
-        new Batcher<>(
-            exporter.commitBatchSize(), commits -> mapCommitObjs(commits, exportContext))) {
-      headsAndForkPoints =
-          exporter.fullScan()
-              ? scanDatabase(commitObjBatcher::add)
-              : scanAllReferences(commitObjBatcher::add);
+    if (exporter.exportThreads() > 1) {
+      try (ExportWorkers<CommitObj> workers =
+          new ExportWorkers<>(exporter.exportThreads(), exportContext, this::mapCommitObjs)) {
+        headsAndForkPoints = scanCommits(workers::submit);
+      }
+    } else {
+      headsAndForkPoints = scanCommits(commits -> mapCommitObjs(commits, exportContext));
     }
 
     HeadsAndForks.Builder hf =
@@ -90,9 +98,27 @@ final class ExportPersist extends ExportCommon {
             .setScanStartedAtInMicros(headsAndForkPoints.getScanStartedAtInMicros());
     headsAndForkPoints.getHeads().forEach(h -> hf.addHeads(h.asBytes()));
     headsAndForkPoints.getForkPoints().forEach(h -> hf.addForkPoints(h.asBytes()));
+
+    HeadsAndForks deltaBase = exporter.deltaBase();
+    if (deltaBase != null) {
+      // The heads of a delta export must also cover the delta base, so that the next delta export
+      // can be based on this one.
+      Set<ByteString> heads = new HashSet<>(hf.getHeadsList());
+      deltaBase.getHeadsList().stream().filter(heads::add).forEach(hf::addHeads);
+    }
+
     return hf.build();
   }
 
+  private HeadsAndForkPoints scanCommits(Consumer<List<CommitObj>> commitsHandler) {
+    try (Batcher<CommitObj> commitObjBatcher =
+        new Batcher<>(exporter.commitBatchSize(), commitsHandler)) {
+      return exporter.fullScan()
+          ? scanDatabase(commitObjBatcher::add)
+          : scanAllReferences(commitObjBatcher::add);
+    }
+  }
+
   private HeadsAndForkPoints scanAllReferences(Consumer<CommitObj> commitHandler) {
     Persist persist = persist();
 
@@ -102,6 +128,7 @@ final class ExportPersist extends ExportCommon {
 
     ReferenceLogic referenceLogic = referenceLogic(persist);
     CommitLogic commitLogic = commitLogic(persist);
+    DeltaBaseCommits deltaBaseCommits = new DeltaBaseCommits(commitLogic, exporter.deltaBase());
     referenceLogic
         .queryReferences(referencesQuery())
         .forEachRemaining(
@@ -110,7 +137,7 @@ final class ExportPersist extends ExportCommon {
                       commitLogic.commitLog(commitLogQuery(ref.pointer()));
                   commitIter.hasNext(); ) {
                 CommitObj commit = commitIter.next();
-                if (!identify.handleCommit(commit)) {
+                if (deltaBaseCommits.contains(commit) || !identify.handleCommit(commit)) {
                   break;
                 }
                 commitHandler.accept(commit);
@@ -120,6 +147,72 @@ final class ExportPersist extends ExportCommon {
     return identify.finish();
   }
 
+  /**
+   * Identifies the commits reachable from the heads of the {@link NessieExporter#deltaBase() delta
+   * base}, following the same commit-log walking as the export itself.
+   *
+   * <p>A commit log follows the direct parents, so a commit is reachable from a delta base head, if
+   * the commit log of that head contains the commit at the commit's {@link CommitObj#seq()
+   * sequence number}. The commit logs of the delta base heads are walked lazily and only down to
+   * the sequence number of the checked commit, so only the most recent part of the delta base
+   * history, that the walks over the current references reach, is loaded and held in memory.
+   */
+  private static final class DeltaBaseCommits {
+    private final List<BaseHeadLog> logs = new ArrayList<>();
+    private final Set<ObjId> commits = new HashSet<>();
+
+    DeltaBaseCommits(
+        CommitLogic commitLogic,
+        @Nullable @jakarta.annotation.Nullable HeadsAndForks deltaBase) {
+      if (deltaBase != null) {
+        for (ByteString head : deltaBase.getHeadsList()) {
+          logs.add(new BaseHeadLog(commitLogic.commitLog(commitLogQuery(objIdFromBytes(head)))));
+        }
+      }
+    }
+
+    boolean contains(CommitObj commit) {
+      if (commits.contains(commit.id())) {
+        return true;
+      }
+      for (Iterator<BaseHeadLog> iter = logs.iterator(); iter.hasNext(); ) {
+        if (!iter.next().walkDownTo(commit.seq(), commits)) {
+          iter.remove();
+        }
+      }
+      return commits.contains(commit.id());
+    }
+
+    private static final class BaseHeadLog {
+      private final Iterator<CommitObj> log;
+      private long seq = Long.MAX_VALUE;
+
+      BaseHeadLog(Iterator<CommitObj> log) {
+        this.log = log;
+      }
+
+      /**
+       * Adds the IDs of the commits down to the given sequence number to {@code commits}.
+       *
+       * @return {@code false}, if this log does not need to be walked any further, because it is
+       *     exhausted or reached a commit that has already been collected via another head
+       */
+      boolean walkDownTo(long targetSeq, Set<ObjId> commits) {
+        while (seq > targetSeq) {
+          if (!log.hasNext()) {
+            return false;
+          }
+          CommitObj c = log.next();
+          seq = c.seq();
+          if (!commits.add(c.id())) {
+            return false;
+          }
+        }
+        return true;
+      }
+    }
+  }
+
   private HeadsAndForkPoints scanDatabase(Consumer<CommitObj> commitHandler) {
     CommitLogic commitLogic = commitLogic(persist());
     return commitLogic.identifyAllHeadsAndForkPoints(exporter.expectedCommitCount(), commitHandler);
@@ -128,18 +221,32 @@ final class ExportPersist extends ExportCommon {
   @Override
   void exportReferences(ExportContext exportContext) {
     ReferenceLogic referenceLogic = referenceLogic(persist());
-    for (PagedResult<Reference, String> refs = referenceLogic.queryReferences(referencesQuery());
-        refs.hasNext(); ) {
-      Reference reference = refs.next();
-      ObjId extendedInfoObj = reference.extendedInfoObj();
-      Ref.Builder refBuilder =
-          Ref.newBuilder().setName(reference.name()).setPointer(reference.pointer().asBytes());
-      if (extendedInfoObj != null) {
-        refBuilder.setExtendedInfoObj(extendedInfoObj.asBytes());
+    PagedResult<Reference, String> refs = referenceLogic.queryReferences(referencesQuery());
+    if (exporter.exportThreads() > 1) {
+      try (ExportWorkers<Reference> workers =
+              new ExportWorkers<>(exporter.exportThreads(), exportContext, this::mapReferences);
+          Batcher<Reference> referenceBatcher =
+              new Batcher<>(exporter.commitBatchSize(), workers::submit)) {
+        refs.forEachRemaining(referenceBatcher::add);
       }
-      exportContext.writeRef(refBuilder.build());
-      exporter.progressListener().progress(ProgressEvent.NAMED_REFERENCE_WRITTEN);
+    } else {
+      refs.forEachRemaining(reference -> mapReference(reference, exportContext));
+    }
+  }
+
+  private void mapReferences(List<Reference> references, ExportContext exportContext) {
+    references.forEach(reference -> mapReference(reference, exportContext));
+  }
+
+  private void mapReference(Reference reference, ExportContext exportContext) {
+    ObjId extendedInfoObj = reference.extendedInfoObj();
+    Ref.Builder refBuilder =
+        Ref.newBuilder().setName(reference.name()).setPointer(reference.pointer().asBytes());
+    if (extendedInfoObj != null) {
+      refBuilder.setExtendedInfoObj(extendedInfoObj.asBytes());
     }
+    exportContext.writeRef(refBuilder.build());
+    progressListener.progress(ProgressEvent.NAMED_REFERENCE_WRITTEN);
   }
 
   @Override
@@ -168,7 +275,7 @@ final class ExportPersist extends ExportCommon {
     for (CommitObj c : commitObjs) {
       Commit commit = mapCommitObj(c, indexesLogic, objs);
       exportContext.writeCommit(commit);
-      exporter.progressListener().progress(ProgressEvent.COMMIT_WRITTEN);
+      progressListener.progress(ProgressEvent.COMMIT_WRITTEN);
     }
   }
 
@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.transfer;
+
+import static java.util.Collections.emptyList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+
+/**
+ * Passes batches of entities to a fixed number of worker threads, each worker writes to its own
+ * {@link ExportContext#shard(int) shard} of the export context. Should be used in a
+ * <em>try-with-resource</em>, {@link #close()} waits for all submitted batches to be processed.
+ */
+final class ExportWorkers<T> implements AutoCloseable {
+
+  /** Empty batches are never submitted, so an empty list tells a worker to stop. */
+  private final List<T> endOfWork = emptyList();
+
+  private final BlockingQueue<List<T>> queue;
+  private final ExecutorService executor;
+  private final List<Future<?>> workers;
+
+  ExportWorkers(
+      int threads, ExportContext exportContext, BiConsumer<List<T>, ExportContext> worker) {
+    this.queue = new ArrayBlockingQueue<>(2 * threads);
+    this.executor =
+        Executors.newFixedThreadPool(
+            threads,
+            new ThreadFactoryBuilder().setNameFormat("nessie-export-%d").setDaemon(true).build());
+    this.workers = new ArrayList<>(threads);
+    for (int i = 0; i < threads; i++) {
+      ExportContext shard = exportContext.shard(i);
+      workers.add(
+          executor.submit(
+              () -> {
+                try {
+                  while (true) {
+                    List<T> batch = queue.take();
+                    if (batch.isEmpty()) {
+                      return null;
+                    }
+                    worker.accept(batch, shard);
+                  }
+                } finally {
+                  shard.finishCurrentFiles();
+                }
+              }));
+    }
+  }
+
+  void submit(List<T> batch) {
+    if (!batch.isEmpty()) {
+      enqueue(batch);
+    }
+  }
+
+  private void enqueue(List<T> batch) {
+    try {
+      while (!queue.offer(batch, 100, MILLISECONDS)) {
+        // A worker only terminates early, if it failed - propagate the failure to the producer
+        // instead of waiting forever for a free slot in the queue.
+        for (Future<?> w : workers) {
+          if (w.isDone()) {
+            awaitWorker(w);
+          }
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static void awaitWorker(Future<?> worker) throws InterruptedException {
+    try {
+      worker.get();
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      Throwables.throwIfUnchecked(cause);
+      throw new RuntimeException(cause);
+    }
+  }
+
+  @Override
+  public void close() {
+    try {
+      for (int i = 0; i < workers.size(); i++) {
+        enqueue(endOfWork);
+      }
+      for (Future<?> w : workers) {
+        awaitWorker(w);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
@@ -17,6 +17,8 @@ package org.projectnessie.versioned.transfer;
 
 import static java.util.Objects.requireNonNull;
 import static org.projectnessie.versioned.storage.common.indexes.StoreIndexElement.indexElement;
+import static org.projectnessie.versioned.storage.common.logic.CommitLogQuery.commitLogQuery;
+import static org.projectnessie.versioned.storage.common.logic.Logics.commitLogic;
 import static org.projectnessie.versioned.storage.common.logic.Logics.indexesLogic;
 import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.Action.ADD;
 import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.Action.REMOVE;
@@ -24,8 +26,23 @@ import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.commi
 import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.contentIdMaybe;
 import static org.projectnessie.versioned.storage.common.objtypes.ContentValueObj.contentValue;
 
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.projectnessie.model.Content;
 import org.projectnessie.nessie.relocated.protobuf.ByteString;
 import org.projectnessie.versioned.storage.batching.BatchingPersist;
@@ -34,10 +51,14 @@ import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundExceptio
 import org.projectnessie.versioned.storage.common.exceptions.ObjTooLargeException;
 import org.projectnessie.versioned.storage.common.indexes.StoreIndex;
 import org.projectnessie.versioned.storage.common.indexes.StoreKey;
+import org.projectnessie.versioned.storage.common.logic.CommitLogic;
 import org.projectnessie.versioned.storage.common.logic.IndexesLogic;
+import org.projectnessie.versioned.storage.common.logic.PagedResult;
+import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
 import org.projectnessie.versioned.storage.common.objtypes.CommitOp;
 import org.projectnessie.versioned.storage.common.objtypes.ContentValueObj;
 import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Persist;
 import org.projectnessie.versioned.transfer.serialize.TransferTypes.Commit;
 import org.projectnessie.versioned.transfer.serialize.TransferTypes.ExportMeta;
 import org.projectnessie.versioned.transfer.serialize.TransferTypes.HeadsAndForks;
@@ -45,16 +66,25 @@ import org.projectnessie.versioned.transfer.serialize.TransferTypes.Operation;
 
 abstract class ImportPersistCommon extends ImportCommon {
   protected final BatchingPersist persist;
+  protected final ProgressListener progressListener;
 
   ImportPersistCommon(ExportMeta exportMeta, NessieImporter importer) {
     super(exportMeta, importer);
-    this.persist =
-        WriteBatching.builder()
-            .persist(requireNonNull(importer.persist()))
-            .batchSize(importer.commitBatchSize())
-            .optimistic(true)
-            .build()
-            .create();
+    this.progressListener = new SynchronizedProgressListener(importer.progressListener());
+    this.persist = newBatchingPersist();
+  }
+
+  /**
+   * Creates a new write-batching {@link Persist}. The parallel import mode uses one instance per
+   * task, so that flushes of one task do not block the writes of other tasks.
+   */
+  private BatchingPersist newBatchingPersist() {
+    return WriteBatching.builder()
+        .persist(requireNonNull(importer.persist()))
+        .batchSize(importer.commitBatchSize())
+        .optimistic(true)
+        .build()
+        .create();
   }
 
   @Override
@@ -68,13 +98,18 @@ abstract class ImportPersistCommon extends ImportCommon {
 
   @Override
   void importFinalize(HeadsAndForks headsAndForks) {
+    if (importer.importThreads() > 1) {
+      completeIndexesParallel(headsAndForks);
+      return;
+    }
+
     try {
       IndexesLogic indexesLogic = indexesLogic(persist);
       for (ByteString head : headsAndForks.getHeadsList()) {
         try {
           indexesLogic.completeIndexesInCommitChain(
               ObjId.objIdFromBytes(head),
-              () -> importer.progressListener().progress(ProgressEvent.FINALIZE_PROGRESS));
+              () -> progressListener.progress(ProgressEvent.FINALIZE_PROGRESS));
         } catch (ObjNotFoundException e) {
           throw new RuntimeException(e);
         }
@@ -84,23 +119,92 @@ abstract class ImportPersistCommon extends ImportCommon {
     }
   }
 
+  /**
+   * Completes the indexes of independent commit chains in parallel.
+   *
+   * <p>The heads and fork points split the commit graph into chains of commits, each chain ends at
+   * a head or fork point and starts right after the next fork point, the chain depends on. A chain
+   * can only be completed after the chain it depends on has been completed, otherwise both chains
+   * would compute the same indexes. Chains that do not depend on each other are completed
+   * concurrently.
+   */
+  private void completeIndexesParallel(HeadsAndForks headsAndForks) {
+    Set<ObjId> chainEnds = new LinkedHashSet<>();
+    headsAndForks.getForkPointsList().forEach(id -> chainEnds.add(ObjId.objIdFromBytes(id)));
+    headsAndForks.getHeadsList().forEach(id -> chainEnds.add(ObjId.objIdFromBytes(id)));
+
+    // Identify the chain that each chain depends on, ignoring chains that are already complete.
+    CommitLogic commitLogic = commitLogic(persist);
+    Map<ObjId, ObjId> dependencies = new HashMap<>();
+    Map<ObjId, Long> commitSeqs = new HashMap<>();
+    for (ObjId chainEnd : chainEnds) {
+      PagedResult<CommitObj, ObjId> log = commitLogic.commitLog(commitLogQuery(chainEnd));
+      CommitObj head = log.hasNext() ? log.next() : null;
+      if (head == null || !head.incompleteIndex()) {
+        continue;
+      }
+      commitSeqs.put(chainEnd, head.seq());
+      while (log.hasNext()) {
+        CommitObj c = log.next();
+        if (!c.incompleteIndex()) {
+          break;
+        }
+        if (chainEnds.contains(c.id())) {
+          dependencies.put(chainEnd, c.id());
+          break;
+        }
+      }
+    }
+
+    // A chain always depends on a chain with a lower commit sequence, so processing the chains
+    // ordered by commit sequence guarantees that the dependency's future has been created before.
+    List<ObjId> chains = new ArrayList<>(commitSeqs.keySet());
+    chains.sort(Comparator.comparing(commitSeqs::get));
+
+    ExecutorService executor = newExecutor("nessie-import-finalize-%d");
+    try {
+      Map<ObjId, CompletableFuture<Void>> futures = new HashMap<>();
+      for (ObjId chainEnd : chains) {
+        CompletableFuture<Void> dependency = futures.get(dependencies.get(chainEnd));
+        if (dependency == null) {
+          dependency = CompletableFuture.completedFuture(null);
+        }
+        futures.put(
+            chainEnd, dependency.thenRunAsync(() -> completeIndexesInChain(chainEnd), executor));
+      }
+      CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0])).join();
+    } catch (CompletionException e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new RuntimeException(e.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private void completeIndexesInChain(ObjId chainEnd) {
+    BatchingPersist chainPersist = newBatchingPersist();
+    try {
+      indexesLogic(chainPersist)
+          .completeIndexesInCommitChain(
+              chainEnd, () -> progressListener.progress(ProgressEvent.FINALIZE_PROGRESS));
+    } catch (ObjNotFoundException e) {
+      throw new RuntimeException(e);
+    } finally {
+      // Dependent chains must see the completed commits of this chain.
+      chainPersist.flush();
+    }
+  }
+
   @Override
   long importCommits() throws IOException {
+    if (importer.importThreads() > 1) {
+      return importCommitsParallel();
+    }
+
     long commitCount = 0L;
     try {
       for (String fileName : exportMeta.getCommitsFilesList()) {
-        try (InputStream input = importFiles.newFileInput(fileName)) {
-          while (true) {
-            Commit commit = Commit.parseDelimitedFrom(input);
-            if (commit == null) {
-              break;
-            }
-            processCommit(commit);
-            commitCount++;
-          }
-        } catch (ObjTooLargeException e) {
-          throw new RuntimeException(e);
-        }
+        commitCount += importCommitsFile(persist, fileName);
       }
     } finally {
       persist.flush();
@@ -108,9 +212,75 @@ abstract class ImportPersistCommon extends ImportCommon {
     return commitCount;
   }
 
-  abstract void processCommit(Commit commit) throws IOException, ObjTooLargeException;
+  /**
+   * Imports the commits files concurrently, each file is read and written by one task using its
+   * own {@link #newBatchingPersist() batching persist}. Commits can be imported in any order,
+   * because the indexes are completed afterwards in {@link #importFinalize(HeadsAndForks)}.
+   */
+  private long importCommitsParallel() throws IOException {
+    ExecutorService executor = newExecutor("nessie-import-%d");
+    try {
+      List<Future<Long>> files = new ArrayList<>();
+      for (String fileName : exportMeta.getCommitsFilesList()) {
+        files.add(
+            executor.submit(
+                () -> {
+                  BatchingPersist filePersist = newBatchingPersist();
+                  try {
+                    return importCommitsFile(filePersist, fileName);
+                  } finally {
+                    filePersist.flush();
+                  }
+                }));
+      }
+
+      long commitCount = 0L;
+      for (Future<Long> file : files) {
+        commitCount += file.get();
+      }
+      return commitCount;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      Throwables.throwIfInstanceOf(cause, IOException.class);
+      Throwables.throwIfUnchecked(cause);
+      throw new RuntimeException(cause);
+    } finally {
+      executor.shutdownNow();
+      persist.flush();
+    }
+  }
+
+  private long importCommitsFile(BatchingPersist persist, String fileName) throws IOException {
+    long commitCount = 0L;
+    try (InputStream input = importFiles.newFileInput(fileName)) {
+      while (true) {
+        Commit commit = Commit.parseDelimitedFrom(input);
+        if (commit == null) {
+          break;
+        }
+        processCommit(persist, commit);
+        commitCount++;
+      }
+    } catch (ObjTooLargeException e) {
+      throw new RuntimeException(e);
+    }
+    return commitCount;
+  }
+
+  private ExecutorService newExecutor(String threadNameFormat) {
+    return Executors.newFixedThreadPool(
+        importer.importThreads(),
+        new ThreadFactoryBuilder().setNameFormat(threadNameFormat).setDaemon(true).build());
+  }
+
+  abstract void processCommit(Persist persist, Commit commit)
+      throws IOException, ObjTooLargeException;
 
-  void processCommitOp(StoreIndex<CommitOp> index, Operation op, StoreKey storeKey) {
+  void processCommitOp(
+      Persist persist, StoreIndex<CommitOp> index, Operation op, StoreKey storeKey) {
     byte payload = (byte) op.getPayload();
     switch (op.getOperationType()) {
       case Delete:
@@ -35,6 +35,7 @@ import org.projectnessie.versioned.storage.common.indexes.StoreKey;
 import org.projectnessie.versioned.storage.common.logic.ReferenceLogic;
 import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
 import org.projectnessie.versioned.storage.common.objtypes.CommitOp;
+import org.projectnessie.versioned.storage.common.persist.Persist;
 import org.projectnessie.versioned.storage.versionstore.RefMapping;
 import org.projectnessie.versioned.transfer.serialize.TransferTypes.Commit;
 import org.projectnessie.versioned.transfer.serialize.TransferTypes.ExportMeta;
@@ -84,7 +85,7 @@ final class ImportPersistV1 extends ImportPersistCommon {
             }
 
             namedReferenceCount++;
-            importer.progressListener().progress(ProgressEvent.NAMED_REFERENCE_WRITTEN);
+            progressListener.progress(ProgressEvent.NAMED_REFERENCE_WRITTEN);
           }
         }
       }
@@ -95,7 +96,7 @@ final class ImportPersistV1 extends ImportPersistCommon {
   }
 
   @Override
-  void processCommit(Commit commit) throws IOException, ObjTooLargeException {
+  void processCommit(Persist persist, Commit commit) throws IOException, ObjTooLargeException {
     CommitMeta metadata;
     try (InputStream in = commit.getMetadata().newInput()) {
       metadata = importer.objectMapper().readValue(in, CommitMeta.class);
@@ -117,13 +118,13 @@ final class ImportPersistV1 extends ImportPersistCommon {
         .forEach(
             op -> {
               StoreKey storeKey = keyToStoreKey(ContentKey.of(op.getContentKeyList()));
-              processCommitOp(index, op, storeKey);
+              processCommitOp(persist, index, op, storeKey);
             });
 
     c.incrementalIndex(index.serialize());
 
     persist.storeObj(c.build());
 
-    importer.progressListener().progress(ProgressEvent.COMMIT_WRITTEN);
+    progressListener.progress(ProgressEvent.COMMIT_WRITTEN);
   }
 }
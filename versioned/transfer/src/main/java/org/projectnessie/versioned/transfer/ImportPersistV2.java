@@ -15,10 +15,13 @@
  */
 package org.projectnessie.versioned.transfer;
 
+import static com.google.common.base.Preconditions.checkState;
 import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.newStoreIndex;
 import static org.projectnessie.versioned.storage.common.indexes.StoreKey.keyFromString;
+import static org.projectnessie.versioned.storage.common.logic.Logics.commitLogic;
 import static org.projectnessie.versioned.storage.common.logic.Logics.referenceLogic;
 import static org.projectnessie.versioned.storage.common.logic.Logics.repositoryLogic;
+import static org.projectnessie.versioned.storage.common.logic.ReferencesQuery.referencesQuery;
 import static org.projectnessie.versioned.storage.common.objtypes.CommitHeaders.newCommitHeaders;
 import static org.projectnessie.versioned.storage.common.objtypes.CommitObj.commitBuilder;
 import static org.projectnessie.versioned.storage.common.persist.ObjId.objIdFromBytes;
@@ -26,16 +29,25 @@ import static org.projectnessie.versioned.storage.common.persist.ObjId.objIdFrom
 import java.io.IOException;
 import java.io.InputStream;
 import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
 import org.projectnessie.nessie.relocated.protobuf.ByteString;
+import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
 import org.projectnessie.versioned.storage.common.exceptions.ObjTooLargeException;
 import org.projectnessie.versioned.storage.common.exceptions.RefAlreadyExistsException;
+import org.projectnessie.versioned.storage.common.exceptions.RefConditionFailedException;
+import org.projectnessie.versioned.storage.common.exceptions.RefNotFoundException;
 import org.projectnessie.versioned.storage.common.exceptions.RetryTimeoutException;
 import org.projectnessie.versioned.storage.common.indexes.StoreIndex;
 import org.projectnessie.versioned.storage.common.indexes.StoreKey;
+import org.projectnessie.versioned.storage.common.logic.CommitLogic;
 import org.projectnessie.versioned.storage.common.logic.ReferenceLogic;
 import org.projectnessie.versioned.storage.common.objtypes.CommitHeaders;
 import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
 import org.projectnessie.versioned.storage.common.objtypes.CommitOp;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.common.persist.Reference;
 import org.projectnessie.versioned.transfer.serialize.TransferTypes.Commit;
 import org.projectnessie.versioned.transfer.serialize.TransferTypes.ExportMeta;
 import org.projectnessie.versioned.transfer.serialize.TransferTypes.Ref;
@@ -49,6 +61,11 @@ final class ImportPersistV2 extends ImportPersistCommon {
 
   @Override
   void prepareRepository() throws IOException {
+    if (isDeltaExport()) {
+      prepareRepositoryForDelta();
+      return;
+    }
+
     RepositoryDescriptionProto repositoryDescription = importer.loadRepositoryDescription();
 
     repositoryLogic(persist)
@@ -64,11 +81,49 @@ final class ImportPersistV2 extends ImportPersistCommon {
             });
   }
 
+  private boolean isDeltaExport() {
+    return exportMeta.getDeltaBaseHeadsCount() > 0;
+  }
+
+  /**
+   * A delta export can only be applied on top of a repository that contains the commits of the
+   * delta base, which is the case after importing the base export and all previous delta exports.
+   */
+  private void prepareRepositoryForDelta() {
+    checkState(
+        repositoryLogic(persist).repositoryExists(),
+        "Cannot import a delta export into a non-existing repository");
+    CommitLogic commitLogic = commitLogic(persist);
+    for (ByteString head : exportMeta.getDeltaBaseHeadsList()) {
+      ObjId headId = objIdFromBytes(head);
+      try {
+        commitLogic.fetchCommit(headId);
+      } catch (ObjNotFoundException e) {
+        throw new IllegalStateException(
+            "Cannot import delta export, commit "
+                + headId
+                + " of the delta base does not exist, import the base export and all previous "
+                + "delta exports first",
+            e);
+      }
+    }
+  }
+
   @Override
   long importNamedReferences() throws IOException {
     try {
       long namedReferenceCount = 0L;
       ReferenceLogic refLogic = referenceLogic(persist);
+
+      // A delta export contains all named references, references that are not contained in the
+      // delta export have been deleted since the delta base was exported.
+      Map<String, Reference> existingReferences = new HashMap<>();
+      if (isDeltaExport()) {
+        refLogic
+            .queryReferences(referencesQuery())
+            .forEachRemaining(r -> existingReferences.put(r.name(), r));
+      }
+
       for (String fileName : exportMeta.getNamedReferencesFilesList()) {
         try (InputStream input = importFiles.newFileInput(fileName)) {
           while (true) {
@@ -78,20 +133,36 @@ final class ImportPersistV2 extends ImportPersistCommon {
             }
 
             try {
-              ByteString ext = ref.getExtendedInfoObj();
-              refLogic.createReference(
-                  ref.getName(),
-                  objIdFromBytes(ref.getPointer()),
-                  ext == null ? null : objIdFromBytes(ext));
-            } catch (RefAlreadyExistsException | RetryTimeoutException e) {
+              ObjId pointer = objIdFromBytes(ref.getPointer());
+              Reference existing = existingReferences.remove(ref.getName());
+              if (existing == null) {
+                ByteString ext = ref.getExtendedInfoObj();
+                refLogic.createReference(
+                    ref.getName(), pointer, ext == null ? null : objIdFromBytes(ext));
+              } else if (!existing.pointer().equals(pointer)) {
+                refLogic.assignReference(existing, pointer);
+              }
+            } catch (RefAlreadyExistsException
+                | RefNotFoundException
+                | RefConditionFailedException
+                | RetryTimeoutException e) {
               throw new RuntimeException(e);
             }
 
             namedReferenceCount++;
-            importer.progressListener().progress(ProgressEvent.NAMED_REFERENCE_WRITTEN);
+            progressListener.progress(ProgressEvent.NAMED_REFERENCE_WRITTEN);
           }
         }
       }
+
+      for (Reference deleted : existingReferences.values()) {
+        try {
+          refLogic.deleteReference(deleted.name(), deleted.pointer());
+        } catch (RefNotFoundException | RefConditionFailedException | RetryTimeoutException e) {
+          throw new RuntimeException(e);
+        }
+      }
+
       return namedReferenceCount;
     } finally {
       persist.flush();
@@ -99,7 +170,7 @@ final class ImportPersistV2 extends ImportPersistCommon {
   }
 
   @Override
-  void processCommit(Commit commit) throws ObjTooLargeException {
+  void processCommit(Persist persist, Commit commit) throws ObjTooLargeException {
     CommitHeaders.Builder headers = newCommitHeaders();
     commit
         .getHeadersList()
@@ -121,13 +192,13 @@ final class ImportPersistV2 extends ImportPersistCommon {
         .forEach(
             op -> {
               StoreKey storeKey = keyFromString(op.getContentKey(0));
-              processCommitOp(index, op, storeKey);
+              processCommitOp(persist, index, op, storeKey);
             });
 
     c.incrementalIndex(index.serialize());
 
     persist.storeObj(c.build());
 
-    importer.progressListener().progress(ProgressEvent.COMMIT_WRITTEN);
+    progressListener.progress(ProgressEvent.COMMIT_WRITTEN);
   }
 }
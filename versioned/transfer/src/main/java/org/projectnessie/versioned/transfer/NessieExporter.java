@@ -30,6 +30,7 @@ import org.projectnessie.versioned.storage.common.persist.Persist;
 import org.projectnessie.versioned.store.DefaultStoreWorker;
 import org.projectnessie.versioned.transfer.files.ExportFileSupplier;
 import org.projectnessie.versioned.transfer.serialize.TransferTypes.ExportMeta;
+import org.projectnessie.versioned.transfer.serialize.TransferTypes.HeadsAndForks;
 
 @Value.Immutable
 public abstract class NessieExporter {
@@ -91,6 +92,18 @@ public abstract class NessieExporter {
      */
     Builder commitBatchSize(int commitBatchSize);
 
+    /**
+     * Optional, specify the number of threads that map and write commits and named references,
+     * defaults to {@code 1}. See {@link NessieExporter#exportThreads()}.
+     */
+    Builder exportThreads(int exportThreads);
+
+    /**
+     * Optional, the {@link HeadsAndForks heads} of a previous export, turns this export into a
+     * delta export. See {@link NessieExporter#deltaBase()}.
+     */
+    Builder deltaBase(HeadsAndForks deltaBase);
+
     NessieExporter build();
   }
 
@@ -125,6 +138,13 @@ public abstract class NessieExporter {
     checkState(
         persist() == null ^ databaseAdapter() == null,
         "Must supply either persist() or databaseAdapter(), never both");
+    checkState(exportThreads() > 0, "exportThreads must be positive");
+    checkState(
+        exportThreads() == 1 || persist() != null,
+        "Parallel exports (exportThreads > 1) are only supported for Persist based exports");
+    checkState(
+        deltaBase() == null || (persist() != null && !fullScan() && contentsFromBranch() == null),
+        "Delta exports are only supported for Persist based commit-log-walking exports");
   }
 
   /**
@@ -178,6 +198,35 @@ public abstract class NessieExporter {
     return ExportImportConstants.DEFAULT_COMMIT_BATCH_SIZE;
   }
 
+  /**
+   * Number of threads that map and write commits and named references. Values greater than {@code
+   * 1} enable the parallel export mode, which is only supported for {@link #persist() Persist}
+   * based exports. Scanning the repository remains sequential, but batches of {@link
+   * #commitBatchSize()} commits or named references are handed over to worker threads. Each worker
+   * thread fetches the referenced contents and writes to its own, sharded, commits and named
+   * references files. All files are listed in the export metadata, so the importer does not need
+   * to distinguish parallel from sequential exports.
+   *
+   * <p>Note that {@link org.projectnessie.versioned.transfer.files.ZipArchiveExporter} spools the
+   * files written concurrently to temporary files, see there.
+   */
+  @Value.Default
+  int exportThreads() {
+    return 1;
+  }
+
+  /**
+   * The {@link HeadsAndForks heads} recorded by a previous export, usually loaded via {@link
+   * NessieImporter#loadHeadsAndForks()}. If present, only commits that are not reachable from
+   * these heads are exported, named references are always exported completely. The heads of the
+   * resulting delta export include the heads of the previous export, so that deltas can be
+   * chained. Only supported for {@link #persist() Persist} based exports that are not {@link
+   * #fullScan() full scans}.
+   */
+  @Nullable
+  @jakarta.annotation.Nullable
+  abstract HeadsAndForks deltaBase();
+
   abstract ExportFileSupplier exportFileSupplier();
 
   @Value.Default
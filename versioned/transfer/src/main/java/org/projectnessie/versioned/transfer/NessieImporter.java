@@ -33,6 +33,7 @@ import org.projectnessie.versioned.storage.common.persist.Persist;
 import org.projectnessie.versioned.store.DefaultStoreWorker;
 import org.projectnessie.versioned.transfer.files.ImportFileSupplier;
 import org.projectnessie.versioned.transfer.serialize.TransferTypes.ExportMeta;
+import org.projectnessie.versioned.transfer.serialize.TransferTypes.ExportVersion;
 import org.projectnessie.versioned.transfer.serialize.TransferTypes.HeadsAndForks;
 import org.projectnessie.versioned.transfer.serialize.TransferTypes.RepositoryDescriptionProto;
 
@@ -69,6 +70,12 @@ public abstract class NessieImporter {
      */
     Builder attachmentBatchSize(int attachmentBatchSize);
 
+    /**
+     * Optional, specify the number of threads that import commits and complete commit indexes,
+     * defaults to {@code 1}. See {@link NessieImporter#importThreads()}.
+     */
+    Builder importThreads(int importThreads);
+
     Builder progressListener(ProgressListener progressListener);
 
     Builder importFileSupplier(ImportFileSupplier importFileSupplier);
@@ -89,6 +96,10 @@ public abstract class NessieImporter {
     checkState(
         persist() == null ^ databaseAdapter() == null,
         "Must supply either persist() or databaseAdapter(), never both");
+    checkState(importThreads() > 0, "importThreads must be positive");
+    checkState(
+        importThreads() == 1 || persist() != null,
+        "Parallel imports (importThreads > 1) are only supported for Persist based imports");
   }
 
   @Value.Default
@@ -101,6 +112,20 @@ public abstract class NessieImporter {
     return DEFAULT_ATTACHMENT_BATCH_SIZE;
   }
 
+  /**
+   * Number of threads that import commits and complete commit indexes. Values greater than {@code
+   * 1} enable the parallel import mode, which is only supported for {@link #persist() Persist}
+   * based imports. In parallel import mode, the commits files of an export are read and written
+   * concurrently, each by a task using its own write-batching persist, and the indexes of
+   * independent commit chains are completed concurrently. Exports that contain multiple commits
+   * files, see {@code NessieExporter.exportThreads()} and {@code NessieExporter.maxFileSize()},
+   * benefit the most.
+   */
+  @Value.Default
+  int importThreads() {
+    return 1;
+  }
+
   @Value.Default
   StoreWorker storeWorker() {
     return DefaultStoreWorker.instance();
@@ -132,6 +157,12 @@ public abstract class NessieImporter {
     }
   }
 
+  /**
+   * Imports the export into the repository. Full exports are imported into an empty repository.
+   * Delta exports, see {@code NessieExporter.deltaBase()}, are applied on top of a repository that
+   * already contains the delta base, which is the case after importing the base export and all
+   * previous delta exports in order.
+   */
   public ImportResult importNessieRepository() throws IOException {
     // Need to load the export metadata here and not in `ExportCommon`, because the export meta
     // is needed to choose the import implementation.
@@ -142,6 +173,11 @@ public abstract class NessieImporter {
     ExportMeta exportMeta = loadExportMeta();
     progressListener().progress(ProgressEvent.END_META, exportMeta);
 
+    checkState(
+        exportMeta.getDeltaBaseHeadsCount() == 0
+            || (persist() != null && exportMeta.getVersion() == ExportVersion.V2),
+        "Delta exports can only be imported using Persist");
+
     if (databaseAdapter() != null) {
       return new ImportDatabaseAdapter(exportMeta, this).importRepo();
     }
@@ -160,7 +196,7 @@ public abstract class NessieImporter {
   }
 
   @SuppressWarnings("resource")
-  private ExportMeta loadExportMeta() throws IOException {
+  public ExportMeta loadExportMeta() throws IOException {
     ExportMeta exportMeta;
     try (InputStream input = importFileSupplier().newFileInput(EXPORT_METADATA)) {
       exportMeta = ExportMeta.parseFrom(input);
@@ -0,0 +1,39 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.transfer;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.projectnessie.versioned.transfer.serialize.TransferTypes.ExportMeta;
+
+/**
+ * Serializes the calls to a {@link ProgressListener}. Progress listeners do not need to be
+ * thread-safe, but the parallel export and import modes report progress from multiple threads.
+ */
+final class SynchronizedProgressListener implements ProgressListener {
+  private final ProgressListener delegate;
+
+  SynchronizedProgressListener(ProgressListener delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public synchronized void progress(
+      @Nonnull @jakarta.annotation.Nonnull ProgressEvent type,
+      @Nullable @jakarta.annotation.Nullable ExportMeta exportMeta) {
+    delegate.progress(type, exportMeta);
+  }
+}
@@ -18,6 +18,7 @@ package org.projectnessie.versioned.transfer.files;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
 import static java.nio.file.Files.createDirectories;
+import static java.nio.file.Files.createTempFile;
 import static java.nio.file.Files.deleteIfExists;
 import static java.nio.file.Files.isRegularFile;
 import static java.nio.file.Files.move;
@@ -26,16 +27,36 @@ import static java.nio.file.Files.newOutputStream;
 import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 import javax.annotation.Nonnull;
 import org.immutables.value.Value;
 
-/** Nessie exporter that creates a ZIP file. */
+/**
+ * Nessie exporter that creates a ZIP file.
+ *
+ * <p>A ZIP file can only be written sequentially. The first file output is written directly into
+ * the ZIP file, file outputs requested while another file output is still open, which happens
+ * when multiple threads export concurrently, are spooled to temporary files and appended to the
+ * ZIP file once no directly written file output is open.
+ *
+ * <p>This is a deliberate trade-off: entries cannot be interleaved in a ZIP file, so the
+ * alternative to spooling is to let all but one export thread wait, which would serialize the
+ * parallel export. Spooling instead costs additional local disk space of up to the uncompressed
+ * size of the concurrently written files, and the spooled data is written and read once more, and
+ * compressed by the thread that appends it. Parallel exports that must avoid this overhead should
+ * use {@link FileExporter}, which writes every file output directly.
+ */
 @Value.Immutable
 public abstract class ZipArchiveExporter implements ExportFileSupplier {
 
+  private final Deque<SpooledEntry> spooledEntries = new ArrayDeque<>();
+  private boolean directEntryOpen;
+
   public static Builder builder() {
     return ImmutableZipArchiveExporter.builder();
   }
@@ -82,14 +103,51 @@ public abstract class ZipArchiveExporter implements ExportFileSupplier {
         fileName.indexOf('/') == -1 && fileName.indexOf('\\') == -1, "Directories not supported");
     checkArgument(!fileName.isEmpty(), "Invalid file name argument");
 
+    synchronized (this) {
+      if (!directEntryOpen) {
+        ZipOutputStream out = zipOutput();
+        out.putNextEntry(new ZipEntry(fileName));
+        directEntryOpen = true;
+        return new NonClosingOutputStream(out);
+      }
+    }
+
+    Path spoolFile =
+        createTempFile(tempOutputFile().toAbsolutePath().getParent(), ".nessie-export-", ".tmp");
+    return new SpoolingOutputStream(fileName, spoolFile);
+  }
+
+  private synchronized void directEntryClosed() throws IOException {
+    directEntryOpen = false;
+    appendSpooledEntries();
+  }
+
+  private synchronized void spooledEntryClosed(SpooledEntry entry) throws IOException {
+    spooledEntries.add(entry);
+    if (!directEntryOpen) {
+      appendSpooledEntries();
+    }
+  }
+
+  private void appendSpooledEntries() throws IOException {
     ZipOutputStream out = zipOutput();
-    out.putNextEntry(new ZipEntry(fileName));
-    return new NonClosingOutputStream(out);
+    for (SpooledEntry entry; (entry = spooledEntries.poll()) != null; ) {
+      try {
+        out.putNextEntry(new ZipEntry(entry.fileName));
+        Files.copy(entry.spoolFile, out);
+        out.closeEntry();
+      } finally {
+        deleteIfExists(entry.spoolFile);
+      }
+    }
   }
 
   @Override
   public void close() throws Exception {
     try {
+      synchronized (this) {
+        appendSpooledEntries();
+      }
       zipOutput().close();
     } finally {
       deleteIfExists(outputFile());
@@ -99,7 +157,64 @@ public abstract class ZipArchiveExporter implements ExportFileSupplier {
     }
   }
 
-  private static final class NonClosingOutputStream extends OutputStream {
+  private static final class SpooledEntry {
+    private final String fileName;
+    private final Path spoolFile;
+
+    private SpooledEntry(String fileName, Path spoolFile) {
+      this.fileName = fileName;
+      this.spoolFile = spoolFile;
+    }
+  }
+
+  private final class SpoolingOutputStream extends OutputStream {
+    private final SpooledEntry entry;
+    private final OutputStream out;
+    private boolean open = true;
+
+    private SpoolingOutputStream(String fileName, Path spoolFile) throws IOException {
+      this.entry = new SpooledEntry(fileName, spoolFile);
+      this.out = new BufferedOutputStream(newOutputStream(spoolFile));
+    }
+
+    @Override
+    public void write(byte[] b) throws IOException {
+      checkState(open);
+      out.write(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      checkState(open);
+      out.write(b, off, len);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      checkState(open);
+      out.write(b);
+    }
+
+    @Override
+    public void flush() throws IOException {
+      checkState(open);
+      out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (open) {
+        try {
+          out.close();
+          spooledEntryClosed(entry);
+        } finally {
+          open = false;
+        }
+      }
+    }
+  }
+
+  private final class NonClosingOutputStream extends OutputStream {
     private final ZipOutputStream out;
     private boolean open = true;
 
@@ -138,6 +253,7 @@ public abstract class ZipArchiveExporter implements ExportFileSupplier {
           out.closeEntry();
         } finally {
           open = false;
+          directEntryClosed();
         }
       }
     }
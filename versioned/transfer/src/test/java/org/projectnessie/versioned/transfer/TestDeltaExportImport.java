@@ -0,0 +1,194 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.transfer;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static org.projectnessie.versioned.VersionStore.KeyRestrictions.NO_KEY_RESTRICTIONS;
+import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_REPOSITORY_ID;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.projectnessie.model.CommitMeta;
+import org.projectnessie.model.ContentKey;
+import org.projectnessie.model.IcebergTable;
+import org.projectnessie.versioned.BranchName;
+import org.projectnessie.versioned.Commit;
+import org.projectnessie.versioned.GetNamedRefsParams;
+import org.projectnessie.versioned.Hash;
+import org.projectnessie.versioned.KeyEntry;
+import org.projectnessie.versioned.Put;
+import org.projectnessie.versioned.ReferenceInfo;
+import org.projectnessie.versioned.TagName;
+import org.projectnessie.versioned.VersionStore;
+import org.projectnessie.versioned.paging.PaginationIterator;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.inmemory.InmemoryBackendFactory;
+import org.projectnessie.versioned.storage.testextension.NessieBackendName;
+import org.projectnessie.versioned.storage.testextension.NessiePersist;
+import org.projectnessie.versioned.storage.testextension.NessieStoreConfig;
+import org.projectnessie.versioned.storage.testextension.PersistExtension;
+import org.projectnessie.versioned.storage.versionstore.VersionStoreImpl;
+import org.projectnessie.versioned.transfer.files.FileExporter;
+import org.projectnessie.versioned.transfer.files.FileImporter;
+import org.projectnessie.versioned.transfer.serialize.TransferTypes.ExportMeta;
+import org.projectnessie.versioned.transfer.serialize.TransferTypes.HeadsAndForks;
+
+@ExtendWith({PersistExtension.class, SoftAssertionsExtension.class})
+@NessieBackendName(InmemoryBackendFactory.NAME)
+public class TestDeltaExportImport {
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  @NessiePersist
+  @NessieStoreConfig(name = CONFIG_REPOSITORY_ID, value = "import-target")
+  protected static Persist persistImport;
+
+  @NessiePersist
+  @NessieStoreConfig(name = CONFIG_REPOSITORY_ID, value = "export-source")
+  protected static Persist persistExport;
+
+  @TempDir Path dir;
+
+  @Test
+  public void baseAndDeltas() throws Exception {
+    VersionStore source = new VersionStoreImpl(persistExport);
+    VersionStore target = new VersionStoreImpl(persistImport);
+
+    BranchName main = BranchName.of("main");
+    BranchName branch = BranchName.of("branch");
+    TagName tag = TagName.of("tag");
+
+    Hash mainHead = source.getNamedRef(main.getName(), GetNamedRefsParams.DEFAULT).getHash();
+    mainHead = commits(source, main, mainHead, 5);
+    Hash branchHead = source.create(branch, Optional.of(mainHead)).getHash();
+    branchHead = commits(source, branch, branchHead, 3);
+    Hash tagHead = source.create(tag, Optional.of(mainHead)).getHash();
+
+    ExportMeta base = export(dir.resolve("base"), null);
+    soft.assertThat(base.getDeltaBaseHeadsList()).isEmpty();
+    soft.assertThat(base.getCommitCount()).isEqualTo(8L);
+
+    // first delta: new commits on both branches, a new branch, the tag is deleted
+    mainHead = commits(source, main, mainHead, 4);
+    branchHead = commits(source, branch, branchHead, 2);
+    BranchName other = BranchName.of("other");
+    commits(source, other, source.create(other, Optional.of(branchHead)).getHash(), 1);
+    source.delete(tag, Optional.of(tagHead));
+
+    ExportMeta delta1 = export(dir.resolve("delta1"), loadHeadsAndForks(dir.resolve("base")));
+    soft.assertThat(delta1.getDeltaBaseHeadsList()).isNotEmpty();
+    soft.assertThat(delta1.getCommitCount()).isEqualTo(7L);
+    soft.assertThat(delta1.getNamedReferencesCount()).isEqualTo(3L);
+
+    // second delta, based on the first delta
+    commits(source, main, mainHead, 2);
+
+    ExportMeta delta2 = export(dir.resolve("delta2"), loadHeadsAndForks(dir.resolve("delta1")));
+    soft.assertThat(delta2.getCommitCount()).isEqualTo(2L);
+
+    // Applying a delta to an empty repository must fail
+    persistImport.erase();
+    soft.assertThatThrownBy(() -> importRepo(dir.resolve("delta1")))
+        .isInstanceOf(IllegalStateException.class);
+
+    persistImport.erase();
+    soft.assertThat(importRepo(dir.resolve("base")).importedCommitCount()).isEqualTo(8L);
+    soft.assertThat(importRepo(dir.resolve("delta1")).importedCommitCount()).isEqualTo(7L);
+    soft.assertThat(importRepo(dir.resolve("delta2")).importedCommitCount()).isEqualTo(2L);
+
+    List<ReferenceInfo<CommitMeta>> sourceRefs = namedRefs(source);
+    soft.assertThat(namedRefs(target)).containsExactlyInAnyOrderElementsOf(sourceRefs);
+    for (ReferenceInfo<CommitMeta> ref : sourceRefs) {
+      soft.assertThat(log(target, ref.getHash()))
+          .describedAs(ref.getNamedRef().getName())
+          .containsExactlyElementsOf(log(source, ref.getHash()));
+      soft.assertThat(keys(target, ref.getHash()))
+          .describedAs(ref.getNamedRef().getName())
+          .containsExactlyInAnyOrderElementsOf(keys(source, ref.getHash()));
+    }
+  }
+
+  private ExportMeta export(Path exportDir, HeadsAndForks deltaBase) throws Exception {
+    return NessieExporter.builder()
+        .persist(persistExport)
+        .deltaBase(deltaBase)
+        .exportFileSupplier(FileExporter.builder().targetDirectory(exportDir).build())
+        .build()
+        .exportNessieRepository();
+  }
+
+  private static HeadsAndForks loadHeadsAndForks(Path exportDir) throws Exception {
+    return NessieImporter.builder()
+        .persist(persistImport)
+        .importFileSupplier(FileImporter.builder().sourceDirectory(exportDir).build())
+        .build()
+        .loadHeadsAndForks();
+  }
+
+  private static ImportResult importRepo(Path exportDir) throws Exception {
+    return NessieImporter.builder()
+        .persist(persistImport)
+        .importFileSupplier(FileImporter.builder().sourceDirectory(exportDir).build())
+        .build()
+        .importNessieRepository();
+  }
+
+  private static Hash commits(VersionStore store, BranchName branch, Hash head, int num)
+      throws Exception {
+    for (int i = 0; i < num; i++) {
+      head =
+          store
+              .commit(
+                  branch,
+                  Optional.of(head),
+                  CommitMeta.fromMessage("commit " + i + " on " + branch.getName()),
+                  Collections.singletonList(
+                      Put.of(
+                          ContentKey.of(branch.getName() + "-" + head.asString()),
+                          IcebergTable.of(
+                              "meta-" + branch.getName() + "-" + head.asString(), 1, 2, 3, 4))))
+              .getCommitHash();
+    }
+    return head;
+  }
+
+  private static List<Commit> log(VersionStore store, Hash hash) throws Exception {
+    try (PaginationIterator<Commit> commits = store.getCommits(hash, false)) {
+      return newArrayList(commits);
+    }
+  }
+
+  private static List<KeyEntry> keys(VersionStore store, Hash hash) throws Exception {
+    try (PaginationIterator<KeyEntry> keys =
+        store.getKeys(hash, null, false, NO_KEY_RESTRICTIONS)) {
+      return newArrayList(keys);
+    }
+  }
+
+  private static List<ReferenceInfo<CommitMeta>> namedRefs(VersionStore store) throws Exception {
+    try (PaginationIterator<ReferenceInfo<CommitMeta>> refs =
+        store.getNamedRefs(GetNamedRefsParams.DEFAULT, null)) {
+      return newArrayList(refs);
+    }
+  }
+}
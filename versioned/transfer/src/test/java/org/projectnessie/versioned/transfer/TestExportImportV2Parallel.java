@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.transfer;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import org.projectnessie.versioned.transfer.files.ExportFileSupplier;
+import org.projectnessie.versioned.transfer.files.ZipArchiveExporter;
+import org.projectnessie.versioned.transfer.files.ZipArchiveImporter;
+import org.projectnessie.versioned.transfer.serialize.TransferTypes.ExportMeta;
+
+/**
+ * Runs the export/import scenarios using the parallel export mode, writing multiple shards
+ * concurrently into a ZIP file, and the parallel import mode.
+ */
+public class TestExportImportV2Parallel extends TestExportImportV2 {
+
+  @Override
+  ImportResult importRepo() throws IOException {
+    NessieImporter importer =
+        NessieImporter.builder()
+            .persist(persistImport)
+            .importThreads(3)
+            .importFileSupplier(ZipArchiveImporter.builder().sourceZipFile(zipFile()).build())
+            .build();
+    return importer.importNessieRepository();
+  }
+
+  @Override
+  ExportMeta exportRepo(boolean fullScan) throws IOException {
+    try (ExportFileSupplier exportFileSupplier =
+        ZipArchiveExporter.builder().outputFile(zipFile()).build()) {
+      NessieExporter exporter =
+          NessieExporter.builder()
+              .persist(persistExport)
+              .fullScan(fullScan)
+              .exportThreads(3)
+              .commitBatchSize(2)
+              .maxFileSize(1024)
+              .exportFileSupplier(exportFileSupplier)
+              .build();
+      ExportMeta exportMeta = exporter.exportNessieRepository();
+      soft.assertThat(exportMeta.getCommitsFilesList())
+          .allMatch(f -> f.matches(NessieExporter.COMMITS_PREFIX + "-\\d{3}-\\d{8}"));
+      soft.assertThat(exportMeta.getNamedReferencesFilesList())
+          .allMatch(f -> f.matches(NessieExporter.NAMED_REFS_PREFIX + "-\\d{3}-\\d{8}"));
+      return exportMeta;
+    } catch (IOException | RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private Path zipFile() {
+    return dir.resolve("export.zip");
+  }
+}